@@ -4,27 +4,36 @@ import java.time.Instant;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 public class AuditEvent {
     private final String action;
     private final String username;
+    private final Long loginId;
     private final Long customerId;
     private final Long walletId;
     private final String ipAddress;
     private final String traceId;
+    private final String result;
+    private final String info;
     private final Instant timestamp;
 
     public static AuditEvent from(String action, AuditLogContext ctx) {
         return AuditEvent.builder()
             .action(action)
             .username(ctx.getUsername())
+            .loginId(ctx.getLoginId())
             .customerId(ctx.getCustomerId())
             .walletId(ctx.getWalletId())
             .ipAddress(ctx.getIpAddress())
             .traceId(ctx.getTraceId())
-            //.timestamp(ctx.getCreateAt())
+            .result(ctx.getResult())
+            .info(ctx.getInfo())
+            // instante da chamada, não do envio: o pipeline entrega em lotes
+            .timestamp(Instant.now())
             .build();
     }
 }
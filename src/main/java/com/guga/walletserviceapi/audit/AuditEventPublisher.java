@@ -1,5 +1,21 @@
 package com.guga.walletserviceapi.audit;
 
+import java.util.List;
+
+/**
+ * Destino dos eventos de auditoria. Chamado apenas pela thread do {@link AuditPipeline}, nunca pela request.
+ */
 public interface AuditEventPublisher {
+
     void publish(AuditEvent event);
+
+    /** Entrega de um lote; destinos com escrita em lote (JDBC, arquivo) sobrescrevem. */
+    default void publishBatch(List<AuditEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    /** Nome usado nas métricas. */
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
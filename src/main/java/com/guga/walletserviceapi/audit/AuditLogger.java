@@ -1,5 +1,7 @@
 package com.guga.walletserviceapi.audit;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -10,20 +12,42 @@ public class AuditLogger {
 
     private static final Logger LOGGER = LogManager.getLogger(AuditLogger.class);
 
+    // instalado pelo AuditPipeline; sem ele (testes de fatia, fora do Spring) o evento vai direto para o log
+    private static final AtomicReference<AuditPipeline> PIPELINE = new AtomicReference<>();
+
     private AuditLogger() {}
 
     public static int log(String action, AuditLogContext ctx) {
+        AuditEvent event = AuditEvent.from(action, ctx);
+        AuditPipeline pipeline = PIPELINE.get();
+        if (pipeline != null) {
+            pipeline.submit(event);
+        } else {
+            write(event);
+        }
+        return 0;
+    }
+
+    /** Linha AUDIT no log4j (audit.log). */
+    public static void write(AuditEvent event) {
         LOGGER.info(LogMarkers.AUDIT,
             "{} | user={} walletId={} traceId={} result={} ip={} info={}",
-            action,
-            ctx.getUsername(),
-            ctx.getWalletId(),
-            ctx.getTraceId(), 
-            ctx.getResult(),
-            ctx.getIpAddress(),
-            ctx.getInfo()
+            event.getAction(),
+            event.getUsername(),
+            event.getWalletId(),
+            event.getTraceId(),
+            event.getResult(),
+            event.getIpAddress(),
+            event.getInfo()
         );
-        return 0;
     }
-    
+
+    static void install(AuditPipeline pipeline) {
+        PIPELINE.set(pipeline);
+    }
+
+    static void uninstall(AuditPipeline pipeline) {
+        PIPELINE.compareAndSet(pipeline, null);
+    }
+
 }
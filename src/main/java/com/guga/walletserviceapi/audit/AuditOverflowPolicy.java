@@ -0,0 +1,13 @@
+package com.guga.walletserviceapi.audit;
+
+/**
+ * O que fazer com um evento quando o buffer do {@link AuditPipeline} está cheio.
+ */
+public enum AuditOverflowPolicy {
+    /** Espera por espaço até app.audit.block-timeout-ms; depois descarta o evento. */
+    BLOCK,
+    /** Descarta o evento mais antigo do buffer para abrir espaço. */
+    DROP_OLDEST,
+    /** Grava o evento no arquivo de spill; o dispatcher reenvia quando o buffer esvaziar. */
+    SPILL_TO_DISK
+}
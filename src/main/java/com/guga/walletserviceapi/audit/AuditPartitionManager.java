@@ -0,0 +1,206 @@
+package com.guga.walletserviceapi.audit;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Esquema e ciclo de vida da tb_audit_event.
+ *
+ * No PostgreSQL a tabela é particionada por RANGE(created_at), uma partição por dia
+ * (tb_audit_event_pYYYYMMDD), criada sob demanda antes de cada lote e antecipada pelo job de retenção.
+ * Retenção remove partições inteiras (DETACH CONCURRENTLY + DROP), sem DELETE nem vacuum de linhas mortas.
+ * Sem chave primária e com um único índice (wallet_id, created_at) por partição, para não multiplicar a
+ * escrita de uma tabela só de inserts.
+ *
+ * Em outros bancos (H2 local/testes) a tabela é comum e a retenção cai para DELETE por data.
+ */
+@Component
+public class AuditPartitionManager {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditPartitionManager.class);
+
+    static final String TABLE = "tb_audit_event";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String COLUMNS_DDL = """
+        (
+            created_at  TIMESTAMP     NOT NULL,
+            action      VARCHAR(80)   NOT NULL,
+            username    VARCHAR(255),
+            login_id    BIGINT,
+            customer_id BIGINT,
+            wallet_id   BIGINT,
+            ip_address  VARCHAR(255),
+            trace_id    VARCHAR(255),
+            result      VARCHAR(255),
+            info        VARCHAR(1000)
+        )""";
+
+    private static final String CREATE_INDEX =
+        "CREATE INDEX IF NOT EXISTS ix_audit_event_wallet_created ON " + TABLE + " (wallet_id, created_at)";
+
+    private static final String LIST_PARTITIONS = """
+        SELECT c.relname, i.inhdetachpending
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = 'tb_audit_event'::regclass
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+    private final int daysAhead;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Set<LocalDate> knownPartitions = ConcurrentHashMap.newKeySet();
+    private volatile boolean partitioned;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, AuditProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = Math.max(1, properties.getRetentionDays());
+        this.daysAhead = Math.max(0, properties.getPartitionDaysAhead());
+    }
+
+    @PostConstruct
+    public void createSchema() {
+        partitioned = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) AuditPartitionManager::isPostgres));
+
+        if (partitioned) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " " + COLUMNS_DDL + " PARTITION BY RANGE (created_at)");
+            // tabela comum criada antes do particionamento: segue sem partições até ser migrada
+            partitioned = "p".equals(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = '" + TABLE + "'::regclass", String.class));
+        }
+        if (partitioned) {
+            jdbcTemplate.execute(CREATE_INDEX);
+            ensurePartitions(upcomingDays());
+        } else {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " " + COLUMNS_DDL);
+            jdbcTemplate.execute(CREATE_INDEX);
+        }
+        LOGGER.info("AUDIT_SCHEMA_READY | table={} partitioned={} retentionDays={}", TABLE, partitioned, retentionDays);
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /** Garante a partição de cada dia; dias já vistos não custam consulta ao banco. */
+    public void ensurePartitions(Collection<LocalDate> days) {
+        if (!partitioned) {
+            return;
+        }
+        for (LocalDate day : days) {
+            if (knownPartitions.contains(day)) {
+                continue;
+            }
+            String sql = "CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (DataAccessException e) {
+                // outra réplica pode ter criado a mesma partição entre o IF NOT EXISTS e o CREATE
+                if (!partitionExists(day)) {
+                    throw e;
+                }
+            }
+            knownPartitions.add(day);
+            LOGGER.debug("AUDIT_PARTITION_READY | partition={}", partitionName(day));
+        }
+    }
+
+    public LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, zone);
+    }
+
+    /**
+     * Remove partições (ou, fora do PostgreSQL, linhas) com mais de app.audit.retention-days e antecipa
+     * as partições dos próximos dias.
+     */
+    @Scheduled(cron = "${app.audit.retention-cron:0 15 0 * * *}")
+    public void applyRetention() {
+        LocalDate cutoff = LocalDate.now(zone).minusDays(retentionDays);
+
+        if (!partitioned) {
+            int deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE created_at < ?",
+                Timestamp.valueOf(cutoff.atStartOfDay()));
+            LOGGER.info("AUDIT_RETENTION | mode=DELETE cutoff={} rows={}", cutoff, deleted);
+            return;
+        }
+
+        ensurePartitions(upcomingDays());
+
+        List<PartitionInfo> partitions = jdbcTemplate.query(LIST_PARTITIONS,
+            (rs, rowNum) -> new PartitionInfo(rs.getString(1), rs.getBoolean(2)));
+        int dropped = 0;
+        for (PartitionInfo partition : partitions) {
+            LocalDate day = dayOfPartition(partition.name());
+            if (day == null || !day.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                // DETACH CONCURRENTLY não bloqueia inserts/consultas na tabela pai (PostgreSQL 14+)
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name()
+                    + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.name());
+                knownPartitions.remove(day);
+                dropped++;
+            } catch (DataAccessException e) {
+                LOGGER.warn("AUDIT_RETENTION_DROP_FAIL | partition={} reason={}", partition.name(), e.getMessage());
+            }
+        }
+        LOGGER.info("AUDIT_RETENTION | mode=DROP_PARTITION cutoff={} dropped={}", cutoff, dropped);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    static LocalDate dayOfPartition(String name) {
+        if (name == null || !name.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private List<LocalDate> upcomingDays() {
+        LocalDate today = LocalDate.now(zone);
+        return IntStream.rangeClosed(0, daysAhead).mapToObj(today::plusDays).toList();
+    }
+
+    private boolean partitionExists(LocalDate day) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_class WHERE relname = ?", Integer.class, partitionName(day));
+        return count != null && count > 0;
+    }
+
+    private static Boolean isPostgres(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql");
+    }
+
+    private record PartitionInfo(String name, boolean detachPending) { }
+}
@@ -0,0 +1,227 @@
+package com.guga.walletserviceapi.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pipeline assíncrono de auditoria.
+ *
+ * A request apenas coloca o evento no {@link AuditRingBuffer}; uma thread dedicada drena o buffer em lotes
+ * (por tamanho ou por app.audit.flush-interval-ms) e entrega cada lote a todos os publishers habilitados.
+ * Falha de um publisher é contada e não afeta os demais nem a request. Com o buffer cheio vale a
+ * {@link AuditOverflowPolicy} configurada.
+ */
+@Component
+public class AuditPipeline {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditPipeline.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final List<AuditEventPublisher> publishers;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final AuditRingBuffer buffer;
+    private final AuditSpillFile spillFile;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter submitted;
+    private final Counter droppedOverflow;
+    private final Counter droppedBlockTimeout;
+    private final Counter droppedSpillFailure;
+    private final Counter spilled;
+    private final Timer producerBlocked;
+    private final Timer dispatchLag;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public AuditPipeline(AuditProperties properties,
+                         List<AuditEventPublisher> publishers,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.publishers = List.copyOf(publishers);
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getFlushIntervalMs()));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getBlockTimeoutMs()));
+        this.buffer = new AuditRingBuffer(Math.max(batchSize, properties.getBufferCapacity()));
+        this.spillFile = new AuditSpillFile(Path.of(properties.getSpillPath()), objectMapper);
+        this.meterRegistry = meterRegistry;
+
+        this.submitted = meterRegistry.counter("audit.events.submitted");
+        this.droppedOverflow = meterRegistry.counter("audit.events.dropped", "reason", "overflow");
+        this.droppedBlockTimeout = meterRegistry.counter("audit.events.dropped", "reason", "block_timeout");
+        this.droppedSpillFailure = meterRegistry.counter("audit.events.dropped", "reason", "spill_failed");
+        this.spilled = meterRegistry.counter("audit.events.spilled");
+        this.producerBlocked = meterRegistry.timer("audit.producer.blocked");
+        this.dispatchLag = meterRegistry.timer("audit.dispatch.lag");
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity).register(meterRegistry);
+        Gauge.builder("audit.spill.pending", spillFile, AuditSpillFile::pending).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform().daemon().name("audit-dispatcher").start(this::dispatchLoop);
+        AuditLogger.install(this);
+        LOGGER.info("AUDIT_PIPELINE_START | publishers={} capacity={} batchSize={} overflowPolicy={}",
+            publishers.stream().map(AuditEventPublisher::name).toList(), buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        AuditLogger.uninstall(this);
+        running = false;
+        if (dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        spillFile.close();
+        LOGGER.info("AUDIT_PIPELINE_STOP | remaining={} spillPending={}", buffer.size(), spillFile.pending());
+    }
+
+    /**
+     * Chamado na thread da request: nunca faz I/O, exceto com SPILL_TO_DISK e buffer cheio.
+     */
+    public void submit(AuditEvent event) {
+        submitted.increment();
+        if (!buffer.offer(event)) {
+            onOverflow(event);
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void onOverflow(AuditEvent event) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        droppedOverflow.increment();
+                    }
+                }
+            }
+            case BLOCK -> block(event);
+            case SPILL_TO_DISK -> spill(event);
+        }
+    }
+
+    private void block(AuditEvent event) {
+        long start = System.nanoTime();
+        LockSupport.unpark(dispatcher);
+        while (!buffer.offer(event)) {
+            if (System.nanoTime() - start >= blockTimeoutNanos) {
+                droppedBlockTimeout.increment();
+                break;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        producerBlocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void spill(AuditEvent event) {
+        try {
+            spillFile.append(event);
+            spilled.increment();
+        } catch (IOException e) {
+            droppedSpillFailure.increment();
+            LOGGER.warn("AUDIT_SPILL_FAIL | action={} reason={}", event.getAction(), e.getMessage());
+        }
+    }
+
+    private void dispatchLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+
+        while (running) {
+            if (batch.isEmpty()) {
+                batchStartedAt = System.nanoTime();
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+
+            long waited = System.nanoTime() - batchStartedAt;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && waited >= flushIntervalNanos)) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            if (batch.isEmpty() && spillFile.pending() > 0) {
+                replaySpill();
+                continue;
+            }
+            LockSupport.parkNanos(batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+        }
+
+        // encerramento: entrega o que restou no buffer
+        buffer.drainTo(batch, Integer.MAX_VALUE);
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            flush(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            spillFile.drain(batchSize, this::flush);
+        } catch (IOException e) {
+            LOGGER.warn("AUDIT_SPILL_REPLAY_FAIL | reason={}", e.getMessage());
+            LockSupport.parkNanos(flushIntervalNanos);
+        }
+    }
+
+    void flush(List<AuditEvent> batch) {
+        for (AuditEventPublisher publisher : publishers) {
+            long start = System.nanoTime();
+            try {
+                publisher.publishBatch(batch);
+                meterRegistry.counter("audit.events.published", "publisher", publisher.name()).increment(batch.size());
+            } catch (RuntimeException e) {
+                meterRegistry.counter("audit.publish.failures", "publisher", publisher.name()).increment();
+                LOGGER.warn("AUDIT_PUBLISH_FAIL | publisher={} events={} reason={}",
+                    publisher.name(), batch.size(), e.getMessage());
+            } finally {
+                meterRegistry.timer("audit.publish.duration", "publisher", publisher.name())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (AuditEvent event : batch) {
+            if (event.getTimestamp() != null) {
+                dispatchLag.record(Duration.between(event.getTimestamp(), now));
+            }
+        }
+    }
+
+    int bufferedEvents() {
+        return buffer.size();
+    }
+}
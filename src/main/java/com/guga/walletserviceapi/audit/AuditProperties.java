@@ -0,0 +1,34 @@
+package com.guga.walletserviceapi.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuração do pipeline de auditoria (app.audit).
+ */
+@Getter @Setter
+public class AuditProperties {
+
+    /** Capacidade do buffer em memória; arredondada para potência de 2. */
+    private int bufferCapacity = 8192;
+
+    /** Eventos por lote entregue aos publishers. */
+    private int batchSize = 256;
+
+    /** Tempo máximo que um lote incompleto espera antes de ser entregue. */
+    private long flushIntervalMs = 200;
+
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.DROP_OLDEST;
+
+    /** BLOCK: espera máxima da request por espaço no buffer. */
+    private long blockTimeoutMs = 500;
+
+    /** SPILL_TO_DISK: arquivo (JSON por linha) com os eventos que não couberam no buffer. */
+    private String spillPath = "logs/audit-spill.jsonl";
+
+    /** Dias mantidos na tb_audit_event; partições mais antigas são removidas pelo job de retenção. */
+    private int retentionDays = 30;
+
+    /** Partições diárias criadas antecipadamente além da de hoje. */
+    private int partitionDaysAhead = 1;
+}
@@ -0,0 +1,93 @@
+package com.guga.walletserviceapi.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular limitado e sem lock (fila MPMC de Vyukov).
+ *
+ * Cada posição guarda uma sequência que indica se está livre para o produtor da volta atual ou
+ * preenchida para o consumidor; produtores e consumidores só disputam um CAS no contador de cauda/cabeça.
+ * Consumo múltiplo é necessário porque, com DROP_OLDEST, o próprio produtor remove o evento mais antigo.
+ */
+final class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        this.capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** @return false se o buffer estiver cheio */
+    boolean offer(AuditEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /** @return null se o buffer estiver vazio */
+    AuditEvent poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    AuditEvent event = slots.getAndSet(index, null);
+                    sequences.set(index, position + capacity);
+                    return event;
+                }
+            } else if (diff < 0) {
+                return null;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    int drainTo(List<AuditEvent> target, int max) {
+        int drained = 0;
+        AuditEvent event;
+        while (drained < max && (event = poll()) != null) {
+            target.add(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    /** Aproximado sob concorrência; usado em métricas e no aviso ao dispatcher. */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
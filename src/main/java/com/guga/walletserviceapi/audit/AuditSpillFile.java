@@ -0,0 +1,131 @@
+package com.guga.walletserviceapi.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Arquivo de transbordo do buffer (SPILL_TO_DISK): um evento JSON por linha.
+ *
+ * Produtores só escrevem aqui quando o buffer está cheio. Para reenviar, o dispatcher troca o arquivo
+ * ativo por um ".draining" e lê este último fora do lock; o que sobrar de uma execução anterior é
+ * reenviado na primeira drenagem.
+ */
+final class AuditSpillFile {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditSpillFile.class);
+
+    private final Path path;
+    private final Path drainingPath;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong pending = new AtomicLong();
+    private BufferedWriter writer;
+
+    AuditSpillFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.drainingPath = path.resolveSibling(path.getFileName() + ".draining");
+        this.objectMapper = objectMapper;
+        pending.set(countLines(path) + countLines(drainingPath));
+    }
+
+    synchronized void append(AuditEvent event) throws IOException {
+        if (writer == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        writer.write(objectMapper.writeValueAsString(event));
+        writer.newLine();
+        writer.flush();
+        pending.incrementAndGet();
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    /**
+     * Entrega os eventos gravados em lotes de até batchSize. Se a leitura falhar, o ".draining" é mantido
+     * e reenviado por inteiro na próxima drenagem (entrega pelo menos uma vez).
+     */
+    void drain(int batchSize, Consumer<List<AuditEvent>> consumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(drainingPath)) {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+                if (!Files.exists(path)) {
+                    return;
+                }
+                Files.move(path, drainingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long read = 0;
+        try (BufferedReader reader = Files.newBufferedReader(drainingPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                read++;
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("AUDIT_SPILL_PARSE_FAIL | file={} reason={}", drainingPath, e.getOriginalMessage());
+                }
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+        Files.delete(drainingPath);
+        pending.addAndGet(-read);
+    }
+
+    synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("AUDIT_SPILL_CLOSE_FAIL | file={} reason={}", path, e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private static long countLines(Path file) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
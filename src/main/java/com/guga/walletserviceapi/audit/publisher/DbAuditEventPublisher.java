@@ -1,14 +1,50 @@
 package com.guga.walletserviceapi.audit.publisher;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import com.guga.walletserviceapi.audit.*;
 
+import com.guga.walletserviceapi.audit.AuditEvent;
+import com.guga.walletserviceapi.audit.AuditEventPublisher;
+import com.guga.walletserviceapi.audit.AuditPartitionManager;
+import com.guga.walletserviceapi.repository.AuditEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Grava os lotes do pipeline na tb_audit_event com INSERT multi-linha,
+ * garantindo antes a partição diária de cada evento.
+ */
 @Component
+@ConditionalOnProperty(name = "app.audit.publishers.db.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
 public class DbAuditEventPublisher implements AuditEventPublisher {
-    private static final Logger log = LoggerFactory.getLogger(DbAuditEventPublisher.class);
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditPartitionManager partitionManager;
+
+    @Override
     public void publish(AuditEvent event) {
-        log.debug("DB audit stub: {}", event.getAction());
+        publishBatch(List.of(event));
+    }
+
+    @Override
+    public void publishBatch(List<AuditEvent> events) {
+        if (partitionManager.isPartitioned()) {
+            Set<LocalDate> days = events.stream()
+                .map(event -> partitionManager.dayOf(AuditEventRepository.createdAtOf(event)))
+                .collect(Collectors.toSet());
+            partitionManager.ensurePartitions(days);
+        }
+        auditEventRepository.insertAll(events);
+    }
+
+    @Override
+    public String name() {
+        return "db";
     }
 }
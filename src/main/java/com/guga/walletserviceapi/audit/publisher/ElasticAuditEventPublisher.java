@@ -2,10 +2,12 @@ package com.guga.walletserviceapi.audit.publisher;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import com.guga.walletserviceapi.audit.*;
 
 @Component
+@ConditionalOnProperty(name = "app.audit.publishers.elastic.enabled", havingValue = "true")
 public class ElasticAuditEventPublisher implements AuditEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(ElasticAuditEventPublisher.class);
     public void publish(AuditEvent event) {
@@ -0,0 +1,88 @@
+package com.guga.walletserviceapi.audit.publisher;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.audit.AuditEvent;
+import com.guga.walletserviceapi.audit.AuditEventPublisher;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Arquivo local com um evento JSON por linha; o lote inteiro é escrito e só então descarregado (flush).
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.publishers.file.enabled", havingValue = "true")
+public class FileAuditEventPublisher implements AuditEventPublisher {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+
+    public FileAuditEventPublisher(@Value("${app.audit.publishers.file.path:logs/audit-events.jsonl}") String path,
+                                   ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(AuditEvent event) {
+        publishBatch(List.of(event));
+    }
+
+    // só a thread do AuditPipeline escreve; o synchronized protege o close no shutdown
+    @Override
+    public synchronized void publishBatch(List<AuditEvent> events) {
+        try {
+            BufferedWriter out = writer();
+            for (AuditEvent event : events) {
+                out.write(objectMapper.writeValueAsString(event));
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Audit file sink failed: " + path, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // o próximo lote reabre o arquivo
+            }
+            writer = null;
+        }
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+}
@@ -2,10 +2,12 @@ package com.guga.walletserviceapi.audit.publisher;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import com.guga.walletserviceapi.audit.*;
 
 @Component
+@ConditionalOnProperty(name = "app.audit.publishers.kafka.enabled", havingValue = "true")
 public class KafkaAuditEventPublisher implements AuditEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(KafkaAuditEventPublisher.class);
     public void publish(AuditEvent event) {
@@ -0,0 +1,26 @@
+package com.guga.walletserviceapi.audit.publisher;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.guga.walletserviceapi.audit.AuditEvent;
+import com.guga.walletserviceapi.audit.AuditEventPublisher;
+import com.guga.walletserviceapi.audit.AuditLogger;
+
+/**
+ * Mantém a linha AUDIT do log4j (audit.log, console/OTLP), agora escrita pela thread do pipeline.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.publishers.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LogAuditEventPublisher implements AuditEventPublisher {
+
+    @Override
+    public void publish(AuditEvent event) {
+        AuditLogger.write(event);
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+}
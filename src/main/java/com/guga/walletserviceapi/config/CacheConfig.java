@@ -0,0 +1,52 @@
+package com.guga.walletserviceapi.config;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches locais (Caffeine) com limite de tamanho e TTL por cache, definidos em app.cache.specs.
+ * Todos gravam estatísticas, exportadas pelo actuator como cache.gets/cache.puts/cache.evictions.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final Logger LOGGER = LogManager.getLogger(CacheConfig.class);
+
+    public static final String PARAMS_APP = "params_app";
+    public static final String CUSTOMERS = "customers";
+    public static final String WALLET_METADATA = "wallet_metadata";
+
+    private static final List<String> CACHE_NAMES = List.of(PARAMS_APP, CUSTOMERS, WALLET_METADATA);
+
+    private static final String SPEC_PROPERTY = "app.cache.specs.";
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment env) {
+        String defaultSpec = env.getProperty(SPEC_PROPERTY + "default", DEFAULT_SPEC);
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+
+        for (String cacheName : CACHE_NAMES) {
+            String spec = env.getProperty(SPEC_PROPERTY + cacheName, defaultSpec);
+            caffeineCacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+            LOGGER.info("CACHE_CONFIG_REGISTER | cache={} spec={}", cacheName, spec);
+        }
+
+        // put/evict só após o commit: evita repopular o cache com o valor anterior a uma atualização em curso
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+}
@@ -5,6 +5,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 
+import com.guga.walletserviceapi.audit.AuditProperties;
+import com.guga.walletserviceapi.service.idempotency.IdempotencyProperties;
+import com.guga.walletserviceapi.service.ledger.LedgerProperties;
+import com.guga.walletserviceapi.service.outbox.OutboxProperties;
+import com.guga.walletserviceapi.service.storage.PartitioningProperties;
+
 @Configuration
 public class ConfigProperties {
 
@@ -20,5 +26,35 @@ public class ConfigProperties {
         matchers.setContextPath(contextPath);
         return matchers;
     }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.audit")
+    public AuditProperties auditProperties() {
+        return new AuditProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.partitioning")
+    public PartitioningProperties partitioningProperties() {
+        return new PartitioningProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.outbox")
+    public OutboxProperties outboxProperties() {
+        return new OutboxProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.idempotency")
+    public IdempotencyProperties idempotencyProperties() {
+        return new IdempotencyProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.ledger")
+    public LedgerProperties ledgerProperties() {
+        return new LedgerProperties();
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.guga.walletserviceapi.config.datasource;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Usuários com escrita confirmada nos últimos readYourWritesMs. A entrada expira sozinha ao fim da janela.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.enabled = windowMs > 0;
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_USERS)
+            .expireAfterWrite(Duration.ofMillis(Math.max(1, windowMs)))
+            .build();
+    }
+
+    public void recordWrite(String user) {
+        if (enabled && user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(String user) {
+        return enabled && user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    /** Usuário autenticado da thread atual; nulo para chamadas anônimas ou internas (jobs, seeder). */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
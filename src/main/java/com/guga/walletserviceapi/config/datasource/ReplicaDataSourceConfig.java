@@ -0,0 +1,92 @@
+package com.guga.walletserviceapi.config.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Roteamento leitura/escrita com app.datasource.replicas.enabled=true.
+ *
+ * O DataSource da aplicação passa a ser um LazyConnectionDataSourceProxy: a conexão só é obtida no primeiro SQL,
+ * quando o @Transactional(readOnly = true) já marcou a transação. Transações readOnly vão ao
+ * ReplicaRoutingDataSource; as demais (e o uso fora de transação: migrações, LISTEN/NOTIFY, COPY) ao primário.
+ * Sem a propriedade, o DataSource continua o do auto-configuration do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplicaDataSourceConfig.class);
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.replicas")
+    public ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesMs());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReplicaProperties replicaProperties,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(isBlank(node.getUsername()) ? primaryProperties.determineUsername() : node.getUsername());
+            replica.setPassword(isBlank(node.getPassword()) ? primaryProperties.determinePassword() : node.getPassword());
+            replica.setDriverClassName(primaryProperties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // réplica fora do ar não impede a subida; o monitor de atraso a tira do rodízio
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        LOGGER.info("DATASOURCE_REPLICAS_CONFIG | replicas={} maxLagMs={} readYourWritesMs={}",
+            replicas.size(), replicaProperties.getMaxLagMs(), replicaProperties.getReadYourWritesMs());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker, replicaProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        LazyConnectionDataSourceProxy dataSource =
+            new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,41 @@
+package com.guga.walletserviceapi.config.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Réplicas de leitura (app.datasource.replicas). Usuário/senha vazios herdam os de spring.datasource.
+ */
+@Getter @Setter
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Réplica com atraso acima disso sai do rodízio até alcançar o primário. */
+    private long maxLagMs = 1000;
+
+    private long lagCheckIntervalMs = 2000;
+
+    /** Depois de uma escrita confirmada, as leituras do mesmo usuário vão ao primário por este tempo; 0 desativa. */
+    private long readYourWritesMs = 2000;
+
+    /**
+     * Consulta que devolve o atraso da réplica em ms. Vazia: no PostgreSQL usa o replay do WAL, nos demais
+     * bancos considera atraso zero.
+     */
+    private String lagQuery;
+
+    private int maximumPoolSize = 10;
+
+    @Getter @Setter
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,161 @@
+package com.guga.walletserviceapi.config.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Lado somente leitura do LazyConnectionDataSourceProxy: transações readOnly pedem conexão aqui.
+ *
+ * Escolhe uma réplica em rodízio entre as que estão com atraso até maxLagMs (medido a cada lagCheckIntervalMs).
+ * Vai ao primário quando nenhuma réplica está apta, quando a réplica escolhida recusa conexão ou quando o usuário
+ * atual escreveu há menos de readYourWritesMs.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplicaRoutingDataSource.class);
+
+    // atraso 0 com o WAL recebido já aplicado: evita acusar atraso num primário ocioso
+    static final String POSTGRES_LAG_QUERY = """
+        SELECT CASE
+                 WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               END
+        """;
+
+    static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMs;
+    private final String lagQuery;
+
+    private final AtomicLongArray lagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker,
+                                    ReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.maxLagMs = properties.getMaxLagMs();
+        this.lagQuery = properties.getLagQuery() == null || properties.getLagQuery().isBlank() ? null : properties.getLagQuery();
+        this.lagMs = new AtomicLongArray(this.replicas.size());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refreshLag();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // os pools das réplicas não são beans; fecham junto com o roteador
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Mesmo roteamento de {@link #getConnection()}, abrindo a conexão escolhida com as credenciais informadas.
+     * Réplica cujo pool não aceita credenciais por chamada (Hikari) é pulada sem sair do rodízio.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        String user = ReadYourWritesTracker.currentUser();
+        if (tracker.wroteRecently(user)) {
+            LOGGER.debug("DATASOURCE_ROUTE | target=PRIMARY reason=read-your-writes user={}", user);
+            return opener.open(primary);
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (lagMs.get(index) > maxLagMs) {
+                continue;
+            }
+            try {
+                return opener.open(replicas.get(index));
+            } catch (SQLFeatureNotSupportedException e) {
+                LOGGER.debug("DATASOURCE_ROUTE | replica={} reason=credentials not supported", index);
+            } catch (SQLException e) {
+                updateLag(index, UNAVAILABLE, e.getMessage());
+            }
+        }
+        LOGGER.debug("DATASOURCE_ROUTE | target=PRIMARY reason=no replica within lag");
+        return opener.open(primary);
+    }
+
+    /** Mede o atraso de cada réplica; réplica inacessível fica fora do rodízio até a próxima medição boa. */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:2000}")
+    public void refreshLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            try {
+                updateLag(i, measureLag(replicas.get(i)), null);
+            } catch (SQLException | RuntimeException e) {
+                updateLag(i, UNAVAILABLE, e.getMessage());
+            }
+        }
+    }
+
+    public long lagOf(int replica) {
+        return lagMs.get(replica);
+    }
+
+    private long measureLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            String sql = lagQuery;
+            if (sql == null) {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return 0;
+                }
+                sql = POSTGRES_LAG_QUERY;
+            }
+            try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+                return rs.next() ? Math.max(0, Math.round(rs.getDouble(1))) : 0;
+            }
+        }
+    }
+
+    private void updateLag(int index, long lag, String reason) {
+        long previous = lagMs.getAndSet(index, lag);
+        boolean wasHealthy = previous <= maxLagMs;
+        boolean healthy = lag <= maxLagMs;
+        if (wasHealthy != healthy) {
+            LOGGER.warn("DATASOURCE_REPLICA_STATE | replica={} healthy={} lagMs={} maxLagMs={} reason={}",
+                index, healthy, lag == UNAVAILABLE ? "unavailable" : lag, maxLagMs, reason);
+        }
+    }
+}
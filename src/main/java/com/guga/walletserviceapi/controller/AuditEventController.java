@@ -0,0 +1,69 @@
+package com.guga.walletserviceapi.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.guga.walletserviceapi.audit.AuditLogContext;
+import com.guga.walletserviceapi.audit.AuditLogger;
+import com.guga.walletserviceapi.dto.audit.AuditEventResponseDTO;
+import com.guga.walletserviceapi.logging.LogMarkers;
+import com.guga.walletserviceapi.security.auth.JwtAuthenticatedUserProvider;
+import com.guga.walletserviceapi.service.AuditEventService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/audit-events")
+@Tag(name = "Audit", description = "Endpoints for querying audit events")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AuditEventController {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditEventController.class);
+
+    private final AuditEventService auditEventService;
+    private final JwtAuthenticatedUserProvider authUserProvider;
+
+    @Operation(
+        operationId = "audit_01_list_by_wallet_and_period",
+        summary = "Admin: List audit events of a wallet",
+        description = "Returns the most recent audit events of a wallet in the period [from, to), newest first. "
+            + "The period is limited to 31 days."
+    )
+    @GetMapping
+    public ResponseEntity<List<AuditEventResponseDTO>> listByWalletAndPeriod(
+        @RequestParam Long walletId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "100") int limit
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+
+        LOGGER.info(LogMarkers.LOG, "AUDIT_EVENT_LIST | admin={} walletId={} from={} to={}",
+            auditCtx.getUsername(), walletId, from, to
+        );
+
+        List<AuditEventResponseDTO> events = auditEventService.findByWalletIdAndPeriod(walletId, from, to, limit);
+
+        AuditLogger.log(
+            "AUDIT_EVENT_LIST",
+            auditCtx.toBuilder().info("walletId=" + walletId + ",rows=" + events.size()).build()
+        );
+
+        return ResponseEntity.ok(events);
+    }
+}
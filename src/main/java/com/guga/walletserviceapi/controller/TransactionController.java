@@ -1,6 +1,7 @@
 package com.guga.walletserviceapi.controller;
 
 import java.net.URI;
+import java.time.LocalDate;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -8,12 +9,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,11 +24,15 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.guga.walletserviceapi.audit.AuditLogContext;
 import com.guga.walletserviceapi.audit.AuditLogger;
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchRequestDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchResultDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionCursorPageDTO;
 import com.guga.walletserviceapi.dto.transaction.TransactionDepositDTO;
 import com.guga.walletserviceapi.dto.transaction.TransactionMapper;
 import com.guga.walletserviceapi.dto.transaction.TransactionResponseDTO;
 import com.guga.walletserviceapi.dto.transaction.TransactionTransferDTO;
 import com.guga.walletserviceapi.dto.transaction.TransactionWithdrawDTO;
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.helpers.GlobalHelper;
 import com.guga.walletserviceapi.logging.LogMarkers;
@@ -36,6 +43,10 @@ import com.guga.walletserviceapi.model.enums.OperationType;
 import com.guga.walletserviceapi.model.enums.StatusTransaction;
 import com.guga.walletserviceapi.security.auth.JwtAuthenticatedUserProvider;
 import com.guga.walletserviceapi.service.TransactionService;
+import com.guga.walletserviceapi.service.idempotency.IdempotencyService;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryRebuilder;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryRebuilder.RebuildReport;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -55,6 +66,9 @@ public class TransactionController {
     private final TransactionService transactionService;
     private final JwtAuthenticatedUserProvider authUserProvider;
     private final TransactionMapper transactionMapper;
+    private final WalletDailySummaryService walletDailySummaryService;
+    private final WalletDailySummaryRebuilder walletDailySummaryRebuilder;
+    private final IdempotencyService idempotencyService;
 
 
     @Operation(
@@ -157,69 +171,78 @@ public class TransactionController {
     @Operation(
         operationId = "transaction_07_create_deposit",
         summary = "Deposit money",
-        description = "Creates a DEPOSIT transaction for the authenticated user's wallet."
+        description = "Creates a DEPOSIT transaction for the authenticated user's wallet. An optional Idempotency-Key header makes retries return the original response."
     )
     @PostMapping("/deposit")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<TransactionResponseDTO> createDeposit(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
         @RequestBody @Valid TransactionDepositDTO dto
     ) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
         Long walletId = auditCtx.getWalletId();
 
         LOGGER.info(LogMarkers.LOG, "DEPOSIT | walletId={} amount={}", walletId, dto.amount());
-        AuditLogger.log("TRANSACTION_DEPOSIT [START]", auditCtx);
 
-        DepositMoney deposit = transactionService.saveDepositMoney(
-            walletId, dto.amount(), dto.cpfSender(), dto.terminalId(), dto.senderName()
-        );
-
-        URI location = ServletUriComponentsBuilder
-            .fromCurrentRequest()
-            .path("/{transactionId}")
-            .buildAndExpand(deposit.getTransactionId())
-            .toUri();
-
-        AuditLogger.log(
-            "TRANSACTION_DEPOSIT [SUCCESS]",
-            auditCtx.toBuilder().info("transactionId=" + deposit.getTransactionId()).build()
-        );
-        return ResponseEntity.created(location).body(transactionMapper.toDto(deposit));
+        return idempotencyService.execute(idempotencyKey, OperationType.DEPOSIT, walletId, dto, () -> {
+            AuditLogger.log("TRANSACTION_DEPOSIT [START]", auditCtx);
+
+            DepositMoney deposit = transactionService.saveDepositMoney(
+                walletId, dto.amount(), dto.cpfSender(), dto.terminalId(), dto.senderName()
+            );
+
+            URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{transactionId}")
+                .buildAndExpand(deposit.getTransactionId())
+                .toUri();
+
+            AuditLogger.log(
+                "TRANSACTION_DEPOSIT [SUCCESS]",
+                auditCtx.toBuilder().info("transactionId=" + deposit.getTransactionId()).build()
+            );
+            return ResponseEntity.created(location).body(transactionMapper.toDto(deposit));
+        });
     }
 
     @Operation(
         operationId = "transaction_08_create_withdraw",
         summary = "Withdraw money",
-        description = "Creates a WITHDRAW transaction for the authenticated user's wallet."
+        description = "Creates a WITHDRAW transaction for the authenticated user's wallet. An optional Idempotency-Key header makes retries return the original response."
     )
     @PostMapping("/withdraw")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<TransactionResponseDTO> createWithdraw(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
         @RequestBody @Valid TransactionWithdrawDTO dto
     ) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
         Long walletId = auditCtx.getWalletId();
 
         LOGGER.info(LogMarkers.LOG, "WITHDRAW | walletId={} amount={}", walletId, dto.amount());
-        AuditLogger.log("TRANSACTION_WITHDRAW [START]", auditCtx);
 
-        Transaction transaction = transactionService.saveWithdrawMoney(walletId, dto.amount());
+        return idempotencyService.execute(idempotencyKey, OperationType.WITHDRAW, walletId, dto, () -> {
+            AuditLogger.log("TRANSACTION_WITHDRAW [START]", auditCtx);
 
-        AuditLogger.log(
-            "TRANSACTION_WITHDRAW [SUCCESS]",
-            auditCtx.toBuilder().info("transactionId=" + transaction.getTransactionId()).build()
-        );
-        return ResponseEntity.ok(transactionMapper.toDto(transaction));
+            Transaction transaction = transactionService.saveWithdrawMoney(walletId, dto.amount());
+
+            AuditLogger.log(
+                "TRANSACTION_WITHDRAW [SUCCESS]",
+                auditCtx.toBuilder().info("transactionId=" + transaction.getTransactionId()).build()
+            );
+            return ResponseEntity.ok(transactionMapper.toDto(transaction));
+        });
     }
 
     @Operation(
         operationId = "transaction_09_create_transfer",
         summary = "Transfer money",
-        description = "Creates a TRANSFER transaction from the authenticated user's wallet."
+        description = "Creates a TRANSFER transaction from the authenticated user's wallet. An optional Idempotency-Key header makes retries return the original response."
     )
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<TransactionResponseDTO> createTransfer(
+        @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
         @RequestBody @Valid TransactionTransferDTO dto
     ) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
@@ -228,16 +251,19 @@ public class TransactionController {
         LOGGER.info(LogMarkers.LOG, "TRANSFER | fromWallet={} toWallet={} amount={}",
             walletIdSend, dto.walletIdReceived(), dto.amount()
         );
-        AuditLogger.log("TRANSACTION_TRANSFER [START]", auditCtx);
 
-        TransferMoneySend transfer =
-            transactionService.saveTransferMoneySend(walletIdSend, dto.walletIdReceived(), dto.amount());
+        return idempotencyService.execute(idempotencyKey, OperationType.TRANSFER_SEND, walletIdSend, dto, () -> {
+            AuditLogger.log("TRANSACTION_TRANSFER [START]", auditCtx);
 
-        AuditLogger.log(
-            "TRANSACTION_TRANSFER [SUCCESS]",
-            auditCtx.toBuilder().info("transactionId=" + transfer.getTransactionId()).build()
-        );
-        return ResponseEntity.ok(transactionMapper.toDto(transfer));
+            TransferMoneySend transfer =
+                transactionService.saveTransferMoneySend(walletIdSend, dto.walletIdReceived(), dto.amount());
+
+            AuditLogger.log(
+                "TRANSACTION_TRANSFER [SUCCESS]",
+                auditCtx.toBuilder().info("transactionId=" + transfer.getTransactionId()).build()
+            );
+            return ResponseEntity.ok(transactionMapper.toDto(transfer));
+        });
     }
 
     @Operation(
@@ -294,6 +320,142 @@ public class TransactionController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+        operationId = "transaction_12_list_my_history_cursor",
+        summary = "List my transaction history by cursor",
+        description = "Returns the authenticated user's transactions, newest first, one page per call. "
+            + "Pass the nextCursor of a page as 'after' to get the next one. No total count is computed."
+    )
+    @GetMapping("/me/history")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionCursorPageDTO> listMyHistory(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) OperationType operation
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+        Long walletId = auditCtx.getWalletId();
+
+        LOGGER.info(LogMarkers.LOG, "LIST_MY_HISTORY | walletId={} operation={} limit={} firstPage={}",
+            walletId, operation, limit, after == null);
+
+        TransactionCursorPageDTO result = TransactionCursorPageDTO.of(
+            transactionService.listTransactionsAfter(walletId, operation, after, limit),
+            transactionMapper::toDto);
+
+        AuditLogger.log(
+            "TRANSACTION_HISTORY_ME",
+            auditCtx.toBuilder().info("rows=" + result.items().size() + ",hasNext=" + result.hasNext()).build()
+        );
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+        operationId = "transaction_13_get_my_statement_summary",
+        summary = "Get my statement summary by period",
+        description = "Returns opening/closing balance and totals by operation type for the authenticated user's wallet, "
+            + "with one entry per day with movements. If endDate is not provided, it defaults to today."
+    )
+    @GetMapping("/me/summary")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<WalletStatementSummaryDTO> getMyStatementSummary(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+        Long walletId = auditCtx.getWalletId();
+
+        LOGGER.info(LogMarkers.LOG, "GET_MY_STATEMENT_SUMMARY | walletId={} start={} end={}", walletId, startDate, endDate);
+
+        WalletStatementSummaryDTO result = walletDailySummaryService.summarize(walletId, startDate, endDate);
+
+        AuditLogger.log(
+            "TRANSACTION_SUMMARY_ME",
+            auditCtx.toBuilder().info("start=" + result.startDate() + ",end=" + result.endDate() + ",days=" + result.days().size()).build()
+        );
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+        operationId = "transaction_14_get_statement_summary_by_wallet_admin",
+        summary = "Get statement summary by wallet (ADMIN)",
+        description = "Returns the period statement summary of a wallet. Admin-only operation."
+    )
+    @GetMapping("/wallet/{id}/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WalletStatementSummaryDTO> getStatementSummaryByWallet(
+        @PathVariable Long id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+
+        LOGGER.info(LogMarkers.LOG, "GET_STATEMENT_SUMMARY_BY_WALLET | walletId={} start={} end={} admin={}",
+            id, startDate, endDate, auditCtx.getUsername());
+
+        WalletStatementSummaryDTO result = walletDailySummaryService.summarize(id, startDate, endDate);
+
+        AuditLogger.log(
+            "TRANSACTION_SUMMARY_BY_WALLET",
+            auditCtx.toBuilder().info("walletId=" + id + ",days=" + result.days().size()).build()
+        );
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+        operationId = "transaction_15_rebuild_statement_summaries_admin",
+        summary = "Rebuild daily statement summaries (ADMIN)",
+        description = "Recomputes the daily wallet summaries between startDate and endDate from the movement table, "
+            + "in parallel by wallet range. Use after bulk imports. Admin-only operation."
+    )
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RebuildReport> rebuildStatementSummaries(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+        LOGGER.info(LogMarkers.LOG, "REBUILD_STATEMENT_SUMMARIES | start={} end={} admin={}",
+            startDate, end, auditCtx.getUsername());
+
+        RebuildReport report = walletDailySummaryRebuilder.rebuild(startDate, end);
+
+        AuditLogger.log(
+            "TRANSACTION_SUMMARY_REBUILD",
+            auditCtx.toBuilder().info("start=" + startDate + ",end=" + end + ",rows=" + report.rows()).build()
+        );
+        return ResponseEntity.ok(report);
+    }
+
+    @Operation(
+        operationId = "transaction_16_create_batch",
+        summary = "Run a batch of money movements",
+        description = "Runs up to app.transaction.batch.max-operations deposits, withdraws and transfers from the "
+            + "authenticated user's wallet in a single transaction. ALL_OR_NOTHING rolls back the whole batch when any "
+            + "item is rejected (HTTP 400 with the per-item result); PER_ITEM applies the accepted items only."
+    )
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionBatchResultDTO> createBatch(@RequestBody @Valid TransactionBatchRequestDTO dto) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+        Long walletId = auditCtx.getWalletId();
+
+        LOGGER.info(LogMarkers.LOG, "BATCH | walletId={} atomicity={} operations={}",
+            walletId, dto.atomicity(), dto.operations().size());
+        AuditLogger.log("TRANSACTION_BATCH [START]", auditCtx);
+
+        TransactionBatchResultDTO result = transactionService.saveBatch(walletId, dto.atomicity(), dto.operations());
+
+        AuditLogger.log(
+            "TRANSACTION_BATCH [" + (result.committed() ? "SUCCESS" : "REJECTED") + "]",
+            auditCtx.toBuilder().info("atomicity=" + result.atomicity() + ",succeeded=" + result.succeeded()
+                + ",rejected=" + result.rejected()).build()
+        );
+        return result.committed() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     private ResponseEntity<Page<TransactionResponseDTO>> listMyTransactionsByOperation(OperationType operation) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
         Long walletId = auditCtx.getWalletId();
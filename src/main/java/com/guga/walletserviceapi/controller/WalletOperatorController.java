@@ -3,15 +3,18 @@ package com.guga.walletserviceapi.controller;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -20,15 +23,19 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.guga.walletserviceapi.audit.AuditLogContext;
 import com.guga.walletserviceapi.audit.AuditLogger;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionCursorPageDTO;
 import com.guga.walletserviceapi.dto.transaction.TransactionMapper;
 import com.guga.walletserviceapi.dto.transaction.TransactionResponseDTO;
 import com.guga.walletserviceapi.helpers.GlobalHelper;
 import com.guga.walletserviceapi.logging.LogMarkers;
 import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
 import com.guga.walletserviceapi.model.enums.OperationType;
 import com.guga.walletserviceapi.security.auth.JwtAuthenticatedUserProvider;
 import com.guga.walletserviceapi.service.CustomerService;
 import com.guga.walletserviceapi.service.TransactionService;
+import com.guga.walletserviceapi.service.common.BulkImportEngine;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -48,6 +55,7 @@ public class WalletOperatorController {
     private final TransactionService transactionService;
     private final JwtAuthenticatedUserProvider authUserProvider;
     private final TransactionMapper transactionMapper;
+    private final BulkImportEngine bulkImportEngine;
 
     @Operation(
         operationId = "walletoperator_01_get_my_recent_transactions",
@@ -158,7 +166,7 @@ public class WalletOperatorController {
     )
     @PostMapping("/uploads/customers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> uploadCustomers(@RequestParam MultipartFile file) {
+    public ResponseEntity<ImportJobStatusDTO> uploadCustomers(@RequestParam MultipartFile file) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
 
         LOGGER.info(LogMarkers.LOG, "WALLET_OPERATOR_UPLOAD_CUSTOMERS | admin={} file={}",
@@ -169,14 +177,9 @@ public class WalletOperatorController {
             auditCtx.toBuilder().info("file=" + file.getOriginalFilename()).build()
         );
 
-        customerService.importCustomers(file);
+        ImportJobStatusDTO result = customerService.importCustomers(file);
 
-        AuditLogger.log(
-            "WALLET_OPERATOR_UPLOAD_CUSTOMERS [SUCCESS]",
-            auditCtx.toBuilder().info("file=" + file.getOriginalFilename()).build()
-        );
-
-        return ResponseEntity.ok("Customers uploaded successfully");
+        return importResponse("WALLET_OPERATOR_UPLOAD_CUSTOMERS", auditCtx, file, result);
     }
 
     @Operation(
@@ -186,7 +189,7 @@ public class WalletOperatorController {
     )
     @PostMapping("/uploads/transactions")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> uploadTransactions(@RequestParam MultipartFile file) {
+    public ResponseEntity<ImportJobStatusDTO> uploadTransactions(@RequestParam MultipartFile file) {
         AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
 
         LOGGER.info(LogMarkers.LOG, "WALLET_OPERATOR_UPLOAD_TRANSACTIONS | admin={} file={}",
@@ -197,14 +200,75 @@ public class WalletOperatorController {
             auditCtx.toBuilder().info("file=" + file.getOriginalFilename()).build()
         );
 
-        transactionService.importTransactions(file);
+        ImportJobStatusDTO result = transactionService.importTransactions(file);
+
+        return importResponse("WALLET_OPERATOR_UPLOAD_TRANSACTIONS", auditCtx, file, result);
+    }
+
+    @Operation(
+        operationId = "walletoperator_09_admin_list_import_jobs",
+        summary = "Admin: List import jobs",
+        description = "Returns the 50 most recent bulk import jobs with their chunk progress. Admin-only operation."
+    )
+    @GetMapping("/imports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportJobStatusDTO>> listImportJobs() {
+        return ResponseEntity.ok(bulkImportEngine.recentJobs());
+    }
+
+    @Operation(
+        operationId = "walletoperator_10_admin_get_import_job",
+        summary = "Admin: Get import job status",
+        description = "Returns the progress of a bulk import job (chunks done/failed and records imported). Admin-only operation."
+    )
+    @GetMapping("/imports/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobStatusDTO> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(bulkImportEngine.status(jobId));
+    }
 
+    // job com chunks em erro responde 422; reenviar o mesmo arquivo reprocessa apenas esses chunks
+    private ResponseEntity<ImportJobStatusDTO> importResponse(String action, AuditLogContext auditCtx,
+                                                              MultipartFile file, ImportJobStatusDTO result) {
+        boolean completed = result.status() == ImportJobStatus.COMPLETED;
         AuditLogger.log(
-            "WALLET_OPERATOR_UPLOAD_TRANSACTIONS [SUCCESS]",
-            auditCtx.toBuilder().info("file=" + file.getOriginalFilename()).build()
+            action + (completed ? " [SUCCESS]" : " [FAILED]"),
+            auditCtx.toBuilder()
+                .info("file=" + file.getOriginalFilename() + " jobId=" + result.jobId()
+                    + " records=" + result.recordsImported() + " failedChunks=" + result.chunksFailed())
+                .build()
         );
+        return completed
+            ? ResponseEntity.ok(result)
+            : ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+    }
+
+    @Operation(
+        operationId = "walletoperator_11_get_my_transactions_cursor",
+        summary = "Get my transactions by cursor (all types or one operation)",
+        description = "Keyset-paginated history for the authenticated user's wallet, newest first. "
+            + "Send the returned nextCursor as 'after' to continue; no total count is computed."
+    )
+    @GetMapping("/me/transactions/history")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionCursorPageDTO> getMyTransactionsByCursor(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) OperationType operation
+    ) {
+        AuditLogContext auditCtx = AuditLogContext.from(authUserProvider.get());
+        LOGGER.info(LogMarkers.LOG, "WALLET_OPERATOR_LIST_CURSOR | walletId={} operation={} limit={}",
+            auditCtx.getWalletId(), operation, limit);
+
+        TransactionCursorPageDTO response = TransactionCursorPageDTO.of(
+            transactionService.listTransactionsAfter(auditCtx.getWalletId(), operation, after, limit),
+            transactionMapper::toDto);
 
-        return ResponseEntity.ok("Transactions uploaded successfully");
+        AuditLogger.log(
+            "TRANSACTION_LIST_CURSOR_ME",
+            auditCtx.toBuilder().info("operation=" + operation + ",rows=" + response.items().size()).build()
+        );
+        return ResponseEntity.ok(response);
     }
 
     private ResponseEntity<Page<TransactionResponseDTO>> listMyTransactionsByOperation(OperationType operation) {
@@ -0,0 +1,17 @@
+package com.guga.walletserviceapi.dto.audit;
+
+import java.time.LocalDateTime;
+
+public record AuditEventResponseDTO(
+    LocalDateTime createdAt,
+    String action,
+    String username,
+    Long loginId,
+    Long customerId,
+    Long walletId,
+    String ipAddress,
+    String traceId,
+    String result,
+    String info
+)
+{ }
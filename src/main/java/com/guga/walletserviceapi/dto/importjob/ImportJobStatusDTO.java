@@ -0,0 +1,26 @@
+package com.guga.walletserviceapi.dto.importjob;
+
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
+
+/**
+ * Progresso de um job de importação; chunksDone/chunksFailed/recordsImported vêm dos checkpoints.
+ */
+public record ImportJobStatusDTO(
+    Long jobId,
+    String entityType,
+    String fileName,
+    ImportJobStatus status,
+    int chunkSize,
+    Integer totalChunks,
+    long chunksDone,
+    long chunksFailed,
+    long recordsImported,
+    int attempts,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    LocalDateTime finishedAt
+)
+{ }
@@ -0,0 +1,21 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.math.BigDecimal;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Item de POST /transactions/batch, sempre a partir da wallet autenticada: DEPOSIT, WITHDRAW ou TRANSFER_SEND
+ * (com walletIdReceived). Os dados do depositante são opcionais, como no depósito avulso.
+ */
+public record TransactionBatchItemDTO(
+    @NotNull OperationType operationType,
+    @NotNull @DecimalMin("0.01") BigDecimal amount,
+    Long walletIdReceived,
+    String cpfSender,
+    String terminalId,
+    String senderName
+) {}
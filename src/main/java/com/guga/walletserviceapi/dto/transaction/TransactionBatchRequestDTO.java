@@ -0,0 +1,14 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.util.List;
+
+import com.guga.walletserviceapi.model.enums.BatchAtomicity;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record TransactionBatchRequestDTO(
+    @NotNull BatchAtomicity atomicity,
+    @NotEmpty List<@Valid @NotNull TransactionBatchItemDTO> operations
+) {}
@@ -0,0 +1,36 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.guga.walletserviceapi.model.enums.BatchAtomicity;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Resultado de POST /transactions/batch, um item por operação na ordem do pedido.
+ *
+ * @param committed false quando o lote ALL_OR_NOTHING foi desfeito por algum item recusado
+ */
+public record TransactionBatchResultDTO(
+    BatchAtomicity atomicity,
+    boolean committed,
+    int succeeded,
+    int rejected,
+    List<Item> items
+) {
+
+    /**
+     * @param status SUCCESS ou o motivo da recusa
+     * @param applied true quando a operação foi gravada (SUCCESS num lote desfeito fica false)
+     * @param currentBalance saldo da wallet autenticada após o item
+     */
+    public record Item(
+        int index,
+        OperationType operationType,
+        StatusTransaction status,
+        boolean applied,
+        Long transactionId,
+        BigDecimal currentBalance
+    ) {}
+}
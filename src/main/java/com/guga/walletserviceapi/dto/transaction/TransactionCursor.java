@@ -0,0 +1,46 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.Transaction;
+
+/**
+ * Posição do keyset (created_at, transaction_id) da última linha entregue. Vai para o cliente como texto opaco
+ * (base64url de "createdAt|transactionId") e volta no parâmetro {@code after}.
+ */
+public record TransactionCursor(LocalDateTime createdAt, Long transactionId) {
+
+    // primeira página: qualquer linha vem antes deste ponto na ordem (created_at DESC, transaction_id DESC)
+    public static final TransactionCursor START = new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getCreatedAt(), transaction.getTransactionId());
+    }
+
+    /** Cursor vazio ou ausente indica a primeira página. */
+    public static TransactionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TransactionCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResourceBadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((createdAt + SEPARATOR + transactionId).getBytes(StandardCharsets.UTF_8));
+    }
+}
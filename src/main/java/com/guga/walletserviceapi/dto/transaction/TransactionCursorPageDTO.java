@@ -0,0 +1,27 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import com.guga.walletserviceapi.model.Transaction;
+
+/**
+ * Página por cursor: sem total nem número de página. {@code nextCursor} é nulo na última página.
+ */
+public record TransactionCursorPageDTO(
+    List<TransactionResponseDTO> items,
+    int limit,
+    boolean hasNext,
+    String nextCursor
+) {
+
+    public static TransactionCursorPageDTO of(Slice<Transaction> slice, Function<Transaction, TransactionResponseDTO> mapper) {
+        List<Transaction> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+            ? TransactionCursor.of(content.get(content.size() - 1)).encode()
+            : null;
+        return new TransactionCursorPageDTO(content.stream().map(mapper).toList(), slice.getSize(), slice.hasNext(), next);
+    }
+}
@@ -0,0 +1,39 @@
+package com.guga.walletserviceapi.dto.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * Extrato resumido de um período, montado a partir da tb_wallet_daily_summary (uma linha por dia com movimento).
+ * Dias sem movimento não aparecem em {@code days}.
+ */
+public record WalletStatementSummaryDTO(
+    Long walletId,
+    LocalDate startDate,
+    LocalDate endDate,
+    BigDecimal openingBalance,
+    BigDecimal closingBalance,
+    Map<OperationType, OperationTotal> totals,
+    List<Day> days
+) {
+
+    public record OperationTotal(long count, BigDecimal amount) {
+
+        public static final OperationTotal EMPTY = new OperationTotal(0, BigDecimal.ZERO);
+
+        public OperationTotal plus(OperationTotal other) {
+            return new OperationTotal(count + other.count, amount.add(other.amount));
+        }
+    }
+
+    public record Day(
+        LocalDate date,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        Map<OperationType, OperationTotal> totals
+    ) {}
+}
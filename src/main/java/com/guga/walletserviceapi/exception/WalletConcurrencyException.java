@@ -0,0 +1,11 @@
+package com.guga.walletserviceapi.exception;
+
+public class WalletConcurrencyException extends RuntimeException {
+    public WalletConcurrencyException(String message) {
+        super(message);
+    }
+
+    public WalletConcurrencyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
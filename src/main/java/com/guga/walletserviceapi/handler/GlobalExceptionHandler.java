@@ -19,8 +19,10 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 
+import com.guga.walletserviceapi.exception.IdempotencyConflictException;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.exception.ResourceNotFoundException;
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
 import com.guga.walletserviceapi.model.enums.ErrorCode;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -222,6 +224,38 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(WalletConcurrencyException.class)
+    public ResponseEntity<ErrorResponse> handleWalletConcurrency(WalletConcurrencyException ex,
+                                                                 HttpServletRequest request) {
+
+        LOGGER.warn("Wallet concurrency conflict: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildError(
+                        HttpStatus.CONFLICT,
+                        ErrorCode.CONFLICT,
+                        ex.getMessage(),
+                        request
+                ));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex,
+                                                                   HttpServletRequest request) {
+
+        LOGGER.warn("Idempotency conflict: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildError(
+                        HttpStatus.CONFLICT,
+                        ErrorCode.CONFLICT,
+                        ex.getMessage(),
+                        request
+                ));
+    }
+
     // =====================================================
     // 500 - ERRO INTERNO
     // =====================================================
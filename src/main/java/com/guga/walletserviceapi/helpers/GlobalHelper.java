@@ -32,9 +32,6 @@ public class GlobalHelper {
     @Value("${WALLET_PASS}")
     public static final String APP_WALLET_PASS = "wallet_pass";
 
-    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
-    public static int BATCH_SIZE;
-
     public static Pageable getDefaultPageable() {
         return PageRequest.of(0, 150,
                 Sort.by(
@@ -117,6 +117,7 @@ public class TransactionUtils {
     public static void adjustBalanceWallet(Wallet wallet, Transaction transaction) {
         wallet.setPreviousBalance( transaction.getPreviousBalance() );
         wallet.setCurrentBalance( transaction.getCurrentBalance() );
+        wallet.setLastOperationType( transaction.getOperationType() );
         wallet.setUpdatedAt( LocalDateTime.now() );
     }
 
@@ -0,0 +1,87 @@
+package com.guga.walletserviceapi.model;
+
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Importação em massa de um arquivo JSON. O arquivo é identificado pelo hash do conteúdo:
+ * reenviar o mesmo arquivo retoma o job não concluído a partir dos checkpoints em tb_import_chunk.
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "tb_import_job", indexes = {
+    @Index(name = "ix_import_job_hash", columnList = "entity_type, content_hash")
+})
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, unique = true)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 40)
+    private String entityType;
+
+    @Column(name = "file_name", nullable = true, length = 255)
+    private String fileName;
+
+    /** SHA-256 (hex) do arquivo. */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /** Fixo por job: a retomada precisa dos mesmos limites de chunk da primeira execução. */
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 12)
+    private ImportJobStatus status;
+
+    /** Conhecido apenas ao fim da leitura do arquivo. */
+    @Column(name = "total_chunks", nullable = true)
+    private Integer totalChunks;
+
+    @Column(name = "records_imported", nullable = false)
+    private long recordsImported;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private int failedChunks;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "error_message", nullable = true, length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at", nullable = true)
+    private LocalDateTime finishedAt;
+
+}
@@ -0,0 +1,64 @@
+package com.guga.walletserviceapi.model;
+
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.model.enums.ImportChunkStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Checkpoint de um chunk de {@link ImportJob}. O checkpoint DONE é gravado na mesma transação
+ * dos registros do chunk, então existe se e somente se os dados foram persistidos.
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "tb_import_chunk", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_import_chunk_job_index", columnNames = { "job_id", "chunk_index" })
+})
+public class ImportJobChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, unique = true)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    /** Posição do chunk no arquivo, a partir de 0. */
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 8)
+    private ImportChunkStatus status;
+
+    @Column(name = "records", nullable = false)
+    private int records;
+
+    @Column(name = "error_message", nullable = true, length = 500)
+    private String errorMessage;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+}
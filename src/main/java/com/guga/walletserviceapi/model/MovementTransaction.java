@@ -18,6 +18,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Digits;
 import lombok.AllArgsConstructor;
@@ -31,7 +32,10 @@ import lombok.NoArgsConstructor;
     "movementId", "createdAt", "operationType", "amount", "statusTransaction", "transactionId", "walletId", "transactionReferenceId", "walletReferenceId"
 })
 @Entity()
-@Table(name = "tb_movement_transfer")
+@Table(name = "tb_movement_transfer", indexes = {
+    // V2__wallet_daily_summary.sql: recorte do rebuild do resumo diário
+    @Index(name = "ix_movement_wallet_created", columnList = "wallet_id, created_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -3,6 +3,8 @@ package com.guga.walletserviceapi.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DiscriminatorOptions;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -18,10 +20,15 @@ import com.opencsv.bean.CsvCustomBindByName;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Convert;
+import jakarta.persistence.DiscriminatorColumn;
+import jakarta.persistence.DiscriminatorType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
@@ -36,7 +43,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
-@Inheritance(strategy = InheritanceType.JOINED)
+/**
+ * Todas as subclasses ficam na tb_transaction (SINGLE_TABLE): um INSERT por transação e listagens sem join.
+ * O discriminador é a própria coluna operation_type, gravada pelo atributo operationType
+ * ({@code insert = false}), então o código da operação precisa corresponder à subclasse.
+ * Bases criadas com o layout JOINED são migradas pelo TransactionStorageMigrator.
+ */
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "operation_type", discriminatorType = DiscriminatorType.INTEGER)
+@DiscriminatorOptions(insert = false)
 @JsonTypeInfo(
         use = JsonTypeInfo.Id.NAME,
         include = JsonTypeInfo.As.EXISTING_PROPERTY,
@@ -53,7 +68,12 @@ import lombok.experimental.SuperBuilder;
     "transactionId", "operationType", "walletId", "loginId", "previousBalance", "amount", "currentBalance", "statusTransaction", "movementId", "createdAt"
 })
 @Entity
-@Table(name = "tb_transaction")
+@Table(name = "tb_transaction", indexes = {
+    // histórico por wallet em keyset (created_at, transaction_id); serve também a ordenação dos endpoints paginados
+    @Index(name = "ix_transaction_wallet_created", columnList = "wallet_id, created_at, transaction_id"),
+    // mesmos índices da migração V1 (db/migration)
+    @Index(name = "ix_transaction_wallet_operation", columnList = "wallet_id, operation_type, created_at, transaction_id")
+})
 @SuperBuilder
 @Getter
 @Setter
@@ -113,7 +133,9 @@ public abstract class Transaction {
 
     @Schema(description = "Transfer Money associated with the moviment", accessMode = Schema.AccessMode.READ_WRITE)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "movement_id_fk", referencedColumnName = "movement_id", nullable = true, insertable = true, updatable = false)
+    // sem FK no banco: com tb_movement_transfer particionada a PK é (movement_id, created_at)
+    @JoinColumn(name = "movement_id_fk", referencedColumnName = "movement_id", nullable = true, insertable = true, updatable = false,
+        foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private MovementTransaction movementTransaction;
 
 }
@@ -1,7 +1,7 @@
 package com.guga.walletserviceapi.model;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -9,7 +9,7 @@ import lombok.experimental.SuperBuilder;
 
 
 @Entity
-@Table(name = "tb_transfer_received")
+@DiscriminatorValue("4") // OperationType.TRANSFER_RECEIVED
 @Data
 @NoArgsConstructor // ESSA é crucial para o Jackson/Spring
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
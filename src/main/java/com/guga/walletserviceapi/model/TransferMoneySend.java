@@ -1,14 +1,14 @@
 package com.guga.walletserviceapi.model;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "tb_transfer_send")
+@DiscriminatorValue("3") // OperationType.TRANSFER_SEND
 @Data
 @NoArgsConstructor // ESSA é crucial para o Jackson/Spring
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
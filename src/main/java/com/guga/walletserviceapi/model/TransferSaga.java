@@ -0,0 +1,78 @@
+package com.guga.walletserviceapi.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Crédito pendente de uma transferência no modo SAGA, gravado na mesma transação do débito.
+ *
+ * O id é o transactionId do TRANSFER_SEND; receivedTransactionId é reservado no débito e vira o id do
+ * TRANSFER_RECEIVED (ou da devolução), então um crédito aplicado duas vezes esbarra na chave da tb_transaction.
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "sagaId")
+@Entity
+@Table(name = "tb_transfer_saga", indexes = {
+    // varredura de pendentes (TransferSagaProcessor.sweep)
+    @Index(name = "ix_transfer_saga_status_next", columnList = "status, next_attempt_at")
+})
+public class TransferSaga {
+
+    @Id
+    @Column(name = "saga_id", nullable = false, unique = true)
+    private Long sagaId;
+
+    @Column(name = "wallet_id_send", nullable = false)
+    private Long walletIdSend;
+
+    @Column(name = "wallet_id_received", nullable = false)
+    private Long walletIdReceived;
+
+    @Column(name = "amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "received_transaction_id", nullable = false, unique = true)
+    private Long receivedTransactionId;
+
+    @Column(name = "login_auth_id", nullable = true)
+    private Long loginAuthId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 12)
+    private TransferSagaStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", nullable = true, length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -3,7 +3,10 @@ package com.guga.walletserviceapi.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.guga.walletserviceapi.helpers.GlobalHelper;
@@ -18,9 +21,11 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -40,7 +45,11 @@ import lombok.Setter;
 @AllArgsConstructor
 @EqualsAndHashCode(of = "walletId")
 @Entity
-@Table(name = "tb_wallet")
+@Table(name = "tb_wallet", indexes = {
+    // mesmos índices da migração V1 (db/migration): findByCustomerId e findByStatus ordenados por created_at
+    @Index(name = "ix_wallet_customer_created", columnList = "customer_id_fk, created_at"),
+    @Index(name = "ix_wallet_status_created", columnList = "status, created_at")
+})
 public class Wallet {
 
     @Id // Chave primária simples, campo único
@@ -91,4 +100,12 @@ public class Wallet {
     @Column(name = "updated_At", nullable = false)
     private LocalDateTime updatedAt;
 
+
+    // Controle otimista de concorrência (estratégia OPTIMISTIC do WalletConcurrencyGuard)
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
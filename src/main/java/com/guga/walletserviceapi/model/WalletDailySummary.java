@@ -0,0 +1,88 @@
+package com.guga.walletserviceapi.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumo diário de uma wallet: saldo de abertura/fechamento e quantidade/valor por OperationType.
+ *
+ * Mantido pelo WalletDailySummaryService na mesma transação de cada movimento; o WalletDailySummaryRebuilder
+ * recalcula a partir da tb_movement_transfer. O dia é o created_at do movimento.
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = { "walletId", "summaryDate" })
+@Entity
+@IdClass(WalletDailySummary.Key.class)
+@Table(name = "tb_wallet_daily_summary")
+public class WalletDailySummary {
+
+    @Id
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Id
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    /** previous_balance do primeiro movimento do dia. */
+    @Column(name = "opening_balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal openingBalance;
+
+    /** current_balance do último movimento do dia. */
+    @Column(name = "closing_balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "deposit_count", nullable = false)
+    private long depositCount;
+
+    @Column(name = "deposit_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal depositAmount;
+
+    @Column(name = "withdraw_count", nullable = false)
+    private long withdrawCount;
+
+    @Column(name = "withdraw_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal withdrawAmount;
+
+    @Column(name = "transfer_send_count", nullable = false)
+    private long transferSendCount;
+
+    @Column(name = "transfer_send_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal transferSendAmount;
+
+    @Column(name = "transfer_received_count", nullable = false)
+    private long transferReceivedCount;
+
+    @Column(name = "transfer_received_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal transferReceivedAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long walletId;
+        private LocalDate summaryDate;
+    }
+}
@@ -0,0 +1,11 @@
+package com.guga.walletserviceapi.model.enums;
+
+/**
+ * Atomicidade de POST /transactions/batch.
+ */
+public enum BatchAtomicity {
+    /** Qualquer item recusado desfaz o lote inteiro. */
+    ALL_OR_NOTHING,
+    /** Itens recusados ficam de fora; os demais são gravados. */
+    PER_ITEM
+}
@@ -0,0 +1,6 @@
+package com.guga.walletserviceapi.model.enums;
+
+public enum ImportChunkStatus {
+    DONE,
+    FAILED
+}
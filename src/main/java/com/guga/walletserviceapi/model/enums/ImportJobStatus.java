@@ -0,0 +1,7 @@
+package com.guga.walletserviceapi.model.enums;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.guga.walletserviceapi.model.enums;
+
+public enum TransferSagaStatus {
+    /** Débito confirmado, crédito ainda não aplicado. */
+    PENDING,
+    CREDITED,
+    /** Crédito recusado e valor devolvido ao remetente. */
+    COMPENSATED,
+    /** Nem crédito nem devolução aplicados: exige tratamento manual. */
+    FAILED
+}
@@ -0,0 +1,127 @@
+package com.guga.walletserviceapi.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.guga.walletserviceapi.audit.AuditEvent;
+import com.guga.walletserviceapi.dto.audit.AuditEventResponseDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acesso JDBC à tb_audit_event (particionada por dia no PostgreSQL, ver AuditPartitionManager).
+ *
+ * A escrita usa INSERT multi-linha: um statement e um round trip a cada {@link #ROWS_PER_STATEMENT} eventos.
+ * A leitura sempre filtra por created_at, para que o planner descarte as partições fora do período.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private static final String COLUMNS =
+        "created_at, action, username, login_id, customer_id, wallet_id, ip_address, trace_id, result, info";
+    private static final int COLUMN_COUNT = 10;
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FULL_INSERT = insertSql(ROWS_PER_STATEMENT);
+
+    private static final String SELECT_BY_WALLET_AND_PERIOD =
+        "SELECT " + COLUMNS + " FROM tb_audit_event " +
+        "WHERE wallet_id = ? AND created_at >= ? AND created_at < ? " +
+        "ORDER BY created_at DESC LIMIT ?";
+
+    private static final int MAX_ACTION = 80;
+    private static final int MAX_TEXT = 255;
+    private static final int MAX_INFO = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<AuditEvent> events) {
+        for (int from = 0; from < events.size(); from += ROWS_PER_STATEMENT) {
+            List<AuditEvent> chunk = events.subList(from, Math.min(events.size(), from + ROWS_PER_STATEMENT));
+            String sql = chunk.size() == ROWS_PER_STATEMENT ? FULL_INSERT : insertSql(chunk.size());
+            jdbcTemplate.update(sql, ps -> {
+                int index = 1;
+                for (AuditEvent event : chunk) {
+                    bindRow(ps, index, event);
+                    index += COLUMN_COUNT;
+                }
+            });
+        }
+    }
+
+    /** Período semiaberto [from, to). */
+    public List<AuditEventResponseDTO> findByWalletIdAndPeriod(Long walletId, LocalDateTime from,
+                                                               LocalDateTime to, int limit) {
+        return jdbcTemplate.query(SELECT_BY_WALLET_AND_PERIOD, this::mapRow,
+            walletId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO tb_audit_event (").append(COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static void bindRow(PreparedStatement ps, int first, AuditEvent event) throws SQLException {
+        ps.setTimestamp(first, Timestamp.from(createdAtOf(event)));
+        ps.setString(first + 1, truncate(event.getAction(), MAX_ACTION));
+        ps.setString(first + 2, truncate(event.getUsername(), MAX_TEXT));
+        setLong(ps, first + 3, event.getLoginId());
+        setLong(ps, first + 4, event.getCustomerId());
+        setLong(ps, first + 5, event.getWalletId());
+        ps.setString(first + 6, truncate(event.getIpAddress(), MAX_TEXT));
+        ps.setString(first + 7, truncate(event.getTraceId(), MAX_TEXT));
+        ps.setString(first + 8, truncate(event.getResult(), MAX_TEXT));
+        ps.setString(first + 9, truncate(event.getInfo(), MAX_INFO));
+    }
+
+    public static Instant createdAtOf(AuditEvent event) {
+        return event.getTimestamp() != null ? event.getTimestamp() : Instant.now();
+    }
+
+    private AuditEventResponseDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditEventResponseDTO(
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getString("action"),
+            rs.getString("username"),
+            getLong(rs, "login_id"),
+            getLong(rs, "customer_id"),
+            getLong(rs, "wallet_id"),
+            rs.getString("ip_address"),
+            rs.getString("trace_id"),
+            rs.getString("result"),
+            rs.getString("info")
+        );
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
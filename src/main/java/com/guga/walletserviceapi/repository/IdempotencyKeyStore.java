@@ -0,0 +1,99 @@
+package com.guga.walletserviceapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.guga.walletserviceapi.service.idempotency.IdempotentResponse;
+
+/**
+ * tb_idempotency_key via JDBC, fora da transação da operação: a chave é reservada (IN_PROGRESS) e confirmada
+ * antes da execução, e só depois recebe a resposta (COMPLETED).
+ */
+@Repository
+public class IdempotencyKeyStore {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    private static final String INSERT_KEY =
+        "INSERT INTO tb_idempotency_key (idempotency_key, operation, request_hash, status, created_at, expires_at) " +
+        "VALUES (?, ?, ?, '" + IN_PROGRESS + "', ?, ?)";
+
+    private static final String SELECT_KEY =
+        "SELECT request_hash, status, response_status, response_location, response_body, expires_at " +
+        "FROM tb_idempotency_key WHERE idempotency_key = ?";
+
+    private static final String COMPLETE_KEY =
+        "UPDATE tb_idempotency_key SET status = '" + COMPLETED + "', response_status = ?, response_location = ?, " +
+        "response_body = ? WHERE idempotency_key = ? AND status = '" + IN_PROGRESS + "'";
+
+    private static final String DELETE_IN_PROGRESS =
+        "DELETE FROM tb_idempotency_key WHERE idempotency_key = ? AND status = '" + IN_PROGRESS + "'";
+
+    private static final String DELETE_EXPIRED_KEY =
+        "DELETE FROM tb_idempotency_key WHERE idempotency_key = ? AND expires_at < ?";
+
+    private static final String PURGE_EXPIRED =
+        "DELETE FROM tb_idempotency_key WHERE idempotency_key IN " +
+        "(SELECT idempotency_key FROM tb_idempotency_key WHERE expires_at < ? LIMIT ?)";
+
+    /** Situação gravada de uma chave; response é nulo enquanto IN_PROGRESS. */
+    public record StoredKey(String requestHash, String status, IdempotentResponse response, LocalDateTime expiresAt) {
+
+        public boolean completed() {
+            return COMPLETED.equals(status);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Reserva a chave; false quando ela já existe (em andamento, concluída ou vencida ainda não removida). */
+    public boolean claim(String key, String operation, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update(INSERT_KEY, key, operation, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<StoredKey> find(String key) {
+        List<StoredKey> rows = jdbcTemplate.query(SELECT_KEY, (rs, rowNum) -> {
+            String requestHash = rs.getString("request_hash");
+            String status = rs.getString("status");
+            IdempotentResponse response = COMPLETED.equals(status)
+                ? new IdempotentResponse(requestHash, rs.getInt("response_status"),
+                    rs.getString("response_location"), rs.getString("response_body"))
+                : null;
+            return new StoredKey(requestHash, status, response, rs.getTimestamp("expires_at").toLocalDateTime());
+        }, key);
+        return rows.stream().findFirst();
+    }
+
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update(COMPLETE_KEY, response.status(), response.location(), response.body(), key);
+    }
+
+    /** Libera a reserva de uma execução que falhou, para a repetição executar de novo. */
+    public void release(String key) {
+        jdbcTemplate.update(DELETE_IN_PROGRESS, key);
+    }
+
+    public boolean deleteIfExpired(String key, LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_KEY, key, Timestamp.valueOf(now)) > 0;
+    }
+
+    public int purgeExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(PURGE_EXPIRED, Timestamp.valueOf(now), limit);
+    }
+}
@@ -0,0 +1,41 @@
+package com.guga.walletserviceapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.model.ImportJobChunk;
+import com.guga.walletserviceapi.model.enums.ImportChunkStatus;
+
+@Repository
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, Long> {
+
+    /** Totais por status dos checkpoints de um job. */
+    interface ChunkProgress {
+        ImportChunkStatus getStatus();
+        long getChunks();
+        long getRecords();
+    }
+
+    @Query("SELECT c.chunkIndex FROM ImportJobChunk c WHERE c.jobId = :jobId AND c.status = :status")
+    List<Integer> findChunkIndexes(@Param("jobId") Long jobId, @Param("status") ImportChunkStatus status);
+
+    @Query("""
+        SELECT c.status AS status, COUNT(c) AS chunks, COALESCE(SUM(c.records), 0) AS records
+        FROM ImportJobChunk c
+        WHERE c.jobId = :jobId
+        GROUP BY c.status
+        """)
+    List<ChunkProgress> summarize(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImportJobChunk c WHERE c.jobId = :jobId AND c.status = :status")
+    int deleteByJobIdAndStatus(@Param("jobId") Long jobId, @Param("status") ImportChunkStatus status);
+
+}
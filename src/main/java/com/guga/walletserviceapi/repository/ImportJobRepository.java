@@ -0,0 +1,23 @@
+package com.guga.walletserviceapi.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.guga.walletserviceapi.model.ImportJob;
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    /**
+     * Último job não concluído do mesmo arquivo (candidato à retomada).
+     */
+    Optional<ImportJob> findFirstByEntityTypeAndContentHashAndStatusNotOrderByIdDesc(
+        String entityType, String contentHash, ImportJobStatus status);
+
+    List<ImportJob> findTop50ByOrderByIdDesc();
+
+}
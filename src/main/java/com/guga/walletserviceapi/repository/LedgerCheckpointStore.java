@@ -0,0 +1,50 @@
+package com.guga.walletserviceapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * tb_ledger_checkpoint via JDBC: última sequência do WAL de cada shard do WalletLedger já gravada no banco,
+ * por identidade do WAL (ledgerId): o checkpoint de um nó não vale para o WAL de outro.
+ */
+@Repository
+public class LedgerCheckpointStore {
+
+    private static final String SELECT_CHECKPOINT =
+        "SELECT last_sequence FROM tb_ledger_checkpoint WHERE ledger_id = ? AND shard_id = ?";
+
+    private static final String UPDATE_CHECKPOINT =
+        "UPDATE tb_ledger_checkpoint SET last_sequence = ?, updated_at = ? " +
+        "WHERE ledger_id = ? AND shard_id = ? AND last_sequence < ?";
+
+    private static final String INSERT_CHECKPOINT =
+        "INSERT INTO tb_ledger_checkpoint (ledger_id, shard_id, last_sequence, updated_at) " +
+        "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM tb_ledger_checkpoint WHERE ledger_id = ? AND shard_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerCheckpointStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Última sequência gravada do shard deste WAL; 0 quando ele nunca gravou. */
+    public long lastSequence(String ledgerId, int shardId) {
+        List<Long> rows = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class, ledgerId, shardId);
+        return rows.isEmpty() ? 0L : rows.get(0);
+    }
+
+    /** Avança o checkpoint na transação do flush: as linhas e o checkpoint são confirmados juntos. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void advance(String ledgerId, int shardId, long sequence) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT, sequence, now, ledgerId, shardId, sequence) == 0) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, ledgerId, shardId, sequence, now, ledgerId, shardId);
+        }
+    }
+}
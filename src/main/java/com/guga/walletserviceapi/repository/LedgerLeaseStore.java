@@ -0,0 +1,102 @@
+package com.guga.walletserviceapi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * tb_ledger_lease via JDBC: qual WAL (ledgerId) é dono de cada wallet do WalletLedger.
+ *
+ * A posse não expira: o WAL de um nó que caiu pode ter registros ainda não gravados, e outro nó só pode alterar
+ * a wallet depois que eles chegarem ao banco. Ela é liberada pelo próprio ledger quando a wallet sai de
+ * app.ledger.wallet-ids (depois da recuperação do WAL) ou manualmente, com o nó antigo já drenado.
+ */
+@Repository
+public class LedgerLeaseStore {
+
+    private static final String SELECT_OWNERS =
+        "SELECT wallet_id, ledger_id FROM tb_ledger_lease WHERE wallet_id IN (%s)";
+
+    // mesma trava das escritas de saldo (LedgerFence): posse e escrita concorrentes ficam em série
+    private static final String LOCK_WALLETS =
+        "SELECT wallet_id FROM tb_wallet WHERE wallet_id IN (%s) ORDER BY wallet_id FOR UPDATE";
+
+    private static final String INSERT_LEASE =
+        "INSERT INTO tb_ledger_lease (wallet_id, ledger_id, shard_id, acquired_at) " +
+        "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM tb_ledger_lease WHERE wallet_id = ?)";
+
+    private static final String UPDATE_SHARD =
+        "UPDATE tb_ledger_lease SET shard_id = ? WHERE wallet_id = ? AND ledger_id = ?";
+
+    private static final String DELETE_LEASES = "DELETE FROM tb_ledger_lease WHERE ledger_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerLeaseStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Dono (ledgerId) de cada wallet com posse registrada; wallets livres não aparecem. */
+    public Map<Long, String> owners(Collection<Long> walletIds) {
+        Map<Long, String> owners = new HashMap<>();
+        if (walletIds.isEmpty()) {
+            return owners;
+        }
+        jdbcTemplate.query(SELECT_OWNERS.formatted(placeholders(walletIds.size())),
+            rs -> { owners.put(rs.getLong(1), rs.getString(2)); },
+            walletIds.toArray());
+        return owners;
+    }
+
+    /**
+     * Registra ledgerId como dono das wallets livres (walletId -> shard). Devolve as wallets que já pertencem a
+     * outro ledgerId, com o dono; só quando o retorno é vazio todas as wallets são deste ledger.
+     *
+     * As linhas das wallets ficam travadas até o commit: uma escrita de saldo em andamento termina antes (e o
+     * ledger lê o saldo dela), e as seguintes encontram a posse ao conferir.
+     */
+    @Transactional
+    public Map<Long, String> acquire(String ledgerId, Map<Long, Integer> shardByWallet) {
+        if (shardByWallet.isEmpty()) {
+            return new HashMap<>();
+        }
+        jdbcTemplate.query(LOCK_WALLETS.formatted(placeholders(shardByWallet.size())),
+            rs -> { }, shardByWallet.keySet().toArray());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        shardByWallet.forEach((walletId, shardId) -> {
+            if (jdbcTemplate.update(INSERT_LEASE, walletId, ledgerId, shardId, now, walletId) == 0) {
+                // já era deste ledger: app.ledger.shards pode ter mudado
+                jdbcTemplate.update(UPDATE_SHARD, shardId, walletId, ledgerId);
+            }
+        });
+        Map<Long, String> conflicts = owners(shardByWallet.keySet());
+        conflicts.values().removeIf(ledgerId::equals);
+        return conflicts;
+    }
+
+    /** Libera as wallets de ledgerId fora de keep (retiradas da configuração). */
+    @Transactional
+    public int releaseExcept(String ledgerId, Collection<Long> keep) {
+        if (keep.isEmpty()) {
+            return jdbcTemplate.update(DELETE_LEASES, ledgerId);
+        }
+        List<Object> args = new ArrayList<>(keep.size() + 1);
+        args.add(ledgerId);
+        args.addAll(keep);
+        return jdbcTemplate.update(DELETE_LEASES + " AND wallet_id NOT IN (" + placeholders(keep.size()) + ")",
+            args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
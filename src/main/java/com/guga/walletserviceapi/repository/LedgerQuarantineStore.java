@@ -0,0 +1,83 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.service.ledger.LedgerEntry;
+
+/**
+ * tb_ledger_quarantine via JDBC: registros do WAL que o flush não pôde gravar porque a wallet foi alterada fora
+ * do WalletLedger. Ficam com o saldo encontrado no banco, para a conciliação manual.
+ */
+@Repository
+public class LedgerQuarantineStore {
+
+    private static final String INSERT_ENTRY =
+        "INSERT INTO tb_ledger_quarantine (ledger_id, shard_id, wal_sequence, wallet_id, transaction_id, movement_id, " +
+        "sender_id, login_auth_id, operation_type, amount, previous_balance, current_balance, created_at, cpf_sender, " +
+        "terminal_id, sender_name, database_balance, quarantined_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_WALLETS =
+        "SELECT DISTINCT wallet_id FROM tb_ledger_quarantine WHERE ledger_id = ?";
+
+    private static final String DELETE_WALLET =
+        "DELETE FROM tb_ledger_quarantine WHERE ledger_id = ? AND wallet_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerQuarantineStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Grava os registros na transação do flush, junto com o checkpoint: saem do shard e não voltam na recuperação.
+     * databaseBalances traz o saldo encontrado no banco de cada wallet (nulo se ela não existe mais).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void quarantine(String ledgerId, int shardId, List<LedgerEntry> entries, Map<Long, BigDecimal> databaseBalances) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, ledgerId);
+            ps.setInt(2, shardId);
+            ps.setLong(3, entry.sequence());
+            ps.setLong(4, entry.walletId());
+            ps.setLong(5, entry.transactionId());
+            ps.setLong(6, entry.movementId());
+            ps.setObject(7, entry.senderId(), Types.BIGINT);
+            ps.setObject(8, entry.loginAuthId(), Types.BIGINT);
+            ps.setInt(9, entry.operationType().getValue());
+            ps.setBigDecimal(10, entry.amount());
+            ps.setBigDecimal(11, entry.previousBalance());
+            ps.setBigDecimal(12, entry.currentBalance());
+            ps.setTimestamp(13, Timestamp.valueOf(entry.createdAt()));
+            ps.setString(14, entry.cpfSender());
+            ps.setString(15, entry.terminalId());
+            ps.setString(16, entry.senderName());
+            ps.setBigDecimal(17, databaseBalances.get(entry.walletId()));
+            ps.setTimestamp(18, now);
+        });
+    }
+
+    /** Wallets deste ledger com registros em quarentena. */
+    public Set<Long> walletIds(String ledgerId) {
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_WALLETS, Long.class, ledgerId));
+    }
+
+    /** Remove os registros da wallet depois da conciliação; devolve quantos eram. */
+    @Transactional
+    public int release(String ledgerId, Long walletId) {
+        return jdbcTemplate.update(DELETE_WALLET, ledgerId, walletId);
+    }
+}
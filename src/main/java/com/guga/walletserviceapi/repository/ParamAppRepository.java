@@ -3,15 +3,27 @@ package com.guga.walletserviceapi.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.guga.walletserviceapi.model.ParamApp;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ParamAppRepository extends JpaRepository<ParamApp, Long> { 
 
     Optional<ParamApp> findByName(String name);
 
+    /**
+     * Lê o parâmetro com lock de escrita (SELECT ... FOR UPDATE), usado na reserva de blocos de sequência.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ParamApp p WHERE p.name = :name")
+    Optional<ParamApp> findByNameForUpdate(@Param("name") String name);
+
     /**
      * Retorna a primeira (Top) entidade ParamsApp ordenada pelo ID de forma decrescente.
      */
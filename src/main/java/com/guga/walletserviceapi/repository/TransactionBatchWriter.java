@@ -0,0 +1,43 @@
+package com.guga.walletserviceapi.repository;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.service.storage.TransactionPartitionManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Grava entidades novas (com ID já atribuído pelo SequenceIdAllocator) via persist + flush.
+ *
+ * O {@code save()} dos repositórios Spring Data faz merge quando o ID já está preenchido, o que custa
+ * um SELECT por entidade; aqui os INSERTs vão direto para o batch JDBC do Hibernate
+ * (hibernate.jdbc.batch_size / order_inserts). Com tb_transaction particionada, a partição do mês de cada
+ * linha é garantida antes dos INSERTs.
+ */
+@Repository
+public class TransactionBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionPartitionManager partitionManager;
+
+    public TransactionBatchWriter(TransactionPartitionManager partitionManager) {
+        this.partitionManager = partitionManager;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void persistAll(List<?> entities) {
+        partitionManager.ensurePartitionsFor(entities);
+        for (Object entity : entities) {
+            entityManager.persist(entity);
+        }
+        entityManager.flush();
+    }
+
+}
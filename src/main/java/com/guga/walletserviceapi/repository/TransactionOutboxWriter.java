@@ -0,0 +1,89 @@
+package com.guga.walletserviceapi.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.service.outbox.OutboxProperties;
+import com.guga.walletserviceapi.service.outbox.TransactionEvent;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Grava no tb_transaction_outbox um evento por Transaction, na transação que gravou os movimentos: o evento
+ * existe se e somente se a operação foi confirmada.
+ *
+ * A ordem do id dentro de uma wallet é a ordem das operações: toda operação já travou a linha da wallet na
+ * tb_wallet antes daqui, e a trava vale até o commit.
+ */
+@Repository
+public class TransactionOutboxWriter {
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO tb_transaction_outbox (partition_id, wallet_id, transaction_id, event_type, payload, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionOutboxWriter(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Enfileira um evento para cada Transaction da lista; os demais itens são ignorados. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<?> rows) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Transaction> transactions = rows.stream()
+            .filter(Transaction.class::isInstance)
+            .map(Transaction.class::cast)
+            .toList();
+        if (transactions.isEmpty()) {
+            return;
+        }
+        int partitions = Math.max(1, properties.getPartitions());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_EVENT)) {
+                for (Transaction transaction : transactions) {
+                    ps.setInt(1, partitionOf(transaction.getWalletId(), partitions));
+                    ps.setLong(2, transaction.getWalletId());
+                    ps.setLong(3, transaction.getTransactionId());
+                    ps.setString(4, transaction.getOperationType().name());
+                    ps.setString(5, payload(transaction));
+                    ps.setTimestamp(6, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    public static int partitionOf(long walletId, int partitions) {
+        return (int) Math.floorMod(walletId, (long) partitions);
+    }
+
+    private String payload(Transaction transaction) {
+        try {
+            return objectMapper.writeValueAsString(TransactionEvent.of(transaction));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction event " + transaction.getTransactionId(), e);
+        }
+    }
+}
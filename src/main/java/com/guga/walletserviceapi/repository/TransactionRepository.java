@@ -4,8 +4,11 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.guga.walletserviceapi.model.Transaction;
@@ -16,8 +19,11 @@ public interface TransactionRepository extends
         JpaRepository<Transaction, Long>,
         JpaSpecificationExecutor<Transaction> {
 
-    Page<Transaction> findByWalletId(
-        Long walletId, 
+    // tb_transaction pode ser particionada por created_at: toda listagem leva um limite em created_at para o
+    // planner descartar as partições fora dele (TransactionPartitionManager.historyStart)
+    Page<Transaction> findByWalletIdAndCreatedAtGreaterThanEqual(
+        Long walletId,
+        LocalDateTime createdAtSince,
         Pageable pageable);
 
     Page<Transaction> findByWalletIdAndCreatedAtBetween(
@@ -27,9 +33,43 @@ public interface TransactionRepository extends
         Pageable pageable
     );
 
-    Page<Transaction> findByWalletIdAndOperationType(
-        Long walletId, 
-        OperationType operationType, 
+    Page<Transaction> findByWalletIdAndOperationTypeAndCreatedAtGreaterThanEqual(
+        Long walletId,
+        OperationType operationType,
+        LocalDateTime createdAtSince,
+        Pageable pageable);
+
+    // Keyset: linhas estritamente depois do cursor na ordem (created_at DESC, transaction_id DESC), pelo índice
+    // ix_transaction_wallet_created. Com Slice o Spring Data busca limit + 1 linhas e não executa COUNT;
+    // o custo não depende da profundidade, ao contrário do OFFSET.
+    @Query("""
+        SELECT t FROM Transaction t
+         WHERE t.walletId = :walletId
+           AND t.createdAt >= :since
+           AND (t.createdAt, t.transactionId) < (:createdAt, :transactionId)
+         ORDER BY t.createdAt DESC, t.transactionId DESC
+        """)
+    Slice<Transaction> findSliceAfter(
+        @Param("walletId") Long walletId,
+        @Param("since") LocalDateTime since,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("transactionId") Long transactionId,
+        Pageable pageable);
+
+    @Query("""
+        SELECT t FROM Transaction t
+         WHERE t.walletId = :walletId
+           AND t.operationType = :operationType
+           AND t.createdAt >= :since
+           AND (t.createdAt, t.transactionId) < (:createdAt, :transactionId)
+         ORDER BY t.createdAt DESC, t.transactionId DESC
+        """)
+    Slice<Transaction> findSliceAfterByOperationType(
+        @Param("walletId") Long walletId,
+        @Param("operationType") OperationType operationType,
+        @Param("since") LocalDateTime since,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("transactionId") Long transactionId,
         Pageable pageable);
 
 }
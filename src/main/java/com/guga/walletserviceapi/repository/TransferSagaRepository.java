@@ -0,0 +1,31 @@
+package com.guga.walletserviceapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.guga.walletserviceapi.model.TransferSaga;
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, Long> {
+
+    /** Trava a saga: quem chega depois vê o status já alterado e não aplica o crédito de novo. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TransferSaga s WHERE s.sagaId = :sagaId")
+    Optional<TransferSaga> findByIdForUpdate(@Param("sagaId") Long sagaId);
+
+    @Query("SELECT s.sagaId FROM TransferSaga s WHERE s.status = :status AND s.nextAttemptAt <= :now ORDER BY s.sagaId")
+    List<Long> findDueIds(@Param("status") TransferSagaStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(TransferSagaStatus status);
+}
@@ -0,0 +1,9 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldos da wallet logo após uma alteração atômica ({@link WalletBalanceRepository#applyBalanceDelta}).
+ */
+public record WalletBalanceChange(Long walletId, BigDecimal previousBalance, BigDecimal currentBalance) {
+}
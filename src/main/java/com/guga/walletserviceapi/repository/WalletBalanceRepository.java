@@ -0,0 +1,42 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * Fragmento do {@link WalletRepository} com o caminho rápido de alteração de saldo.
+ */
+public interface WalletBalanceRepository {
+
+    /**
+     * Aplica {@code delta} ao saldo num único UPDATE condicional: a wallet e o customer precisam estar
+     * ACTIVE e o saldo resultante não pode ficar negativo. Não carrega a entidade Wallet.
+     *
+     * @return os saldos após a alteração, ou vazio quando alguma condição não foi atendida
+     */
+    Optional<WalletBalanceChange> applyBalanceDelta(Long walletId, BigDecimal delta,
+                                                    OperationType operationType, LocalDateTime updatedAt);
+
+    /**
+     * SELECT ... FOR UPDATE das wallets, em ordem crescente de walletId, com o status do customer de cada uma.
+     * Wallets inexistentes ficam fora do mapa.
+     */
+    Map<Long, WalletBalanceState> lockBalances(Collection<Long> walletIds);
+
+    /**
+     * SELECT ... FOR UPDATE da wallet, esperando no máximo lockTimeoutMillis pelo lock
+     * (app.wallet.concurrency.lock-timeout-ms). A entidade fica gerenciada no contexto de persistência,
+     * então leituras seguintes na mesma transação (getWalletById) não voltam ao banco.
+     */
+    Optional<Wallet> findByIdForUpdate(Long walletId, long lockTimeoutMillis);
+
+    /** Grava os saldos finais das wallets já travadas por {@link #lockBalances}, num batch JDBC. */
+    void writeBalances(Collection<WalletBalanceState> balances, LocalDateTime updatedAt);
+
+}
@@ -0,0 +1,211 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.hibernate.Session;
+
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação JDBC do UPDATE condicional. No PostgreSQL os novos saldos voltam no próprio
+ * UPDATE (RETURNING, 1 round trip); nos demais bancos (H2 local/testes) é feito um SELECT
+ * da linha que acabou de ser travada pelo UPDATE.
+ */
+public class WalletBalanceRepositoryImpl implements WalletBalanceRepository {
+
+    private static final String UPDATE_BALANCE =
+        "UPDATE tb_wallet SET previous_balance = current_balance, " +
+        "current_balance = current_balance + ?, last_operation_type = ?, updated_at = ?, version = version + 1 " +
+        "WHERE wallet_id = ? AND status = ? AND current_balance + ? >= 0 " +
+        "AND EXISTS (SELECT 1 FROM tb_customer c WHERE c.customer_id = tb_wallet.customer_id_fk AND c.status = ?)";
+
+    private static final String RETURNING_BALANCE = " RETURNING previous_balance, current_balance";
+
+    // ORDER BY: wallets travadas sempre na mesma ordem, sem deadlock entre lotes com wallets em comum
+    private static final String LOCK_BALANCES =
+        "SELECT wallet_id, customer_id_fk, status, previous_balance, current_balance, last_operation_type " +
+        "FROM tb_wallet WHERE wallet_id IN (%s) ORDER BY wallet_id FOR UPDATE";
+
+    private static final String SELECT_CUSTOMER_STATUS =
+        "SELECT customer_id, status FROM tb_customer WHERE customer_id IN (%s)";
+
+    private static final String WRITE_BALANCE =
+        "UPDATE tb_wallet SET previous_balance = ?, current_balance = ?, last_operation_type = ?, updated_at = ?, " +
+        "version = version + 1 WHERE wallet_id = ?";
+
+    private static final String SELECT_BALANCE =
+        "SELECT previous_balance, current_balance FROM tb_wallet WHERE wallet_id = ?";
+
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean supportsReturning;
+
+    @Override
+    public Optional<WalletBalanceChange> applyBalanceDelta(Long walletId, BigDecimal delta,
+                                                           OperationType operationType, LocalDateTime updatedAt) {
+        return entityManager.unwrap(Session.class)
+            .doReturningWork(connection -> supportsReturning(connection)
+                ? updateReturning(connection, walletId, delta, operationType, updatedAt)
+                : updateThenSelect(connection, walletId, delta, operationType, updatedAt));
+    }
+
+    private Optional<WalletBalanceChange> updateReturning(Connection connection, Long walletId, BigDecimal delta,
+                                                          OperationType operationType, LocalDateTime updatedAt) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPDATE_BALANCE + RETURNING_BALANCE)) {
+            bindUpdate(ps, walletId, delta, operationType, updatedAt);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next()
+                    ? Optional.of(new WalletBalanceChange(walletId, rs.getBigDecimal(1), rs.getBigDecimal(2)))
+                    : Optional.empty();
+            }
+        }
+    }
+
+    private Optional<WalletBalanceChange> updateThenSelect(Connection connection, Long walletId, BigDecimal delta,
+                                                           OperationType operationType, LocalDateTime updatedAt) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPDATE_BALANCE)) {
+            bindUpdate(ps, walletId, delta, operationType, updatedAt);
+            if (ps.executeUpdate() == 0) {
+                return Optional.empty();
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_BALANCE)) {
+            ps.setLong(1, walletId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return Optional.of(new WalletBalanceChange(walletId, rs.getBigDecimal(1), rs.getBigDecimal(2)));
+            }
+        }
+    }
+
+    private void bindUpdate(PreparedStatement ps, Long walletId, BigDecimal delta,
+                            OperationType operationType, LocalDateTime updatedAt) throws SQLException {
+        ps.setBigDecimal(1, delta);
+        ps.setInt(2, operationType.getValue());
+        ps.setTimestamp(3, Timestamp.valueOf(updatedAt));
+        ps.setLong(4, walletId);
+        ps.setInt(5, Status.ACTIVE.getValue());
+        ps.setBigDecimal(6, delta);
+        ps.setInt(7, Status.ACTIVE.getValue());
+    }
+
+    private boolean supportsReturning(Connection connection) throws SQLException {
+        Boolean cached = supportsReturning;
+        if (cached == null) {
+            cached = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql");
+            supportsReturning = cached;
+        }
+        return cached;
+    }
+
+
+    @Override
+    public Map<Long, WalletBalanceState> lockBalances(Collection<Long> walletIds) {
+        if (walletIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ordered = List.copyOf(new TreeSet<>(walletIds));
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<Long, Long> customerByWallet = new LinkedHashMap<>();
+            List<WalletBalanceState> locked = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(LOCK_BALANCES.formatted(placeholders(ordered.size())))) {
+                bindIds(ps, ordered);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long walletId = rs.getLong("wallet_id");
+                        int lastOperation = rs.getInt("last_operation_type");
+                        boolean noOperation = rs.wasNull();
+                        customerByWallet.put(walletId, rs.getLong("customer_id_fk"));
+                        locked.add(new WalletBalanceState(walletId, Status.fromValue(rs.getInt("status")), null,
+                            rs.getBigDecimal("previous_balance"), rs.getBigDecimal("current_balance"),
+                            noOperation ? null : OperationType.fromCode(lastOperation)));
+                    }
+                }
+            }
+            Map<Long, Status> customerStatus = customerStatus(connection, List.copyOf(new TreeSet<>(customerByWallet.values())));
+
+            Map<Long, WalletBalanceState> balances = new LinkedHashMap<>();
+            for (WalletBalanceState state : locked) {
+                balances.put(state.walletId(), new WalletBalanceState(state.walletId(), state.status(),
+                    customerStatus.get(customerByWallet.get(state.walletId())),
+                    state.previousBalance(), state.currentBalance(), state.lastOperationType()));
+            }
+            return Collections.unmodifiableMap(balances);
+        });
+    }
+
+    @Override
+    public Optional<Wallet> findByIdForUpdate(Long walletId, long lockTimeoutMillis) {
+        return Optional.ofNullable(entityManager.find(Wallet.class, walletId, LockModeType.PESSIMISTIC_WRITE,
+            Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMillis)));
+    }
+
+    @Override
+    public void writeBalances(Collection<WalletBalanceState> balances, LocalDateTime updatedAt) {
+        if (balances.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(WRITE_BALANCE)) {
+                for (WalletBalanceState balance : balances) {
+                    ps.setBigDecimal(1, balance.previousBalance());
+                    ps.setBigDecimal(2, balance.currentBalance());
+                    ps.setInt(3, balance.lastOperationType().getValue());
+                    ps.setTimestamp(4, Timestamp.valueOf(updatedAt));
+                    ps.setLong(5, balance.walletId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private Map<Long, Status> customerStatus(Connection connection, List<Long> customerIds) throws SQLException {
+        Map<Long, Status> statuses = new LinkedHashMap<>();
+        if (customerIds.isEmpty()) {
+            return statuses;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_CUSTOMER_STATUS.formatted(placeholders(customerIds.size())))) {
+            bindIds(ps, customerIds);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    statuses.put(rs.getLong("customer_id"), Status.fromValue(rs.getInt("status")));
+                }
+            }
+        }
+        return statuses;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void bindIds(PreparedStatement ps, List<Long> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            ps.setLong(i + 1, ids.get(i));
+        }
+    }
+}
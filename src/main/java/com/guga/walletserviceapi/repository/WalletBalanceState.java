@@ -0,0 +1,32 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Saldo e status de uma wallet travada por {@link WalletBalanceRepository#lockBalances}. Imutável: cada operação
+ * aplicada em memória gera um novo estado, gravado no fim por {@link WalletBalanceRepository#writeBalances}.
+ */
+public record WalletBalanceState(Long walletId, Status status, Status customerStatus,
+                                 BigDecimal previousBalance, BigDecimal currentBalance,
+                                 OperationType lastOperationType) {
+
+    /** Motivo para recusar qualquer movimento na wallet, ou nulo quando ela e o customer estão ACTIVE. */
+    public StatusTransaction rejection() {
+        if (status != Status.ACTIVE) {
+            return StatusTransaction.WALLET_STATUS_INVALID;
+        }
+        if (customerStatus != Status.ACTIVE) {
+            return StatusTransaction.CUSTOMER_STATUS_INVALID;
+        }
+        return null;
+    }
+
+    public WalletBalanceState apply(BigDecimal delta, OperationType operationType) {
+        return new WalletBalanceState(walletId, status, customerStatus, currentBalance, currentBalance.add(delta),
+            operationType);
+    }
+}
@@ -0,0 +1,21 @@
+package com.guga.walletserviceapi.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.guga.walletserviceapi.model.WalletDailySummary;
+
+@Repository
+public interface WalletDailySummaryRepository extends JpaRepository<WalletDailySummary, WalletDailySummary.Key> {
+
+    List<WalletDailySummary> findByWalletIdAndSummaryDateBetweenOrderBySummaryDateAsc(
+        Long walletId, LocalDate start, LocalDate end);
+
+    /** Último dia com movimento antes do período: o fechamento dele é a abertura do período. */
+    Optional<WalletDailySummary> findFirstByWalletIdAndSummaryDateLessThanOrderBySummaryDateDesc(
+        Long walletId, LocalDate before);
+}
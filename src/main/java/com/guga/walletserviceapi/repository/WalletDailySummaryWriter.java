@@ -0,0 +1,111 @@
+package com.guga.walletserviceapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Atualiza a tb_wallet_daily_summary na transação que gravou os movimentos (mesma conexão, mesmo commit).
+ *
+ * UPDATE da linha do dia e INSERT quando ela ainda não existe. Não há corrida entre os dois: toda operação já
+ * atualizou a linha da wallet na tb_wallet antes daqui, e essa trava vale até o commit.
+ */
+@Repository
+public class WalletDailySummaryWriter {
+
+    private static final String UPDATE_SUMMARY =
+        "UPDATE tb_wallet_daily_summary SET closing_balance = ?, " +
+        "deposit_count = deposit_count + ?, deposit_amount = deposit_amount + ?, " +
+        "withdraw_count = withdraw_count + ?, withdraw_amount = withdraw_amount + ?, " +
+        "transfer_send_count = transfer_send_count + ?, transfer_send_amount = transfer_send_amount + ?, " +
+        "transfer_received_count = transfer_received_count + ?, transfer_received_amount = transfer_received_amount + ?, " +
+        "updated_at = ? WHERE wallet_id = ? AND summary_date = ?";
+
+    private static final String INSERT_SUMMARY =
+        "INSERT INTO tb_wallet_daily_summary (closing_balance, " +
+        "deposit_count, deposit_amount, withdraw_count, withdraw_amount, " +
+        "transfer_send_count, transfer_send_amount, transfer_received_count, transfer_received_amount, " +
+        "updated_at, wallet_id, summary_date, opening_balance) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Aplica ao resumo do dia cada Transaction SUCCESS da lista; os demais itens são ignorados. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<?> rows) {
+        List<Transaction> transactions = rows.stream()
+            .filter(Transaction.class::isInstance)
+            .map(Transaction.class::cast)
+            .filter(t -> t.getStatusTransaction() == StatusTransaction.SUCCESS)
+            .toList();
+        if (transactions.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (Transaction transaction : transactions) {
+                if (update(connection, transaction, now) == 0) {
+                    insert(connection, transaction, now);
+                }
+            }
+        });
+    }
+
+    /** Dia do resumo: created_at do movimento, o mesmo critério do rebuild. */
+    static LocalDate summaryDate(Transaction transaction) {
+        LocalDateTime createdAt = transaction.getMovementTransaction() != null
+                && transaction.getMovementTransaction().getCreatedAt() != null
+            ? transaction.getMovementTransaction().getCreatedAt()
+            : transaction.getCreatedAt();
+        return createdAt.toLocalDate();
+    }
+
+    private int update(Connection connection, Transaction transaction, LocalDateTime now) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPDATE_SUMMARY)) {
+            bind(ps, transaction, now);
+            return ps.executeUpdate();
+        }
+    }
+
+    private void insert(Connection connection, Transaction transaction, LocalDateTime now) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SUMMARY)) {
+            bind(ps, transaction, now);
+            ps.setBigDecimal(13, transaction.getPreviousBalance());
+            ps.executeUpdate();
+        }
+    }
+
+    // mesma ordem de parâmetros no UPDATE e nos 12 primeiros do INSERT
+    private static void bind(PreparedStatement ps, Transaction transaction, LocalDateTime now) throws SQLException {
+        OperationType operation = transaction.getOperationType();
+        ps.setBigDecimal(1, transaction.getCurrentBalance());
+        int index = 2;
+        for (OperationType type : List.of(OperationType.DEPOSIT, OperationType.WITHDRAW,
+                OperationType.TRANSFER_SEND, OperationType.TRANSFER_RECEIVED)) {
+            boolean match = type == operation;
+            ps.setLong(index++, match ? 1 : 0);
+            ps.setBigDecimal(index++, match ? transaction.getAmount() : BigDecimal.ZERO);
+        }
+        ps.setTimestamp(10, Timestamp.valueOf(now));
+        ps.setLong(11, transaction.getWalletId());
+        ps.setDate(12, Date.valueOf(summaryDate(transaction)));
+    }
+}
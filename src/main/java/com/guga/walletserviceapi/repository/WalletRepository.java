@@ -9,7 +9,7 @@ import com.guga.walletserviceapi.model.Wallet;
 import com.guga.walletserviceapi.model.enums.Status;
 
 @Repository
-public interface WalletRepository extends JpaRepository<Wallet, Long> {
+public interface WalletRepository extends JpaRepository<Wallet, Long>, WalletBalanceRepository {
 
     Page<Wallet> findByCustomerId(Long customerId, Pageable pageable);
 
@@ -1,14 +1,13 @@
 package com.guga.walletserviceapi.security.filter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,13 +15,12 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.guga.walletserviceapi.config.SecurityMatchers;
 import com.guga.walletserviceapi.logging.LogMarkers;
 import com.guga.walletserviceapi.model.enums.LoginRole;
 import com.guga.walletserviceapi.security.JwtAuthenticationDetails;
+import com.guga.walletserviceapi.security.jwt.JwtClaimsView;
 import com.guga.walletserviceapi.security.jwt.JwtService;
 import com.guga.walletserviceapi.service.LoginAuthService;
 
@@ -43,14 +41,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Lazy
     private final LoginAuthService loginAuthService;
 
-    @Lazy
-    private final SecurityMatchers matchers;
-
-    @Value("${server.servlet.context-path:}")
-    private String contextPath;
-
-    @Value("${app.api-prefix:}")
-    private String servletPath;
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -77,15 +68,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         LOGGER.debug(LogMarkers.LOG, "JwtAuthFilter - JWT received (len={})", jwt.length());
 
-        // 3) Valida token
-        if (!jwtService.validateToken(jwt)) {
+        // 3) Valida token: assinatura/expiração verificadas uma única vez (ou servidas do cache)
+        Optional<JwtClaimsView> verified = jwtService.parseAndVerify(jwt);
+        if (verified.isEmpty()) {
             LOGGER.warn(LogMarkers.LOG, "JwtAuthFilter - invalid JWT");
             filterChain.doFilter(request, response);
             return;
         }
+        JwtClaimsView claims = verified.get();
 
         // 4) Roles → Authorities
-        List<LoginRole> roles = jwtService.extractRoles(jwt).stream()
+        List<LoginRole> roles = claims.roles().stream()
             .filter(Objects::nonNull)
             .map(role -> LoginRole.valueOf(role.trim().toUpperCase()))
             .toList();
@@ -96,11 +89,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // 5) Identity (JWT Context)
         JwtAuthenticationDetails authDetails = JwtAuthenticationDetails.builder()
-            .loginId(jwtService.extractLoginId(jwt))
-            .login(jwtService.extractLogin(jwt))
-            .customerId(jwtService.extractCustomerId(jwt))
-            .walletId(jwtService.extractWalletId(jwt))
-            .loginType(jwtService.extractLoginType(jwt))
+            .loginId(claims.loginId())
+            .login(claims.login())
+            .customerId(claims.customerId())
+            .walletId(claims.walletId())
+            .loginType(claims.loginType())
             .roles(roles)
             .build();
 
@@ -114,49 +107,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private List<String> getMatchersSession(String[] value) {
-        if (value == null || value.length == 0) return List.of();
-        return Arrays.asList(value);
-    }
-
     /**
      * Pula o JWT apenas para rotas que são permitAll (públicas/documentação/infra).
      * Para rotas secured/admin, o filtro DEVE rodar.
      */
     private boolean shouldSkipJwt(HttpServletRequest request) {
-
-        String path = request.getRequestURI()
-            .replace(contextPath, "")
-            .replace(servletPath, "");
-
-        // Infra
-        if (path.startsWith("/actuator/prometheus")) {
-            return true;
-        }
-
-        List<String> publicPaths = getMatchersSession(matchers.getPublicPaths());
-        List<String> documentationPaths = getMatchersSession(matchers.getDocumentation());
-        List<String> securedPaths = getMatchersSession(matchers.getSecured());
-        List<String> adminPaths = getMatchersSession(matchers.getAdmin());
-
-        AntPathMatcher pathMatcher = new AntPathMatcher();
-
-        boolean isPublic = publicPaths.stream()
-            .filter(Objects::nonNull)
-            .anyMatch(p -> pathMatcher.match(p, path));
-
-        boolean isDocumentation = documentationPaths.stream()
-            .filter(Objects::nonNull)
-            .anyMatch(p -> pathMatcher.match(p, path));
-
-        boolean isSecured = securedPaths.stream()
-            .filter(Objects::nonNull)
-            .anyMatch(p -> pathMatcher.match(p, path));
-
-        boolean isAdmin = adminPaths.stream()
-            .filter(Objects::nonNull)
-            .anyMatch(p -> pathMatcher.match(p, path));
-
-        return (isPublic || isDocumentation || isSecured || isAdmin);
+        return routeClassifier.classify(request.getRequestURI()).skipsJwt();
     }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.guga.walletserviceapi.security.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guga.walletserviceapi.config.SecurityMatchers;
+
+/**
+ * Classificação das rotas do security-matchers.yml, compilada uma única vez.
+ *
+ * Padrões literais ("/a/b") e de prefixo ("/a/b/**") viram uma trie por segmento; os demais
+ * (curingas no meio, "?", "{var}", sem "/" inicial) ficam numa lista avaliada pelo AntPathMatcher.
+ * O resultado é guardado por URI, então a request típica custa uma consulta ao cache, sem alocação.
+ * Quando um caminho casa com mais de uma camada vale a ordem do SecurityConfig
+ * (public, documentation, secured, admin).
+ */
+@Component
+public class RouteClassifier {
+
+    private static final Logger LOGGER = LogManager.getLogger(RouteClassifier.class);
+
+    private static final String PREFIX_SUFFIX = "/**";
+    private static final String INFRA_PREFIX = "/actuator/prometheus";
+
+    public enum RouteAccess {
+        INFRA,
+        PUBLIC,
+        DOCUMENTATION,
+        SECURED,
+        ADMIN,
+        UNMATCHED;
+
+        /** Apenas rotas permitAll/documentação/infra dispensam o JWT. */
+        public boolean skipsJwt() {
+            return this == INFRA || this == PUBLIC || this == DOCUMENTATION;
+        }
+    }
+
+    private record WildcardPattern(String pattern, RouteAccess access) { }
+
+    private final String contextPath;
+    private final String servletPath;
+    private final Node root = new Node("");
+    private final List<WildcardPattern> wildcardPatterns = new ArrayList<>();
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private final Cache<String, RouteAccess> byUri;
+
+    public RouteClassifier(SecurityMatchers matchers,
+                           @Value("${server.servlet.context-path:}") String contextPath,
+                           @Value("${app.api-prefix:}") String servletPath,
+                           @Value("${app.security.route-cache.max-size:10000}") long cacheMaxSize) {
+        this.contextPath = contextPath == null ? "" : contextPath;
+        this.servletPath = servletPath == null ? "" : servletPath;
+        this.byUri = Caffeine.newBuilder().maximumSize(Math.max(0, cacheMaxSize)).build();
+
+        register(matchers.getPublicPaths(), RouteAccess.PUBLIC);
+        register(matchers.getDocumentation(), RouteAccess.DOCUMENTATION);
+        register(matchers.getSecured(), RouteAccess.SECURED);
+        register(matchers.getAdmin(), RouteAccess.ADMIN);
+
+        LOGGER.info("ROUTE_CLASSIFIER_INIT | wildcardPatterns={} cacheMaxSize={}", wildcardPatterns.size(), cacheMaxSize);
+    }
+
+    public RouteAccess classify(String requestUri) {
+        RouteAccess access = byUri.getIfPresent(requestUri);
+        if (access == null) {
+            access = classifyPath(stripPrefixes(requestUri));
+            byUri.put(requestUri, access);
+        }
+        return access;
+    }
+
+    // mesmo recorte de antes: remove context-path e api-prefix antes de comparar com os padrões
+    private String stripPrefixes(String requestUri) {
+        return requestUri
+            .replace(contextPath, "")
+            .replace(servletPath, "");
+    }
+
+    RouteAccess classifyPath(String path) {
+        if (path.startsWith(INFRA_PREFIX)) {
+            return RouteAccess.INFRA;
+        }
+
+        RouteAccess best = RouteAccess.UNMATCHED;
+        Node node = root;
+        int length = path.length();
+        int index = 0;
+
+        // só caminhos absolutos entram na trie (padrões sem "/" inicial estão na lista de curingas)
+        while (node != null && length > 0 && path.charAt(0) == '/') {
+            best = min(best, node.prefixAccess);
+
+            while (index < length && path.charAt(index) == '/') {
+                index++;
+            }
+            if (index == length) {
+                // fim do caminho: padrão exato casa se não houver "/" final (regra do AntPathMatcher)
+                if (path.charAt(length - 1) != '/' || node == root) {
+                    best = min(best, node.exactAccess);
+                }
+                break;
+            }
+
+            int end = path.indexOf('/', index);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, index, end - index);
+            index = end;
+        }
+
+        for (WildcardPattern wildcard : wildcardPatterns) {
+            if (wildcard.access().ordinal() < best.ordinal() && antPathMatcher.match(wildcard.pattern(), path)) {
+                best = wildcard.access();
+            }
+        }
+        return best;
+    }
+
+    private void register(String[] patterns, RouteAccess access) {
+        if (patterns == null) {
+            return;
+        }
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) {
+                continue;
+            }
+            boolean prefix = pattern.endsWith(PREFIX_SUFFIX);
+            String literal = prefix ? pattern.substring(0, pattern.length() - PREFIX_SUFFIX.length()) : pattern;
+
+            if (!pattern.startsWith("/") || literal.endsWith("/") || !isLiteral(literal)) {
+                wildcardPatterns.add(new WildcardPattern(pattern, access));
+                continue;
+            }
+
+            Node node = root;
+            for (String segment : literal.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.childOrCreate(segment);
+                }
+            }
+            if (prefix) {
+                node.prefixAccess = min(node.prefixAccess, access);
+            } else {
+                node.exactAccess = min(node.exactAccess, access);
+            }
+        }
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RouteAccess min(RouteAccess current, RouteAccess candidate) {
+        return candidate.ordinal() < current.ordinal() ? candidate : current;
+    }
+
+    private static final class Node {
+
+        private final String segment;
+        private Node[] children = new Node[0];
+        private RouteAccess exactAccess = RouteAccess.UNMATCHED;
+        private RouteAccess prefixAccess = RouteAccess.UNMATCHED;
+
+        private Node(String segment) {
+            this.segment = segment;
+        }
+
+        // comparação por região: não cria substring do caminho
+        private Node child(String path, int offset, int length) {
+            for (Node child : children) {
+                if (child.segment.length() == length && path.regionMatches(offset, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(String name) {
+            Node existing = child(name, 0, name.length());
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node(name);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, children.length);
+            grown[children.length] = created;
+            children = grown;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.guga.walletserviceapi.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Visão imutável das claims de um token já verificado (assinatura + expiração).
+ * Obtida uma única vez por request via {@link JwtService#parseAndVerify(String)}.
+ */
+public record JwtClaimsView(
+    String login,
+    Long loginId,
+    Long customerId,
+    Long walletId,
+    String loginType,
+    List<String> roles,
+    Instant expiresAt
+) {
+
+    public JwtClaimsView {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
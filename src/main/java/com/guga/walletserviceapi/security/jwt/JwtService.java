@@ -2,21 +2,33 @@ package com.guga.walletserviceapi.security.jwt;
 
 import java.nio.charset.StandardCharsets; // 3. Adicionar esta importação
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.guga.walletserviceapi.model.LoginAuth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys; // 1. Adicionar esta importação
@@ -25,14 +37,25 @@ import jakarta.annotation.PostConstruct;
 @Service
 public class JwtService {
 
+    private static final Logger LOGGER = LogManager.getLogger(JwtService.class);
+
     private SecretKey key;
 
+    // Parser imutável e thread-safe: montado uma vez no init, reaproveitado em todas as requests
+    private JwtParser jwtParser;
+
+    // Tokens já verificados, por hash SHA-256 do token; cada entrada vive até o exp do próprio token
+    private Cache<String, JwtClaimsView> verifiedTokens;
+
     private static final long ACCESS_TOKEN_VALIDITY = 25 * 60 * 1000;             // 25 minutos
     private static final long REFRESH_TOKEN_VALIDITY = 1 * 1 * 60 * 60 * 1000;    // 1 hora
 
     @Value("${jwt.secret:${JWT_SECRET:}}")
     private String jwtSecret;
 
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
     // 4. Descomentar e usar este método para inicializar a chave APÓS a injeção do @Value
     @PostConstruct
     public void init() {
@@ -42,31 +65,117 @@ public class JwtService {
         }
         // A chave precisa ter pelo menos 256 bits (32 bytes)
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+            .verifyWith(key)
+            .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, verifiedCacheMaxSize))
+            .expireAfter(new TokenExpiry())
+            .build();
+        LOGGER.info("JWT_SERVICE_INIT | verifiedCacheMaxSize={}", verifiedCacheMaxSize);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifica assinatura e expiração e devolve as claims de uma só vez.
+     * Um token já verificado é servido do cache (sem HMAC nem parse de JSON) até o seu exp.
+     *
+     * @return vazio quando o token é inválido, expirado ou malformado
+     */
+    public Optional<JwtClaimsView> parseAndVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String hash = sha256(token);
+        JwtClaimsView cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        JwtClaimsView view;
         try {
-            Jwts.parser()
-                .verifyWith(key) // A variável 'key' agora está inicializada
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            view = toView(jwtParser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            LOGGER.debug("JWT_SERVICE_VERIFY_FAIL | reason={}", e.getMessage());
+            return Optional.empty();
+        }
+
+        // sem exp não há como limitar a vida da entrada: não entra no cache
+        if (view.expiresAt() != null) {
+            verifiedTokens.put(hash, view);
         }
+        return Optional.of(view);
+    }
+
+    public boolean validateToken(String token) {
+        return parseAndVerify(token).isPresent();
     }
 
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
+        Claims claims = jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
 
         return claimsResolver.apply(claims);
     }
 
+    private static JwtClaimsView toView(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new JwtClaimsView(
+            claims.getSubject(),
+            claims.get("loginId", Long.class),
+            claims.get("customerId", Long.class),
+            claims.get("walletId", Long.class),
+            claims.get("loginAuthType", String.class),
+            rolesOf(claims),
+            expiration == null ? null : expiration.toInstant()
+        );
+    }
+
+    private static List<String> rolesOf(Claims claims) {
+        Object rolesClaim = claims.get("roles");
+
+        if (rolesClaim instanceof List<?> rolesList) {
+            return rolesList.stream()
+                .map(String::valueOf)
+                .distinct()
+                .collect(Collectors.toList());
+        }
+
+        return List.of();
+    }
+
+    /**
+     * A entrada expira junto com o token; leitura e atualização não renovam o prazo.
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtClaimsView> {
+
+        @Override
+        public long expireAfterCreate(String hash, JwtClaimsView view, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), view.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, JwtClaimsView view, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, view, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, JwtClaimsView view, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
 
     private Key getSigningKey() {
         byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
@@ -124,29 +233,11 @@ public class JwtService {
     }
 
     public List<String> extractRoles(String token) {
-
-        Claims claims = Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-        Object rolesClaim = claims.get("roles");
-
-        if (rolesClaim instanceof List<?> rolesList) {
-            return rolesList.stream()
-                .map(String::valueOf)
-                .distinct()
-                .collect(Collectors.toList());
-        }
-
-        return List.of();
+        return extractClaim(token, JwtService::rolesOf);
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(key)
-            .build()
+        return jwtParser
             .parseSignedClaims(token)
             .getPayload();
     }
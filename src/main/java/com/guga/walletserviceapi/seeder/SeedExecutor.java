@@ -1,6 +1,12 @@
 package com.guga.walletserviceapi.seeder;
 
 import java.beans.Introspector;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -8,10 +14,15 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.guga.walletserviceapi.helpers.FileUtils;
 import com.guga.walletserviceapi.logging.LogMarkers;
+import com.guga.walletserviceapi.service.common.DataPersistenceService;
+import com.guga.walletserviceapi.service.common.FastEntityLoader;
 
 import lombok.AllArgsConstructor;
 
@@ -21,18 +32,26 @@ public class SeedExecutor {
 
     private static final Logger LOGGER = LogManager.getLogger(SeedExecutor.class);
 
+    // linhas por COPY/batch de INSERT na carga rápida
+    private static final int FAST_LOAD_BATCH_SIZE = 5000;
+
     private final ApplicationContext context;
 
     public <T> void loadJSONAndSaveRepository(String filePath, Class<T> clazz) {
         try {
-            List<T> items = FileUtils.loadJSONToListObject(filePath, clazz);
-            
             String repositoryBeanName = Introspector.decapitalize(clazz.getSimpleName()) + "Repository";
             
             JpaRepository<T, ?> repository = (JpaRepository<T, ?>)context.getBean(repositoryBeanName);
             
-             if (repository.count() == 0) {                
-                repository.saveAll(items);
+            if (repository.count() == 0) {
+                // o loader é opcional: contextos de teste sem JPA (WebMvc) seguem no saveAll
+                FastEntityLoader fastEntityLoader = context.getBeanProvider(FastEntityLoader.class).getIfAvailable();
+                if (fastEntityLoader != null && fastEntityLoader.isSeedsEnabled() && fastEntityLoader.supports(clazz)) {
+                    fastLoad(filePath, clazz, fastEntityLoader);
+                } else {
+                    List<T> items = FileUtils.loadJSONToListObject(filePath, clazz);
+                    repository.saveAll(items);
+                }
             }
 
         } catch (TransactionSystemException ex) {
@@ -53,4 +72,29 @@ public class SeedExecutor {
 
         }
     }
+
+    /**
+     * Lê o arquivo em streaming e grava via COPY (PostgreSQL) ou INSERT em batch, numa única transação
+     * como o saveAll.
+     */
+    private <T> void fastLoad(String filePath, Class<T> clazz, FastEntityLoader fastEntityLoader) throws IOException {
+        Path path = Paths.get(filePath).normalize();
+        if (!Files.exists(path)) {
+            LOGGER.info(LogMarkers.LOG, "Arquivo " + path + " não existe.");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        DataPersistenceService persistenceService = context.getBean(DataPersistenceService.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Long rows = transaction.execute(tx -> {
+            try (InputStream is = Files.newInputStream(path)) {
+                return persistenceService.<T>readJsonArrayInBatches(is, TypeFactory.defaultInstance().constructType(clazz),
+                    FAST_LOAD_BATCH_SIZE, fastEntityLoader::load);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        LOGGER.info("SEED_FAST_LOAD | file={} type={} rows={} elapsedMs={}",
+            path, clazz.getSimpleName(), rows, System.currentTimeMillis() - start);
+    }
 }
@@ -0,0 +1,48 @@
+package com.guga.walletserviceapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.guga.walletserviceapi.dto.audit.AuditEventResponseDTO;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.repository.AuditEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Service
+public class AuditEventService {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditEventService.class);
+
+    public static final int MAX_LIMIT = 1000;
+    // período máximo por consulta: limita quantas partições diárias uma busca pode varrer
+    private static final Duration MAX_PERIOD = Duration.ofDays(31);
+
+    private final AuditEventRepository auditEventRepository;
+
+    public List<AuditEventResponseDTO> findByWalletIdAndPeriod(Long walletId, LocalDateTime from,
+                                                               LocalDateTime to, int limit) {
+        if (walletId == null || from == null || to == null) {
+            throw new ResourceBadRequestException("walletId, from e to são obrigatórios");
+        }
+        if (!to.isAfter(from)) {
+            throw new ResourceBadRequestException("Período inválido: 'to' deve ser posterior a 'from'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_PERIOD) > 0) {
+            throw new ResourceBadRequestException("Período máximo da consulta é de " + MAX_PERIOD.toDays() + " dias");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResourceBadRequestException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+
+        List<AuditEventResponseDTO> events = auditEventRepository.findByWalletIdAndPeriod(walletId, from, to, limit);
+        LOGGER.info("AUDIT_EVENT_SERVICE_FIND | walletId={} from={} to={} rows={}", walletId, from, to, events.size());
+        return events;
+    }
+}
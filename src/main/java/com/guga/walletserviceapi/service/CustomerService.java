@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -11,13 +13,16 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.guga.walletserviceapi.config.CacheConfig;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
 import com.guga.walletserviceapi.exception.ResourceNotFoundException;
 import com.guga.walletserviceapi.model.Customer;
 import com.guga.walletserviceapi.model.ParamApp;
 import com.guga.walletserviceapi.model.enums.Status;
 import com.guga.walletserviceapi.repository.CustomerRepository;
-import com.guga.walletserviceapi.service.common.DataPersistenceService;
-import com.guga.walletserviceapi.service.common.PersistenceSummary;
+import com.guga.walletserviceapi.service.cache.CacheInvalidationBus;
+import com.guga.walletserviceapi.service.common.BulkImportEngine;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,10 +33,12 @@ public class CustomerService implements IWalletApiService {
     private static final Logger LOGGER = LogManager.getLogger(CustomerService.class);
 
     private final CustomerRepository customerRepository;
-    private final ParamAppService paramAppService;
-    private final DataPersistenceService importService;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final BulkImportEngine bulkImportEngine;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
 
+    @Cacheable(value = CacheConfig.CUSTOMERS, key = "#id")
     @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
         LOGGER.info("CUSTOMER_SERVICE_GET_BY_ID_ENTRY | customerId={}", id);
@@ -81,6 +88,7 @@ public class CustomerService implements IWalletApiService {
         return newCustomer;
     }
 
+    @CacheEvict(value = CacheConfig.CUSTOMERS, key = "#id")
     @Transactional(rollbackFor = Exception.class)
     public Customer updateCustomer(Long id, Customer customerUpdate) {
         LOGGER.info("CUSTOMER_SERVICE_UPDATE_ENTRY | customerId={}", id);
@@ -115,6 +123,8 @@ public class CustomerService implements IWalletApiService {
         );
 
         Customer updated = customerRepository.save(customer);
+        // bloqueio de customer precisa valer em todas as réplicas
+        cacheInvalidationBus.publish(CacheConfig.CUSTOMERS, id);
         LOGGER.info("CUSTOMER_SERVICE_UPDATE_SUCCESS | customerId={}", updated.getCustomerId());
         return updated;
     }
@@ -146,15 +156,16 @@ public class CustomerService implements IWalletApiService {
 
     }
 
-    public PersistenceSummary importCustomers(MultipartFile file) {        
-        return importService.importJsonFromUpload(file, new TypeReference<List<Customer>>() {}, customerRepository);
+    @CacheEvict(value = CacheConfig.CUSTOMERS, allEntries = true)
+    public ImportJobStatusDTO importCustomers(MultipartFile file) {        
+        ImportJobStatusDTO summary = bulkImportEngine.importFile(file, new TypeReference<List<Customer>>() {}, customerRepository);
+        cacheInvalidationBus.publishAll(CacheConfig.CUSTOMERS);
+        return summary;
     }
 
     @Override
     public Long nextIdGenerate() {
-        return paramAppService
-            .getNextSequenceId(ParamApp.SEQ_CUSTOMER_ID)
-            .getValueLong();
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_CUSTOMER_ID);
     }
     
 }
@@ -14,6 +14,7 @@ import com.guga.walletserviceapi.model.ParamApp;
 import com.guga.walletserviceapi.repository.DepositSenderRepository;
 import com.guga.walletserviceapi.service.common.DataPersistenceService;
 import com.guga.walletserviceapi.service.common.PersistenceSummary;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,7 +25,7 @@ public class DepositSenderService implements IWalletApiService {
     private static final Logger LOGGER = LogManager.getLogger(DepositSenderService.class);
 
     private final DepositSenderRepository depositSenderRepository;
-    private final ParamAppService paramAppService;
+    private final SequenceIdAllocator sequenceIdAllocator;
     private final DataPersistenceService importService;
 
     @Transactional(rollbackFor = Exception.class)
@@ -42,9 +43,7 @@ public class DepositSenderService implements IWalletApiService {
 
     @Override
     public Long nextIdGenerate() {
-        return paramAppService
-            .getNextSequenceId(ParamApp.SEQ_DEPOSIT_SENDER_ID)
-            .getValueLong();
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_DEPOSIT_SENDER_ID);
     }
 
     @Transactional(rollbackFor = Exception.class)
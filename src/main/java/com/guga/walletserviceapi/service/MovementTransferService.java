@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.guga.walletserviceapi.model.MovementTransaction;
 import com.guga.walletserviceapi.model.ParamApp;
 import com.guga.walletserviceapi.repository.MovementTransferRepository;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,7 +19,7 @@ public class MovementTransferService implements IWalletApiService {
     private static final Logger LOGGER = LogManager.getLogger(MovementTransferService.class);
 
     private final MovementTransferRepository movementTransferRepository;
-    private final ParamAppService paramAppService;
+    private final SequenceIdAllocator sequenceIdAllocator;
 
     @Transactional(rollbackFor = Exception.class)
     public MovementTransaction save(MovementTransaction movementTransaction) {
@@ -35,8 +36,6 @@ public class MovementTransferService implements IWalletApiService {
 
     @Override
     public Long nextIdGenerate() {
-        return paramAppService
-            .getNextSequenceId(ParamApp.SEQ_MOVEMENT_TRN_ID)
-            .getValueLong();
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_MOVEMENT_TRN_ID);
     }
 }
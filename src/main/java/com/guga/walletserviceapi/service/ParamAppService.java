@@ -6,21 +6,24 @@ import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.guga.walletserviceapi.config.CacheConfig;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.exception.ResourceNotFoundException;
 import com.guga.walletserviceapi.model.ParamApp;
 import com.guga.walletserviceapi.repository.ParamAppRepository;
+import com.guga.walletserviceapi.service.cache.CacheInvalidationBus;
+import com.guga.walletserviceapi.service.sequence.SequenceBlock;
 
 import lombok.RequiredArgsConstructor;
 
-@EnableCaching
 @RequiredArgsConstructor
 @Service
 public class ParamAppService {
@@ -28,6 +31,7 @@ public class ParamAppService {
     private static final Logger LOGGER = LogManager.getLogger(ParamAppService.class);
 
     private final ParamAppRepository paramAppRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Transactional(rollbackFor = Exception.class)
     public ParamApp getNextSequenceId(String paramName) {
@@ -49,6 +53,37 @@ public class ParamAppService {
         return saved;
     }
 
+    /**
+     * Reserva uma faixa de {@code blockSize} IDs avançando a sequência de uma só vez.
+     * Roda em transação própria para que o lock da linha dure apenas o incremento,
+     * e não a transação de negócio de quem pediu o ID.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public SequenceBlock reserveSequenceBlock(String paramName, int blockSize) {
+        LOGGER.info("PARAMAPP_SERVICE_RESERVE_SEQ_ENTRY | paramName={} blockSize={}", paramName, blockSize);
+
+        if (blockSize < 1) {
+            throw new ResourceBadRequestException("Tamanho de bloco invalido para a sequencia: " + paramName);
+        }
+
+        ParamApp paramApp = paramAppRepository.findByNameForUpdate(paramName)
+            .orElseThrow(() -> new ResourceBadRequestException("Parametro nao encontrado com o identificador fornecido: " + paramName));
+
+        if (!paramApp.getName().startsWith("seq")) {
+            LOGGER.warn("PARAMAPP_SERVICE_RESERVE_SEQ_DECISION | paramName={} decision=NOT_A_SEQUENCE", paramName);
+            throw new ResourceBadRequestException("Parametro informado nao e uma sequencia: " + paramName);
+        }
+
+        long lastValue = paramApp.getValueLong() == null ? 0L : paramApp.getValueLong();
+        SequenceBlock block = new SequenceBlock(paramName, lastValue + 1L, lastValue + blockSize);
+        paramApp.setValueLong(block.lastId());
+        paramAppRepository.save(paramApp);
+
+        LOGGER.info("PARAMAPP_SERVICE_RESERVE_SEQ_SUCCESS | paramName={} firstId={} lastId={}",
+            paramName, block.firstId(), block.lastId());
+        return block;
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public ParamApp adjstSequenceId(String paramName, Long value) {
         LOGGER.info("PARAMAPP_SERVICE_ADJUST_SEQ_ENTRY | paramName={} value={}", paramName, value);
@@ -63,15 +98,18 @@ public class ParamAppService {
         return saved;
     }
 
+    @CacheEvict(value = CacheConfig.PARAMS_APP, key = "#paramAppInput.name")
     @Transactional(rollbackFor = Exception.class)
     public ParamApp save(ParamApp paramAppInput) {
         LOGGER.info("PARAMAPP_SERVICE_SAVE_ENTRY | name={}", paramAppInput.getName());
         ParamApp saved = paramAppRepository.save(paramAppInput);
+        cacheInvalidationBus.publish(CacheConfig.PARAMS_APP, saved.getName());
         LOGGER.info("PARAMAPP_SERVICE_SAVE_SUCCESS | id={} name={}", saved.getId(), saved.getName());
         return saved;
     }
 
     @SuppressWarnings("null")
+    @CacheEvict(value = CacheConfig.PARAMS_APP, key = "#paramName")
     @Transactional(rollbackFor = Exception.class)
     public ParamApp updateByName(String paramName, ParamApp paramAppUpdate) {
         LOGGER.info("PARAMAPP_SERVICE_UPDATE_ENTRY | paramName={}", paramName);
@@ -81,6 +119,7 @@ public class ParamAppService {
 
         applyRuleUpdate(paramApp, paramAppUpdate);
         ParamApp saved = paramAppRepository.save(paramApp);
+        cacheInvalidationBus.publish(CacheConfig.PARAMS_APP, paramName);
 
         LOGGER.info("PARAMAPP_SERVICE_UPDATE_SUCCESS | id={} name={}", saved.getId(), saved.getName());
         return saved;
@@ -125,11 +164,14 @@ public class ParamAppService {
         return paramAppRepository.findByName(name);
     }
 
+    // só o id é conhecido aqui: descarta todos os limites em cache
+    @CacheEvict(value = CacheConfig.PARAMS_APP, allEntries = true)
     @Transactional(rollbackFor = Exception.class)
     public int deleteById(Long id) {
         LOGGER.info("PARAMAPP_SERVICE_DELETE_ENTRY | id={}", id);
         try {
             paramAppRepository.deleteById(id);
+            cacheInvalidationBus.publishAll(CacheConfig.PARAMS_APP);
             LOGGER.info("PARAMAPP_SERVICE_DELETE_SUCCESS | id={}", id);
             return 0;
         } catch (Exception e) {
@@ -138,9 +180,10 @@ public class ParamAppService {
         }
     }
 
-    @Cacheable(value = "params_app", key = "'minAmountToDeposit'")
+    // chave = nome do parâmetro, para que updateByName/save invalidem a entrada correta
+    @Cacheable(value = CacheConfig.PARAMS_APP, key = "T(com.guga.walletserviceapi.model.ParamApp).LIMIT_MIN_TO_DEPOSIT")
     @Transactional(readOnly = true)
-    protected BigDecimal getMinAmountToDeposit() {
+    public BigDecimal getMinAmountToDeposit() {
         LOGGER.info("PARAMAPP_SERVICE_GET_MIN_DEPOSIT_ENTRY");
 
         Optional<ParamApp> paramApp = paramAppRepository.findByName(ParamApp.LIMIT_MIN_TO_DEPOSIT);
@@ -153,9 +196,9 @@ public class ParamAppService {
         return paramApp.get().getValueBigDecimal();
     }
 
-    @Cacheable(value = "params_app", key = "'minAmountToTransfer'")
+    @Cacheable(value = CacheConfig.PARAMS_APP, key = "T(com.guga.walletserviceapi.model.ParamApp).LIMIT_MIN_TO_TRANSFER")
     @Transactional(readOnly = true)
-    protected BigDecimal getMinAmountToTransfer() {
+    public BigDecimal getMinAmountToTransfer() {
         LOGGER.info("PARAMAPP_SERVICE_GET_MIN_TRANSFER_ENTRY");
 
         Optional<ParamApp> paramApp = paramAppRepository.findByName(ParamApp.LIMIT_MIN_TO_TRANSFER);
@@ -1,20 +1,39 @@
 package com.guga.walletserviceapi.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchItemDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchResultDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionCursor;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.exception.ResourceNotFoundException;
 import com.guga.walletserviceapi.helpers.TransactionUtils;
@@ -25,17 +44,35 @@ import com.guga.walletserviceapi.model.ParamApp;
 import com.guga.walletserviceapi.model.Transaction;
 import com.guga.walletserviceapi.model.TransferMoneyReceived;
 import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.TransferSaga;
 import com.guga.walletserviceapi.model.Wallet;
 import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.BatchAtomicity;
 import com.guga.walletserviceapi.model.enums.CompareBigDecimal;
 import com.guga.walletserviceapi.model.enums.OperationType;
 import com.guga.walletserviceapi.model.enums.Status;
 import com.guga.walletserviceapi.model.enums.StatusTransaction;
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
 import com.guga.walletserviceapi.repository.DepositSenderRepository;
 import com.guga.walletserviceapi.repository.MovementTransferRepository;
+import com.guga.walletserviceapi.repository.TransactionBatchWriter;
+import com.guga.walletserviceapi.repository.TransactionOutboxWriter;
 import com.guga.walletserviceapi.repository.TransactionRepository;
-import com.guga.walletserviceapi.service.common.DataPersistenceService;
-import com.guga.walletserviceapi.service.common.PersistenceSummary;
+import com.guga.walletserviceapi.repository.WalletBalanceChange;
+import com.guga.walletserviceapi.repository.WalletBalanceState;
+import com.guga.walletserviceapi.repository.WalletDailySummaryWriter;
+import com.guga.walletserviceapi.security.JwtAuthenticationDetails;
+import com.guga.walletserviceapi.service.common.BulkImportEngine;
+import com.guga.walletserviceapi.service.concurrency.WalletConcurrencyGuard;
+import com.guga.walletserviceapi.service.groupcommit.TransactionGroupCommitter;
+import com.guga.walletserviceapi.service.ledger.LedgerEntry;
+import com.guga.walletserviceapi.service.ledger.LedgerRejectedException;
+import com.guga.walletserviceapi.service.ledger.LedgerRequest;
+import com.guga.walletserviceapi.service.ledger.WalletLedger;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
+import com.guga.walletserviceapi.service.storage.TransactionPartitionManager;
+import com.guga.walletserviceapi.service.transfer.TransferMode;
+import com.guga.walletserviceapi.service.transfer.TransferSagaProcessor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -48,10 +85,35 @@ public class TransactionService implements IWalletApiService {
     private final MovementTransferRepository movementTransferRepository;
     private final WalletService walletService;
     private final ParamAppService paramAppService;
-    private final DataPersistenceService importService;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final WalletConcurrencyGuard walletConcurrencyGuard;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final WalletDailySummaryWriter walletDailySummaryWriter;
+    private final TransactionOutboxWriter transactionOutboxWriter;
+    private final TransferSagaProcessor transferSagaProcessor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<WalletLedger> walletLedgerProvider;
+    private final ObjectProvider<TransactionGroupCommitter> groupCommitterProvider;
+
+    @Value("${app.transaction.atomic-balance-update:true}")
+    private boolean atomicBalanceUpdate;
+    @Value("${app.transaction.transfer-mode:SINGLE_TRANSACTION}")
+    private TransferMode transferMode;
+    @Value("${app.transaction.batch.max-operations:1000}")
+    private int batchMaxOperations;
+    @Value("${app.transaction.group-commit.enabled:false}")
+    private boolean groupCommit;
+    private final BulkImportEngine bulkImportEngine;
+    private final TransactionPartitionManager partitionManager;
 
     private static final Logger LOGGER = LogManager.getLogger(TransactionService.class);
 
+    private static final int CURSOR_PAGE_DEFAULT_SIZE = 50;
+    private static final int CURSOR_PAGE_MAX_SIZE = 150;
+
+    // sem particionamento não há partição a podar: o histórico inteiro
+    private static final LocalDateTime HISTORY_START = LocalDate.EPOCH.atStartOfDay();
+
     @Transactional(readOnly = true)
     public Transaction getTransactionById(Long id) {
         LOGGER.info("TRANSACTION_SERVICE_GET_BY_ID_ENTRY | transactionId={}", id);
@@ -64,11 +126,21 @@ public class TransactionService implements IWalletApiService {
         return trn;
     }
 
+    /**
+     * Limite inferior de created_at das listagens sem período: com tb_transaction particionada, os últimos
+     * app.partitioning.history-months meses (o planner descarta as partições anteriores); sem particionamento não
+     * há poda e o histórico inteiro é listado.
+     */
+    private LocalDateTime historySince() {
+        return partitionManager.historyStart(TransactionPartitionManager.TRANSACTION).orElse(HISTORY_START);
+    }
+
     @Transactional(readOnly = true)
     public Page<Transaction> getTransactionByWalletId(Long id, Pageable pageable) {
         LOGGER.info("TRANSACTION_SERVICE_LIST_BY_WALLET_ENTRY | walletId={} page={} size={} sort={}",
             id, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-        Page<Transaction> findResult = transactionRepository.findByWalletId(id, pageable);
+        Page<Transaction> findResult = transactionRepository
+            .findByWalletIdAndCreatedAtGreaterThanEqual(id, historySince(), pageable);
 
         if (findResult.isEmpty() || !findResult.hasContent()) {
             LOGGER.warn("TRANSACTION_SERVICE_LIST_BY_WALLET_DECISION | walletId={} decision=EMPTY_RESULT", id);
@@ -85,7 +157,7 @@ public class TransactionService implements IWalletApiService {
             walletId, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
 
         Page<Transaction> findResult = transactionRepository
-            .findByWalletId(walletId, pageable);
+            .findByWalletIdAndCreatedAtGreaterThanEqual(walletId, historySince(), pageable);
 
         if (findResult.isEmpty()) {
             LOGGER.warn("TRANSACTION_SERVICE_LIST_LIMIT_DECISION | walletId={} decision=EMPTY_RESULT", walletId);
@@ -96,6 +168,31 @@ public class TransactionService implements IWalletApiService {
         return findResult;
     }
 
+    /**
+     * Histórico da wallet por cursor (keyset), do mais recente para o mais antigo. Não executa COUNT nem OFFSET:
+     * cada página custa o mesmo independente da profundidade. Página vazia no fim do histórico não é erro.
+     *
+     * @param after cursor devolvido pela página anterior; nulo para a primeira página
+     */
+    @Transactional(readOnly = true)
+    public Slice<Transaction> listTransactionsAfter(Long walletId, OperationType operation, String after, Integer limit) {
+        int size = limit == null ? CURSOR_PAGE_DEFAULT_SIZE : limit;
+        if (size < 1 || size > CURSOR_PAGE_MAX_SIZE) {
+            throw new ResourceBadRequestException("limit must be between 1 and " + CURSOR_PAGE_MAX_SIZE);
+        }
+        TransactionCursor cursor = TransactionCursor.decode(after);
+        Pageable pageable = PageRequest.ofSize(size);
+
+        Slice<Transaction> slice = operation == null
+            ? transactionRepository.findSliceAfter(walletId, historySince(), cursor.createdAt(), cursor.transactionId(), pageable)
+            : transactionRepository.findSliceAfterByOperationType(
+                walletId, operation, historySince(), cursor.createdAt(), cursor.transactionId(), pageable);
+
+        LOGGER.info("TRANSACTION_SERVICE_LIST_CURSOR | walletId={} operation={} firstPage={} limit={} rows={} hasNext={}",
+            walletId, operation, cursor == TransactionCursor.START, size, slice.getNumberOfElements(), slice.hasNext());
+        return slice;
+    }
+
     @Transactional(readOnly = true)
     public Page<Transaction> findByWalletIdAndCreatedAtBetween(
         Long walletId, 
@@ -118,9 +215,27 @@ public class TransactionService implements IWalletApiService {
     }
 
 
-    @Transactional(rollbackFor = Exception.class)
     public DepositMoney saveDepositMoney(Long walletId, BigDecimal amount, String cpfSender,
                                          String terminalId, String senderName)
+    {
+        WalletLedger ledger = walletLedgerProvider.getIfAvailable();
+        if (ledger != null && ledger.owns(walletId)) {
+            return processDepositMoneyLedger(ledger, walletId, amount, cpfSender, terminalId, senderName);
+        }
+        if (atomicBalanceUpdate && useGroupCommit()) {
+            return groupCommitterProvider.getObject().execute(walletId, () ->
+                processDepositMoneyAtomic(walletId, amount, cpfSender, terminalId, senderName));
+        }
+        if (atomicBalanceUpdate) {
+            return transactionTemplate.execute(status ->
+                processDepositMoneyAtomic(walletId, amount, cpfSender, terminalId, senderName));
+        }
+        return walletConcurrencyGuard.execute(OperationType.DEPOSIT.name(), List.of(walletId),
+            () -> processDepositMoney(walletId, amount, cpfSender, terminalId, senderName));
+    }
+
+    private DepositMoney processDepositMoney(Long walletId, BigDecimal amount, String cpfSender,
+                                             String terminalId, String senderName)
     {
         LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_ENTRY | walletId={} amount={}", walletId, amount);
         Wallet wallet = walletService.getWalletById(walletId);
@@ -128,8 +243,6 @@ public class TransactionService implements IWalletApiService {
         DepositMoney depositMoney = TransactionUtils.generateDepositMoney(wallet, amount, 
             paramAppService.getMinAmountToDeposit());
 
-        DepositMoney depositMoneySaved = transactionRepository.save(depositMoney);
-
         if (!depositMoney.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
             LOGGER.warn("TRANSACTION_SERVICE_DEPOSIT_DECISION | walletId={} decision=BUSINESS_RULE_FAILED status={}",
                 walletId, depositMoney.getStatusTransaction());
@@ -137,30 +250,231 @@ public class TransactionService implements IWalletApiService {
                     .concat(depositMoney.getStatusTransaction().name())
             );
         }
+        depositMoney.setTransactionId(nextIdGenerate());
+        depositMoney.setLoginAuthId(currentLoginId());
 
-        TransactionUtils.adjustBalanceWallet(wallet, depositMoney);
-        walletService.updateWallet(wallet.getWalletId(), wallet);
+        walletService.applyBalanceChange(wallet, depositMoney);
 
         MovementTransaction movement = TransactionUtils
-                .generateMovementTransaction(depositMoneySaved, null);
-        MovementTransaction movementSaved = movementTransferRepository.save(movement);
-        depositMoney.setMovementTransaction(movementSaved);
+                .generateMovementTransaction(depositMoney, null);
+        movement.setMovementId(nextMovementId());
+        depositMoney.setMovementTransaction(movement);
 
-        if ( senderName != null && senderName.length() > 5 &&
-                cpfSender != null && cpfSender.length() > 5 ) {
+        List<Object> rows = new ArrayList<>(List.of(movement));
+        attachDepositSender(depositMoney, cpfSender, terminalId, senderName, rows);
+        rows.add(depositMoney);
+        persistMovements(rows);
 
+        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_SUCCESS | transactionId={} walletId={}",
+            depositMoney.getTransactionId(), walletId);
+        return depositMoney;
+    }
+
+    /***
+     * Depósito pelo caminho rápido (app.transaction.atomic-balance-update):
+     *     1 - valida o valor mínimo e o status da wallet (ambos em cache)
+     *     2 - aplica o saldo com um único UPDATE condicional (wallet/customer ACTIVE)
+     *     3 - grava transação, movimento e depositante num único flush (batch JDBC)
+     * A wallet só é lida quando o UPDATE é recusado, para devolver o motivo correto.
+     */
+    private DepositMoney processDepositMoneyAtomic(Long walletId, BigDecimal amount, String cpfSender,
+                                                   String terminalId, String senderName)
+    {
+        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_ATOMIC_ENTRY | walletId={} amount={}", walletId, amount);
+
+        if (amount == null || amount.compareTo(paramAppService.getMinAmountToDeposit()) == CompareBigDecimal.LESS_THAN.getValue()) {
+            rejectBusinessRule(walletId, StatusTransaction.AMOUNT_DEPOSIT_INSUFFICIENT);
+        }
+        rejectIfWalletInactive(walletId);
+
+        WalletBalanceChange change = walletService.applyBalanceDelta(walletId, amount, OperationType.DEPOSIT)
+            .orElseThrow(() -> rejectionFor(walletId, amount, OperationType.DEPOSIT));
+
+        DepositMoney depositMoney = DepositMoney.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(currentLoginId())
+            .walletId(walletId)
+            .createdAt(LocalDateTime.now())
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(change.previousBalance())
+            .currentBalance(change.currentBalance())
+            .operationType(OperationType.DEPOSIT)
+            .build();
+
+        MovementTransaction movement = TransactionUtils.generateMovementTransaction(depositMoney, null);
+        movement.setMovementId(nextMovementId());
+        depositMoney.setMovementTransaction(movement);
+
+        List<Object> rows = new ArrayList<>(List.of(movement));
+        attachDepositSender(depositMoney, cpfSender, terminalId, senderName, rows);
+        rows.add(depositMoney);
+        persistMovements(rows);
+
+        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_ATOMIC_SUCCESS | transactionId={} walletId={}",
+            depositMoney.getTransactionId(), walletId);
+        return depositMoney;
+    }
+
+    /**
+     * Group commit (app.transaction.group-commit) só fora de uma transação do chamador: dentro dela, a operação
+     * precisa participar da transação existente.
+     */
+    private boolean useGroupCommit() {
+        return groupCommit && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private static boolean hasDepositSender(String cpfSender, String senderName) {
+        return senderName != null && senderName.length() > 5 &&
+                cpfSender != null && cpfSender.length() > 5;
+    }
+
+    /** Depositante informado (nome e CPF preenchidos): gera o DepositSender e o inclui nas linhas a gravar. */
+    private void attachDepositSender(DepositMoney depositMoney, String cpfSender, String terminalId, String senderName,
+                                     List<Object> rows) {
+        if (hasDepositSender(cpfSender, senderName)) {
             DepositSender depositSender = TransactionUtils.generateDepositSender(depositMoney,
                     cpfSender, senderName, terminalId);
+            depositSender.setSenderId(sequenceIdAllocator.nextId(ParamApp.SEQ_DEPOSIT_SENDER_ID));
+            depositMoney.setDepositSender(depositSender);
+            rows.add(depositSender);
+        }
+    }
 
-            DepositSender depositSenderSaved = depositSenderRepository.save(depositSender);
+    /***
+     * Saque pelo caminho rápido: mesmo fluxo do depósito atômico, com delta negativo.
+     * O próprio UPDATE garante que o saldo não fica negativo.
+     */
+    private WithdrawMoney processWithdrawMoneyAtomic(Long walletId, BigDecimal amount) {
+        LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_ATOMIC_ENTRY | walletId={} amount={}", walletId, amount);
 
-            depositMoney.setDepositSender(depositSenderSaved);
+        if (amount == null || amount.signum() <= 0) {
+            throw new ResourceBadRequestException("Invalid withdraw amount");
+        }
+        rejectIfWalletInactive(walletId);
+
+        WalletBalanceChange change = walletService.applyBalanceDelta(walletId, amount.negate(), OperationType.WITHDRAW)
+            .orElseThrow(() -> rejectionFor(walletId, amount, OperationType.WITHDRAW));
+
+        WithdrawMoney withdraw = WithdrawMoney.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(currentLoginId())
+            .walletId(walletId)
+            .createdAt(LocalDateTime.now())
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(change.previousBalance())
+            .currentBalance(change.currentBalance())
+            .operationType(OperationType.WITHDRAW)
+            .build();
+
+        MovementTransaction movement = TransactionUtils.generateMovementTransaction(withdraw, null);
+        movement.setMovementId(nextMovementId());
+        withdraw.setMovementTransaction(movement);
+
+        persistMovements(List.of(movement, withdraw));
+
+        LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_ATOMIC_SUCCESS | transactionId={} walletId={}",
+            withdraw.getTransactionId(), walletId);
+        return withdraw;
+    }
+
+    /***
+     * Depósito numa wallet do ledger em memória (app.ledger): valida o valor mínimo e aplica no shard da wallet,
+     * que confirma depois do fsync do WAL. Transação, movimento e depositante chegam ao banco no flush seguinte.
+     */
+    private DepositMoney processDepositMoneyLedger(WalletLedger ledger, Long walletId, BigDecimal amount,
+                                                   String cpfSender, String terminalId, String senderName)
+    {
+        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_LEDGER_ENTRY | walletId={} amount={}", walletId, amount);
 
+        if (amount == null || amount.compareTo(paramAppService.getMinAmountToDeposit()) == CompareBigDecimal.LESS_THAN.getValue()) {
+            rejectBusinessRule(walletId, StatusTransaction.AMOUNT_DEPOSIT_INSUFFICIENT);
         }
+        boolean withSender = hasDepositSender(cpfSender, senderName);
+        LedgerEntry entry = applyOnLedger(ledger, LedgerRequest.deposit(walletId, amount, currentLoginId(),
+            withSender ? cpfSender : null, withSender ? terminalId : null, withSender ? senderName : null));
 
-        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_SUCCESS | transactionId={} walletId={}",
-            depositMoneySaved.getTransactionId(), walletId);
-        return depositMoneySaved;
+        LOGGER.info("TRANSACTION_SERVICE_DEPOSIT_LEDGER_SUCCESS | transactionId={} walletId={} sequence={}",
+            entry.transactionId(), walletId, entry.sequence());
+        return (DepositMoney) entry.toTransaction();
+    }
+
+    private WithdrawMoney processWithdrawMoneyLedger(WalletLedger ledger, Long walletId, BigDecimal amount) {
+        LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_LEDGER_ENTRY | walletId={} amount={}", walletId, amount);
+
+        if (amount == null || amount.signum() <= 0) {
+            throw new ResourceBadRequestException("Invalid withdraw amount");
+        }
+        LedgerEntry entry = applyOnLedger(ledger, LedgerRequest.withdraw(walletId, amount, currentLoginId()));
+
+        LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_LEDGER_SUCCESS | transactionId={} walletId={} sequence={}",
+            entry.transactionId(), walletId, entry.sequence());
+        return (WithdrawMoney) entry.toTransaction();
+    }
+
+    private LedgerEntry applyOnLedger(WalletLedger ledger, LedgerRequest request) {
+        try {
+            return ledger.apply(request);
+        } catch (LedgerRejectedException e) {
+            rejectBusinessRule(request.walletId(), e.getStatus());
+            throw e;
+        }
+    }
+
+    /**
+     * O UPDATE condicional foi recusado: lê a wallet (caminho frio) para devolver o mesmo status
+     * de regra de negócio que o fluxo tradicional devolveria.
+     */
+    private ResourceBadRequestException rejectionFor(Long walletId, BigDecimal amount, OperationType operationType) {
+        Wallet wallet = walletService.getWalletById(walletId);
+        StatusTransaction status = operationType == OperationType.DEPOSIT
+            ? TransactionUtils.chekProcessTypeDeposit(wallet, amount, paramAppService.getMinAmountToDeposit())
+            : TransactionUtils.chekProcessTypeWithdraw(wallet, amount);
+        if (status == StatusTransaction.SUCCESS) {
+            // Saldo mudou entre o UPDATE e a leitura: trata como saldo insuficiente
+            status = StatusTransaction.INSUFFICIENT_BALANCE;
+        }
+        LOGGER.warn("TRANSACTION_SERVICE_ATOMIC_DECISION | walletId={} operation={} decision=BUSINESS_RULE_FAILED status={}",
+            walletId, operationType, status);
+        return new ResourceBadRequestException("Invalid Business Rules - ".concat(status.name()));
+    }
+
+    /**
+     * Pré-checagem pelo cache wallet_metadata: wallet inativa é recusada sem tentar o UPDATE.
+     * O UPDATE continua validando o status, então um cache desatualizado nunca libera a operação.
+     */
+    private void rejectIfWalletInactive(Long walletId) {
+        if (!walletService.getWalletMetadata(walletId).isActive()) {
+            rejectBusinessRule(walletId, StatusTransaction.WALLET_STATUS_INVALID);
+        }
+    }
+
+    private void rejectBusinessRule(Long walletId, StatusTransaction status) {
+        LOGGER.warn("TRANSACTION_SERVICE_ATOMIC_DECISION | walletId={} decision=BUSINESS_RULE_FAILED status={}",
+            walletId, status);
+        throw new ResourceBadRequestException("Invalid Business Rules - ".concat(status.name()));
+    }
+
+    /**
+     * Grava os registros da operação, atualiza o resumo diário das wallets e enfileira os eventos no outbox,
+     * tudo na mesma transação.
+     */
+    private void persistMovements(List<?> rows) {
+        transactionBatchWriter.persistAll(rows);
+        walletDailySummaryWriter.record(rows);
+        transactionOutboxWriter.record(rows);
+    }
+
+    /**
+     * Login autenticado que originou a operação (coluna loginId da tb_transaction).
+     */
+    private Long currentLoginId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtAuthenticationDetails details) {
+            return details.getLoginId();
+        }
+        return null;
     }
 
     /***
@@ -176,8 +490,22 @@ public class TransactionService implements IWalletApiService {
      * @param amount
      * @return
      */
-    @Transactional(rollbackFor = Exception.class)
     public WithdrawMoney saveWithdrawMoney(Long walletId, BigDecimal amount) {
+        WalletLedger ledger = walletLedgerProvider.getIfAvailable();
+        if (ledger != null && ledger.owns(walletId)) {
+            return processWithdrawMoneyLedger(ledger, walletId, amount);
+        }
+        if (atomicBalanceUpdate && useGroupCommit()) {
+            return groupCommitterProvider.getObject().execute(walletId, () -> processWithdrawMoneyAtomic(walletId, amount));
+        }
+        if (atomicBalanceUpdate) {
+            return transactionTemplate.execute(status -> processWithdrawMoneyAtomic(walletId, amount));
+        }
+        return walletConcurrencyGuard.execute(OperationType.WITHDRAW.name(), List.of(walletId),
+            () -> processWithdrawMoney(walletId, amount));
+    }
+
+    private WithdrawMoney processWithdrawMoney(Long walletId, BigDecimal amount) {
         LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_ENTRY | walletId={} amount={}", walletId, amount);
 
         Wallet wallet = walletService.getWalletById(walletId);
@@ -188,8 +516,6 @@ public class TransactionService implements IWalletApiService {
 
         WithdrawMoney withdraw = TransactionUtils.generateWithdraw(wallet, amount);
 
-        WithdrawMoney withdrawSaved = transactionRepository.save(withdraw);
-
         if (!withdraw.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
             LOGGER.warn("TRANSACTION_SERVICE_WITHDRAW_DECISION | walletId={} decision=BUSINESS_RULE_FAILED status={}",
                 walletId, withdraw.getStatusTransaction());
@@ -197,26 +523,203 @@ public class TransactionService implements IWalletApiService {
                     .concat(withdraw.getStatusTransaction().name())
             );
         }
+        withdraw.setTransactionId(nextIdGenerate());
+        withdraw.setLoginAuthId(currentLoginId());
 
-        if (withdrawSaved.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
+        walletService.applyBalanceChange(wallet, withdraw);
 
-            TransactionUtils.adjustBalanceWallet(wallet, withdrawSaved);
-            walletService.updateWallet( walletId, wallet );
-
-            MovementTransaction movement = TransactionUtils
-                    .generateMovementTransaction(withdrawSaved, null);
-            MovementTransaction movementSaved = movementTransferRepository.save(movement);
-            withdrawSaved.setMovementTransaction(movementSaved);
+        MovementTransaction movement = TransactionUtils
+                .generateMovementTransaction(withdraw, null);
+        movement.setMovementId(nextMovementId());
+        withdraw.setMovementTransaction(movement);
 
-        }
+        persistMovements(List.of(movement, withdraw));
 
         LOGGER.info("TRANSACTION_SERVICE_WITHDRAW_SUCCESS | transactionId={} walletId={}",
-            withdrawSaved.getTransactionId(), walletId);
-        return withdrawSaved;
+            withdraw.getTransactionId(), walletId);
+        return withdraw;
     }
 
-    @Transactional(rollbackFor = Exception.class)
+    /***
+     * Transferência entre wallets pelo modo de app.transaction.transfer-mode (ver {@link TransferMode}).
+     */
     public TransferMoneySend saveTransferMoneySend(Long walletIdSend, Long walletIdReceived, BigDecimal amount) {
+        return saveTransferMoneySend(transferMode, walletIdSend, walletIdReceived, amount);
+    }
+
+    public TransferMoneySend saveTransferMoneySend(TransferMode mode, Long walletIdSend, Long walletIdReceived,
+                                                   BigDecimal amount) {
+        WalletLedger ledger = walletLedgerProvider.getIfAvailable();
+        if (ledger != null && (ledger.owns(walletIdSend) || ledger.owns(walletIdReceived))) {
+            // wallet do ledger: shard gravado e pausado durante a transferência, sempre numa transação só
+            // (o crédito da SAGA aconteceria fora da pausa)
+            return ledger.exclusive(List.of(walletIdSend, walletIdReceived), () -> transactionTemplate.execute(status ->
+                processTransferSingleTransaction(walletIdSend, walletIdReceived, amount)));
+        }
+        return switch (mode) {
+            // as duas wallets travadas pelo WalletConcurrencyGuard, sempre em ordem crescente de walletId
+            case GUARDED -> walletConcurrencyGuard.execute(OperationType.TRANSFER_SEND.name(),
+                List.of(walletIdSend, walletIdReceived),
+                () -> processTransferMoneySend(walletIdSend, walletIdReceived, amount));
+            case SINGLE_TRANSACTION -> transactionTemplate.execute(status ->
+                processTransferSingleTransaction(walletIdSend, walletIdReceived, amount));
+            case SAGA -> transactionTemplate.execute(status ->
+                processTransferSagaDebit(walletIdSend, walletIdReceived, amount));
+        };
+    }
+
+    /***
+     * Transferência numa transação com a menor janela de lock possível:
+     *     1 - valida valor mínimo, wallets distintas e status (cache)
+     *     2 - UPDATE condicional de saldo nas duas wallets, em ordem crescente de walletId (sem deadlock
+     *         entre A->B e B->A); um UPDATE recusado desfaz a transação inteira
+     *     3 - grava as duas pernas e os dois movimentos num único flush
+     */
+    private TransferMoneySend processTransferSingleTransaction(Long walletIdSend, Long walletIdReceived, BigDecimal amount) {
+        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_ATOMIC_ENTRY | walletIdSend={} walletIdReceived={} amount={}",
+            walletIdSend, walletIdReceived, amount);
+        validateTransfer(walletIdSend, walletIdReceived, amount);
+
+        WalletBalanceChange debit = null;
+        WalletBalanceChange credit = null;
+        for (Long walletId : List.of(Math.min(walletIdSend, walletIdReceived), Math.max(walletIdSend, walletIdReceived))) {
+            if (walletId.equals(walletIdSend)) {
+                debit = walletService.applyBalanceDelta(walletIdSend, amount.negate(), OperationType.TRANSFER_SEND)
+                    .orElseThrow(() -> transferRejectionFor(walletIdSend, true, amount));
+            } else {
+                credit = walletService.applyBalanceDelta(walletIdReceived, amount, OperationType.TRANSFER_RECEIVED)
+                    .orElseThrow(() -> transferRejectionFor(walletIdReceived, false, amount));
+            }
+        }
+
+        TransferMoneySend transferSend = buildTransferSend(walletIdSend, amount, debit);
+        TransferMoneyReceived transferReceived = TransferMoneyReceived.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(transferSend.getLoginAuthId())
+            .walletId(walletIdReceived)
+            .createdAt(LocalDateTime.now())
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(credit.previousBalance())
+            .currentBalance(credit.currentBalance())
+            .operationType(OperationType.TRANSFER_RECEIVED)
+            .build();
+
+        MovementTransaction movementSend = TransactionUtils.generateMovementTransaction(transferSend, transferReceived);
+        movementSend.setMovementId(nextMovementId());
+        transferSend.setMovementTransaction(movementSend);
+
+        MovementTransaction movementReceived = TransactionUtils.generateMovementTransaction(transferReceived, transferSend);
+        movementReceived.setMovementId(nextMovementId());
+        transferReceived.setMovementTransaction(movementReceived);
+
+        persistMovements(List.of(movementSend, movementReceived, transferSend, transferReceived));
+
+        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_ATOMIC_SUCCESS | transactionId={} walletIdSend={} walletIdReceived={}",
+            transferSend.getTransactionId(), walletIdSend, walletIdReceived);
+        return transferSend;
+    }
+
+    /***
+     * Primeira fase da transferência no modo SAGA: só a wallet do remetente é travada.
+     *     1 - mesmas validações do modo SINGLE_TRANSACTION
+     *     2 - débito por UPDATE condicional, TRANSFER_SEND e movimento gravados
+     *     3 - TransferSaga PENDING na mesma transação, com o id do TRANSFER_RECEIVED já reservado
+     * O crédito é aplicado pelo TransferSagaProcessor depois do commit.
+     */
+    private TransferMoneySend processTransferSagaDebit(Long walletIdSend, Long walletIdReceived, BigDecimal amount) {
+        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_SAGA_ENTRY | walletIdSend={} walletIdReceived={} amount={}",
+            walletIdSend, walletIdReceived, amount);
+        validateTransfer(walletIdSend, walletIdReceived, amount);
+
+        WalletBalanceChange debit = walletService.applyBalanceDelta(walletIdSend, amount.negate(), OperationType.TRANSFER_SEND)
+            .orElseThrow(() -> transferRejectionFor(walletIdSend, true, amount));
+
+        TransferMoneySend transferSend = buildTransferSend(walletIdSend, amount, debit);
+        Long receivedTransactionId = nextIdGenerate();
+
+        MovementTransaction movementSend = MovementTransaction.builder()
+            .movementId(nextMovementId())
+            .transactionId(transferSend.getTransactionId())
+            .walletId(walletIdSend)
+            .transactionReferenceId(receivedTransactionId)
+            .walletReferenceId(walletIdReceived)
+            .amount(amount)
+            .createdAt(LocalDateTime.now())
+            .operationType(OperationType.TRANSFER_SEND)
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .build();
+        transferSend.setMovementTransaction(movementSend);
+
+        LocalDateTime now = LocalDateTime.now();
+        TransferSaga saga = TransferSaga.builder()
+            .sagaId(transferSend.getTransactionId())
+            .walletIdSend(walletIdSend)
+            .walletIdReceived(walletIdReceived)
+            .amount(amount)
+            .receivedTransactionId(receivedTransactionId)
+            .loginAuthId(transferSend.getLoginAuthId())
+            .status(TransferSagaStatus.PENDING)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+        persistMovements(List.of(movementSend, transferSend, saga));
+        transferSagaProcessor.scheduleAfterCommit(saga.getSagaId());
+
+        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_SAGA_DEBITED | transactionId={} walletIdSend={} walletIdReceived={}",
+            transferSend.getTransactionId(), walletIdSend, walletIdReceived);
+        return transferSend;
+    }
+
+    private TransferMoneySend buildTransferSend(Long walletIdSend, BigDecimal amount, WalletBalanceChange debit) {
+        return TransferMoneySend.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(currentLoginId())
+            .walletId(walletIdSend)
+            .createdAt(LocalDateTime.now())
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(debit.previousBalance())
+            .currentBalance(debit.currentBalance())
+            .operationType(OperationType.TRANSFER_SEND)
+            .build();
+    }
+
+    /**
+     * Regras da transferência que não dependem do saldo; o saldo e o status definitivo ficam com o UPDATE.
+     */
+    private void validateTransfer(Long walletIdSend, Long walletIdReceived, BigDecimal amount) {
+        if (walletIdSend.equals(walletIdReceived)) {
+            rejectBusinessRule(walletIdSend, StatusTransaction.SAME_WALLET);
+        }
+        if (amount == null || amount.compareTo(paramAppService.getMinAmountToTransfer()) == CompareBigDecimal.LESS_THAN.getValue()) {
+            rejectBusinessRule(walletIdSend, StatusTransaction.AMOUNT_TRANSFER_INVALID);
+        }
+        rejectIfWalletInactive(walletIdSend);
+        rejectIfWalletInactive(walletIdReceived);
+    }
+
+    /**
+     * UPDATE de transferência recusado: lê só a wallet recusada (a outra pode já ter sido alterada nesta
+     * transação) para devolver o mesmo status de regra de negócio do fluxo por entidade.
+     */
+    private ResourceBadRequestException transferRejectionFor(Long walletId, boolean sender, BigDecimal amount) {
+        Wallet wallet = walletService.getWalletById(walletId);
+        StatusTransaction status = sender
+            ? TransactionUtils.chekProcessTypeWithdraw(wallet, amount)
+            : TransactionUtils.chekProcessTypeDeposit(wallet, amount, BigDecimal.ZERO);
+        if (status == StatusTransaction.SUCCESS) {
+            // Wallet mudou entre o UPDATE e a leitura
+            status = sender ? StatusTransaction.INSUFFICIENT_BALANCE : StatusTransaction.WALLET_STATUS_INVALID;
+        }
+        LOGGER.warn("TRANSACTION_SERVICE_ATOMIC_DECISION | walletId={} operation={} decision=BUSINESS_RULE_FAILED status={}",
+            walletId, sender ? OperationType.TRANSFER_SEND : OperationType.TRANSFER_RECEIVED, status);
+        return new ResourceBadRequestException("Invalid Business Rules - ".concat(status.name()));
+    }
+
+    private TransferMoneySend processTransferMoneySend(Long walletIdSend, Long walletIdReceived, BigDecimal amount) {
         LOGGER.info("TRANSACTION_SERVICE_TRANSFER_ENTRY | walletIdSend={} walletIdReceived={} amount={}",
             walletIdSend, walletIdReceived, amount);
 
@@ -224,51 +727,264 @@ public class TransactionService implements IWalletApiService {
 
         Wallet walletReceived = walletService.getWalletById(walletIdReceived);
 
+        // As regras do recebedor (wallet/customer ativos) também são validadas aqui
         TransferMoneySend transferSend = TransactionUtils.generateTransferMoneySend(walletSend,
                 walletReceived, amount,  paramAppService.getMinAmountToTransfer());
 
-        TransferMoneyReceived transferReceived = TransferMoneyReceived.builder()
-                .statusTransaction(StatusTransaction.INVALID)
-                .build();
-
-        TransferMoneySend transferSendSaved = transactionRepository.save(transferSend);
-
-        if (!transferSend.getStatusTransaction().equals(StatusTransaction.SUCCESS) ||
-                !transferReceived.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
+        if (!transferSend.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
             LOGGER.warn("TRANSACTION_SERVICE_TRANSFER_DECISION | walletIdSend={} decision=BUSINESS_RULE_FAILED status={}",
                 walletIdSend, transferSend.getStatusTransaction());
             throw new ResourceBadRequestException("Invalid Business Rules - "
                     .concat(transferSend.getStatusTransaction().name())
             );
         }
+        transferSend.setTransactionId(nextIdGenerate());
+        transferSend.setLoginAuthId(currentLoginId());
 
-        if (transferSendSaved.getStatusTransaction().equals(StatusTransaction.SUCCESS)) {
+        TransferMoneyReceived transferReceived = TransactionUtils.generateTransferMoneyReceived(walletReceived, amount);
+        transferReceived.setTransactionId(nextIdGenerate());
+        transferReceived.setLoginAuthId(transferSend.getLoginAuthId());
 
-            TransactionUtils.adjustBalanceWallet(walletSend, transferSend);
-            walletService.updateWallet(walletSend.getWalletId(), walletSend);
+        MovementTransaction movementSend = TransactionUtils.generateMovementTransaction(transferSend, transferReceived);
+        movementSend.setMovementId(nextMovementId());
+        transferSend.setMovementTransaction(movementSend);
 
-            MovementTransaction movementTransactionSend = TransactionUtils.generateMovementTransaction(transferSend, transferReceived);
-            movementTransferRepository.save(movementTransactionSend);
-            transferSendSaved.setMovementTransaction(movementTransactionSend);
+        MovementTransaction movementReceived = TransactionUtils.generateMovementTransaction(transferReceived, transferSend);
+        movementReceived.setMovementId(nextMovementId());
+        transferReceived.setMovementTransaction(movementReceived);
 
+        walletService.applyBalanceChange(walletSend, transferSend);
+        walletService.applyBalanceChange(walletReceived, transferReceived);
 
-            transferReceived = TransactionUtils.generateTransferMoneyReceived(walletReceived, amount);
+        persistMovements(List.of(movementSend, movementReceived, transferSend, transferReceived));
 
-            if (transferReceived.getStatusTransaction().equals(StatusTransaction.SUCCESS)){
+        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_SUCCESS | transactionId={} walletIdSend={} walletIdReceived={}",
+            transferSend.getTransactionId(), walletIdSend, walletIdReceived);
+        return transferSend;
+    }
 
-                TransactionUtils.adjustBalanceWallet(walletReceived, transferReceived);
-                walletService.updateWallet(walletReceived.getWalletId(), walletReceived);
+    /***
+     * Lote de operações da wallet walletId (POST /transactions/batch) numa única transação:
+     *     1 - valida os itens sem acessar o banco (tipo, valores mínimos, mesma wallet)
+     *     2 - trava e lê cada wallet do lote uma única vez (SELECT ... FOR UPDATE em ordem de walletId)
+     *     3 - aplica os itens em memória, na ordem do pedido, sobre o status e o saldo travados
+     *     4 - grava os saldos finais num batch JDBC e todas as transações e movimentos num único flush
+     * ALL_OR_NOTHING desfaz o lote no primeiro item recusado; PER_ITEM grava só os itens aceitos. Transferências
+     * do lote são sempre de uma transação só (as duas wallets já estão travadas), seja qual for o transfer-mode.
+     */
+    public TransactionBatchResultDTO saveBatch(Long walletId, BatchAtomicity atomicity, List<TransactionBatchItemDTO> items) {
+        if (items == null || items.isEmpty() || items.size() > batchMaxOperations) {
+            throw new ResourceBadRequestException("operations must have between 1 and " + batchMaxOperations + " items");
+        }
+        WalletLedger ledger = walletLedgerProvider.getIfAvailable();
+        List<Long> walletIds = new ArrayList<>(List.of(walletId));
+        items.stream().map(TransactionBatchItemDTO::walletIdReceived).filter(Objects::nonNull).forEach(walletIds::add);
+        if (ledger != null) {
+            return ledger.exclusive(walletIds, () ->
+                transactionTemplate.execute(status -> processBatch(walletId, atomicity, items, status)));
+        }
+        return transactionTemplate.execute(status -> processBatch(walletId, atomicity, items, status));
+    }
 
-                MovementTransaction movementReceived = TransactionUtils.generateMovementTransaction(transferReceived, transferSend);
-                MovementTransaction movementReceivedSaved =  movementTransferRepository.save(movementReceived);
-                transferReceived.setMovementTransaction(movementReceivedSaved);
+    /** Resultado de um item do lote; transactionId nulo quando recusado. */
+    private record BatchOutcome(StatusTransaction status, Long transactionId, BigDecimal currentBalance) {
+
+        static BatchOutcome rejected(StatusTransaction status, WalletBalanceState wallet) {
+            return new BatchOutcome(status, null, wallet != null ? wallet.currentBalance() : null);
+        }
+    }
+
+    private TransactionBatchResultDTO processBatch(Long walletId, BatchAtomicity atomicity,
+                                                   List<TransactionBatchItemDTO> items, TransactionStatus transactionStatus) {
+        LOGGER.info("TRANSACTION_SERVICE_BATCH_ENTRY | walletId={} atomicity={} operations={}",
+            walletId, atomicity, items.size());
+        BigDecimal minDeposit = paramAppService.getMinAmountToDeposit();
+        BigDecimal minTransfer = paramAppService.getMinAmountToTransfer();
+
+        BatchOutcome[] outcomes = new BatchOutcome[items.size()];
+        Set<Long> walletIds = new TreeSet<>(List.of(walletId));
+        for (int i = 0; i < items.size(); i++) {
+            TransactionBatchItemDTO item = items.get(i);
+            StatusTransaction rejection = validateBatchItem(walletId, item, minDeposit, minTransfer);
+            if (rejection != null) {
+                outcomes[i] = BatchOutcome.rejected(rejection, null);
+            } else if (item.operationType() == OperationType.TRANSFER_SEND) {
+                walletIds.add(item.walletIdReceived());
             }
+        }
 
+        Map<Long, WalletBalanceState> locked = walletService.lockBalances(walletIds);
+        Map<Long, WalletBalanceState> balances = new HashMap<>(locked);
+        Long loginId = currentLoginId();
+        List<Object> rows = new ArrayList<>();
+        int rejected = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (outcomes[i] == null) {
+                outcomes[i] = applyBatchItem(walletId, items.get(i), balances, loginId, rows);
+            }
+            if (outcomes[i].status() != StatusTransaction.SUCCESS) {
+                rejected++;
+                LOGGER.debug("TRANSACTION_SERVICE_BATCH_ITEM_REJECTED | walletId={} index={} operation={} status={}",
+                    walletId, i, items.get(i).operationType(), outcomes[i].status());
+            }
         }
 
-        LOGGER.info("TRANSACTION_SERVICE_TRANSFER_SUCCESS | transactionId={} walletIdSend={} walletIdReceived={}",
-            transferSendSaved.getTransactionId(), walletIdSend, walletIdReceived);
-        return transferSendSaved;
+        boolean committed = atomicity == BatchAtomicity.PER_ITEM || rejected == 0;
+        if (committed) {
+            walletService.writeBalances(balances.values().stream()
+                .filter(balance -> balance != locked.get(balance.walletId()))
+                .toList());
+            persistMovements(rows);
+        } else {
+            transactionStatus.setRollbackOnly();
+            LOGGER.warn("TRANSACTION_SERVICE_BATCH_DECISION | walletId={} decision=ROLLED_BACK rejected={}", walletId, rejected);
+        }
+
+        List<TransactionBatchResultDTO.Item> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchOutcome outcome = outcomes[i];
+            boolean applied = committed && outcome.status() == StatusTransaction.SUCCESS;
+            results.add(new TransactionBatchResultDTO.Item(i, items.get(i).operationType(), outcome.status(), applied,
+                applied ? outcome.transactionId() : null, outcome.currentBalance()));
+        }
+        int succeeded = committed ? items.size() - rejected : 0;
+        LOGGER.info("TRANSACTION_SERVICE_BATCH_SUCCESS | walletId={} atomicity={} committed={} succeeded={} rejected={} wallets={}",
+            walletId, atomicity, committed, succeeded, rejected, locked.size());
+        return new TransactionBatchResultDTO(atomicity, committed, succeeded, rejected, results);
+    }
+
+    /** Regras do item que não dependem do saldo nem do status das wallets; nulo quando o item segue. */
+    private static StatusTransaction validateBatchItem(Long walletId, TransactionBatchItemDTO item,
+                                                       BigDecimal minDeposit, BigDecimal minTransfer) {
+        if (item.operationType() == null || item.amount() == null || item.amount().signum() <= 0) {
+            return StatusTransaction.INVALID;
+        }
+        return switch (item.operationType()) {
+            case DEPOSIT -> item.amount().compareTo(minDeposit) < 0 ? StatusTransaction.AMOUNT_DEPOSIT_INSUFFICIENT : null;
+            case WITHDRAW -> null;
+            case TRANSFER_SEND -> {
+                if (item.walletIdReceived() == null) {
+                    yield StatusTransaction.WALLET_INVALID;
+                }
+                if (walletId.equals(item.walletIdReceived())) {
+                    yield StatusTransaction.SAME_WALLET;
+                }
+                yield item.amount().compareTo(minTransfer) < 0 ? StatusTransaction.AMOUNT_TRANSFER_INVALID : null;
+            }
+            case TRANSFER_RECEIVED -> StatusTransaction.INVALID;
+        };
+    }
+
+    /**
+     * Aplica o item sobre os saldos em memória e acrescenta as linhas a gravar. Item recusado não altera
+     * nenhum saldo, então os itens seguintes enxergam o mesmo estado que teriam sem ele.
+     */
+    private BatchOutcome applyBatchItem(Long walletId, TransactionBatchItemDTO item, Map<Long, WalletBalanceState> balances,
+                                        Long loginId, List<Object> rows) {
+        WalletBalanceState source = balances.get(walletId);
+        if (source == null) {
+            return BatchOutcome.rejected(StatusTransaction.WALLET_INVALID, null);
+        }
+        if (source.rejection() != null) {
+            return BatchOutcome.rejected(source.rejection(), source);
+        }
+        BigDecimal amount = item.amount();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (item.operationType() == OperationType.DEPOSIT) {
+            WalletBalanceState after = source.apply(amount, OperationType.DEPOSIT);
+            DepositMoney deposit = DepositMoney.builder()
+                .transactionId(nextIdGenerate())
+                .loginAuthId(loginId)
+                .walletId(walletId)
+                .createdAt(now)
+                .statusTransaction(StatusTransaction.SUCCESS)
+                .amount(amount)
+                .previousBalance(after.previousBalance())
+                .currentBalance(after.currentBalance())
+                .operationType(OperationType.DEPOSIT)
+                .build();
+            MovementTransaction movement = TransactionUtils.generateMovementTransaction(deposit, null);
+            movement.setMovementId(nextMovementId());
+            deposit.setMovementTransaction(movement);
+            rows.add(movement);
+            attachDepositSender(deposit, item.cpfSender(), item.terminalId(), item.senderName(), rows);
+            rows.add(deposit);
+            balances.put(walletId, after);
+            return new BatchOutcome(StatusTransaction.SUCCESS, deposit.getTransactionId(), after.currentBalance());
+        }
+
+        if (source.currentBalance().compareTo(amount) < 0) {
+            return BatchOutcome.rejected(StatusTransaction.INSUFFICIENT_BALANCE, source);
+        }
+
+        if (item.operationType() == OperationType.WITHDRAW) {
+            WalletBalanceState after = source.apply(amount.negate(), OperationType.WITHDRAW);
+            WithdrawMoney withdraw = WithdrawMoney.builder()
+                .transactionId(nextIdGenerate())
+                .loginAuthId(loginId)
+                .walletId(walletId)
+                .createdAt(now)
+                .statusTransaction(StatusTransaction.SUCCESS)
+                .amount(amount)
+                .previousBalance(after.previousBalance())
+                .currentBalance(after.currentBalance())
+                .operationType(OperationType.WITHDRAW)
+                .build();
+            MovementTransaction movement = TransactionUtils.generateMovementTransaction(withdraw, null);
+            movement.setMovementId(nextMovementId());
+            withdraw.setMovementTransaction(movement);
+            rows.add(movement);
+            rows.add(withdraw);
+            balances.put(walletId, after);
+            return new BatchOutcome(StatusTransaction.SUCCESS, withdraw.getTransactionId(), after.currentBalance());
+        }
+
+        Long walletIdReceived = item.walletIdReceived();
+        WalletBalanceState receiver = balances.get(walletIdReceived);
+        if (receiver == null) {
+            return BatchOutcome.rejected(StatusTransaction.WALLET_INVALID, source);
+        }
+        if (receiver.rejection() != null) {
+            return BatchOutcome.rejected(receiver.rejection(), source);
+        }
+        WalletBalanceState debited = source.apply(amount.negate(), OperationType.TRANSFER_SEND);
+        WalletBalanceState credited = receiver.apply(amount, OperationType.TRANSFER_RECEIVED);
+
+        TransferMoneySend transferSend = TransferMoneySend.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(loginId)
+            .walletId(walletId)
+            .createdAt(now)
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(debited.previousBalance())
+            .currentBalance(debited.currentBalance())
+            .operationType(OperationType.TRANSFER_SEND)
+            .build();
+        TransferMoneyReceived transferReceived = TransferMoneyReceived.builder()
+            .transactionId(nextIdGenerate())
+            .loginAuthId(loginId)
+            .walletId(walletIdReceived)
+            .createdAt(now)
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(amount)
+            .previousBalance(credited.previousBalance())
+            .currentBalance(credited.currentBalance())
+            .operationType(OperationType.TRANSFER_RECEIVED)
+            .build();
+
+        MovementTransaction movementSend = TransactionUtils.generateMovementTransaction(transferSend, transferReceived);
+        movementSend.setMovementId(nextMovementId());
+        transferSend.setMovementTransaction(movementSend);
+        MovementTransaction movementReceived = TransactionUtils.generateMovementTransaction(transferReceived, transferSend);
+        movementReceived.setMovementId(nextMovementId());
+        transferReceived.setMovementTransaction(movementReceived);
+
+        rows.addAll(List.of(movementSend, movementReceived, transferSend, transferReceived));
+        balances.put(walletId, debited);
+        balances.put(walletIdReceived, credited);
+        return new BatchOutcome(StatusTransaction.SUCCESS, transferSend.getTransactionId(), debited.currentBalance());
     }
 
     @Transactional(readOnly = true)
@@ -288,6 +1004,11 @@ public class TransactionService implements IWalletApiService {
                     builder.equal(root.get("transactionType"), typeTransaction)); // ou 'status' dependendo do nome do campo
         }
 
+        // FILTRO 3: janela de created_at (poda de partições)
+        LocalDateTime since = historySince();
+        specs.add((root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.get("createdAt"), since));
+
         // 3. Combina todas as especificações com 'AND'
         Specification<Transaction> combinedSpec = Specification.where(null); // Inicia com Specification.where(null)
 
@@ -369,16 +1090,18 @@ public class TransactionService implements IWalletApiService {
     }
 
 
-    public PersistenceSummary importTransactions(MultipartFile file) {
-        return importService.importJsonFromUpload(file, new TypeReference<List<Transaction>>() {}, transactionRepository);
+    public ImportJobStatusDTO importTransactions(MultipartFile file) {
+        return bulkImportEngine.importFile(file, new TypeReference<List<Transaction>>() {}, transactionRepository);
     }
 
 
     @Override
     public Long nextIdGenerate() {
-        return paramAppService
-            .getNextSequenceId(ParamApp.SEQ_TRANSACTION_ID)
-            .getValueLong();
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_TRANSACTION_ID);
+    }
+
+    private Long nextMovementId() {
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_MOVEMENT_TRN_ID);
     }
 
     /**
@@ -397,7 +1120,8 @@ public class TransactionService implements IWalletApiService {
         LOGGER.debug("Service: Filtering transactions | walletId={} | operation={}", walletId, operation);
 
         // Chamada ao Repository
-        Page<Transaction> trnResult = transactionRepository.findByWalletIdAndOperationType(walletId, operation, pageable);
+        Page<Transaction> trnResult = transactionRepository
+            .findByWalletIdAndOperationTypeAndCreatedAtGreaterThanEqual(walletId, operation, historySince(), pageable);
         if (trnResult == null || trnResult.isEmpty()) {
             String msgTrow = String.format("No transactions found for walletId={%s} and operation={%s}", walletId, operation);
             LOGGER.debug(msgTrow);
@@ -0,0 +1,18 @@
+package com.guga.walletserviceapi.service;
+
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.Status;
+
+/**
+ * Visão imutável e sem saldo da wallet, guardada no cache wallet_metadata.
+ */
+public record WalletMetadata(Long walletId, Long customerId, Status status) {
+
+    public static WalletMetadata of(Wallet wallet) {
+        return new WalletMetadata(wallet.getWalletId(), wallet.getCustomerId(), wallet.getStatus());
+    }
+
+    public boolean isActive() {
+        return Status.ACTIVE.equals(status);
+    }
+}
@@ -2,27 +2,42 @@ package com.guga.walletserviceapi.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.guga.walletserviceapi.config.CacheConfig;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.exception.ResourceNotFoundException;
 import com.guga.walletserviceapi.helpers.GlobalHelper;
+import com.guga.walletserviceapi.helpers.TransactionUtils;
 import com.guga.walletserviceapi.model.Customer;
 import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Transaction;
 import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
 import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.repository.WalletBalanceChange;
+import com.guga.walletserviceapi.repository.WalletBalanceState;
 import com.guga.walletserviceapi.repository.WalletRepository;
-import com.guga.walletserviceapi.service.common.DataPersistenceService;
-import com.guga.walletserviceapi.service.common.PersistenceSummary;
+import com.guga.walletserviceapi.service.cache.CacheInvalidationBus;
+import com.guga.walletserviceapi.service.common.BulkImportEngine;
+import com.guga.walletserviceapi.service.ledger.LedgerFence;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,9 +48,11 @@ public class WalletService implements IWalletApiService {
     private static final Logger LOGGER = LogManager.getLogger(WalletService.class);
 
     private final WalletRepository walletRepository;
-    private final ParamAppService paramAppService;
+    private final SequenceIdAllocator sequenceIdAllocator;
     private final CustomerService customerService;
-    private final DataPersistenceService importService;
+    private final BulkImportEngine bulkImportEngine;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final LedgerFence ledgerFence;
 
     @Transactional(readOnly = true)
     public Wallet getWalletById(Long id) {
@@ -51,6 +68,16 @@ public class WalletService implements IWalletApiService {
         return wallet;
     }
 
+    /**
+     * Dados de leitura frequente e pouca alteração (status e customer) da wallet, em cache.
+     * Não contém saldo: para saldo use {@link #getWalletById}.
+     */
+    @Cacheable(value = CacheConfig.WALLET_METADATA, key = "#id")
+    @Transactional(readOnly = true)
+    public WalletMetadata getWalletMetadata(Long id) {
+        return WalletMetadata.of(getWalletById(id));
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public Wallet saveWallet(Wallet wallet) {
         LOGGER.info("WALLET_SERVICE_SAVE_ENTRY | customerId={}", wallet.getCustomerId());
@@ -89,6 +116,7 @@ public class WalletService implements IWalletApiService {
         return newWallet;
     }
 
+    @CacheEvict(value = CacheConfig.WALLET_METADATA, key = "#walletId")
     @Transactional(rollbackFor = Exception.class)
     public Wallet updateWallet(Long walletId, Wallet walletUpdate) {
         LOGGER.info("WALLET_SERVICE_UPDATE_ENTRY | walletId={}", walletId);
@@ -128,6 +156,7 @@ public class WalletService implements IWalletApiService {
         wallet.setUpdatedAt(LocalDateTime.now());
 
         Wallet updatedWallet = walletRepository.save(wallet);
+        cacheInvalidationBus.publish(CacheConfig.WALLET_METADATA, walletId);
         LOGGER.info("WALLET_SERVICE_UPDATE_SUCCESS | walletId={}", updatedWallet.getWalletId());
         return updatedWallet;
     }
@@ -158,8 +187,59 @@ public class WalletService implements IWalletApiService {
 
     }
 
-    public PersistenceSummary importWallets(MultipartFile file) {
-        return importService.importJsonFromUpload(file, new TypeReference<List<Wallet>>() {}, walletRepository);
+    /**
+     * Uso interno das transações: altera a wallet gerenciada e deixa o dirty checking do Hibernate
+     * gerar o UPDATE no flush, sem o SELECT extra e a cópia campo a campo do {@link #updateWallet}.
+     * Com o {@link LedgerFence} ativo, a linha é travada antes para conferir a posse.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyBalanceChange(Wallet wallet, Transaction transaction) {
+        if (ledgerFence.isActive()) {
+            walletRepository.lockBalances(List.of(wallet.getWalletId()));
+            ledgerFence.check(List.of(wallet.getWalletId()));
+        }
+        TransactionUtils.adjustBalanceWallet(wallet, transaction);
+        LOGGER.debug("WALLET_SERVICE_BALANCE_CHANGE | walletId={} operation={} currentBalance={}",
+            wallet.getWalletId(), transaction.getOperationType(), wallet.getCurrentBalance());
+    }
+
+    /**
+     * Caminho rápido: aplica o delta com um único UPDATE condicional, sem carregar a entidade.
+     * Vazio quando a wallet não existe, não está ACTIVE (ela ou o customer) ou o saldo ficaria negativo.
+     * A posse ({@link LedgerFence}) é conferida depois do UPDATE, com a linha já travada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<WalletBalanceChange> applyBalanceDelta(Long walletId, BigDecimal delta, OperationType operationType) {
+        Optional<WalletBalanceChange> change = walletRepository.applyBalanceDelta(walletId, delta, operationType, LocalDateTime.now());
+        if (change.isPresent()) {
+            ledgerFence.check(List.of(walletId));
+        }
+        LOGGER.info("WALLET_SERVICE_BALANCE_DELTA | walletId={} operation={} applied={}", walletId, operationType, change.isPresent());
+        return change;
+    }
+
+    /**
+     * Lotes de operações: trava e lê cada wallet do lote uma única vez; os saldos são aplicados em memória e
+     * gravados juntos por {@link #writeBalances}. A posse ({@link LedgerFence}) é conferida com as linhas travadas.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, WalletBalanceState> lockBalances(Collection<Long> walletIds) {
+        Map<Long, WalletBalanceState> balances = walletRepository.lockBalances(walletIds);
+        ledgerFence.check(balances.keySet());
+        LOGGER.info("WALLET_SERVICE_BALANCE_LOCK | requested={} locked={}", walletIds.size(), balances.size());
+        return balances;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeBalances(Collection<WalletBalanceState> balances) {
+        walletRepository.writeBalances(balances, LocalDateTime.now());
+    }
+
+    @CacheEvict(value = CacheConfig.WALLET_METADATA, allEntries = true)
+    public ImportJobStatusDTO importWallets(MultipartFile file) {
+        ImportJobStatusDTO summary = bulkImportEngine.importFile(file, new TypeReference<List<Wallet>>() {}, walletRepository);
+        cacheInvalidationBus.publishAll(CacheConfig.WALLET_METADATA);
+        return summary;
     }
 
     @Transactional(readOnly = true)
@@ -181,9 +261,7 @@ public class WalletService implements IWalletApiService {
 
     @Override
     public Long nextIdGenerate() {
-        return paramAppService
-            .getNextSequenceId(ParamApp.SEQ_WALLET_ID)
-            .getValueLong();
+        return sequenceIdAllocator.nextId(ParamApp.SEQ_WALLET_ID);
     }
 
 }
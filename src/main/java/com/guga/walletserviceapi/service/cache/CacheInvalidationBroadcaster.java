@@ -0,0 +1,16 @@
+package com.guga.walletserviceapi.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transporte dos eventos de invalidação entre réplicas (app.cache.invalidation.broadcaster).
+ *
+ * Implementações devem entregar o evento somente após o commit da transação de quem publicou,
+ * para que os outros nós não recarreguem o valor antigo do banco.
+ */
+public interface CacheInvalidationBroadcaster {
+
+    void publish(CacheInvalidationEvent event);
+
+    void subscribe(Consumer<CacheInvalidationEvent> listener);
+}
@@ -0,0 +1,96 @@
+package com.guga.walletserviceapi.service.cache;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.guga.walletserviceapi.config.CacheConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Propaga invalidações de cache para as demais réplicas.
+ *
+ * A invalidação local continua a cargo do {@code @CacheEvict} do próprio serviço; aqui o evento é apenas
+ * publicado no broadcaster e, ao chegar de outro nó, aplicado no CacheManager local.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger LOGGER = LogManager.getLogger(CacheInvalidationBus.class);
+
+    // chaves trafegam como texto; caches com chave numérica precisam da conversão de volta
+    private static final Map<String, Function<String, Object>> KEY_PARSERS = Map.of(
+        CacheConfig.CUSTOMERS, Long::valueOf,
+        CacheConfig.WALLET_METADATA, Long::valueOf
+    );
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                CacheInvalidationBroadcaster broadcaster,
+                                MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.broadcaster = broadcaster;
+        this.meterRegistry = meterRegistry;
+        broadcaster.subscribe(this::onEvent);
+    }
+
+    public void publish(String cacheName, Object key) {
+        send(new CacheInvalidationEvent(cacheName, String.valueOf(key), nodeId));
+    }
+
+    public void publishAll(String cacheName) {
+        send(new CacheInvalidationEvent(cacheName, null, nodeId));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void send(CacheInvalidationEvent event) {
+        broadcaster.publish(event);
+        meterRegistry.counter("cache.invalidation.published", "cache", tagOf(event)).increment();
+        LOGGER.debug("CACHE_INVALIDATION_PUBLISH | cache={} key={}", event.cacheName(), event.key());
+    }
+
+    void onEvent(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.originNodeId())) {
+            return;
+        }
+        if (event.allCaches()) {
+            cacheManager.getCacheNames().forEach(name -> evict(name, null));
+        } else {
+            evict(event.cacheName(), event.key());
+        }
+        meterRegistry.counter("cache.invalidation.received", "cache", tagOf(event)).increment();
+        LOGGER.info("CACHE_INVALIDATION_RECEIVED | cache={} key={} origin={}",
+            event.cacheName(), event.key(), event.originNodeId());
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            // evict imediato: o evento já chega após o commit de quem publicou
+            cache.evictIfPresent(KEY_PARSERS.getOrDefault(cacheName, text -> text).apply(key));
+        }
+    }
+
+    private static String tagOf(CacheInvalidationEvent event) {
+        return event.allCaches() ? "all" : event.cacheName();
+    }
+}
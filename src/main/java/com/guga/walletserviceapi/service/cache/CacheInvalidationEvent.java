@@ -0,0 +1,23 @@
+package com.guga.walletserviceapi.service.cache;
+
+/**
+ * Pedido de invalidação propagado entre os nós.
+ *
+ * @param cacheName cache alvo; {@code null} = todos os caches
+ * @param key       chave em texto; {@code null} = todas as entradas do cache
+ * @param originNodeId nó que publicou (o próprio nó ignora os seus eventos)
+ */
+public record CacheInvalidationEvent(String cacheName, String key, String originNodeId) {
+
+    public static CacheInvalidationEvent everything(String originNodeId) {
+        return new CacheInvalidationEvent(null, null, originNodeId);
+    }
+
+    public boolean allCaches() {
+        return cacheName == null;
+    }
+
+    public boolean allEntries() {
+        return key == null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.guga.walletserviceapi.service.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Broadcaster em memória: entrega os eventos aos assinantes da mesma JVM.
+ * Usado em nó único, em desenvolvimento (H2) e nos testes como substituto do LISTEN/NOTIFY.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.broadcaster", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        // mesma semântica do NOTIFY: só entrega após o commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+            return;
+        }
+        deliver(event);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+}
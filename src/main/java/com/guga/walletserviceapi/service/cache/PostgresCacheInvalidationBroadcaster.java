@@ -0,0 +1,154 @@
+package com.guga.walletserviceapi.service.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Broadcaster via PostgreSQL LISTEN/NOTIFY.
+ *
+ * O publish executa pg_notify na conexão da transação corrente: o PostgreSQL só entrega a notificação
+ * após o commit (e a descarta no rollback). Cada nó mantém uma conexão dedicada em LISTEN, lida por
+ * uma thread própria. Ao (re)conectar, o nó invalida todos os caches, pois eventos podem ter sido
+ * perdidos enquanto estava desconectado.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.broadcaster", havingValue = "postgres")
+public class PostgresCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private static final Logger LOGGER = LogManager.getLogger(PostgresCacheInvalidationBroadcaster.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectBackoffMs;
+
+    private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresCacheInvalidationBroadcaster(DataSource dataSource,
+                                                JdbcTemplate jdbcTemplate,
+                                                ObjectMapper objectMapper,
+                                                @Value("${app.cache.invalidation.channel:wallet_cache_invalidation}") String channel,
+                                                @Value("${app.cache.invalidation.poll-timeout-ms:500}") int pollTimeoutMs,
+                                                @Value("${app.cache.invalidation.reconnect-backoff-ms:2000}") long reconnectBackoffMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid LISTEN channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.pollTimeoutMs = Math.max(1, pollTimeoutMs);
+        this.reconnectBackoffMs = Math.max(100, reconnectBackoffMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cache invalidation event could not be serialized", e);
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                LOGGER.info("CACHE_INVALIDATION_LISTEN | channel={}", channel);
+                deliver(CacheInvalidationEvent.everything(null));
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(parse(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.warn("CACHE_INVALIDATION_LISTEN_FAIL | channel={} reason={} retryInMs={}",
+                    channel, e.getMessage(), reconnectBackoffMs);
+                try {
+                    Thread.sleep(reconnectBackoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private CacheInvalidationEvent parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, CacheInvalidationEvent.class);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("CACHE_INVALIDATION_PARSE_FAIL | payload={} decision=EVICT_ALL", payload);
+            return CacheInvalidationEvent.everything(null);
+        }
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        for (Consumer<CacheInvalidationEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("CACHE_INVALIDATION_DELIVER_FAIL | event={} reason={}", event, e.getMessage());
+            }
+        }
+    }
+}
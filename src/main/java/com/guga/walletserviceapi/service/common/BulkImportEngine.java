@@ -0,0 +1,334 @@
+package com.guga.walletserviceapi.service.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.exception.ResourceNotFoundException;
+import com.guga.walletserviceapi.model.ImportJob;
+import com.guga.walletserviceapi.model.ImportJobChunk;
+import com.guga.walletserviceapi.model.enums.ImportChunkStatus;
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
+import com.guga.walletserviceapi.repository.ImportJobChunkRepository;
+import com.guga.walletserviceapi.repository.ImportJobRepository;
+import com.guga.walletserviceapi.service.storage.TransactionPartitionManager;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Importação em massa de arrays JSON, dividida em chunks persistidos em paralelo.
+ *
+ * O arquivo é lido em streaming por uma única thread; cada chunk é gravado por um worker do pool
+ * em transação própria, junto com o seu checkpoint DONE. Um chunk com erro é registrado como FAILED
+ * sem afetar os demais. Reenviar o mesmo arquivo (mesmo hash) retoma o último job não concluído,
+ * pulando os chunks já gravados. O semáforo do engine limita os chunks em memória de todos os jobs
+ * simultâneos: a leitura espera quando os workers estão atrasados.
+ */
+@Service
+public class BulkImportEngine {
+
+    private static final Logger LOGGER = LogManager.getLogger(BulkImportEngine.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final DataPersistenceService persistenceService;
+    private final ImportJobRepository jobRepository;
+    private final ImportJobChunkRepository chunkRepository;
+    private final FastEntityLoader fastEntityLoader;
+    private final TransactionPartitionManager partitionManager;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate newTransaction;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final ThreadPoolExecutor executor;
+    // compartilhado entre os jobs: o pool é único, então o limite de chunks pendentes também precisa ser
+    private final Semaphore inFlight;
+
+    // jobs em execução neste nó; impede duas retomadas simultâneas do mesmo job
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public BulkImportEngine(DataPersistenceService persistenceService,
+                            ImportJobRepository jobRepository,
+                            ImportJobChunkRepository chunkRepository,
+                            FastEntityLoader fastEntityLoader,
+                            TransactionPartitionManager partitionManager,
+                            ObjectMapper mapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.import.batch-size:500}") int chunkSize,
+                            @Value("${app.import.parallelism:4}") int parallelism,
+                            @Value("${app.import.max-in-flight-chunks:8}") int maxInFlightChunks) {
+        this.persistenceService = persistenceService;
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.fastEntityLoader = fastEntityLoader;
+        this.partitionManager = partitionManager;
+        this.mapper = mapper;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlightChunks = Math.max(1, maxInFlightChunks);
+
+        int threads = Math.max(1, parallelism);
+        // fila do tamanho do semáforo do engine: nunca rejeita, com qualquer número de jobs simultâneos
+        this.inFlight = new Semaphore(this.maxInFlightChunks, true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.maxInFlightChunks),
+            Thread.ofPlatform().name("bulk-import-", 1).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Importa (ou retoma) o arquivo. Retorna ao fim do processamento com o status final do job;
+     * chunks com erro deixam o job FAILED e são os únicos reprocessados no reenvio do arquivo.
+     */
+    public <T> ImportJobStatusDTO importFile(MultipartFile file, TypeReference<List<T>> typeRef,
+                                             JpaRepository<T, ?> repository) {
+        JavaType elementType = mapper.getTypeFactory().constructType(typeRef).getContentType();
+        String entityType = elementType.getRawClass().getSimpleName();
+
+        ImportJob job = openJob(entityType, file.getOriginalFilename(), sha256(file));
+        if (!activeJobs.add(job.getId())) {
+            throw new ResourceBadRequestException("Importação já em andamento para este arquivo: job " + job.getId());
+        }
+        try (InputStream is = file.getInputStream()) {
+            run(job, is, elementType, repository);
+        } catch (IOException e) {
+            finishJob(job.getId(), -1, "Erro ao ler o arquivo: " + e.getMessage());
+            throw new ResourceBadRequestException("Erro ao processar MultipartFile: " + e.getMessage());
+        } finally {
+            activeJobs.remove(job.getId());
+        }
+        return status(job.getId());
+    }
+
+    public ImportJobStatusDTO status(Long jobId) {
+        ImportJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("Import job not found: " + jobId));
+        return toStatus(job);
+    }
+
+    public List<ImportJobStatusDTO> recentJobs() {
+        return jobRepository.findTop50ByOrderByIdDesc().stream().map(this::toStatus).toList();
+    }
+
+    private <T> void run(ImportJob job, InputStream is, JavaType elementType, JpaRepository<T, ?> repository) {
+        Long jobId = job.getId();
+        Set<Integer> doneChunks = new HashSet<>(chunkRepository.findChunkIndexes(jobId, ImportChunkStatus.DONE));
+        // chunks deste job ainda não concluídos (a parte registrada pela leitura sai no fim)
+        Phaser pending = new Phaser(1);
+        AtomicInteger chunkIndex = new AtomicInteger();
+        boolean fastLoad = fastEntityLoader.isUploadsEnabled() && fastEntityLoader.supports(elementType.getRawClass());
+        long start = System.currentTimeMillis();
+
+        LOGGER.info("BULK_IMPORT_START | jobId={} type={} attempt={} chunkSize={} chunksAlreadyDone={} fastLoad={}",
+            jobId, job.getEntityType(), job.getAttempts(), job.getChunkSize(), doneChunks.size(), fastLoad);
+
+        try {
+            persistenceService.<T>readJsonArrayInBatches(is, elementType, job.getChunkSize(), batch -> {
+                int index = chunkIndex.getAndIncrement();
+                if (doneChunks.contains(index)) {
+                    return;
+                }
+                // o lote do parser é reaproveitado: o worker recebe uma cópia
+                List<T> chunk = new ArrayList<>(batch);
+                inFlight.acquireUninterruptibly();
+                pending.register();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            persistChunk(jobId, index, chunk, repository, fastLoad);
+                        } finally {
+                            inFlight.release();
+                            pending.arriveAndDeregister();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    pending.arriveAndDeregister();
+                    throw e;
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // leitura interrompida: os chunks já enviados terminam e ficam com checkpoint para a retomada
+            pending.arriveAndAwaitAdvance();
+            finishJob(jobId, -1, e.getMessage());
+            if (e instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ResourceBadRequestException("Erro ao processar arquivo: " + e.getMessage());
+        }
+
+        // nenhum chunk deste job pendente
+        pending.arriveAndAwaitAdvance();
+        ImportJob finished = finishJob(jobId, chunkIndex.get(), null);
+
+        LOGGER.info("BULK_IMPORT_END | jobId={} type={} status={} chunks={} failedChunks={} records={} elapsedMs={}",
+            jobId, finished.getEntityType(), finished.getStatus(), finished.getTotalChunks(),
+            finished.getFailedChunks(), finished.getRecordsImported(), System.currentTimeMillis() - start);
+    }
+
+    private <T> void persistChunk(Long jobId, int index, List<T> chunk, JpaRepository<T, ?> repository, boolean fastLoad) {
+        try {
+            // dados e checkpoint na mesma transação: o checkpoint DONE só existe se o chunk foi gravado
+            newTransaction.executeWithoutResult(tx -> {
+                // transações importadas costumam ser de meses sem partição
+                partitionManager.ensurePartitionsFor(chunk);
+                if (fastLoad) {
+                    fastEntityLoader.load(chunk);
+                } else {
+                    repository.saveAll(chunk);
+                    repository.flush();
+                }
+                chunkRepository.save(checkpoint(jobId, index, ImportChunkStatus.DONE, chunk.size(), null));
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("BULK_IMPORT_CHUNK_FAIL | jobId={} chunk={} records={} reason={}",
+                jobId, index, chunk.size(), e.getMessage());
+            try {
+                newTransaction.executeWithoutResult(tx ->
+                    chunkRepository.save(checkpoint(jobId, index, ImportChunkStatus.FAILED, chunk.size(), e.getMessage())));
+            } catch (RuntimeException checkpointError) {
+                // sem checkpoint o chunk é reprocessado na retomada, como um FAILED
+                LOGGER.error("BULK_IMPORT_CHECKPOINT_FAIL | jobId={} chunk={} reason={}",
+                    jobId, index, checkpointError.getMessage());
+            }
+        }
+    }
+
+    private ImportJob openJob(String entityType, String fileName, String contentHash) {
+        return newTransaction.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            ImportJob job = jobRepository
+                .findFirstByEntityTypeAndContentHashAndStatusNotOrderByIdDesc(entityType, contentHash, ImportJobStatus.COMPLETED)
+                .orElse(null);
+
+            if (job == null) {
+                job = ImportJob.builder()
+                    .entityType(entityType)
+                    .fileName(fileName)
+                    .contentHash(contentHash)
+                    .chunkSize(chunkSize)
+                    .createdAt(now)
+                    .build();
+            } else {
+                // chunks FAILED voltam a ser pendentes; os DONE são pulados
+                chunkRepository.deleteByJobIdAndStatus(job.getId(), ImportChunkStatus.FAILED);
+                LOGGER.info("BULK_IMPORT_RESUME | jobId={} type={} previousStatus={}", job.getId(), entityType, job.getStatus());
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setTotalChunks(null);
+            job.setErrorMessage(null);
+            job.setFinishedAt(null);
+            job.setUpdatedAt(now);
+            return jobRepository.save(job);
+        });
+    }
+
+    /**
+     * Consolida o job a partir dos checkpoints. totalChunks < 0 indica que a leitura não terminou.
+     */
+    private ImportJob finishJob(Long jobId, int totalChunks, String errorMessage) {
+        return newTransaction.execute(tx -> {
+            ImportJob job = jobRepository.findById(jobId).orElseThrow();
+            long records = 0;
+            int failed = 0;
+            for (ImportJobChunkRepository.ChunkProgress progress : chunkRepository.summarize(jobId)) {
+                if (progress.getStatus() == ImportChunkStatus.DONE) {
+                    records = progress.getRecords();
+                } else {
+                    failed = (int) progress.getChunks();
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            job.setRecordsImported(records);
+            job.setFailedChunks(failed);
+            job.setTotalChunks(totalChunks < 0 ? null : totalChunks);
+            job.setStatus(totalChunks < 0 || failed > 0 ? ImportJobStatus.FAILED : ImportJobStatus.COMPLETED);
+            job.setErrorMessage(truncate(errorMessage != null ? errorMessage
+                : failed > 0 ? failed + " chunk(s) com erro; reenvie o arquivo para reprocessá-los" : null));
+            job.setUpdatedAt(now);
+            job.setFinishedAt(now);
+            return jobRepository.save(job);
+        });
+    }
+
+    private ImportJobStatusDTO toStatus(ImportJob job) {
+        long chunksDone = 0;
+        long chunksFailed = 0;
+        long records = 0;
+        for (ImportJobChunkRepository.ChunkProgress progress : chunkRepository.summarize(job.getId())) {
+            if (progress.getStatus() == ImportChunkStatus.DONE) {
+                chunksDone = progress.getChunks();
+                records = progress.getRecords();
+            } else {
+                chunksFailed = progress.getChunks();
+            }
+        }
+        return new ImportJobStatusDTO(job.getId(), job.getEntityType(), job.getFileName(), job.getStatus(),
+            job.getChunkSize(), job.getTotalChunks(), chunksDone, chunksFailed, records, job.getAttempts(),
+            job.getErrorMessage(), job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt());
+    }
+
+    private static ImportJobChunk checkpoint(Long jobId, int index, ImportChunkStatus status, int records, String error) {
+        return ImportJobChunk.builder()
+            .jobId(jobId)
+            .chunkIndex(index)
+            .status(status)
+            .records(records)
+            .errorMessage(truncate(error))
+            .processedAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static String sha256(MultipartFile file) {
+        try (InputStream is = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ResourceBadRequestException("Erro ao processar MultipartFile: " + e.getMessage());
+        }
+    }
+
+    private static String truncate(String text) {
+        return text == null || text.length() <= MAX_ERROR_LENGTH ? text : text.substring(0, MAX_ERROR_LENGTH);
+    }
+}
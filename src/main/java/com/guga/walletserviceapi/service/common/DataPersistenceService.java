@@ -1,22 +1,33 @@
 package com.guga.walletserviceapi.service.common;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
-import com.guga.walletserviceapi.helpers.GlobalHelper;
 import com.guga.walletserviceapi.logging.LogMarkers;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -27,6 +38,13 @@ public class DataPersistenceService {
 
     private final ObjectMapper mapper;
 
+    // opcional: slices de teste sem JPA (@WebMvcTest) também importam este serviço
+    @Autowired(required = false)
+    private EntityManager entityManager;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize = 500;
+
     /**
      * MÉTODO CORE: O "motor" de conversão. 
      * Aceita InputStream, o que o torna compatível com arquivos locais e uploads.
@@ -61,12 +79,14 @@ public class DataPersistenceService {
 
     /**
      * MÉTODO PARA UPLOAD: Utilizado pela Controller (Produção).
+     * O arquivo é lido em streaming; a memória usada não depende do tamanho do upload.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public <T> PersistenceSummary importJsonFromUpload(MultipartFile file, TypeReference<List<T>> typeRef, JpaRepository<T, ?> repository) {
-        try {
-            List<T> data = parseInputStreamToList(file.getInputStream(), typeRef);
-            return executeBatchSave(data, repository);
+        try (InputStream is = file.getInputStream()) {
+            return streamBatchSave(is, typeRef, repository, file.getOriginalFilename());
+        } catch (ResourceBadRequestException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResourceBadRequestException("Erro ao processar MultipartFile: " + e.getMessage());
         }
@@ -79,26 +99,75 @@ public class DataPersistenceService {
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public <T> PersistenceSummary importAndBachSaveFromPath(String filePath, TypeReference<List<T>> typeRef, JpaRepository<T, ?> repository) {
-        try {
-            // Utiliza o ClassLoader para ler do diretório de resources
-            java.io.InputStream is = getClass().getClassLoader().getResourceAsStream(filePath);
-            if (is == null) throw new RuntimeException("Arquivo não encontrado: " + filePath);
-            
-            List<T> data = parseInputStreamToList(is, typeRef);
-            return executeBatchSave(data, repository);
+        // Utiliza o ClassLoader para ler do diretório de resources
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(filePath)) {
+            if (is == null) throw new ResourceBadRequestException("Arquivo não encontrado: " + filePath);
+            return streamBatchSave(is, typeRef, repository, filePath);
+        } catch (ResourceBadRequestException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResourceBadRequestException("Erro ao processar arquivo local: " + e.getMessage());
         }
     }
 
-    // Lógica de salvamento em lote extraída para evitar duplicidade
-    private <T> PersistenceSummary executeBatchSave(List<T> data, JpaRepository<T, ?> repository) {
-        int batchSize = GlobalHelper.BATCH_SIZE;
-        for (int i = 0; i < data.size(); i += batchSize) {
-            int end = Math.min(data.size(), i + batchSize);
-            repository.saveAll(data.subList(i, end));
+    /**
+     * Lê um array JSON elemento a elemento (JsonParser) e entrega lotes de até {@code batchSize} itens.
+     * O lote é reaproveitado entre chamadas: o consumer não deve guardar a referência.
+     *
+     * @return quantidade de elementos lidos
+     */
+    public <T> long readJsonArrayInBatches(InputStream is, JavaType elementType, int batchSize,
+                                           Consumer<List<T>> batchConsumer) throws IOException {
+        ObjectReader reader = mapper.readerFor(elementType);
+        List<T> batch = new ArrayList<>(batchSize);
+        long count = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(is)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResourceBadRequestException("Erro na análise dos dados: o conteúdo deve ser um array JSON");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new ResourceBadRequestException(
+                        "Erro na análise dos dados: array JSON incompleto após " + count + " registros");
+                }
+                batch.add(reader.readValue(parser));
+                count++;
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
         }
-        return PersistenceSummary.success("Dados processados com sucesso", data, data.size());
+        return count;
+    }
+
+    // Lógica de salvamento em lote extraída para evitar duplicidade
+    private <T> PersistenceSummary streamBatchSave(InputStream is, TypeReference<List<T>> typeRef,
+                                                   JpaRepository<T, ?> repository, String source) throws IOException {
+        JavaType elementType = mapper.getTypeFactory().constructType(typeRef).getContentType();
+        long start = System.currentTimeMillis();
+        AtomicInteger batches = new AtomicInteger();
+
+        long count = this.<T>readJsonArrayInBatches(is, elementType, Math.max(1, batchSize), batch -> {
+            repository.saveAll(batch);
+            // flush + clear: as entidades do lote saem do contexto de persistência antes do próximo
+            repository.flush();
+            if (entityManager != null) {
+                entityManager.clear();
+            }
+            LOGGER.debug("DATA_PERSISTENCE_IMPORT_BATCH | source={} batch={} size={}",
+                source, batches.incrementAndGet(), batch.size());
+        });
+
+        long elapsed = System.currentTimeMillis() - start;
+        LOGGER.info("DATA_PERSISTENCE_IMPORT_SUCCESS | source={} type={} records={} batches={} elapsedMs={}",
+            source, elementType.getRawClass().getSimpleName(), count, batches.get(), elapsed);
+        return PersistenceSummary.success("Dados processados com sucesso", count, batches.get(), elapsed);
     }
 
     /**
@@ -0,0 +1,415 @@
+package com.guga.walletserviceapi.service.common;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.EntityDiscriminatorMapping;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityVersionMapping;
+import org.hibernate.metamodel.mapping.ForeignKeyDescriptor;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.metamodel.mapping.internal.ToOneAttributeMapping;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.mutation.EntityTableMapping;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Carga rápida de entidades novas, sem passar pelo contexto de persistência do Hibernate.
+ *
+ * As tabelas e colunas vêm do metamodelo do Hibernate (nomes físicos, herança e discriminador, AttributeConverters
+ * e FKs de @ManyToOne/@OneToOne). No PostgreSQL cada tabela recebe um {@code COPY ... FROM STDIN (FORMAT binary)};
+ * nos demais bancos (H2), ou quando alguma coluna tem tipo fora do {@link PgBinaryCopyWriter}, INSERT em batch via JDBC.
+ *
+ * Só insere: não há merge nem detecção de registros existentes. Participa da transação corrente.
+ * Entidades com id IDENTITY, coleções próprias (@ElementCollection) ou tipos compostos não são suportadas;
+ * nesses casos o chamador continua no {@code saveAll}.
+ */
+@Component
+public class FastEntityLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(FastEntityLoader.class);
+
+    // mesmo valor de hibernate.jdbc.batch_size
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private static final Set<Integer> SUPPORTED_SQL_TYPES = Set.of(
+        Types.BOOLEAN, Types.BIT, Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+        Types.REAL, Types.FLOAT, Types.DOUBLE, Types.NUMERIC, Types.DECIMAL,
+        Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR,
+        Types.DATE, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE);
+
+    record ColumnLayout(String name, int sqlType, Function<Object, Object> extractor) { }
+
+    record TableLayout(String tableName, List<ColumnLayout> columns) {
+
+        String columnList() {
+            return columns.stream().map(ColumnLayout::name).collect(Collectors.joining(", "));
+        }
+
+        Object[] values(Object entity) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns.get(i).extractor().apply(entity);
+            }
+            return values;
+        }
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean seedsEnabled;
+    private final boolean uploadsEnabled;
+
+    // tabelas na ordem de inserção (raiz primeiro) por classe concreta; vazio = não suportada
+    private final Map<Class<?>, Optional<List<TableLayout>>> layouts = new ConcurrentHashMap<>();
+    // OIDs das colunas por tabela no PostgreSQL; vazio = alguma coluna sem codificação binária
+    private final Map<String, Optional<int[]>> copyColumnTypes = new ConcurrentHashMap<>();
+
+    public FastEntityLoader(EntityManagerFactory entityManagerFactory,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${app.import.fast-loader.seeds:true}") boolean seedsEnabled,
+                            @Value("${app.import.fast-loader.uploads:false}") boolean uploadsEnabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.seedsEnabled = seedsEnabled;
+        this.uploadsEnabled = uploadsEnabled;
+    }
+
+    public boolean isSeedsEnabled() {
+        return seedsEnabled;
+    }
+
+    public boolean isUploadsEnabled() {
+        return uploadsEnabled;
+    }
+
+    /**
+     * Indica se a entidade (e, numa raiz abstrata, todas as subclasses concretas) pode ser carregada.
+     */
+    public boolean supports(Class<?> entityType) {
+        AtomicBoolean found = new AtomicBoolean();
+        AtomicBoolean supported = new AtomicBoolean(true);
+        metamodel().forEachEntityDescriptor(persister -> {
+            Class<?> mapped = persister.getMappedClass();
+            if (entityType.isAssignableFrom(mapped) && !persister.getEntityMappingType().isAbstract()) {
+                found.set(true);
+                if (layoutOf(mapped).isEmpty()) {
+                    supported.set(false);
+                }
+            }
+        });
+        return found.get() && supported.get();
+    }
+
+    /**
+     * Insere as entidades na transação corrente, agrupadas por classe concreta. Em herança JOINED a tabela
+     * raiz de cada classe é carregada antes da tabela da subclasse; em SINGLE_TABLE cada subclasse grava
+     * a mesma tabela com as suas colunas.
+     *
+     * @return quantidade de entidades inseridas
+     */
+    public long load(Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        Map<Class<?>, List<Object>> rowsByType = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            rowsByType.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(entity);
+        }
+        List<Map.Entry<TableLayout, List<Object>>> ordered = new ArrayList<>();
+        rowsByType.forEach((type, rows) -> {
+            List<TableLayout> layout = layoutOf(type).orElseThrow(() -> new IllegalArgumentException(
+                "Entity not supported by the fast loader: " + type.getName()));
+            // o layout começa pela tabela raiz
+            layout.forEach(table -> ordered.add(Map.entry(table, rows)));
+        });
+
+        long start = System.currentTimeMillis();
+        boolean copy = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            for (Map.Entry<TableLayout, List<Object>> entry : ordered) {
+                TableLayout table = entry.getKey();
+                List<Object> rows = entry.getValue();
+                Optional<int[]> types = postgres ? copyTypes(connection, table) : Optional.empty();
+                if (types.isPresent()) {
+                    copyTable(connection, table, types.get(), rows);
+                } else {
+                    insertTable(connection, table, rows);
+                }
+            }
+            return postgres;
+        }));
+
+        LOGGER.info("FAST_LOADER_LOAD | type={} rows={} tables={} mode={} elapsedMs={}",
+            entities.iterator().next().getClass().getSimpleName(), entities.size(), ordered.size(),
+            copy ? "COPY" : "BATCH_INSERT", System.currentTimeMillis() - start);
+        return entities.size();
+    }
+
+    private void copyTable(Connection connection, TableLayout table, int[] types, List<Object> rows) throws SQLException {
+        String sql = "COPY " + table.tableName() + " (" + table.columnList() + ") FROM STDIN (FORMAT binary)";
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, COPY_BUFFER_BYTES);
+        try {
+            PgBinaryCopyWriter writer = new PgBinaryCopyWriter(out, types);
+            writer.writeHeader();
+            for (Object row : rows) {
+                writer.writeRow(table.values(row));
+            }
+            writer.writeTrailer();
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            if (out.isActive()) {
+                out.cancelCopy();
+            }
+            throw new SQLException("COPY into " + table.tableName() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void insertTable(Connection connection, TableLayout table, List<Object> rows) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(table.columns().size(), "?"));
+        String sql = "INSERT INTO " + table.tableName() + " (" + table.columnList() + ") VALUES (" + placeholders + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (Object row : rows) {
+                Object[] values = table.values(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == null) {
+                        statement.setNull(i + 1, table.columns().get(i).sqlType());
+                    } else {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                }
+                statement.addBatch();
+                if (++pending == INSERT_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private Optional<int[]> copyTypes(Connection connection, TableLayout table) {
+        return copyColumnTypes.computeIfAbsent(table.tableName(), name -> {
+            Map<String, Integer> oids = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT attname, atttypid FROM pg_attribute WHERE attrelid = ?::regclass AND attnum > 0 AND NOT attisdropped")) {
+                statement.setString(1, name);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        oids.put(rs.getString(1).toLowerCase(Locale.ROOT), rs.getInt(2));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.warn("FAST_LOADER_COPY_TYPES_FAIL | table={} reason={} decision=BATCH_INSERT", name, e.getMessage());
+                return Optional.empty();
+            }
+
+            int[] types = new int[table.columns().size()];
+            for (int i = 0; i < types.length; i++) {
+                String column = table.columns().get(i).name();
+                Integer oid = oids.get(column.toLowerCase(Locale.ROOT));
+                if (oid == null || !PgBinaryCopyWriter.SUPPORTED_TYPES.contains(oid)) {
+                    LOGGER.warn("FAST_LOADER_COPY_UNSUPPORTED | table={} column={} oid={} decision=BATCH_INSERT", name, column, oid);
+                    return Optional.empty();
+                }
+                types[i] = oid;
+            }
+            return Optional.of(types);
+        });
+    }
+
+    private Optional<List<TableLayout>> layoutOf(Class<?> entityClass) {
+        return layouts.computeIfAbsent(entityClass, type -> {
+            try {
+                return Optional.ofNullable(buildLayout(type));
+            } catch (RuntimeException e) {
+                LOGGER.warn("FAST_LOADER_LAYOUT_FAIL | type={} reason={}", type.getName(), e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Colunas por tabela a partir do metamodelo; null quando algum mapeamento não é suportado.
+     */
+    private List<TableLayout> buildLayout(Class<?> type) {
+        EntityPersister persister = metamodel().getEntityDescriptor(type);
+        if (!(persister instanceof AbstractEntityPersister entityPersister) || persister.getEntityMappingType().isAbstract()) {
+            return null;
+        }
+        if (persister.getGenerator() != null && persister.getGenerator().generatedOnExecution()) {
+            return unsupported(type, "identifier generated by the database");
+        }
+        EntityIdentifierMapping identifier = persister.getIdentifierMapping();
+        if (!(identifier instanceof BasicValuedModelPart idPart) || !isSupported(idPart.getJdbcMapping())) {
+            return unsupported(type, "composite identifier");
+        }
+
+        Map<String, List<ColumnLayout>> columnsByTable = new LinkedHashMap<>();
+        Function<Object, Object> idExtractor =
+            entity -> relational(idPart.getJdbcMapping(), identifier.getIdentifier(entity));
+        entityPersister.forEachMutableTable(table -> {
+            List<ColumnLayout> columns = new ArrayList<>();
+            for (EntityTableMapping.KeyColumn key : table.getKeyMapping().getKeyColumns()) {
+                columns.add(new ColumnLayout(key.getColumnName(), sqlType(idPart.getJdbcMapping()), idExtractor));
+            }
+            columnsByTable.put(table.getTableName(), columns);
+        });
+
+        EntityVersionMapping version = persister.getVersionMapping();
+        for (int i = 0; i < persister.getAttributeMappings().size(); i++) {
+            AttributeMapping attribute = persister.getAttributeMappings().get(i);
+
+            if (attribute instanceof PluralAttributeMapping plural) {
+                if (!plural.getCollectionDescriptor().isInverse()) {
+                    return unsupported(type, "owned collection " + attribute.getAttributeName());
+                }
+                continue;
+            }
+
+            if (attribute instanceof ToOneAttributeMapping toOne) {
+                if (toOne.getSideNature() != ForeignKeyDescriptor.Nature.KEY) {
+                    continue;
+                }
+                ForeignKeyDescriptor foreignKey = toOne.getForeignKeyDescriptor();
+                EntityIdentifierMapping targetId = toOne.getEntityMappingType().getIdentifierMapping();
+                if (!(foreignKey.getKeyPart() instanceof BasicValuedModelPart keyPart) || foreignKey.getTargetPart() != targetId) {
+                    return unsupported(type, "foreign key " + attribute.getAttributeName());
+                }
+                if (!keyPart.isInsertable() || keyPart.isFormula()) {
+                    continue;
+                }
+                addColumn(columnsByTable, keyPart, entity -> {
+                    Object target = toOne.getValue(entity);
+                    return target == null ? null : relational(keyPart.getJdbcMapping(), targetId.getIdentifier(target));
+                });
+                continue;
+            }
+
+            if (!(attribute instanceof BasicValuedModelPart basic) || !isSupported(basic.getJdbcMapping())) {
+                return unsupported(type, "attribute " + attribute.getAttributeName());
+            }
+            if (!basic.isInsertable() || basic.isFormula()) {
+                continue;
+            }
+            if (version != null && attribute == version.getVersionAttribute()) {
+                Object initial = initialVersion(attribute.getJavaType().getJavaTypeClass());
+                if (initial == null) {
+                    return unsupported(type, "version " + attribute.getAttributeName());
+                }
+                addColumn(columnsByTable, basic, entity -> {
+                    Object value = attribute.getValue(entity);
+                    return relational(basic.getJdbcMapping(), value == null ? initial : value);
+                });
+                continue;
+            }
+            addColumn(columnsByTable, basic, entity -> relational(basic.getJdbcMapping(), attribute.getValue(entity)));
+        }
+
+        // SINGLE_TABLE: discriminador físico sem atributo próprio recebe o valor fixo da subclasse
+        EntityDiscriminatorMapping discriminator = persister.getDiscriminatorMapping();
+        if (discriminator != null && discriminator.hasPhysicalColumn() && !discriminator.isFormula()) {
+            Object value = persister.getDiscriminatorValue();
+            addColumn(columnsByTable, discriminator, entity -> value);
+        }
+
+        List<TableLayout> tables = new ArrayList<>();
+        columnsByTable.forEach((table, columns) -> tables.add(new TableLayout(table, List.copyOf(columns))));
+        LOGGER.debug("FAST_LOADER_LAYOUT | type={} tables={}", type.getSimpleName(), tables);
+        return tables;
+    }
+
+    // a mesma coluna pode estar mapeada duas vezes (ex.: walletId + @ManyToOne wallet); vale a primeira inserível
+    private static void addColumn(Map<String, List<ColumnLayout>> columnsByTable, BasicValuedModelPart part,
+                                  Function<Object, Object> extractor) {
+        List<ColumnLayout> columns = columnsByTable.get(part.getContainingTableExpression());
+        if (columns == null) {
+            throw new IllegalStateException("Column " + part.getSelectionExpression()
+                + " belongs to an unknown table " + part.getContainingTableExpression());
+        }
+        boolean duplicated = columns.stream().anyMatch(c -> c.name().equalsIgnoreCase(part.getSelectionExpression()));
+        if (!duplicated) {
+            columns.add(new ColumnLayout(part.getSelectionExpression(), sqlType(part.getJdbcMapping()), extractor));
+        }
+    }
+
+    // aplica o AttributeConverter do atributo; enum sem converter segue o @Enumerated (ordinal ou nome)
+    private static Object relational(JdbcMapping mapping, Object value) {
+        Object converted = value == null ? null : mapping.convertToRelationalValue(value);
+        if (converted instanceof Enum<?> constant) {
+            return isNumeric(sqlType(mapping)) ? constant.ordinal() : constant.name();
+        }
+        return converted;
+    }
+
+    private static Object initialVersion(Class<?> versionType) {
+        if (versionType == Long.class || versionType == long.class) {
+            return 0L;
+        }
+        if (versionType == Integer.class || versionType == int.class) {
+            return 0;
+        }
+        if (versionType == Short.class || versionType == short.class) {
+            return (short) 0;
+        }
+        return null;
+    }
+
+    private static boolean isSupported(JdbcMapping mapping) {
+        return SUPPORTED_SQL_TYPES.contains(sqlType(mapping));
+    }
+
+    private static boolean isNumeric(int sqlType) {
+        return sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER || sqlType == Types.BIGINT;
+    }
+
+    private static int sqlType(JdbcMapping mapping) {
+        return mapping.getJdbcType().getDefaultSqlTypeCode();
+    }
+
+    private static List<TableLayout> unsupported(Class<?> type, String reason) {
+        LOGGER.info("FAST_LOADER_UNSUPPORTED | type={} reason={} decision=JPA_SAVE_ALL", type.getSimpleName(), reason);
+        return null;
+    }
+
+    private MappingMetamodel metamodel() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+    }
+}
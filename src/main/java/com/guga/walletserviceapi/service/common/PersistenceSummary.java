@@ -9,32 +9,32 @@ import lombok.NoArgsConstructor;
 
 /**
  * Classe de retorno padronizada para operações de persistência e análise.
- * Substitui o Record para garantir flexibilidade e compatibilidade com Genéricos.
+ * Carrega apenas contadores: os registros importados não ficam retidos em memória.
  */
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class PersistenceSummary<T> {
+public class PersistenceSummary {
 
-    private int recordsProcessed;
+    private long recordsProcessed;
+    private int batches;
+    private long elapsedMillis;
     private String status;
     private String message;
     private LocalDateTime timestamp;
-    
-    // O campo result armazena o objeto ou lista que foi processado
-    private T result; 
 
     /**
      * Factory method para simplificar a criação do sucesso.
      */
-    public static PersistenceSummary<?> success(String message, Object result, int count) {
+    public static PersistenceSummary success(String message, long count, int batches, long elapsedMillis) {
         return PersistenceSummary.builder()
                 .recordsProcessed(count)
+                .batches(batches)
+                .elapsedMillis(elapsedMillis)
                 .status("SUCCESS")
                 .message(message)
                 .timestamp(LocalDateTime.now())
-                .result(result)
                 .build();
     }
-}
\ No newline at end of file
+}
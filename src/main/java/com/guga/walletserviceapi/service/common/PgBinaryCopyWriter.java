@@ -0,0 +1,217 @@
+package com.guga.walletserviceapi.service.common;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escreve linhas no formato binário do COPY do PostgreSQL ({@code COPY ... FROM STDIN (FORMAT binary)}).
+ *
+ * Cada coluna é codificada pelo tipo real da coluna no banco (OID do pg_attribute), não pelo tipo Java:
+ * o COPY binário não faz conversão e rejeita, por exemplo, um int8 enviado para uma coluna int4.
+ */
+final class PgBinaryCopyWriter {
+
+    static final int BOOL = 16;
+    static final int INT8 = 20;
+    static final int INT2 = 21;
+    static final int INT4 = 23;
+    static final int TEXT = 25;
+    static final int FLOAT4 = 700;
+    static final int FLOAT8 = 701;
+    static final int BPCHAR = 1042;
+    static final int VARCHAR = 1043;
+    static final int DATE = 1082;
+    static final int TIMESTAMP = 1114;
+    static final int TIMESTAMPTZ = 1184;
+    static final int NUMERIC = 1700;
+
+    static final Set<Integer> SUPPORTED_TYPES = Set.of(
+        BOOL, INT8, INT2, INT4, TEXT, FLOAT4, FLOAT8, BPCHAR, VARCHAR, DATE, TIMESTAMP, TIMESTAMPTZ, NUMERIC);
+
+    private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+    private static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime PG_EPOCH = PG_EPOCH_DATE.atStartOfDay();
+    private static final Instant PG_EPOCH_INSTANT = PG_EPOCH.toInstant(ZoneOffset.UTC);
+
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+
+    private final DataOutputStream out;
+    private final int[] columnTypes;
+
+    PgBinaryCopyWriter(OutputStream out, int[] columnTypes) {
+        this.out = new DataOutputStream(out);
+        this.columnTypes = columnTypes.clone();
+    }
+
+    void writeHeader() throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // tamanho da extensão do header
+    }
+
+    void writeRow(Object[] values) throws IOException {
+        out.writeShort(columnTypes.length);
+        for (int i = 0; i < columnTypes.length; i++) {
+            writeField(columnTypes[i], values[i]);
+        }
+    }
+
+    void writeTrailer() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+    }
+
+    private void writeField(int type, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        switch (type) {
+            case BOOL -> {
+                out.writeInt(1);
+                out.writeByte(toBoolean(value) ? 1 : 0);
+            }
+            case INT2 -> {
+                out.writeInt(2);
+                out.writeShort(((Number) value).shortValue());
+            }
+            case INT4 -> {
+                out.writeInt(4);
+                out.writeInt(((Number) value).intValue());
+            }
+            case INT8 -> {
+                out.writeInt(8);
+                out.writeLong(((Number) value).longValue());
+            }
+            case FLOAT4 -> {
+                out.writeInt(4);
+                out.writeFloat(((Number) value).floatValue());
+            }
+            case FLOAT8 -> {
+                out.writeInt(8);
+                out.writeDouble(((Number) value).doubleValue());
+            }
+            case TEXT, VARCHAR, BPCHAR -> {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case DATE -> {
+                out.writeInt(4);
+                out.writeInt((int) ChronoUnit.DAYS.between(PG_EPOCH_DATE, toLocalDate(value)));
+            }
+            case TIMESTAMP -> {
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, toLocalDateTime(value)));
+            }
+            case TIMESTAMPTZ -> {
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH_INSTANT, toInstant(value)));
+            }
+            case NUMERIC -> writeNumeric(toBigDecimal(value));
+            default -> throw new IllegalArgumentException("Unsupported column type OID for binary COPY: " + type);
+        }
+    }
+
+    /**
+     * numeric: ndigits, weight, sign e dscale (int16) seguidos dos dígitos em base 10000,
+     * alinhados à vírgula decimal e sem grupos zero nas pontas.
+     */
+    private void writeNumeric(BigDecimal value) throws IOException {
+        BigDecimal abs = value.abs();
+        if (abs.scale() < 0) {
+            abs = abs.setScale(0);
+        }
+        int dscale = abs.scale();
+        String plain = abs.toPlainString();
+        int point = plain.indexOf('.');
+        String integerPart = point < 0 ? plain : plain.substring(0, point);
+        String fractionPart = point < 0 ? "" : plain.substring(point + 1);
+
+        List<Short> digits = new ArrayList<>();
+        int integerPad = (4 - integerPart.length() % 4) % 4;
+        String paddedInteger = "0".repeat(integerPad) + integerPart;
+        for (int i = 0; i < paddedInteger.length(); i += 4) {
+            digits.add(Short.parseShort(paddedInteger.substring(i, i + 4)));
+        }
+        int weight = digits.size() - 1;
+        int fractionPad = (4 - fractionPart.length() % 4) % 4;
+        String paddedFraction = fractionPart + "0".repeat(fractionPad);
+        for (int i = 0; i < paddedFraction.length(); i += 4) {
+            digits.add(Short.parseShort(paddedFraction.substring(i, i + 4)));
+        }
+
+        int first = 0;
+        while (first < digits.size() && digits.get(first) == 0) {
+            first++;
+            weight--;
+        }
+        int last = digits.size();
+        while (last > first && digits.get(last - 1) == 0) {
+            last--;
+        }
+        int ndigits = last - first;
+        if (ndigits == 0) {
+            weight = 0;
+        }
+
+        out.writeInt(8 + 2 * ndigits);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(ndigits == 0 || value.signum() >= 0 ? NUMERIC_POS : NUMERIC_NEG);
+        out.writeShort(dscale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(digits.get(i));
+        }
+    }
+
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean bool ? bool : ((Number) value).intValue() != 0;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // timestamptz a partir de LocalDateTime segue o driver JDBC: fuso da JVM
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof OffsetDateTime offset) {
+            return offset.toInstant();
+        }
+        if (value instanceof ZonedDateTime zoned) {
+            return zoned.toInstant();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        return ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,188 @@
+package com.guga.walletserviceapi.service.concurrency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.ResourceNotFoundException;
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.repository.WalletRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executa uma alteração de saldo dentro de uma transação, aplicando a estratégia de concorrência
+ * configurada em {@code app.wallet.concurrency.strategy} para as wallets envolvidas.
+ *
+ * A transação é aberta aqui (e não no chamador) porque o retry otimista precisa de um contexto
+ * de persistência novo a cada tentativa e o lock em memória precisa envolver o commit.
+ */
+@Component
+public class WalletConcurrencyGuard {
+
+    private static final Logger LOGGER = LogManager.getLogger(WalletConcurrencyGuard.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final WalletRepository walletRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final WalletConcurrencyStrategy strategy;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final long lockTimeoutMillis;
+    private final WalletStripedLock stripedLock;
+
+    private final Timer lockWaitTimer;
+    private final Counter contentionCounter;
+
+    public WalletConcurrencyGuard(TransactionTemplate transactionTemplate,
+                                  WalletRepository walletRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.wallet.concurrency.strategy:OPTIMISTIC}") WalletConcurrencyStrategy strategy,
+                                  @Value("${app.wallet.concurrency.max-retries:3}") int maxRetries,
+                                  @Value("${app.wallet.concurrency.retry-backoff-ms:5}") long retryBackoffMillis,
+                                  @Value("${app.wallet.concurrency.lock-timeout-ms:3000}") long lockTimeoutMillis,
+                                  @Value("${app.wallet.concurrency.stripes:1024}") int stripes) {
+        this.transactionTemplate = transactionTemplate;
+        this.walletRepository = walletRepository;
+        this.meterRegistry = meterRegistry;
+        this.strategy = strategy;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.stripedLock = strategy == WalletConcurrencyStrategy.STRIPED_LOCK ? new WalletStripedLock(stripes) : null;
+
+        this.lockWaitTimer = Timer.builder("wallet.concurrency.lock.wait")
+            .description("Tempo aguardando o lock das wallets antes de aplicar a operação")
+            .tag("strategy", strategy.name())
+            .register(meterRegistry);
+        this.contentionCounter = Counter.builder("wallet.concurrency.contention")
+            .description("Operações que encontraram a wallet ocupada por outra operação")
+            .tag("strategy", strategy.name())
+            .register(meterRegistry);
+
+        LOGGER.info("WALLET_CONCURRENCY_INIT | strategy={} maxRetries={} lockTimeoutMs={}",
+            strategy, this.maxRetries, lockTimeoutMillis);
+    }
+
+    public WalletConcurrencyStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @param operation  nome da operação (tag das métricas)
+     * @param walletIds  wallets alteradas pela operação; a ordem de lock é sempre crescente
+     * @param work       lógica de negócio, executada dentro da transação
+     */
+    public <T> T execute(String operation, Collection<Long> walletIds, Supplier<T> work) {
+        List<Long> orderedIds = walletIds.stream().distinct().sorted().toList();
+
+        if (strategy == WalletConcurrencyStrategy.OPTIMISTIC) {
+            return executeOptimistic(operation, orderedIds, work);
+        }
+
+        try {
+            return switch (strategy) {
+                case PESSIMISTIC -> executePessimistic(operation, orderedIds, work);
+                case STRIPED_LOCK -> executeStriped(operation, orderedIds, work);
+                default -> transactionTemplate.execute(status -> work.get());
+            };
+        } catch (OptimisticLockingFailureException e) {
+            // Wallet.version continua valendo nas demais estratégias (ex.: outro nó com STRIPED_LOCK)
+            counter("wallet.concurrency.conflicts", operation).increment();
+            throw new WalletConcurrencyException("Wallet was modified concurrently, please retry the operation", e);
+        }
+    }
+
+    private <T> T executeOptimistic(String operation, List<Long> walletIds, Supplier<T> work) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                contentionCounter.increment();
+                if (attempt >= maxRetries) {
+                    counter("wallet.concurrency.conflicts", operation).increment();
+                    LOGGER.warn("WALLET_CONCURRENCY_RETRY_EXHAUSTED | operation={} walletIds={} attempts={}",
+                        operation, walletIds, attempt + 1);
+                    throw new WalletConcurrencyException(
+                        "Wallet was modified concurrently, please retry the operation", e);
+                }
+                counter("wallet.concurrency.retries", operation).increment();
+                LOGGER.info("WALLET_CONCURRENCY_RETRY | operation={} walletIds={} attempt={}",
+                    operation, walletIds, attempt + 1);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private <T> T executePessimistic(String operation, List<Long> walletIds, Supplier<T> work) {
+        try {
+            return transactionTemplate.execute(status -> {
+                long start = System.nanoTime();
+                for (Long walletId : walletIds) {
+                    walletRepository.findByIdForUpdate(walletId, lockTimeoutMillis)
+                        .orElseThrow(() -> new ResourceNotFoundException(String.format("Wallet not found with id: %d", walletId)));
+                }
+                lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return work.get();
+            });
+        } catch (PessimisticLockingFailureException e) {
+            contentionCounter.increment();
+            counter("wallet.concurrency.conflicts", operation).increment();
+            LOGGER.warn("WALLET_CONCURRENCY_LOCK_TIMEOUT | operation={} walletIds={}", operation, walletIds);
+            throw new WalletConcurrencyException("Wallet is busy, please retry the operation", e);
+        }
+    }
+
+    private <T> T executeStriped(String operation, List<Long> walletIds, Supplier<T> work) {
+        int[] stripes = stripedLock.stripesFor(walletIds);
+        long start = System.nanoTime();
+        try {
+            if (stripedLock.lockAll(stripes, lockTimeoutMillis)) {
+                contentionCounter.increment();
+            }
+        } catch (WalletStripedLock.LockTimeoutException e) {
+            counter("wallet.concurrency.conflicts", operation).increment();
+            LOGGER.warn("WALLET_CONCURRENCY_LOCK_TIMEOUT | operation={} walletIds={}", operation, walletIds);
+            throw new WalletConcurrencyException("Wallet is busy, please retry the operation");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletConcurrencyException("Interrupted while waiting for wallet lock", e);
+        }
+        lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            stripedLock.unlockAll(stripes);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "strategy", strategy.name(), "operation", operation);
+    }
+
+    private void backoff(int attempt) {
+        if (retryBackoffMillis == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(retryBackoffMillis * (attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletConcurrencyException("Interrupted while retrying wallet operation", e);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.guga.walletserviceapi.service.concurrency;
+
+/**
+ * Estratégia usada para serializar alterações de saldo na mesma wallet.
+ */
+public enum WalletConcurrencyStrategy {
+
+    /** Sem controle adicional: apenas a transação do banco (comportamento antigo). */
+    NONE,
+
+    /** Wallet.version (@Version) + retry limitado da operação inteira em caso de conflito. */
+    OPTIMISTIC,
+
+    /** SELECT ... FOR UPDATE das wallets envolvidas, em ordem crescente de walletId. */
+    PESSIMISTIC,
+
+    /** Lock em memória (por nó) com stripes indexados pelo walletId. */
+    STRIPED_LOCK
+
+}
@@ -0,0 +1,71 @@
+package com.guga.walletserviceapi.service.concurrency;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fixo de locks indexados pelo walletId. Várias wallets podem cair no mesmo stripe;
+ * os stripes são sempre adquiridos em ordem crescente de índice para evitar deadlock.
+ */
+class WalletStripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    WalletStripedLock(int requestedStripes) {
+        int size = Integer.highestOneBit(Math.max(2, requestedStripes - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    int[] stripesFor(Collection<Long> walletIds) {
+        return walletIds.stream()
+            .mapToInt(this::indexOf)
+            .distinct()
+            .sorted()
+            .toArray();
+    }
+
+    /**
+     * @return true quando algum stripe já estava ocupado (houve contenção)
+     */
+    boolean lockAll(int[] indexes, long timeoutMillis) throws InterruptedException {
+        boolean contended = false;
+        for (int i = 0; i < indexes.length; i++) {
+            ReentrantLock lock = stripes[indexes[i]];
+            if (lock.tryLock()) {
+                continue;
+            }
+            contended = true;
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                unlockAll(Arrays.copyOf(indexes, i));
+                throw new LockTimeoutException();
+            }
+        }
+        return contended;
+    }
+
+    void unlockAll(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int indexOf(Long walletId) {
+        int h = Long.hashCode(walletId);
+        h ^= (h >>> 16);
+        return (h * 0x9E3779B9) >>> 16 & mask;
+    }
+
+    static final class LockTimeoutException extends RuntimeException {
+        LockTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.guga.walletserviceapi.service.groupcommit;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Group commit das operações de saldo de uma única wallet (depósito, saque) em
+ * app.transaction.group-commit.enabled: operações concorrentes de requests diferentes dividem uma transação e,
+ * portanto, um único commit (fsync do WAL do PostgreSQL).
+ *
+ * Cada worker:
+ *     1 - espera a primeira operação e junta as que chegarem em window-micros, até max-ops
+ *     2 - ordena o grupo por walletId (workers em paralelo travam as linhas da tb_wallet na mesma ordem)
+ *     3 - executa cada operação entre um savepoint e o release; recusa de regra de negócio volta ao savepoint
+ *         e não afeta as demais
+ *     4 - um commit para o grupo; só então as requests recebem o resultado
+ * Erro de banco numa operação (a sessão do Hibernate pode ter ficado marcada para rollback) ou transação marcada
+ * para rollback desfaz o grupo inteiro antes do commit e cada operação é refeita na própria transação. Falha no
+ * commit é devolvida a todas as operações do grupo, como no caminho sem group commit.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.transaction.group-commit", name = "enabled", havingValue = "true")
+public class TransactionGroupCommitter {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionGroupCommitter.class);
+
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private record Operation<T>(long walletId, Supplier<T> action, SecurityContext securityContext,
+                                CompletableFuture<T> result) {
+
+        void complete(Object value) {
+            @SuppressWarnings("unchecked")
+            T typed = (T) value;
+            result.complete(typed);
+        }
+    }
+
+    private record Outcome(Object value, RuntimeException error) { }
+
+    // erro de banco ou rollback-only numa operação: o grupo é desfeito e refeito operação a operação
+    private static final class GroupAbortedException extends RuntimeException {
+        GroupAbortedException(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate newTransaction;
+    private final BlockingQueue<Operation<?>> queue;
+    private final int maxOps;
+    private final long windowNanos;
+    private final long submitTimeoutMs;
+    private final List<Thread> workers = new ArrayList<>();
+    private final int workerCount;
+
+    private final Counter committed;
+    private final Counter rejected;
+    private final Counter fallbacks;
+    private final DistributionSummary groupSize;
+    private final Timer groupCommit;
+
+    private volatile boolean running;
+
+    public TransactionGroupCommitter(PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.transaction.group-commit.max-ops:64}") int maxOps,
+                                     @Value("${app.transaction.group-commit.window-micros:1000}") long windowMicros,
+                                     @Value("${app.transaction.group-commit.workers:2}") int workers,
+                                     @Value("${app.transaction.group-commit.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${app.transaction.group-commit.submit-timeout-ms:5000}") long submitTimeoutMs) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxOps = Math.max(1, maxOps);
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+        this.workerCount = Math.max(1, workers);
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.maxOps, queueCapacity));
+        this.submitTimeoutMs = Math.max(1, submitTimeoutMs);
+
+        this.committed = meterRegistry.counter("wallet.transaction.group.operations", "result", "committed");
+        this.rejected = meterRegistry.counter("wallet.transaction.group.operations", "result", "rejected");
+        this.fallbacks = meterRegistry.counter("wallet.transaction.group.fallbacks");
+        this.groupSize = DistributionSummary.builder("wallet.transaction.group.size")
+            .description("Operações por commit do group commit")
+            .register(meterRegistry);
+        this.groupCommit = meterRegistry.timer("wallet.transaction.group.commit");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().daemon().name("transaction-group-commit-" + i).start(this::workLoop));
+        }
+        LOGGER.info("TRANSACTION_GROUP_COMMIT_START | workers={} maxOps={} windowMicros={}",
+            workerCount, maxOps, TimeUnit.NANOSECONDS.toMicros(windowNanos));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        LOGGER.info("TRANSACTION_GROUP_COMMIT_STOP | pending={}", queue.size());
+    }
+
+    /**
+     * Executa action (sem abrir transação própria) no próximo grupo e espera o commit. A action roda numa thread
+     * do committer, com o SecurityContext da request.
+     *
+     * @throws WalletConcurrencyException fila cheia; a operação não foi aceita
+     */
+    public <T> T execute(Long walletId, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Operation<T> operation = new Operation<>(walletId, action, SecurityContextHolder.getContext(), result);
+        if (!running || !queue.offer(operation)) {
+            LOGGER.warn("TRANSACTION_GROUP_COMMIT_BUSY | walletId={} queue={}", walletId, queue.size());
+            throw new WalletConcurrencyException("Transaction group commit is busy, retry the operation");
+        }
+        try {
+            return result.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Grouped operation failed", e.getCause());
+        } catch (TimeoutException e) {
+            // já aceita: pode ser gravada depois desta resposta
+            LOGGER.error("TRANSACTION_GROUP_COMMIT_TIMEOUT | walletId={}", walletId);
+            throw new IllegalStateException("Transaction group commit did not confirm the operation in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the group commit", e);
+        }
+    }
+
+    private void workLoop() {
+        List<Operation<?>> group = new ArrayList<>(maxOps);
+        while (running || !queue.isEmpty()) {
+            try {
+                Operation<?> first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("TRANSACTION_GROUP_COMMIT_ERROR | size={} reason={}", group.size(), e.getMessage(), e);
+                group.forEach(operation -> operation.result().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void collect(List<Operation<?>> group) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxOps) {
+            long remaining = deadline - System.nanoTime();
+            Operation<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            queue.drainTo(group, maxOps - group.size());
+        }
+    }
+
+    private void commit(List<Operation<?>> group) {
+        group.sort(Comparator.comparingLong(Operation::walletId));
+        Timer.Sample sample = Timer.start();
+        List<Outcome> outcomes;
+        try {
+            outcomes = newTransaction.execute(status -> {
+                List<Outcome> results = new ArrayList<>(group.size());
+                for (Operation<?> operation : group) {
+                    results.add(runWithSavepoint(status, operation));
+                }
+                return results;
+            });
+        } catch (GroupAbortedException e) {
+            fallbacks.increment();
+            LOGGER.warn("TRANSACTION_GROUP_COMMIT_FALLBACK | size={} reason={}", group.size(), e.getCause().getMessage());
+            group.forEach(this::runAlone);
+            return;
+        }
+        sample.stop(groupCommit);
+        groupSize.record(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            complete(group.get(i), outcomes.get(i));
+        }
+    }
+
+    private Outcome runWithSavepoint(TransactionStatus status, Operation<?> operation) {
+        // savepoint JDBC na conexão da sessão: o JpaTransactionManager não oferece savepoints com o Hibernate
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            Object value = run(operation);
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return new Outcome(value, null);
+        } catch (RuntimeException e) {
+            // participante @Transactional que falhou marca a transação inteira para rollback
+            if (isDatabaseFailure(e) || status.isRollbackOnly()) {
+                throw new GroupAbortedException(e);
+            }
+            session.doWork(connection -> connection.rollback(savepoint));
+            // descarta da sessão o que a operação recusada deixou (as anteriores já foram gravadas no flush)
+            session.clear();
+            return new Outcome(null, e);
+        }
+    }
+
+    private void runAlone(Operation<?> operation) {
+        Outcome outcome;
+        try {
+            outcome = new Outcome(newTransaction.execute(status -> run(operation)), null);
+        } catch (RuntimeException e) {
+            outcome = new Outcome(null, e);
+        }
+        complete(operation, outcome);
+    }
+
+    private static Object run(Operation<?> operation) {
+        SecurityContextHolder.setContext(operation.securityContext());
+        try {
+            return operation.action().get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void complete(Operation<?> operation, Outcome outcome) {
+        if (outcome.error() != null) {
+            rejected.increment();
+            operation.result().completeExceptionally(outcome.error());
+        } else {
+            committed.increment();
+            operation.complete(outcome.value());
+        }
+    }
+
+    private static boolean isDatabaseFailure(RuntimeException e) {
+        return e instanceof DataAccessException || e instanceof PersistenceException || e instanceof TransactionException;
+    }
+}
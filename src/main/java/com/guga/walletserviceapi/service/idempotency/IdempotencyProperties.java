@@ -0,0 +1,30 @@
+package com.guga.walletserviceapi.service.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Idempotency-Key dos POST de transação (app.idempotency).
+ */
+@Getter @Setter
+public class IdempotencyProperties {
+
+    /** Tempo em que uma chave devolve a resposta gravada; depois disso pode ser reutilizada. */
+    private long retentionHours = 24;
+
+    /** Tamanho máximo aceito para o valor do header. */
+    private int maxKeyLength = 100;
+
+    /** Respostas mantidas em memória na frente da tb_idempotency_key. */
+    private long frontCacheMaxSize = 100_000;
+
+    private long frontCacheTtlMs = 600_000;
+
+    /** Espera máxima de uma repetição pela execução em andamento da mesma chave; acima disso responde 409. */
+    private long inFlightWaitMs = 10_000;
+
+    /** Intervalo e tamanho do lote da remoção de chaves vencidas. */
+    private long purgeIntervalMs = 600_000;
+
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,263 @@
+package com.guga.walletserviceapi.service.idempotency;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guga.walletserviceapi.dto.transaction.TransactionResponseDTO;
+import com.guga.walletserviceapi.exception.IdempotencyConflictException;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.repository.IdempotencyKeyStore;
+import com.guga.walletserviceapi.repository.IdempotencyKeyStore.StoredKey;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Idempotency-Key dos POST de transação. A chave vale por wallet; a primeira requisição executa a operação e
+ * grava a resposta, as repetições com o mesmo corpo recebem a resposta gravada sem passar pelo TransactionService.
+ *
+ * Repetições simultâneas no mesmo nó esperam a execução em andamento (mapa de execuções em voo); em nós
+ * diferentes, a chave reservada na tb_idempotency_key faz o mesmo papel. Falha na execução libera a chave.
+ * Uma chave que ficou IN_PROGRESS (nó caiu entre executar e gravar a resposta) responde 409 até vencer, em vez
+ * de arriscar executar a operação duas vezes.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger LOGGER = LogManager.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final long STORE_POLL_MS = 50;
+
+    private final IdempotencyKeyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotentResponse> frontCache;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyStore store,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              IdempotencyProperties properties) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.frontCache = Caffeine.newBuilder()
+            .maximumSize(Math.max(1, properties.getFrontCacheMaxSize()))
+            .expireAfterWrite(Duration.ofMillis(Math.max(1, Math.min(properties.getFrontCacheTtlMs(),
+                TimeUnit.HOURS.toMillis(properties.getRetentionHours())))))
+            .build();
+    }
+
+    /**
+     * Executa a operação uma vez por (walletId, chave). Sem chave, apenas executa.
+     *
+     * @param request corpo da requisição; repetir a chave com outro corpo é recusado (400)
+     */
+    public ResponseEntity<TransactionResponseDTO> execute(String idempotencyKey,
+                                                          OperationType operation,
+                                                          Long walletId,
+                                                          Object request,
+                                                          Supplier<ResponseEntity<TransactionResponseDTO>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new ResourceBadRequestException(HEADER + " must be at most " + properties.getMaxKeyLength() + " characters");
+        }
+        String key = walletId + ":" + idempotencyKey;
+        String requestHash = requestHash(operation, request);
+
+        IdempotentResponse cached = frontCache.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, operation, cached, requestHash, "cache");
+        }
+
+        CompletableFuture<IdempotentResponse> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(key, operation, await(running), requestHash, "in-flight");
+        }
+        try {
+            Outcome outcome = executeOnce(key, operation, requestHash, action);
+            mine.complete(outcome.stored());
+            return outcome.fresh() != null
+                ? outcome.fresh()
+                : replay(key, operation, outcome.stored(), requestHash, "store");
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** fresh: resposta da execução feita agora; nulo quando a chave já tinha resposta gravada. */
+    private record Outcome(IdempotentResponse stored, ResponseEntity<TransactionResponseDTO> fresh) { }
+
+    private Outcome executeOnce(String key, OperationType operation, String requestHash,
+                                Supplier<ResponseEntity<TransactionResponseDTO>> action) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(Math.max(1, properties.getRetentionHours()));
+        boolean claimed = store.claim(key, operation.name(), requestHash, now, expiresAt)
+            || (store.deleteIfExpired(key, now) && store.claim(key, operation.name(), requestHash, now, expiresAt));
+        if (!claimed) {
+            return new Outcome(awaitStored(key, requestHash), null);
+        }
+
+        ResponseEntity<TransactionResponseDTO> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            store.release(key);
+            throw e;
+        }
+
+        IdempotentResponse stored = toStored(requestHash, response);
+        try {
+            store.complete(key, stored);
+        } catch (RuntimeException e) {
+            // a operação já foi confirmada: a chave fica IN_PROGRESS e as repetições recebem 409 até vencer
+            LOGGER.error("IDEMPOTENCY_COMPLETE_ERROR | key={} operation={} reason={}", key, operation, e.getMessage());
+            return new Outcome(stored, response);
+        }
+        frontCache.put(key, stored);
+        meterRegistry.counter("idempotency.requests", "result", "executed").increment();
+        return new Outcome(stored, response);
+    }
+
+    /** Chave reservada por outro nó (ou requisição anterior): espera a resposta gravada. */
+    private IdempotentResponse awaitStored(String key, String requestHash) {
+        long deadline = System.currentTimeMillis() + Math.max(0, properties.getInFlightWaitMs());
+        while (true) {
+            Optional<StoredKey> stored = store.find(key);
+            if (stored.isPresent() && !stored.get().requestHash().equals(requestHash)) {
+                throw reusedKey();
+            }
+            if (stored.isPresent() && stored.get().completed()) {
+                frontCache.put(key, stored.get().response());
+                return stored.get().response();
+            }
+            if (stored.isEmpty() || System.currentTimeMillis() >= deadline) {
+                // vazio: a execução em outro nó falhou e liberou a chave; o cliente repete a requisição
+                meterRegistry.counter("idempotency.requests", "result", "conflict").increment();
+                throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+            }
+            sleep(STORE_POLL_MS);
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.get(Math.max(0, properties.getInFlightWaitMs()), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // mesma resposta de erro da execução original
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            meterRegistry.counter("idempotency.requests", "result", "conflict").increment();
+            throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the request in progress");
+        }
+    }
+
+    private ResponseEntity<TransactionResponseDTO> replay(String key, OperationType operation, IdempotentResponse stored,
+                                                          String requestHash, String source) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw reusedKey();
+        }
+        meterRegistry.counter("idempotency.requests", "result", "replayed").increment();
+        LOGGER.info("IDEMPOTENCY_REPLAY | key={} operation={} source={} status={}", key, operation, source, stored.status());
+        try {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true");
+            if (stored.location() != null) {
+                builder.location(URI.create(stored.location()));
+            }
+            return builder.body(objectMapper.readValue(stored.body(), TransactionResponseDTO.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable: " + key, e);
+        }
+    }
+
+    private IdempotentResponse toStored(String requestHash, ResponseEntity<TransactionResponseDTO> response) {
+        URI location = response.getHeaders().getLocation();
+        try {
+            return new IdempotentResponse(requestHash, response.getStatusCode().value(),
+                location != null ? location.toString() : null, objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction response", e);
+        }
+    }
+
+    private String requestHash(OperationType operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.name().getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash idempotent request", e);
+        }
+    }
+
+    private static ResourceBadRequestException reusedKey() {
+        return new ResourceBadRequestException(HEADER + " was already used with a different request");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the request in progress");
+        }
+    }
+
+    /** Remove as chaves vencidas em lotes. */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int batch = Math.max(1, properties.getPurgeBatchSize());
+        int total = 0;
+        int removed;
+        do {
+            removed = store.purgeExpired(now, batch);
+            total += removed;
+        } while (removed == batch);
+        if (total > 0) {
+            LOGGER.info("IDEMPOTENCY_PURGE | removed={}", total);
+        }
+        return total;
+    }
+}
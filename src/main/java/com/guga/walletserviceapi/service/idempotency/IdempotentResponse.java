@@ -0,0 +1,7 @@
+package com.guga.walletserviceapi.service.idempotency;
+
+/**
+ * Resposta gravada para uma Idempotency-Key: status HTTP, header Location (quando houver) e corpo JSON.
+ */
+public record IdempotentResponse(String requestHash, int status, String location, String body) {
+}
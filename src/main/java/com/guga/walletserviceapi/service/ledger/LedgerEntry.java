@@ -0,0 +1,52 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.helpers.TransactionUtils;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.DepositSender;
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Operação aplicada por um shard: um registro do WAL, com os ids já reservados. O flush grava exatamente estes
+ * valores, então reaplicar o mesmo registro na recuperação gera as mesmas linhas.
+ *
+ * @param sequence crescente por shard; o checkpoint do shard guarda o último gravado no banco
+ * @param senderId id do DepositSender, nulo quando o depósito não tem depositante
+ */
+public record LedgerEntry(long sequence, Long transactionId, Long movementId, Long senderId, Long walletId,
+                          Long loginAuthId, OperationType operationType, BigDecimal amount,
+                          BigDecimal previousBalance, BigDecimal currentBalance, LocalDateTime createdAt,
+                          String cpfSender, String terminalId, String senderName) {
+
+    /** DepositMoney ou WithdrawMoney do registro, com o movimento e o depositante (quando houver) associados. */
+    public Transaction toTransaction() {
+        Transaction transaction = operationType == OperationType.DEPOSIT ? new DepositMoney() : new WithdrawMoney();
+        transaction.setTransactionId(transactionId);
+        transaction.setLoginAuthId(loginAuthId);
+        transaction.setWalletId(walletId);
+        transaction.setCreatedAt(createdAt);
+        transaction.setStatusTransaction(StatusTransaction.SUCCESS);
+        transaction.setAmount(amount);
+        transaction.setPreviousBalance(previousBalance);
+        transaction.setCurrentBalance(currentBalance);
+        transaction.setOperationType(operationType);
+
+        MovementTransaction movement = TransactionUtils.generateMovementTransaction(transaction, null);
+        movement.setMovementId(movementId);
+        movement.setCreatedAt(createdAt);
+        transaction.setMovementTransaction(movement);
+
+        if (transaction instanceof DepositMoney deposit && senderId != null) {
+            DepositSender sender = TransactionUtils.generateDepositSender(deposit, cpfSender, senderName, terminalId);
+            sender.setSenderId(senderId);
+            deposit.setDepositSender(sender);
+        }
+        return transaction;
+    }
+}
@@ -0,0 +1,67 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.repository.LedgerLeaseStore;
+
+/**
+ * Posse das wallets do WalletLedger (tb_ledger_lease) nas escritas de saldo: wallet de outro ledger é recusada
+ * (409), porque o flush daquele nó sobrescreveria o saldo gravado aqui.
+ *
+ * A conferência roda na transação da escrita, com a linha da wallet já travada. A posse é registrada travando as
+ * mesmas linhas ({@link LedgerLeaseStore#acquire}): ou a escrita termina antes e o ledger lê o saldo dela, ou a
+ * escrita espera o commit da posse e a enxerga.
+ *
+ * Só consulta o banco com app.ledger.enabled ou app.ledger.fence; sem ledger em nenhum nó, as escritas não pagam
+ * o round trip.
+ */
+@Component
+public class LedgerFence {
+
+    private static final Logger LOGGER = LogManager.getLogger(LedgerFence.class);
+
+    private final LedgerLeaseStore leaseStore;
+    private final boolean active;
+    // ledgerId do WalletLedger deste nó, registrado depois que ele obtém a posse das wallets
+    private volatile String localLedgerId;
+
+    public LedgerFence(LedgerProperties properties, LedgerLeaseStore leaseStore) {
+        this.leaseStore = leaseStore;
+        this.active = properties.isEnabled() || properties.isFence();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    void registerLocalLedger(String ledgerId) {
+        this.localLedgerId = ledgerId;
+    }
+
+    /**
+     * Recusa as wallets que pertencem ao ledger de outro nó. Chamado com as linhas de walletIds já travadas
+     * na transação corrente; wallets do ledger deste nó passam (flush e operações exclusivas).
+     *
+     * @throws WalletConcurrencyException alguma wallet é de outro ledger; a transação é desfeita
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void check(Collection<Long> walletIds) {
+        if (!active || walletIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> owners = leaseStore.owners(walletIds);
+        owners.values().removeIf(owner -> owner.equals(localLedgerId));
+        if (!owners.isEmpty()) {
+            LOGGER.warn("LEDGER_FENCE | walletIds={} owners={} decision=OWNED_BY_OTHER_NODE", owners.keySet(), owners.values());
+            throw new WalletConcurrencyException("Wallet " + owners.keySet() + " is owned by the ledger of another node");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Ledger em memória das wallets de alto volume (app.ledger).
+ */
+@Getter @Setter
+public class LedgerProperties {
+
+    /** Liga o WalletLedger; depósitos e saques das walletIds passam a ser aplicados em memória. */
+    private boolean enabled = false;
+
+    /**
+     * Wallets mantidas pelo ledger (lojistas, contas de liquidação). O saldo delas só pode ser alterado por
+     * este nó: com várias réplicas, cada wallet consta na configuração de uma única (tb_ledger_lease; a subida
+     * falha se outra réplica já detém a wallet).
+     */
+    private List<Long> walletIds = new ArrayList<>();
+
+    /**
+     * Confere a posse (tb_ledger_lease) nas escritas de saldo do caminho do banco ({@link LedgerFence}). Sempre
+     * ligado com enabled; nas réplicas sem ledger, ligar quando alguma réplica do cluster usa o ledger.
+     */
+    private boolean fence = false;
+
+    /** Shards (walletId % shards), cada um com uma thread escritora e um WAL próprios. */
+    private int shards = 4;
+
+    /** Diretório dos arquivos shard-N.wal. */
+    private String walDirectory = "storage/ledger";
+
+    /** Tamanho de cada WAL mapeado em memória; cheio, o shard grava o pendente no banco e recomeça o arquivo. */
+    private int walSizeMb = 64;
+
+    /** fsync do WAL (MappedByteBuffer.force) a cada grupo; desligar só em testes. */
+    private boolean fsync = true;
+
+    /** Operações pendentes por shard; com a fila cheia a operação é recusada (409). */
+    private int queueCapacity = 65_536;
+
+    /** Máximo de operações num grupo (um fsync do WAL por grupo). */
+    private int groupCommitMaxOps = 512;
+
+    /** Espera máxima da request pela confirmação do shard. */
+    private long submitTimeoutMs = 5_000;
+
+    /**
+     * Pausa máxima do shard durante uma operação exclusiva (transferência, lote); passado o limite, o shard volta a
+     * aplicar operações e só as wallets da operação são recusadas até ela terminar. Menor que submitTimeoutMs.
+     */
+    private long exclusiveTimeoutMs = 1_000;
+
+    /** Intervalo da gravação assíncrona na tb_wallet/tb_transaction. */
+    private long flushIntervalMs = 200;
+
+    /** Registros do WAL gravados por transação do flush. */
+    private int flushBatchSize = 2_000;
+}
@@ -0,0 +1,19 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+import lombok.Getter;
+
+/**
+ * Operação recusada pela regra de negócio do shard (saldo, status da wallet/customer). Nada foi gravado.
+ */
+@Getter
+public class LedgerRejectedException extends RuntimeException {
+
+    private final StatusTransaction status;
+
+    public LedgerRejectedException(StatusTransaction status) {
+        super(status.name());
+        this.status = status;
+    }
+}
@@ -0,0 +1,26 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.math.BigDecimal;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * Operação enviada ao shard da wallet. Os dados do depositante só vêm preenchidos quando o DepositSender
+ * deve ser gravado.
+ */
+public record LedgerRequest(Long walletId, OperationType operationType, BigDecimal amount, Long loginAuthId,
+                            String cpfSender, String terminalId, String senderName) {
+
+    public static LedgerRequest deposit(Long walletId, BigDecimal amount, Long loginAuthId,
+                                        String cpfSender, String terminalId, String senderName) {
+        return new LedgerRequest(walletId, OperationType.DEPOSIT, amount, loginAuthId, cpfSender, terminalId, senderName);
+    }
+
+    public static LedgerRequest withdraw(Long walletId, BigDecimal amount, Long loginAuthId) {
+        return new LedgerRequest(walletId, OperationType.WITHDRAW, amount, loginAuthId, null, null, null);
+    }
+
+    boolean hasDepositSender() {
+        return cpfSender != null && senderName != null;
+    }
+}
@@ -0,0 +1,222 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * WAL de um shard do ledger: arquivo de tamanho fixo mapeado em memória, com registros
+ * [tamanho int][crc32 int][payload] gravados em sequência a partir do início.
+ *
+ * Só a thread escritora do shard grava. {@link #append} copia o registro para o mapeamento e {@link #force}
+ * sincroniza de uma vez todos os registros desde o último force (group commit). A leitura para no primeiro
+ * tamanho zero, CRC inválido (registro cortado por queda) ou sequência fora de ordem. {@link #reset} zera o
+ * arquivo e só pode ser chamado com tudo já gravado no banco.
+ */
+final class LedgerWal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean fsync;
+    private int position;
+    private int forcedPosition;
+
+    LedgerWal(Path path, int capacityBytes, boolean fsync) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.fsync = fsync;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int position() {
+        return position;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /** @return false se o registro não cabe no espaço restante */
+    boolean append(LedgerEntry entry) {
+        byte[] payload = encode(entry);
+        if (position + HEADER_BYTES + payload.length > buffer.capacity()) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(position, payload.length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.put(position + HEADER_BYTES, payload);
+        position += HEADER_BYTES + payload.length;
+        return true;
+    }
+
+    /** Torna duráveis os registros gravados desde o último force. */
+    void force() {
+        if (fsync && position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+        }
+        forcedPosition = position;
+    }
+
+    void reset() {
+        byte[] zeros = new byte[64 * 1024];
+        for (int offset = 0; offset < buffer.capacity(); offset += zeros.length) {
+            buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+        }
+        if (fsync) {
+            buffer.force();
+        }
+        position = 0;
+        forcedPosition = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /** Registros válidos do arquivo, em ordem; vazio se ele não existe. */
+    static List<LedgerEntry> read(Path path) throws IOException {
+        List<LedgerEntry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int position = 0;
+            long lastSequence = Long.MIN_VALUE;
+            while (position + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+                LedgerEntry entry = decode(payload);
+                if (entry.sequence() <= lastSequence) {
+                    break;
+                }
+                entries.add(entry);
+                lastSequence = entry.sequence();
+                position += HEADER_BYTES + length;
+            }
+        }
+        return entries;
+    }
+
+    static byte[] encode(LedgerEntry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(entry.sequence());
+            out.writeLong(entry.transactionId());
+            out.writeLong(entry.movementId());
+            writeNullableLong(out, entry.senderId());
+            out.writeLong(entry.walletId());
+            writeNullableLong(out, entry.loginAuthId());
+            out.writeInt(entry.operationType().getValue());
+            writeDecimal(out, entry.amount());
+            writeDecimal(out, entry.previousBalance());
+            writeDecimal(out, entry.currentBalance());
+            out.writeLong(entry.createdAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(entry.createdAt().getNano());
+            writeNullableString(out, entry.cpfSender());
+            writeNullableString(out, entry.terminalId());
+            writeNullableString(out, entry.senderName());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static LedgerEntry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long sequence = in.readLong();
+        Long transactionId = in.readLong();
+        Long movementId = in.readLong();
+        Long senderId = readNullableLong(in);
+        Long walletId = in.readLong();
+        Long loginAuthId = readNullableLong(in);
+        OperationType operationType = OperationType.fromCode(in.readInt());
+        BigDecimal amount = readDecimal(in);
+        BigDecimal previousBalance = readDecimal(in);
+        BigDecimal currentBalance = readDecimal(in);
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        return new LedgerEntry(sequence, transactionId, movementId, senderId, walletId, loginAuthId, operationType,
+            amount, previousBalance, currentBalance, createdAt,
+            readNullableString(in), readNullableString(in), readNullableString(in));
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,739 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+import com.guga.walletserviceapi.repository.LedgerCheckpointStore;
+import com.guga.walletserviceapi.repository.LedgerLeaseStore;
+import com.guga.walletserviceapi.repository.LedgerQuarantineStore;
+import com.guga.walletserviceapi.repository.TransactionBatchWriter;
+import com.guga.walletserviceapi.repository.TransactionOutboxWriter;
+import com.guga.walletserviceapi.repository.WalletBalanceState;
+import com.guga.walletserviceapi.repository.WalletDailySummaryWriter;
+import com.guga.walletserviceapi.service.WalletService;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Saldo autoritativo em memória das wallets de app.ledger.wallet-ids, para contas de alto volume em que a
+ * disputa pela linha da tb_wallet limita a vazão.
+ *
+ * Cada shard (walletId % shards) tem uma fila limitada e uma única thread escritora, dona dos saldos do shard:
+ *     1 - a escritora drena até groupCommitMaxOps operações e aplica cada uma em memória (status e saldo)
+ *     2 - cada operação aceita vira um registro no WAL do shard ({@link LedgerWal}, arquivo mapeado)
+ *     3 - um único fsync por grupo; só então as requests do grupo recebem a confirmação
+ *     4 - o flush agendado grava os registros confirmados na tb_wallet/tb_transaction (mesmas linhas do
+ *         caminho atômico, com resumo diário e outbox) e avança o checkpoint do shard na mesma transação
+ * Na subida, os registros do WAL posteriores ao checkpoint são gravados antes de qualquer operação.
+ *
+ * Vários nós: o diretório do WAL tem uma identidade (arquivo ledger.id, gerado na primeira subida) que, com o
+ * shard, é a chave do checkpoint; cada nó só filtra registros pelo próprio checkpoint. Cada wallet do ledger tem
+ * um único dono na tb_ledger_lease: a subida falha se outra identidade já a detém, as escritas de saldo dos demais
+ * nós a recusam ({@link LedgerFence}) e o flush confere o saldo do banco antes de gravar. Wallet alterada fora
+ * do ledger entra em quarentena: os registros dela vão para a tb_ledger_quarantine em vez do flush (o restante do
+ * shard segue gravando), o alerta sobe (log WALLET_LEDGER_QUARANTINE, métricas wallet.ledger.fence.violations e
+ * wallet.ledger.quarantined) e o ledger recusa operações nela até a conciliação ({@link #releaseQuarantine}).
+ *
+ * Depósitos e saques passam pelo ledger. Transferências e lotes que envolvem uma wallet do ledger usam
+ * {@link #exclusive}: o shard grava o pendente, pausa a escritora durante a operação no banco e relê os
+ * saldos em seguida. Status alterado no banco chega ao shard no flush seguinte da wallet.
+ */
+@Component
+@DependsOn("schemaMigrator")
+@ConditionalOnProperty(prefix = "app.ledger", name = "enabled", havingValue = "true")
+public class WalletLedger {
+
+    private static final Logger LOGGER = LogManager.getLogger(WalletLedger.class);
+
+    private static final Pattern WAL_FILE = Pattern.compile("shard-(\\d+)\\.wal");
+    private static final String IDENTITY_FILE = "ledger.id";
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private sealed interface Command permits Apply, Barrier, Refresh { }
+
+    private record Apply(LedgerRequest request, CompletableFuture<LedgerEntry> result) implements Command { }
+
+    // pausa a escritora com o shard gravado no banco até released (no máximo exclusiveTimeoutMs); depois relê as
+    // wallets. parked falha se o pendente não chegou ao banco: a operação exclusiva não pode alterar saldos que o
+    // flush ainda vai gravar
+    private record Barrier(Set<Long> walletIds, CompletableFuture<Void> parked, CountDownLatch released) implements Command { }
+
+    // status lidos no flush
+    private record Refresh(Collection<WalletBalanceState> states) implements Command { }
+
+    private static final class Shard {
+        final int id;
+        final BlockingQueue<Command> queue;
+        final ConcurrentLinkedDeque<LedgerEntry> unflushed = new ConcurrentLinkedDeque<>();
+        final ReentrantLock flushLock = new ReentrantLock();
+        // acessados só pela escritora
+        final Map<Long, WalletBalanceState> states = new HashMap<>();
+        final List<Apply> group = new ArrayList<>();
+        final List<LedgerEntry> groupEntries = new ArrayList<>();
+        // wallets de operações exclusivas que passaram de exclusiveTimeoutMs: recusadas até o released delas
+        final Map<Long, CountDownLatch> held = new HashMap<>();
+        LedgerWal wal;
+        long nextSequence;
+        volatile long flushedSequence;
+        Thread writer;
+
+        Shard(int id, int queueCapacity) {
+            this.id = id;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final LedgerProperties properties;
+    private final Set<Long> walletIds;
+    private final WalletService walletService;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final WalletDailySummaryWriter walletDailySummaryWriter;
+    private final TransactionOutboxWriter transactionOutboxWriter;
+    private final LedgerCheckpointStore checkpointStore;
+    private final LedgerLeaseStore leaseStore;
+    private final LedgerQuarantineStore quarantineStore;
+    private final LedgerFence fence;
+    private final TransactionTemplate newTransaction;
+    private final Shard[] shards;
+    private final int groupCommitMaxOps;
+    private final int flushBatchSize;
+    // wallets em quarentena: lida por requests e escritoras, alterada pelo flush e por releaseQuarantine
+    private final Set<Long> quarantined = ConcurrentHashMap.newKeySet();
+
+    private final Counter applied;
+    private final Counter rejected;
+    private final Counter flushFailures;
+    private final Counter fenceViolations;
+    private final Counter exclusiveTimeouts;
+    private final DistributionSummary groupSize;
+    private final Timer groupCommit;
+
+    private volatile String ledgerId;
+    private volatile boolean running;
+
+    public WalletLedger(LedgerProperties properties,
+                        WalletService walletService,
+                        SequenceIdAllocator sequenceIdAllocator,
+                        TransactionBatchWriter transactionBatchWriter,
+                        WalletDailySummaryWriter walletDailySummaryWriter,
+                        TransactionOutboxWriter transactionOutboxWriter,
+                        LedgerCheckpointStore checkpointStore,
+                        LedgerLeaseStore leaseStore,
+                        LedgerQuarantineStore quarantineStore,
+                        LedgerFence fence,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.walletIds = Set.copyOf(properties.getWalletIds());
+        this.walletService = walletService;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.walletDailySummaryWriter = walletDailySummaryWriter;
+        this.transactionOutboxWriter = transactionOutboxWriter;
+        this.checkpointStore = checkpointStore;
+        this.leaseStore = leaseStore;
+        this.quarantineStore = quarantineStore;
+        this.fence = fence;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.groupCommitMaxOps = Math.max(1, properties.getGroupCommitMaxOps());
+        this.flushBatchSize = Math.max(1, properties.getFlushBatchSize());
+
+        this.shards = new Shard[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, Math.max(groupCommitMaxOps, properties.getQueueCapacity()));
+        }
+
+        this.applied = meterRegistry.counter("wallet.ledger.operations", "result", "applied");
+        this.rejected = meterRegistry.counter("wallet.ledger.operations", "result", "rejected");
+        this.flushFailures = meterRegistry.counter("wallet.ledger.flush.failures");
+        this.fenceViolations = meterRegistry.counter("wallet.ledger.fence.violations");
+        this.exclusiveTimeouts = meterRegistry.counter("wallet.ledger.exclusive.timeouts");
+        this.groupSize = DistributionSummary.builder("wallet.ledger.group.size")
+            .description("Operações confirmadas por fsync do WAL")
+            .register(meterRegistry);
+        this.groupCommit = meterRegistry.timer("wallet.ledger.group.commit");
+        Gauge.builder("wallet.ledger.unflushed", this, WalletLedger::unflushed)
+            .description("Registros do WAL ainda não gravados no banco")
+            .register(meterRegistry);
+        Gauge.builder("wallet.ledger.quarantined", quarantined, Set::size)
+            .description("Wallets do ledger em quarentena aguardando conciliação")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path directory = Path.of(properties.getWalDirectory());
+        ledgerId = identity(directory);
+        acquireLeases();
+        fence.registerLocalLedger(ledgerId);
+        quarantined.addAll(quarantineStore.walletIds(ledgerId));
+        if (!quarantined.isEmpty()) {
+            LOGGER.error("WALLET_LEDGER_QUARANTINE | ledgerId={} walletIds={} decision=STILL_QUARANTINED", ledgerId, quarantined);
+        }
+        Map<Integer, Long> recovered = recover(directory);
+        // wallets retiradas da configuração: o WAL delas acabou de ser gravado, outro nó pode assumi-las
+        int released = leaseStore.releaseExcept(ledgerId, walletIds);
+
+        int capacityBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(1, properties.getWalSizeMb()) * 1024L * 1024L);
+        for (Shard shard : shards) {
+            long lastSequence = Math.max(recovered.getOrDefault(shard.id, 0L), checkpointStore.lastSequence(ledgerId, shard.id));
+            shard.nextSequence = lastSequence + 1;
+            shard.flushedSequence = lastSequence;
+            shard.wal = new LedgerWal(walPath(directory, shard.id), capacityBytes, properties.isFsync());
+            shard.wal.reset();
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.writer = Thread.ofPlatform().daemon().name("wallet-ledger-" + shard.id).start(() -> writeLoop(shard));
+        }
+        LOGGER.info("WALLET_LEDGER_START | ledgerId={} wallets={} releasedLeases={} shards={} walDirectory={} walSizeMb={} groupCommitMaxOps={}",
+            ledgerId, walletIds.size(), released, shards.length, directory.toAbsolutePath(), properties.getWalSizeMb(),
+            groupCommitMaxOps);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Shard shard : shards) {
+            if (shard.writer == null) {
+                continue;
+            }
+            try {
+                shard.writer.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        for (Shard shard : shards) {
+            try {
+                if (shard.wal != null) {
+                    shard.wal.close();
+                }
+            } catch (IOException e) {
+                LOGGER.warn("WALLET_LEDGER_WAL_CLOSE_ERROR | shard={} reason={}", shard.id, e.getMessage());
+            }
+        }
+        LOGGER.info("WALLET_LEDGER_STOP | unflushed={}", unflushed());
+    }
+
+    public boolean owns(Long walletId) {
+        return walletId != null && walletIds.contains(walletId);
+    }
+
+    /** Identidade do WAL deste nó (chave do checkpoint e dona das wallets na tb_ledger_lease). */
+    public String ledgerId() {
+        return ledgerId;
+    }
+
+    /**
+     * Aplica a operação no shard da wallet e espera a confirmação (registro durável no WAL).
+     *
+     * @throws LedgerRejectedException regra de negócio recusada; nada foi gravado
+     * @throws WalletConcurrencyException fila do shard cheia ou wallet em quarentena; a operação não foi aceita
+     */
+    public LedgerEntry apply(LedgerRequest request) {
+        if (quarantined.contains(request.walletId())) {
+            LOGGER.warn("WALLET_LEDGER_QUARANTINED | walletId={} operation={}", request.walletId(), request.operationType());
+            throw new WalletConcurrencyException("Wallet " + request.walletId() + " is quarantined by the ledger");
+        }
+        Shard shard = shardOf(request.walletId());
+        CompletableFuture<LedgerEntry> result = new CompletableFuture<>();
+        if (!running || !shard.queue.offer(new Apply(request, result))) {
+            LOGGER.warn("WALLET_LEDGER_BUSY | shard={} walletId={} queue={}", shard.id, request.walletId(), shard.queue.size());
+            throw new WalletConcurrencyException("Ledger shard " + shard.id + " is busy, retry the operation");
+        }
+        try {
+            return result.get(properties.getSubmitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger operation failed", e.getCause());
+        } catch (TimeoutException e) {
+            // já aceita pelo shard: pode ser aplicada depois desta resposta
+            LOGGER.error("WALLET_LEDGER_CONFIRM_TIMEOUT | shard={} walletId={} operation={}",
+                shard.id, request.walletId(), request.operationType());
+            throw new IllegalStateException("Ledger shard " + shard.id + " did not confirm the operation in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the ledger", e);
+        }
+    }
+
+    /**
+     * Executa action com os shards das wallets do ledger em ids pausados e já gravados no banco, para operações
+     * que alteram essas wallets direto no banco (transferências, lotes). Os shards são pausados em ordem de id,
+     * então duas chamadas concorrentes nunca se bloqueiam mutuamente. Sem wallets do ledger, só executa action.
+     *
+     * A pausa dura no máximo app.ledger.exclusive-timeout-ms: depois disso o shard volta a aplicar operações e só
+     * as wallets de ids continuam recusadas (409) até action terminar.
+     */
+    public <T> T exclusive(Collection<Long> ids, Supplier<T> action) {
+        Map<Shard, Set<Long>> involved = ids.stream()
+            .filter(this::owns)
+            .collect(Collectors.groupingBy(this::shardOf, Collectors.toSet()));
+        if (involved.isEmpty()) {
+            return action.get();
+        }
+        List<Barrier> barriers = new ArrayList<>();
+        try {
+            for (Shard shard : involved.keySet().stream().sorted(Comparator.comparingInt(s -> s.id)).toList()) {
+                Barrier barrier = new Barrier(involved.get(shard), new CompletableFuture<>(), new CountDownLatch(1));
+                barriers.add(barrier);
+                if (!running || !shard.queue.offer(barrier, properties.getSubmitTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    throw new WalletConcurrencyException("Ledger shard " + shard.id + " is busy, retry the operation");
+                }
+                barrier.parked().get(properties.getSubmitTimeoutMs(), TimeUnit.MILLISECONDS);
+            }
+            return action.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger barrier failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new WalletConcurrencyException("Ledger shard is busy, retry the operation", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the ledger", e);
+        } finally {
+            barriers.forEach(barrier -> barrier.released().countDown());
+        }
+    }
+
+    /**
+     * Tira a wallet da quarentena depois da conciliação do saldo com os registros da tb_ledger_quarantine: os
+     * registros são removidos e o shard relê o saldo do banco. Devolve quantos registros estavam em quarentena.
+     */
+    public int releaseQuarantine(Long walletId) {
+        return exclusive(List.of(walletId), () -> {
+            int released = quarantineStore.release(ledgerId, walletId);
+            quarantined.remove(walletId);
+            LOGGER.warn("WALLET_LEDGER_QUARANTINE_RELEASE | ledgerId={} walletId={} entries={}", ledgerId, walletId, released);
+            return released;
+        });
+    }
+
+    public Set<Long> quarantinedWallets() {
+        return Set.copyOf(quarantined);
+    }
+
+    /** Grava no banco os registros confirmados de todos os shards; devolve quantos saíram do pendente. */
+    @Scheduled(fixedDelayString = "${app.ledger.flush-interval-ms:200}")
+    public int flush() {
+        int flushed = 0;
+        for (Shard shard : shards) {
+            flushed += flush(shard);
+        }
+        return flushed;
+    }
+
+    public long unflushed() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.unflushed.size();
+        }
+        return total;
+    }
+
+    private Shard shardOf(Long walletId) {
+        return shards[(int) Math.floorMod(walletId, (long) shards.length)];
+    }
+
+    private static Path walPath(Path directory, int shardId) {
+        return directory.resolve("shard-" + shardId + ".wal");
+    }
+
+    /** Identidade gravada no diretório do WAL; gerada na primeira subida (o arquivo aparece completo ou não aparece). */
+    private static String identity(Path directory) throws IOException {
+        Path file = directory.resolve(IDENTITY_FILE);
+        if (Files.exists(file)) {
+            return Files.readString(file).trim();
+        }
+        Files.createDirectories(directory);
+        String id = UUID.randomUUID().toString();
+        Path temp = directory.resolve(IDENTITY_FILE + ".tmp");
+        Files.writeString(temp, id);
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /** Registra este WAL como dono das wallets configuradas; falha se alguma pertence a outro nó. */
+    private void acquireLeases() {
+        Map<Long, Integer> shardByWallet = new HashMap<>();
+        walletIds.forEach(walletId -> shardByWallet.put(walletId, shardOf(walletId).id));
+        Map<Long, String> conflicts = leaseStore.acquire(ledgerId, shardByWallet);
+        if (!conflicts.isEmpty()) {
+            LOGGER.error("WALLET_LEDGER_LEASE_CONFLICT | ledgerId={} conflicts={}", ledgerId, conflicts);
+            throw new IllegalStateException("Ledger wallets owned by another ledger node: " + conflicts);
+        }
+    }
+
+    // ----------------------------------------------------------------- recuperação
+
+    /**
+     * Grava os registros de todos os WAL do diretório posteriores ao checkpoint de cada shard, inclusive de
+     * shards que deixaram de existir (redução de app.ledger.shards); os arquivos destes são removidos.
+     * Devolve a última sequência de cada shard.
+     */
+    private Map<Integer, Long> recover(Path directory) throws IOException {
+        Map<Integer, Long> lastSequences = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return lastSequences;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> WAL_FILE.matcher(path.getFileName().toString()).matches()).sorted().toList();
+        }
+        for (Path file : files) {
+            Matcher matcher = WAL_FILE.matcher(file.getFileName().toString());
+            matcher.matches();
+            int shardId = Integer.parseInt(matcher.group(1));
+
+            long checkpoint = checkpointStore.lastSequence(ledgerId, shardId);
+            List<LedgerEntry> pending = LedgerWal.read(file).stream()
+                .filter(entry -> entry.sequence() > checkpoint)
+                .toList();
+            for (int from = 0; from < pending.size(); from += flushBatchSize) {
+                writeToDatabase(shardId, pending.subList(from, Math.min(pending.size(), from + flushBatchSize)));
+            }
+            long last = pending.isEmpty() ? checkpoint : pending.get(pending.size() - 1).sequence();
+            lastSequences.put(shardId, last);
+            if (shardId >= shards.length) {
+                Files.delete(file);
+            }
+            LOGGER.info("WALLET_LEDGER_RECOVERY | shard={} checkpoint={} replayed={} lastSequence={}",
+                shardId, checkpoint, pending.size(), last);
+        }
+        return lastSequences;
+    }
+
+    // ----------------------------------------------------------------- escritora
+
+    private void writeLoop(Shard shard) {
+        List<Command> drained = new ArrayList<>(groupCommitMaxOps);
+        while (running || !shard.queue.isEmpty()) {
+            try {
+                Command first = shard.queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                shard.queue.drainTo(drained, groupCommitMaxOps - 1);
+                for (Command command : drained) {
+                    handle(shard, command);
+                }
+                commitGroup(shard);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                LOGGER.error("WALLET_LEDGER_WRITER_ERROR | shard={} reason={}", shard.id, e.getMessage(), e);
+                failGroup(shard, e);
+            } finally {
+                drained.clear();
+            }
+        }
+        commitGroup(shard);
+    }
+
+    private void handle(Shard shard, Command command) throws InterruptedException {
+        switch (command) {
+            case Apply apply -> {
+                try {
+                    applyOne(shard, apply);
+                } catch (LedgerRejectedException | WalletConcurrencyException e) {
+                    rejected.increment();
+                    apply.result().completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    LOGGER.error("WALLET_LEDGER_APPLY_ERROR | shard={} walletId={} reason={}",
+                        shard.id, apply.request().walletId(), e.getMessage());
+                    apply.result().completeExceptionally(e);
+                }
+            }
+            case Refresh refresh -> refresh.states().forEach(fresh -> shard.states.computeIfPresent(fresh.walletId(),
+                (walletId, state) -> new WalletBalanceState(walletId, fresh.status(), fresh.customerStatus(),
+                    state.previousBalance(), state.currentBalance(), state.lastOperationType())));
+            case Barrier barrier -> {
+                commitGroup(shard);
+                flush(shard);
+                if (!shard.unflushed.isEmpty()) {
+                    barrier.parked().completeExceptionally(new WalletConcurrencyException(
+                        "Ledger shard " + shard.id + " could not write its pending entries, retry the operation"));
+                    return;
+                }
+                barrier.parked().complete(null);
+                if (!barrier.released().await(properties.getExclusiveTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    // operação exclusiva lenta (lock, banco): o shard segue e só as wallets dela esperam o fim
+                    exclusiveTimeouts.increment();
+                    LOGGER.warn("WALLET_LEDGER_EXCLUSIVE_TIMEOUT | shard={} walletIds={} timeoutMs={}",
+                        shard.id, barrier.walletIds(), properties.getExclusiveTimeoutMs());
+                    barrier.walletIds().forEach(walletId -> shard.held.put(walletId, barrier.released()));
+                }
+                // a operação exclusiva pode ter alterado saldo e status: relidos do banco no próximo uso
+                shard.states.keySet().removeAll(barrier.walletIds());
+            }
+        }
+    }
+
+    private void applyOne(Shard shard, Apply apply) {
+        LedgerRequest request = apply.request();
+        CountDownLatch exclusive = shard.held.get(request.walletId());
+        if (exclusive != null) {
+            if (exclusive.getCount() > 0) {
+                throw new WalletConcurrencyException("Ledger wallet " + request.walletId()
+                    + " is in an exclusive operation, retry the operation");
+            }
+            shard.held.remove(request.walletId());
+        }
+        WalletBalanceState state = shard.states.get(request.walletId());
+        if (state == null) {
+            state = newTransaction.execute(status -> walletService.lockBalances(List.of(request.walletId())))
+                .get(request.walletId());
+            if (state == null) {
+                throw new LedgerRejectedException(StatusTransaction.WALLET_INVALID);
+            }
+            shard.states.put(request.walletId(), state);
+        }
+        if (state.rejection() != null) {
+            throw new LedgerRejectedException(state.rejection());
+        }
+        boolean debit = request.operationType() == OperationType.WITHDRAW;
+        if (debit && state.currentBalance().compareTo(request.amount()) < 0) {
+            throw new LedgerRejectedException(StatusTransaction.INSUFFICIENT_BALANCE);
+        }
+        WalletBalanceState next = state.apply(debit ? request.amount().negate() : request.amount(), request.operationType());
+
+        LedgerEntry entry = new LedgerEntry(shard.nextSequence,
+            sequenceIdAllocator.nextId(ParamApp.SEQ_TRANSACTION_ID),
+            sequenceIdAllocator.nextId(ParamApp.SEQ_MOVEMENT_TRN_ID),
+            request.hasDepositSender() ? sequenceIdAllocator.nextId(ParamApp.SEQ_DEPOSIT_SENDER_ID) : null,
+            request.walletId(), request.loginAuthId(), request.operationType(), request.amount(),
+            next.previousBalance(), next.currentBalance(), LocalDateTime.now(),
+            request.cpfSender(), request.terminalId(), request.senderName());
+
+        if (!shard.wal.append(entry)) {
+            // WAL cheio: confirma o grupo atual, grava tudo no banco e recomeça o arquivo
+            commitGroup(shard);
+            flush(shard);
+            if (!shard.unflushed.isEmpty()) {
+                throw new IllegalStateException("Ledger WAL of shard " + shard.id + " is full and the flush failed");
+            }
+            shard.wal.reset();
+            if (!shard.wal.append(entry)) {
+                throw new IllegalStateException("Ledger entry larger than the WAL of shard " + shard.id);
+            }
+            LOGGER.info("WALLET_LEDGER_WAL_RESET | shard={} sequence={}", shard.id, entry.sequence());
+        }
+        shard.nextSequence++;
+        shard.states.put(request.walletId(), next);
+        shard.group.add(apply);
+        shard.groupEntries.add(entry);
+    }
+
+    /** fsync do grupo e confirmação das requests; os registros passam a aguardar o flush. */
+    private void commitGroup(Shard shard) {
+        if (shard.group.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            shard.wal.force();
+            shard.unflushed.addAll(shard.groupEntries);
+        } catch (UncheckedIOException e) {
+            // sem o WAL, só o banco torna o grupo durável: grava agora e confirma só se der certo
+            LOGGER.error("WALLET_LEDGER_WAL_FORCE_ERROR | shard={} reason={}", shard.id, e.getMessage());
+            shard.unflushed.addAll(shard.groupEntries);
+            flush(shard);
+            if (!shard.unflushed.isEmpty()) {
+                failGroup(shard, new IllegalStateException("Ledger shard " + shard.id + " could not persist the operation", e));
+                return;
+            }
+        }
+        for (int i = 0; i < shard.group.size(); i++) {
+            shard.group.get(i).result().complete(shard.groupEntries.get(i));
+        }
+        applied.increment(shard.group.size());
+        groupSize.record(shard.group.size());
+        groupCommit.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        shard.group.clear();
+        shard.groupEntries.clear();
+    }
+
+    private void failGroup(Shard shard, RuntimeException error) {
+        shard.group.forEach(apply -> apply.result().completeExceptionally(error));
+        shard.group.clear();
+        shard.groupEntries.clear();
+    }
+
+    // ----------------------------------------------------------------- flush
+
+    private int flush(Shard shard) {
+        shard.flushLock.lock();
+        int flushed = 0;
+        try {
+            // só o que já estava pendente: sob carga contínua o flush não vira um laço sem fim
+            int limit = shard.unflushed.size();
+            while (flushed < limit) {
+                List<LedgerEntry> batch = new ArrayList<>(Math.min(flushBatchSize, limit - flushed));
+                Iterator<LedgerEntry> pending = shard.unflushed.iterator();
+                while (pending.hasNext() && batch.size() < flushBatchSize) {
+                    batch.add(pending.next());
+                }
+                Collection<WalletBalanceState> states = writeToDatabase(shard.id, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    shard.unflushed.pollFirst();
+                }
+                shard.flushedSequence = batch.get(batch.size() - 1).sequence();
+                flushed += batch.size();
+                shard.queue.offer(new Refresh(states));
+            }
+            if (flushed > 0) {
+                LOGGER.debug("WALLET_LEDGER_FLUSH | shard={} entries={} flushedSequence={}",
+                    shard.id, flushed, shard.flushedSequence);
+            }
+        } catch (RuntimeException e) {
+            // registros continuam pendentes: o próximo flush tenta de novo
+            flushFailures.increment();
+            LOGGER.error("WALLET_LEDGER_FLUSH_ERROR | shard={} pending={} reason={}",
+                shard.id, shard.unflushed.size(), e.getMessage());
+        } finally {
+            shard.flushLock.unlock();
+        }
+        return flushed;
+    }
+
+    /**
+     * Uma transação: saldo final de cada wallet (do último registro dela), transações, movimentos, resumo
+     * diário, outbox e checkpoint. Devolve os status lidos das wallets.
+     *
+     * O saldo travado no banco tem de ser o saldo anterior do primeiro registro da wallet; se não for, a wallet
+     * foi alterada fora do ledger: os registros dela (e os de wallets já em quarentena) vão para a
+     * tb_ledger_quarantine na mesma transação e os das demais wallets são gravados normalmente.
+     */
+    private Collection<WalletBalanceState> writeToDatabase(int shardId, List<LedgerEntry> entries) {
+        Map<Long, BigDecimal> violations = new HashMap<>();
+        Collection<WalletBalanceState> states = newTransaction.execute(status -> {
+            // registros que outro processo já gravou a partir do mesmo WAL (mesma identidade) não são regravados
+            long checkpoint = checkpointStore.lastSequence(ledgerId, shardId);
+            List<LedgerEntry> pending = entries.stream().filter(entry -> entry.sequence() > checkpoint).toList();
+            if (pending.isEmpty()) {
+                return List.<WalletBalanceState>of();
+            }
+            Map<Long, LedgerEntry> firstByWallet = new HashMap<>();
+            Map<Long, LedgerEntry> lastByWallet = new LinkedHashMap<>();
+            pending.forEach(entry -> {
+                firstByWallet.putIfAbsent(entry.walletId(), entry);
+                lastByWallet.put(entry.walletId(), entry);
+            });
+            Map<Long, WalletBalanceState> locked = walletService.lockBalances(lastByWallet.keySet());
+            locked.forEach((walletId, current) -> {
+                if (quarantined.contains(walletId)
+                    || current.currentBalance().compareTo(firstByWallet.get(walletId).previousBalance()) != 0) {
+                    violations.put(walletId, current.currentBalance());
+                }
+            });
+
+            List<LedgerEntry> writable = new ArrayList<>(pending.size());
+            List<LedgerEntry> isolated = new ArrayList<>();
+            pending.forEach(entry -> (violations.containsKey(entry.walletId()) ? isolated : writable).add(entry));
+            if (!isolated.isEmpty()) {
+                quarantineStore.quarantine(ledgerId, shardId, isolated, violations);
+            }
+
+            walletService.writeBalances(lastByWallet.values().stream()
+                .filter(entry -> locked.containsKey(entry.walletId()) && !violations.containsKey(entry.walletId()))
+                .map(entry -> {
+                    WalletBalanceState current = locked.get(entry.walletId());
+                    return new WalletBalanceState(entry.walletId(), current.status(), current.customerStatus(),
+                        entry.previousBalance(), entry.currentBalance(), entry.operationType());
+                })
+                .toList());
+
+            if (!writable.isEmpty()) {
+                List<Object> rows = new ArrayList<>(writable.size() * 3);
+                writable.forEach(entry -> addRows(entry, rows));
+                transactionBatchWriter.persistAll(rows);
+                walletDailySummaryWriter.record(rows);
+                transactionOutboxWriter.record(rows);
+            }
+            checkpointStore.advance(ledgerId, shardId, pending.get(pending.size() - 1).sequence());
+            return locked.values();
+        });
+        violations.forEach((walletId, found) -> {
+            if (quarantined.add(walletId)) {
+                fenceViolations.increment();
+                LOGGER.error("WALLET_LEDGER_QUARANTINE | ledgerId={} shard={} walletId={} found={} decision=QUARANTINED",
+                    ledgerId, shardId, walletId, found);
+            }
+        });
+        return states;
+    }
+
+    private static void addRows(LedgerEntry entry, List<Object> rows) {
+        Transaction transaction = entry.toTransaction();
+        rows.add(transaction.getMovementTransaction());
+        if (transaction instanceof DepositMoney deposit && deposit.getDepositSender() != null) {
+            rows.add(deposit.getDepositSender());
+        }
+        rows.add(transaction);
+    }
+}
@@ -0,0 +1,79 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Arquivo local com um evento JSON por linha, no formato de uma mensagem com chave walletId (como num tópico
+ * particionado por wallet). O lote inteiro é escrito e descarregado (flush) antes do relay remover as linhas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+public class FileTransactionEventSink implements TransactionEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+
+    public FileTransactionEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.path = Path.of(properties.getFilePath());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<TransactionOutboxEvent> events) {
+        try {
+            BufferedWriter out = writer();
+            for (TransactionOutboxEvent event : events) {
+                out.write(objectMapper.writeValueAsString(event));
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Transaction event file sink failed: " + path, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // o próximo lote reabre o arquivo
+            }
+            writer = null;
+        }
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,43 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda os eventos em memória, para os testes. setFailing(true) simula um destino fora do ar.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory")
+public class InMemoryTransactionEventSink implements TransactionEventSink {
+
+    private final List<TransactionOutboxEvent> events = new ArrayList<>();
+    private volatile boolean failing;
+
+    @Override
+    public synchronized void publish(List<TransactionOutboxEvent> batch) {
+        if (failing) {
+            throw new IllegalStateException("In-memory sink is failing");
+        }
+        events.addAll(batch);
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    public synchronized List<TransactionOutboxEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+}
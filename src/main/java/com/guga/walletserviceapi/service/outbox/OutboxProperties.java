@@ -0,0 +1,35 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Outbox dos eventos de transação (app.outbox).
+ */
+@Getter @Setter
+public class OutboxProperties {
+
+    /** Grava os eventos junto com as operações e liga o relay. */
+    private boolean enabled = false;
+
+    /**
+     * Partições (wallet_id % partitions); cada uma é publicada por um nó por vez. Alterar só com o outbox
+     * vazio: eventos pendentes de uma wallet que muda de partição perdem a ordem.
+     */
+    private int partitions = 16;
+
+    /** Eventos lidos, publicados e removidos por transação do relay. */
+    private int batchSize = 500;
+
+    /** Lotes seguidos de uma mesma partição por ciclo, antes de passar para a próxima. */
+    private int maxBatchesPerPartition = 10;
+
+    /** Intervalo entre ciclos do relay. */
+    private long pollIntervalMs = 200;
+
+    /** Destino dos eventos: memory (testes) ou file. */
+    private String sink = "file";
+
+    /** sink=file: um evento JSON por linha. */
+    private String filePath = "logs/transaction-events.jsonl";
+}
@@ -0,0 +1,42 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Conteúdo (payload JSON) do evento gravado no outbox para cada Transaction.
+ */
+public record TransactionEvent(
+    Long transactionId,
+    Long walletId,
+    OperationType operationType,
+    StatusTransaction statusTransaction,
+    BigDecimal amount,
+    BigDecimal previousBalance,
+    BigDecimal currentBalance,
+    Long movementId,
+    Long walletReferenceId,
+    Long transactionReferenceId,
+    LocalDateTime createdAt) {
+
+    public static TransactionEvent of(Transaction transaction) {
+        MovementTransaction movement = transaction.getMovementTransaction();
+        return new TransactionEvent(
+            transaction.getTransactionId(),
+            transaction.getWalletId(),
+            transaction.getOperationType(),
+            transaction.getStatusTransaction(),
+            transaction.getAmount(),
+            transaction.getPreviousBalance(),
+            transaction.getCurrentBalance(),
+            movement != null ? movement.getMovementId() : null,
+            movement != null ? movement.getWalletReferenceId() : null,
+            movement != null ? movement.getTransactionReferenceId() : null,
+            transaction.getCreatedAt());
+    }
+}
@@ -0,0 +1,17 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos publicados pelo TransactionOutboxRelay. O bean ativo é escolhido por app.outbox.sink.
+ */
+public interface TransactionEventSink {
+
+    /**
+     * Entrega o lote na ordem recebida. Exceção desfaz o ciclo da partição e o lote inteiro é reenviado
+     * no próximo ciclo.
+     */
+    void publish(List<TransactionOutboxEvent> events);
+
+    String name();
+}
@@ -0,0 +1,20 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Evento lido do outbox e entregue ao sink. eventId cresce na ordem de gravação de cada wallet; a entrega é
+ * at-least-once, então o consumidor descarta eventId já processado.
+ *
+ * @param payload JSON de {@link TransactionEvent}, repassado sem desserializar
+ */
+public record TransactionOutboxEvent(
+    long eventId,
+    long walletId,
+    long transactionId,
+    String eventType,
+    @JsonRawValue String payload,
+    LocalDateTime createdAt) {
+}
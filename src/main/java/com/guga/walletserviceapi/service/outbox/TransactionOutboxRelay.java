@@ -0,0 +1,186 @@
+package com.guga.walletserviceapi.service.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publica os eventos do tb_transaction_outbox no TransactionEventSink e remove as linhas entregues.
+ *
+ * Cada lote roda numa transação que trava a linha da partição em tb_outbox_partition com FOR UPDATE SKIP LOCKED:
+ * outro nó pula a partição em vez de esperar, e os eventos de uma wallet (sempre na mesma partição) saem em
+ * ordem de id, por um publicador de cada vez. As linhas só são removidas depois do sink aceitar o lote; falha
+ * no sink ou queda do nó reenvia o lote no próximo ciclo (at-least-once).
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class TransactionOutboxRelay {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionOutboxRelay.class);
+
+    private static final String SEED_PARTITION =
+        "INSERT INTO tb_outbox_partition (partition_id) SELECT ? " +
+        "WHERE NOT EXISTS (SELECT 1 FROM tb_outbox_partition WHERE partition_id = ?)";
+
+    private static final String CLAIM_PARTITION =
+        "SELECT partition_id FROM tb_outbox_partition WHERE partition_id = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_BATCH =
+        "SELECT id, wallet_id, transaction_id, event_type, payload, created_at FROM tb_transaction_outbox " +
+        "WHERE partition_id = ? ORDER BY id LIMIT ?";
+
+    private static final String DELETE_EVENT = "DELETE FROM tb_transaction_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionEventSink sink;
+    private final TransactionTemplate newTransaction;
+    private final int partitions;
+    private final int batchSize;
+    private final int maxBatchesPerPartition;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer deliveryTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean partitionsSeeded;
+
+    /** Resultado do lote de uma partição; size -1 quando outro nó está com ela. */
+    private record BatchResult(int size, LocalDateTime oldest) {
+        static final BatchResult SKIPPED = new BatchResult(-1, null);
+    }
+
+    public TransactionOutboxRelay(JdbcTemplate jdbcTemplate,
+                                  TransactionEventSink sink,
+                                  OutboxProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitions = Math.max(1, properties.getPartitions());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.maxBatchesPerPartition = Math.max(1, properties.getMaxBatchesPerPartition());
+
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+            .description("Eventos de transação entregues ao sink")
+            .tag("sink", sink.name())
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+            .description("Lotes recusados pelo sink (reenviados no próximo ciclo)")
+            .tag("sink", sink.name())
+            .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("outbox.relay.delivery")
+            .description("Tempo entre a gravação e a entrega do evento mais antigo de cada lote")
+            .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+            .description("Idade (ms) do evento pendente mais antigo lido no último ciclo")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    /** Um ciclo sobre todas as partições; devolve quantos eventos foram entregues. */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public int relay() {
+        seedPartitions();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldest = null;
+        int published = 0;
+
+        for (int partition = 0; partition < partitions; partition++) {
+            for (int batch = 0; batch < maxBatchesPerPartition; batch++) {
+                BatchResult result = publishBatch(partition);
+                if (result.oldest() != null && (oldest == null || result.oldest().isBefore(oldest))) {
+                    oldest = result.oldest();
+                }
+                published += Math.max(0, result.size());
+                if (result.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, now).toMillis()));
+        if (published > 0) {
+            LOGGER.debug("OUTBOX_RELAY_CYCLE | sink={} published={} lagMs={}", sink.name(), published, lagMillis.get());
+        }
+        return published;
+    }
+
+    private BatchResult publishBatch(int partition) {
+        LocalDateTime[] oldest = new LocalDateTime[1];
+        try {
+            BatchResult result = newTransaction.execute(status -> {
+                if (jdbcTemplate.queryForList(CLAIM_PARTITION, Integer.class, partition).isEmpty()) {
+                    return BatchResult.SKIPPED;
+                }
+                List<TransactionOutboxEvent> events = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) ->
+                    new TransactionOutboxEvent(
+                        rs.getLong("id"),
+                        rs.getLong("wallet_id"),
+                        rs.getLong("transaction_id"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                    partition, batchSize);
+                if (events.isEmpty()) {
+                    return new BatchResult(0, null);
+                }
+                oldest[0] = events.get(0).createdAt();
+
+                sink.publish(events);
+                jdbcTemplate.batchUpdate(DELETE_EVENT, events, events.size(),
+                    (ps, event) -> ps.setLong(1, event.eventId()));
+                return new BatchResult(events.size(), oldest[0]);
+            });
+            record(result);
+            return result;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            LOGGER.warn("OUTBOX_RELAY_BATCH_ERROR | sink={} partition={} reason={}", sink.name(), partition, e.getMessage());
+            // a partição fica para o próximo ciclo: pular só o lote quebraria a ordem das wallets
+            return new BatchResult(0, oldest[0]);
+        }
+    }
+
+    private void record(BatchResult result) {
+        if (result.size() <= 0) {
+            return;
+        }
+        publishedCounter.increment(result.size());
+        deliveryTimer.record(Math.max(0, Duration.between(result.oldest(), LocalDateTime.now()).toMillis()),
+            TimeUnit.MILLISECONDS);
+    }
+
+    private void seedPartitions() {
+        if (partitionsSeeded) {
+            return;
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            try {
+                jdbcTemplate.update(SEED_PARTITION, partition, partition);
+            } catch (DuplicateKeyException e) {
+                // outro nó criou a mesma partição
+            }
+        }
+        partitionsSeeded = true;
+    }
+}
@@ -0,0 +1,353 @@
+package com.guga.walletserviceapi.service.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Migrações versionadas do esquema, no formato do Flyway: classpath:db/migration/V{versão}__{descrição}.sql,
+ * aplicadas em ordem de versão e registradas na tb_schema_version com o CRC32 do script.
+ *
+ * As tabelas continuam vindo do Hibernate (generate-ddl/ddl-auto); os scripts cuidam do que o mapeamento não
+ * garante em bases já existentes, como os índices das consultas dos repositórios. Por isso roda depois do
+ * entityManagerFactory e antes de qualquer consulta da aplicação.
+ *
+ * Regras:
+ * - script já aplicado não roda de novo; alterar o conteúdo dele interrompe a inicialização (checksum);
+ * - cada script roda numa transação própria (DDL é transacional no PostgreSQL), exceto os marcados com a linha
+ *   "-- migration: non-transactional": esses rodam comando a comando em autocommit, como exige CREATE INDEX
+ *   CONCURRENTLY, e por isso cada comando deve poder ser repetido (IF NOT EXISTS) se o script falhar no meio;
+ * - CREATE/DROP INDEX CONCURRENTLY: fora do PostgreSQL (H2) o CONCURRENTLY é removido; numa tabela particionada,
+ *   onde o PostgreSQL não o aceita, o índice é criado ON ONLY na tabela pai, CONCURRENTLY em cada partição e as
+ *   partições anexadas a ele; um índice INVALID deixado por uma tentativa anterior é removido e recriado;
+ * - no PostgreSQL um advisory lock serializa réplicas subindo ao mesmo tempo;
+ * - scripts são divididos por ';' (ScriptUtils), então não usar blocos $$ ... $$.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrator {
+
+    private static final Logger LOGGER = LogManager.getLogger(SchemaMigrator.class);
+
+    static final String HISTORY_TABLE = "tb_schema_version";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern NON_TRANSACTIONAL = Pattern.compile("(?im)^--\\s*migration:\\s*non-transactional\\s*$");
+    private static final Pattern CONCURRENTLY = Pattern.compile("(?i)\\s+CONCURRENTLY\\b");
+    private static final Pattern CONCURRENT_INDEX = Pattern.compile(
+        "(?is)CREATE\\s+(UNIQUE\\s+)?INDEX\\s+CONCURRENTLY\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s+ON\\s+(\\w+)\\s*(.+)");
+    // limite de nome de objeto do PostgreSQL
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+    // chave arbitrária do pg_advisory_lock, fixa para todas as réplicas
+    private static final long ADVISORY_LOCK_KEY = 7_301_202_601L;
+
+    public record MigrationScript(int version, String description, Resource resource, long checksum, boolean transactional) { }
+
+    public record MigrationReport(int currentVersion, List<Integer> applied) { }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String locations;
+
+    public SchemaMigrator(JdbcTemplate jdbcTemplate,
+                          @Value("${app.schema-migration.enabled:true}") boolean enabled,
+                          @Value("${app.schema-migration.locations:classpath:db/migration/V*__*.sql}") String locations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.locations = locations;
+    }
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        if (!enabled) {
+            LOGGER.info("SCHEMA_MIGRATION | decision=SKIP reason=disabled");
+            return;
+        }
+        migrate();
+    }
+
+    public MigrationReport migrate() {
+        List<MigrationScript> scripts = loadScripts();
+        return jdbcTemplate.execute((ConnectionCallback<MigrationReport>) connection -> migrate(connection, scripts));
+    }
+
+    private MigrationReport migrate(Connection connection, List<MigrationScript> scripts) throws SQLException {
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        boolean autoCommit = connection.getAutoCommit();
+        if (postgres) {
+            execute(connection, "SELECT pg_advisory_lock(" + ADVISORY_LOCK_KEY + ")");
+        }
+        try {
+            connection.setAutoCommit(true);
+            execute(connection, "CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                + "version INTEGER PRIMARY KEY, description VARCHAR(200) NOT NULL, script VARCHAR(200) NOT NULL, "
+                + "checksum BIGINT NOT NULL, installed_at TIMESTAMP NOT NULL, execution_ms BIGINT NOT NULL)");
+
+            Map<Integer, Long> installed = installedChecksums(connection);
+            List<Integer> applied = new ArrayList<>();
+            int current = installed.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+            for (MigrationScript script : scripts) {
+                Long checksum = installed.get(script.version());
+                if (checksum != null) {
+                    if (checksum != script.checksum()) {
+                        LOGGER.error("SCHEMA_MIGRATION_CHECKSUM_MISMATCH | version={} script={} installed={} found={}",
+                            script.version(), script.resource().getFilename(), checksum, script.checksum());
+                        throw new IllegalStateException("Migration V" + script.version()
+                            + " was changed after being applied: " + script.resource().getFilename());
+                    }
+                    continue;
+                }
+                if (script.transactional()) {
+                    apply(connection, script);
+                } else {
+                    applyNonTransactional(connection, script, postgres);
+                }
+                applied.add(script.version());
+                current = Math.max(current, script.version());
+            }
+
+            LOGGER.info("SCHEMA_MIGRATION | currentVersion={} applied={} scripts={}", current, applied, scripts.size());
+            return new MigrationReport(current, applied);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            if (postgres) {
+                execute(connection, "SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+            }
+        }
+    }
+
+    private void apply(Connection connection, MigrationScript script) throws SQLException {
+        long start = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try {
+            ScriptUtils.executeSqlScript(connection, script.resource());
+            recordApplied(connection, script, start);
+            connection.commit();
+        } catch (RuntimeException | SQLException e) {
+            connection.rollback();
+            LOGGER.error("SCHEMA_MIGRATION_FAIL | version={} script={} reason={}",
+                script.version(), script.resource().getFilename(), e.getMessage());
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        LOGGER.info("SCHEMA_MIGRATION_APPLIED | version={} description={} elapsedMs={}",
+            script.version(), script.description(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Script marcado como non-transactional: cada comando em autocommit e o registro na tb_schema_version só no
+     * fim. Se falhar no meio, os comandos já executados ficam e o script inteiro roda de novo na próxima subida.
+     */
+    private void applyNonTransactional(Connection connection, MigrationScript script, boolean postgres) throws SQLException {
+        long start = System.currentTimeMillis();
+        try {
+            for (String statement : statements(script.resource())) {
+                if (!postgres) {
+                    execute(connection, CONCURRENTLY.matcher(statement).replaceAll(""));
+                    continue;
+                }
+                Matcher index = CONCURRENT_INDEX.matcher(statement);
+                if (index.matches()) {
+                    createIndexConcurrently(connection, index.group(1) != null, index.group(2), index.group(3), index.group(4));
+                } else {
+                    execute(connection, statement);
+                }
+            }
+            recordApplied(connection, script, start);
+        } catch (RuntimeException | SQLException e) {
+            LOGGER.error("SCHEMA_MIGRATION_FAIL | version={} script={} transactional=false reason={}",
+                script.version(), script.resource().getFilename(), e.getMessage());
+            throw e;
+        }
+        LOGGER.info("SCHEMA_MIGRATION_APPLIED | version={} description={} transactional=false elapsedMs={}",
+            script.version(), script.description(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * CREATE INDEX CONCURRENTLY IF NOT EXISTS no PostgreSQL, sem bloquear as escritas na tabela. Tabela particionada:
+     * índice ON ONLY na pai (fica INVALID), CONCURRENTLY em cada partição e ATTACH PARTITION, que o valida.
+     */
+    private void createIndexConcurrently(Connection connection, boolean unique, String index, String table, String definition)
+            throws SQLException {
+        String create = unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ";
+        Boolean valid = indexValid(connection, index);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (!isPartitionedTable(connection, table)) {
+            if (valid != null) {
+                execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + index);
+            }
+            execute(connection, create + "CONCURRENTLY IF NOT EXISTS " + index + " ON " + table + " " + definition);
+            return;
+        }
+        execute(connection, create + "IF NOT EXISTS " + index + " ON ONLY " + table + " " + definition);
+        for (String partition : partitions(connection, table)) {
+            String partitionIndex = partition + "_" + index;
+            if (partitionIndex.length() > MAX_IDENTIFIER_LENGTH) {
+                partitionIndex = partitionIndex.substring(0, MAX_IDENTIFIER_LENGTH);
+            }
+            if (Boolean.FALSE.equals(indexValid(connection, partitionIndex))) {
+                execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + partitionIndex);
+            }
+            execute(connection, create + "CONCURRENTLY IF NOT EXISTS " + partitionIndex + " ON " + partition + " " + definition);
+            execute(connection, "ALTER INDEX " + index + " ATTACH PARTITION " + partitionIndex);
+        }
+        LOGGER.info("SCHEMA_MIGRATION_PARTITIONED_INDEX | index={} table={} valid={}", index, table, indexValid(connection, index));
+    }
+
+    /** indisvalid do índice; nulo quando ele não existe. */
+    private static Boolean indexValid(Connection connection, String index) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT i.indisvalid FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ? AND pg_table_is_visible(c.oid)")) {
+            statement.setString(1, index.toLowerCase());
+            try (var rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static boolean isPartitionedTable(Connection connection, String table) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "SELECT c.relkind = 'p' FROM pg_class c WHERE c.relname = ? AND pg_table_is_visible(c.oid)")) {
+            statement.setString(1, table.toLowerCase());
+            try (var rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static List<String> partitions(Connection connection, String table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (var statement = connection.prepareStatement("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = ? AND pg_table_is_visible(p.oid) ORDER BY c.relname")) {
+            statement.setString(1, table.toLowerCase());
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static void recordApplied(Connection connection, MigrationScript script, long start) throws SQLException {
+        try (var insert = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                + " (version, description, script, checksum, installed_at, execution_ms) VALUES (?, ?, ?, ?, ?, ?)")) {
+            insert.setInt(1, script.version());
+            insert.setString(2, script.description());
+            insert.setString(3, script.resource().getFilename());
+            insert.setLong(4, script.checksum());
+            insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            insert.setLong(6, System.currentTimeMillis() - start);
+            insert.executeUpdate();
+        }
+    }
+
+    /** Comandos do script: sem as linhas de comentário, divididos por ';'. */
+    static List<String> statements(Resource resource) {
+        String script;
+        try (InputStream in = resource.getInputStream()) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read migration " + resource.getFilename(), e);
+        }
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Map<Integer, Long> installedChecksums(Connection connection) throws SQLException {
+        Map<Integer, Long> installed = new HashMap<>();
+        try (var statement = connection.createStatement();
+             var rs = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                installed.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return installed;
+    }
+
+    List<MigrationScript> loadScripts() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(locations);
+            List<MigrationScript> scripts = new ArrayList<>();
+            Map<Integer, String> versions = new HashMap<>();
+            for (Resource resource : resources) {
+                Matcher matcher = SCRIPT_NAME.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int version = Integer.parseInt(matcher.group(1));
+                String previous = versions.put(version, resource.getFilename());
+                if (previous != null) {
+                    throw new IllegalStateException("Duplicated migration version V" + version + ": "
+                        + previous + ", " + resource.getFilename());
+                }
+                byte[] content = content(resource);
+                scripts.add(new MigrationScript(version, matcher.group(2).replace('_', ' '), resource, checksum(content),
+                    !NON_TRANSACTIONAL.matcher(new String(content, StandardCharsets.UTF_8)).find()));
+            }
+            scripts.sort(Comparator.comparingInt(MigrationScript::version));
+            return scripts;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read migrations from " + locations, e);
+        }
+    }
+
+    private static byte[] content(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,12 @@
+package com.guga.walletserviceapi.service.sequence;
+
+/**
+ * Faixa de IDs reservada no banco para uso exclusivo de um nó: [firstId, lastId].
+ */
+public record SequenceBlock(String sequenceName, long firstId, long lastId) {
+
+    public int size() {
+        return (int) (lastId - firstId + 1);
+    }
+
+}
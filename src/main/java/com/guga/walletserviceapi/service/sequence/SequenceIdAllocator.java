@@ -0,0 +1,164 @@
+package com.guga.walletserviceapi.service.sequence;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.guga.walletserviceapi.service.ParamAppService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Alocador hi/lo de IDs.
+ *
+ * Cada sequência (linha "seq-*" da tb_param_app) é avançada em blocos de N valores numa transação
+ * curta e independente; os IDs do bloco são entregues a partir de um contador em memória, sem lock.
+ * Quando o bloco atinge a marca de reposição, o próximo bloco é reservado em background, de modo que
+ * a thread de negócio normalmente nunca espera pelo banco.
+ *
+ * Como a reserva é um incremento atômico na linha da sequência, nós diferentes (ou o mesmo nó após
+ * um restart) nunca recebem faixas sobrepostas. IDs não usados de um bloco são descartados (gaps).
+ */
+@Component
+public class SequenceIdAllocator {
+
+    private static final Logger LOGGER = LogManager.getLogger(SequenceIdAllocator.class);
+
+    private static final String BLOCK_SIZE_PROPERTY = "app.sequence.block-size.";
+
+    private final ParamAppService paramAppService;
+    private final Environment environment;
+    private final int defaultBlockSize;
+    private final int refillThresholdPercent;
+
+    private final Map<String, SequenceState> sequences = new ConcurrentHashMap<>();
+    private final ExecutorService refillExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("seq-refill-", 0).factory());
+
+    public SequenceIdAllocator(ParamAppService paramAppService,
+                               Environment environment,
+                               @Value("${app.sequence.block-size.default:50}") int defaultBlockSize,
+                               @Value("${app.sequence.refill-threshold-percent:25}") int refillThresholdPercent) {
+        this.paramAppService = paramAppService;
+        this.environment = environment;
+        this.defaultBlockSize = Math.max(1, defaultBlockSize);
+        this.refillThresholdPercent = Math.min(100, Math.max(0, refillThresholdPercent));
+    }
+
+    public Long nextId(String sequenceName) {
+        return sequences.computeIfAbsent(sequenceName, this::newState).next();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private SequenceState newState(String sequenceName) {
+        int blockSize = Math.max(1,
+            environment.getProperty(BLOCK_SIZE_PROPERTY + sequenceName, Integer.class, defaultBlockSize));
+        int threshold = (blockSize * refillThresholdPercent) / 100;
+        LOGGER.info("SEQUENCE_ALLOCATOR_INIT | sequence={} blockSize={} refillThreshold={}",
+            sequenceName, blockSize, threshold);
+        return new SequenceState(sequenceName, blockSize, threshold);
+    }
+
+    private final class SequenceState {
+
+        private final String sequenceName;
+        private final int blockSize;
+        private final int refillThreshold;
+
+        private volatile Range current = Range.EMPTY;
+        private final AtomicReference<CompletableFuture<SequenceBlock>> prefetch = new AtomicReference<>();
+
+        private SequenceState(String sequenceName, int blockSize, int refillThreshold) {
+            this.sequenceName = sequenceName;
+            this.blockSize = blockSize;
+            this.refillThreshold = refillThreshold;
+        }
+
+        long next() {
+            while (true) {
+                Range range = current;
+                long id = range.cursor.getAndIncrement();
+                if (id <= range.lastId) {
+                    // Somente a thread que recebe exatamente o ID da marca dispara a reposição
+                    if (range.lastId - id == refillThreshold && blockSize > 1) {
+                        prefetchNextBlock();
+                    }
+                    return id;
+                }
+                switchRange(range);
+            }
+        }
+
+        private synchronized void switchRange(Range exhausted) {
+            if (current != exhausted) {
+                return;
+            }
+            current = new Range(takeNextBlock());
+        }
+
+        private SequenceBlock takeNextBlock() {
+            CompletableFuture<SequenceBlock> pending = prefetch.getAndSet(null);
+            if (pending != null) {
+                try {
+                    return pending.join();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("SEQUENCE_ALLOCATOR_PREFETCH_FAIL | sequence={} reason={}", sequenceName, e.getMessage());
+                }
+            }
+            return reserve();
+        }
+
+        private void prefetchNextBlock() {
+            CompletableFuture<SequenceBlock> future = new CompletableFuture<>();
+            if (!prefetch.compareAndSet(null, future)) {
+                return;
+            }
+            refillExecutor.execute(() -> {
+                try {
+                    future.complete(reserve());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+
+        private SequenceBlock reserve() {
+            SequenceBlock block = paramAppService.reserveSequenceBlock(sequenceName, blockSize);
+            LOGGER.info("SEQUENCE_ALLOCATOR_BLOCK_RESERVED | sequence={} firstId={} lastId={}",
+                sequenceName, block.firstId(), block.lastId());
+            return block;
+        }
+    }
+
+    private static final class Range {
+
+        private static final Range EMPTY = new Range(1L, 0L);
+
+        private final AtomicLong cursor;
+        private final long lastId;
+
+        private Range(SequenceBlock block) {
+            this(block.firstId(), block.lastId());
+        }
+
+        private Range(long firstId, long lastId) {
+            this.cursor = new AtomicLong(firstId);
+            this.lastId = lastId;
+        }
+    }
+
+}
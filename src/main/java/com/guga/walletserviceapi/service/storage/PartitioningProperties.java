@@ -0,0 +1,39 @@
+package com.guga.walletserviceapi.service.storage;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Particionamento mensal de tb_transaction e tb_movement_transfer (app.partitioning).
+ */
+@Getter @Setter
+public class PartitioningProperties {
+
+    /** Converte as tabelas comuns em particionadas na inicialização (PostgreSQL), copiando as linhas. */
+    private boolean convertOnStartup = false;
+
+    /** Remove as tabelas *_legacy após a conversão; false as mantém para conferência. */
+    private boolean dropLegacyTables = false;
+
+    /** Partições mensais criadas antecipadamente além da do mês corrente. */
+    private int monthsAhead = 3;
+
+    /**
+     * Meses (o corrente incluso) cobertos pelas listagens sem período com a tabela particionada; o planner
+     * descarta as partições anteriores. Meses mais antigos só pelas consultas com período.
+     */
+    private int historyMonths = 12;
+
+    private Archive archive = new Archive();
+
+    @Getter @Setter
+    public static class Archive {
+
+        /** Exporta (CSV gzip) e remove partições mais antigas que retentionMonths. */
+        private boolean enabled = false;
+
+        private int retentionMonths = 24;
+
+        private String path = "archive/partitions";
+    }
+}
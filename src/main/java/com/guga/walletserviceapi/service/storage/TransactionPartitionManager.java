@@ -0,0 +1,476 @@
+package com.guga.walletserviceapi.service.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.Transaction;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Particionamento mensal por RANGE(created_at) de tb_transaction e tb_movement_transfer (PostgreSQL).
+ *
+ * - Partições tb_transaction_pYYYYMM / tb_movement_transfer_pYYYYMM, do mês corrente até app.partitioning.months-ahead
+ *   meses à frente, criadas na inicialização e pelo job diário. Linhas de outros meses (importação, datas
+ *   retroativas) têm a partição criada na própria transação da escrita ({@link #ensurePartitionsFor}).
+ * - As listagens sem período ficam nos últimos app.partitioning.history-months meses ({@link #historyStart}): o
+ *   planner descarta as partições anteriores. Meses mais antigos só pelas consultas com período.
+ * - A chave primária passa a ser (id, created_at), exigência do PostgreSQL para tabelas particionadas. Com isso a
+ *   FK tb_transaction.movement_id_fk -> tb_movement_transfer deixa de existir (movement_id sozinho não é único).
+ * - Com app.partitioning.convert-on-startup=true uma tabela comum é convertida: renomeada para *_legacy, recriada
+ *   particionada com os mesmos índices e FKs e as linhas copiadas, tudo numa transação.
+ * - Arquivamento (app.partitioning.archive): partições mais antigas que retention-months são exportadas para
+ *   CSV gzip, desanexadas (DETACH CONCURRENTLY) e removidas.
+ *
+ * Em outros bancos (H2 local/testes) as tabelas seguem comuns e nada é feito.
+ */
+@Component
+@DependsOn("schemaMigrator")
+public class TransactionPartitionManager {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionPartitionManager.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String LEGACY_SUFFIX = "_legacy";
+
+    /** Tabela particionada e a coluna do id, que junto com created_at forma a chave primária. */
+    public record PartitionedTable(String name, String idColumn) {
+        String partitionPrefix() {
+            return name + "_p";
+        }
+    }
+
+    public static final PartitionedTable TRANSACTION = new PartitionedTable("tb_transaction", "transaction_id");
+    public static final PartitionedTable MOVEMENT = new PartitionedTable("tb_movement_transfer", "movement_id");
+    static final List<PartitionedTable> TABLES = List.of(MOVEMENT, TRANSACTION);
+
+    private static final String LIST_PARTITIONS = """
+        SELECT c.relname, i.inhdetachpending
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = ?::regclass
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningProperties properties;
+    private final Set<String> knownPartitions = ConcurrentHashMap.newKeySet();
+    private final Set<String> partitionedTables = ConcurrentHashMap.newKeySet();
+    // mês da partição anexada mais antiga de cada tabela particionada
+    private final Map<String, YearMonth> oldestMonths = new ConcurrentHashMap<>();
+    private volatile boolean postgres;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate, PartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void prepare() {
+        postgres = Boolean.TRUE.equals(jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class)));
+        if (!postgres) {
+            LOGGER.info("PARTITION_SCHEMA_READY | partitioned=false reason=not PostgreSQL");
+            return;
+        }
+
+        for (PartitionedTable table : TABLES) {
+            if (!isPartitionedInDatabase(table) && properties.isConvertOnStartup()) {
+                convert(table);
+            }
+            if (isPartitionedInDatabase(table)) {
+                partitionedTables.add(table.name());
+                loadPartitions(table);
+                ensurePartitions(table, upcomingMonths());
+            }
+            LOGGER.info("PARTITION_SCHEMA_READY | table={} partitioned={} monthsAhead={}",
+                table.name(), partitionedTables.contains(table.name()), properties.getMonthsAhead());
+        }
+    }
+
+    public boolean isPartitioned(PartitionedTable table) {
+        return partitionedTables.contains(table.name());
+    }
+
+    /**
+     * Limite inferior (created_at) das listagens sem período: início do mês app.partitioning.history-months atrás,
+     * ou da partição anexada mais antiga quando ela é mais recente. Vazio quando a tabela não é particionada.
+     */
+    public Optional<LocalDateTime> historyStart(PartitionedTable table) {
+        if (!isPartitioned(table)) {
+            return Optional.empty();
+        }
+        YearMonth window = historyWindowStart(YearMonth.now(), properties.getHistoryMonths());
+        YearMonth oldest = oldestMonths.get(table.name());
+        return Optional.of((oldest == null ? window : max(window, oldest)).atDay(1).atStartOfDay());
+    }
+
+    /** Garante a partição de cada mês; meses já vistos não custam consulta ao banco. */
+    public void ensurePartitions(PartitionedTable table, Collection<YearMonth> months) {
+        for (YearMonth month : months) {
+            String partition = partitionName(table, month);
+            if (knownPartitions.contains(partition)) {
+                continue;
+            }
+            try {
+                createPartition(table, month);
+            } catch (DataAccessException e) {
+                // outra réplica pode ter criado a mesma partição entre o IF NOT EXISTS e o CREATE
+                if (!tableExists(partition)) {
+                    throw e;
+                }
+            }
+            registerPartition(table, month);
+        }
+    }
+
+    /**
+     * Cria as partições dos meses (created_at) das linhas de tb_transaction / tb_movement_transfer a gravar,
+     * antes do INSERT. Roda na transação corrente: uma transação separada esperaria pelo lock da tabela pai
+     * que a própria escrita pode estar segurando. O mês só entra no cache depois do commit, já que um
+     * rollback desfaz o CREATE. Sem particionamento não faz nada.
+     */
+    public void ensurePartitionsFor(Collection<?> entities) {
+        if (partitionedTables.isEmpty()) {
+            return;
+        }
+        Map<PartitionedTable, Set<YearMonth>> missing = new HashMap<>();
+        for (Object entity : entities) {
+            PartitionedTable table = null;
+            LocalDateTime createdAt = null;
+            if (entity instanceof Transaction transaction) {
+                table = TRANSACTION;
+                createdAt = transaction.getCreatedAt();
+            } else if (entity instanceof MovementTransaction movement) {
+                table = MOVEMENT;
+                createdAt = movement.getCreatedAt();
+            }
+            if (table == null || createdAt == null || !isPartitioned(table)) {
+                continue;
+            }
+            YearMonth month = YearMonth.from(createdAt);
+            if (!knownPartitions.contains(partitionName(table, month))) {
+                missing.computeIfAbsent(table, t -> new TreeSet<>()).add(month);
+            }
+        }
+
+        missing.forEach((table, months) -> {
+            for (YearMonth month : months) {
+                createPartition(table, month);
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            registerPartition(table, month);
+                        }
+                    });
+                } else {
+                    registerPartition(table, month);
+                }
+            }
+        });
+    }
+
+    private void createPartition(PartitionedTable table, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table.name()
+            + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void registerPartition(PartitionedTable table, YearMonth month) {
+        knownPartitions.add(partitionName(table, month));
+        oldestMonths.merge(table.name(), month, (current, added) -> added.isBefore(current) ? added : current);
+        LOGGER.debug("PARTITION_READY | partition={}", partitionName(table, month));
+    }
+
+    /**
+     * Antecipa as partições dos próximos meses e, com o arquivamento ligado, exporta e remove as antigas.
+     */
+    @Scheduled(cron = "${app.partitioning.maintenance-cron:0 30 0 * * *}")
+    public void maintain() {
+        if (!postgres) {
+            return;
+        }
+        for (PartitionedTable table : TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            ensurePartitions(table, upcomingMonths());
+            if (properties.getArchive().isEnabled()) {
+                archive(table, archiveCutoff(YearMonth.now(), properties.getArchive().getRetentionMonths()));
+            }
+        }
+    }
+
+    /**
+     * Arquiva as partições de meses anteriores a cutoff: COPY para {path}/{tabela}/{partição}.csv.gz, DETACH e DROP.
+     * A exportação acontece antes do DETACH; se falhar a partição continua anexada e entra na próxima execução.
+     *
+     * @return partições removidas
+     */
+    public List<String> archive(PartitionedTable table, YearMonth cutoff) {
+        List<String> archived = new ArrayList<>();
+        List<PartitionInfo> partitions = jdbcTemplate.query(LIST_PARTITIONS,
+            (rs, rowNum) -> new PartitionInfo(rs.getString(1), rs.getBoolean(2)), table.name());
+
+        for (PartitionInfo partition : partitions) {
+            YearMonth month = monthOfPartition(table, partition.name());
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                Path file = export(table, partition.name());
+                // DETACH CONCURRENTLY não bloqueia inserts/consultas na tabela pai (PostgreSQL 14+)
+                jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition.name()
+                    + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.name());
+                knownPartitions.remove(partition.name());
+                archived.add(partition.name());
+                LOGGER.info("PARTITION_ARCHIVED | partition={} file={}", partition.name(), file);
+            } catch (DataAccessException | IOException e) {
+                LOGGER.warn("PARTITION_ARCHIVE_FAIL | partition={} reason={}", partition.name(), e.getMessage());
+            }
+        }
+        if (!archived.isEmpty()) {
+            loadPartitions(table);
+        }
+        LOGGER.info("PARTITION_ARCHIVE | table={} cutoff={} archived={}", table.name(), cutoff, archived.size());
+        return archived;
+    }
+
+    private Path export(PartitionedTable table, String partition) throws IOException {
+        Path dir = Paths.get(properties.getArchive().getPath(), table.name());
+        Files.createDirectories(dir);
+        Path target = dir.resolve(partition + ".csv.gz");
+        Path temp = dir.resolve(partition + ".csv.gz.tmp");
+
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            } catch (IOException e) {
+                throw new SQLException("Export failed for " + partition, e);
+            }
+        });
+        // o arquivo final só aparece completo
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("PARTITION_EXPORTED | partition={} rows={} bytes={}", partition, rows, Files.size(target));
+        return target;
+    }
+
+    /**
+     * Troca a tabela comum por uma particionada com o mesmo conteúdo, numa transação: renomeia para *_legacy
+     * (com os índices), cria a nova com as mesmas colunas, PK (id, created_at), partições cobrindo os dados,
+     * os mesmos índices e as FKs que não apontam para tabelas particionadas, e copia as linhas.
+     */
+    void convert(PartitionedTable table) {
+        long start = System.currentTimeMillis();
+        String legacy = table.name() + LEGACY_SUFFIX;
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<String[]> indexes = query(connection, "SELECT indexname, indexdef FROM pg_indexes"
+                    + " WHERE tablename = '" + table.name() + "' AND indexdef NOT LIKE 'CREATE UNIQUE%'");
+                List<String[]> foreignKeys = query(connection, "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint"
+                    + " WHERE contype = 'f' AND conrelid = '" + table.name() + "'::regclass");
+                // FKs de outras tabelas para esta seguiriam a *_legacy; a PK nova (id, created_at) não as suporta
+                List<String[]> incoming = query(connection, "SELECT conrelid::regclass::text, conname FROM pg_constraint"
+                    + " WHERE contype = 'f' AND confrelid = '" + table.name() + "'::regclass");
+                for (String[] foreignKey : incoming) {
+                    execute(connection, "ALTER TABLE " + foreignKey[0] + " DROP CONSTRAINT " + foreignKey[1]);
+                    LOGGER.warn("PARTITION_CONVERT_FK_DROPPED | table={} constraint={}", foreignKey[0], foreignKey[1]);
+                }
+
+                execute(connection, "ALTER TABLE " + table.name() + " RENAME TO " + legacy);
+                for (String[] index : indexes) {
+                    execute(connection, "ALTER INDEX " + index[0] + " RENAME TO " + legacyName(index[0]));
+                }
+
+                execute(connection, "CREATE TABLE " + table.name() + " (LIKE " + legacy + " INCLUDING DEFAULTS)"
+                    + " PARTITION BY RANGE (created_at)");
+                execute(connection, "ALTER TABLE " + table.name() + " ADD PRIMARY KEY (" + table.idColumn() + ", created_at)");
+
+                List<String[]> bounds = query(connection, "SELECT MIN(created_at)::date, MAX(created_at)::date FROM " + legacy);
+                YearMonth first = bounds.get(0)[0] == null ? YearMonth.now() : YearMonth.from(LocalDate.parse(bounds.get(0)[0]));
+                YearMonth last = bounds.get(0)[1] == null ? YearMonth.now() : YearMonth.from(LocalDate.parse(bounds.get(0)[1]));
+                for (YearMonth month : monthsBetween(first, max(last, YearMonth.now().plusMonths(properties.getMonthsAhead())))) {
+                    execute(connection, "CREATE TABLE " + partitionName(table, month) + " PARTITION OF " + table.name()
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                }
+
+                for (String[] index : indexes) {
+                    execute(connection, index[1]);
+                }
+                for (String[] foreignKey : foreignKeys) {
+                    if (referencesPartitionedTable(foreignKey[1])) {
+                        LOGGER.warn("PARTITION_CONVERT_FK_DROPPED | table={} constraint={} definition={}",
+                            table.name(), foreignKey[0], foreignKey[1]);
+                        continue;
+                    }
+                    execute(connection, "ALTER TABLE " + table.name() + " ADD CONSTRAINT " + foreignKey[0]
+                        + " " + foreignKey[1]);
+                }
+
+                int rows;
+                try (var statement = connection.createStatement()) {
+                    rows = statement.executeUpdate("INSERT INTO " + table.name() + " SELECT * FROM " + legacy);
+                }
+                if (properties.isDropLegacyTables()) {
+                    execute(connection, "DROP TABLE " + legacy + " CASCADE");
+                }
+                connection.commit();
+                LOGGER.info("PARTITION_CONVERT | table={} rows={} firstMonth={} legacyDropped={} elapsedMs={}",
+                    table.name(), rows, first, properties.isDropLegacyTables(), System.currentTimeMillis() - start);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                LOGGER.error("PARTITION_CONVERT_FAIL | table={} reason={}", table.name(), e.getMessage());
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static boolean referencesPartitionedTable(String constraintDefinition) {
+        return TABLES.stream().anyMatch(t -> constraintDefinition.contains("REFERENCES " + t.name() + "(")
+            || constraintDefinition.contains("REFERENCES public." + t.name() + "("));
+    }
+
+    private static String legacyName(String name) {
+        String renamed = name + LEGACY_SUFFIX;
+        // limite de 63 caracteres dos identificadores do PostgreSQL
+        return renamed.length() > 63 ? renamed.substring(renamed.length() - 63) : renamed;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String[]> query(Connection connection, String sql) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (var statement = connection.createStatement(); var rs = statement.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                String[] row = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getString(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    static String partitionName(PartitionedTable table, YearMonth month) {
+        return table.partitionPrefix() + PARTITION_SUFFIX.format(month);
+    }
+
+    static YearMonth monthOfPartition(PartitionedTable table, String name) {
+        if (name == null || !name.startsWith(table.partitionPrefix())) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(name.substring(table.partitionPrefix().length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Primeiro mês mantido: partições de meses anteriores a este são arquivadas. */
+    static YearMonth archiveCutoff(YearMonth current, int retentionMonths) {
+        return current.minusMonths(Math.max(1, retentionMonths));
+    }
+
+    /** Primeiro mês da janela das listagens: o corrente e os historyMonths - 1 anteriores. */
+    static YearMonth historyWindowStart(YearMonth current, int historyMonths) {
+        return current.minusMonths(Math.max(1, historyMonths) - 1L);
+    }
+
+    static List<YearMonth> monthsBetween(YearMonth first, YearMonth last) {
+        int months = (int) first.until(last, ChronoUnit.MONTHS);
+        return IntStream.rangeClosed(0, Math.max(0, months)).mapToObj(first::plusMonths).toList();
+    }
+
+    private static YearMonth max(YearMonth a, YearMonth b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private List<YearMonth> upcomingMonths() {
+        YearMonth current = YearMonth.now();
+        return monthsBetween(current, current.plusMonths(Math.max(0, properties.getMonthsAhead())));
+    }
+
+    /** Relê as partições anexadas: cache de meses existentes e mês mais antigo. */
+    private void loadPartitions(PartitionedTable table) {
+        List<PartitionInfo> partitions = jdbcTemplate.query(LIST_PARTITIONS,
+            (rs, rowNum) -> new PartitionInfo(rs.getString(1), rs.getBoolean(2)), table.name());
+        YearMonth oldest = null;
+        for (PartitionInfo partition : partitions) {
+            YearMonth month = monthOfPartition(table, partition.name());
+            if (month == null || partition.detachPending()) {
+                continue;
+            }
+            knownPartitions.add(partition.name());
+            oldest = oldest == null || month.isBefore(oldest) ? month : oldest;
+        }
+        if (oldest == null) {
+            oldestMonths.remove(table.name());
+        } else {
+            oldestMonths.put(table.name(), oldest);
+        }
+    }
+
+    private boolean isPartitionedInDatabase(PartitionedTable table) {
+        String kind = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(relkind::text), '') FROM pg_class WHERE relname = ? AND relkind IN ('r', 'p')",
+            String.class, table.name());
+        return "p".equals(kind);
+    }
+
+    private boolean tableExists(String name) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_class WHERE relname = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+
+    private record PartitionInfo(String name, boolean detachPending) { }
+}
@@ -0,0 +1,152 @@
+package com.guga.walletserviceapi.service.storage;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * Migra bases criadas com o layout JOINED de Transaction (tb_transaction + uma tabela por subclasse)
+ * para o layout SINGLE_TABLE atual, em que tudo fica na tb_transaction e o operation_type é o discriminador.
+ *
+ * Passos, todos idempotentes e em lotes por faixa de transaction_id (um commit por lote, pode ser reexecutado
+ * após uma interrupção):
+ * 1. operation_type passa a refletir a tabela da subclasse onde a linha estava (era ela que definia o tipo);
+ * 2. deposit_sender_id_fk é copiado da tb_deposit_money para a tb_transaction;
+ * 3. opcionalmente, as tabelas antigas são removidas (app.transaction-storage.drop-legacy-tables).
+ *
+ * Roda na inicialização com app.transaction-storage.migrate-on-startup=true, antes do seeder.
+ */
+@Component
+@Order(0)
+public class TransactionStorageMigrator implements CommandLineRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionStorageMigrator.class);
+
+    static final String TABLE = "tb_transaction";
+    static final String DEPOSIT_TABLE = "tb_deposit_money";
+
+    // tabela da subclasse no layout JOINED -> operação (valor do discriminador)
+    static final Map<String, OperationType> LEGACY_TABLES = legacyTables();
+
+    public record MigrationReport(List<String> legacyTables, long typesFixed, long depositSendersCopied,
+                                  long unknownTypes, boolean legacyTablesDropped) { }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean migrateOnStartup;
+    private final boolean dropLegacyTables;
+    private final long batchSize;
+
+    public TransactionStorageMigrator(JdbcTemplate jdbcTemplate,
+                                      @Value("${app.transaction-storage.migrate-on-startup:false}") boolean migrateOnStartup,
+                                      @Value("${app.transaction-storage.drop-legacy-tables:false}") boolean dropLegacyTables,
+                                      @Value("${app.transaction-storage.batch-size:10000}") long batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.migrateOnStartup = migrateOnStartup;
+        this.dropLegacyTables = dropLegacyTables;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (migrateOnStartup) {
+            migrate(dropLegacyTables);
+        }
+    }
+
+    public MigrationReport migrate(boolean dropLegacy) {
+        long start = System.currentTimeMillis();
+        List<String> legacy = LEGACY_TABLES.keySet().stream().filter(this::tableExists).toList();
+        if (legacy.isEmpty()) {
+            LOGGER.info("TRANSACTION_STORAGE_MIGRATION | legacyTables=0 decision=SKIP");
+            return new MigrationReport(legacy, 0, 0, countUnknownTypes(), false);
+        }
+
+        long typesFixed = 0;
+        for (String table : legacy) {
+            int code = LEGACY_TABLES.get(table).getValue();
+            typesFixed += updateInBatches(table,
+                "UPDATE " + TABLE + " t SET operation_type = " + code
+                    + " WHERE t.transaction_id IN (SELECT s.transaction_id FROM " + table + " s"
+                    + " WHERE s.transaction_id >= ? AND s.transaction_id < ?)"
+                    + " AND (t.operation_type IS NULL OR t.operation_type <> " + code + ")");
+        }
+
+        long sendersCopied = 0;
+        if (legacy.contains(DEPOSIT_TABLE)) {
+            // o Hibernate (ddl-auto=update) também cria a coluna; aqui cobre bases com ddl-auto=none
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS deposit_sender_id_fk BIGINT");
+            sendersCopied = updateInBatches(DEPOSIT_TABLE,
+                "UPDATE " + TABLE + " t SET deposit_sender_id_fk = (SELECT d.deposit_sender_id_fk FROM " + DEPOSIT_TABLE + " d"
+                    + " WHERE d.transaction_id = t.transaction_id)"
+                    + " WHERE t.transaction_id >= ? AND t.transaction_id < ? AND t.deposit_sender_id_fk IS NULL"
+                    + " AND EXISTS (SELECT 1 FROM " + DEPOSIT_TABLE + " d WHERE d.transaction_id = t.transaction_id"
+                    + " AND d.deposit_sender_id_fk IS NOT NULL)");
+        }
+
+        long unknownTypes = countUnknownTypes();
+        if (unknownTypes > 0) {
+            LOGGER.warn("TRANSACTION_STORAGE_UNKNOWN_TYPE | rows={} reason=operation_type without subclass", unknownTypes);
+        }
+
+        // só remove as tabelas antigas com a tb_transaction consistente
+        boolean dropped = dropLegacy && unknownTypes == 0;
+        if (dropped) {
+            legacy.forEach(table -> jdbcTemplate.execute("DROP TABLE IF EXISTS " + table));
+        }
+
+        LOGGER.info("TRANSACTION_STORAGE_MIGRATION | legacyTables={} typesFixed={} depositSendersCopied={} unknownTypes={} dropped={} elapsedMs={}",
+            legacy, typesFixed, sendersCopied, unknownTypes, dropped, System.currentTimeMillis() - start);
+        return new MigrationReport(legacy, typesFixed, sendersCopied, unknownTypes, dropped);
+    }
+
+    // percorre [min, max] da tabela antiga em faixas de batchSize ids; cada UPDATE é um commit
+    private long updateInBatches(String sourceTable, String sql) {
+        Long min = jdbcTemplate.queryForObject("SELECT MIN(transaction_id) FROM " + sourceTable, Long.class);
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(transaction_id) FROM " + sourceTable, Long.class);
+        if (min == null || max == null) {
+            return 0;
+        }
+        long updated = 0;
+        for (long from = min; from <= max; from += batchSize) {
+            updated += jdbcTemplate.update(sql, from, from + batchSize);
+        }
+        LOGGER.debug("TRANSACTION_STORAGE_BATCHES | source={} min={} max={} rows={}", sourceTable, min, max, updated);
+        return updated;
+    }
+
+    private long countUnknownTypes() {
+        String codes = LEGACY_TABLES.values().stream()
+            .map(type -> String.valueOf(type.getValue()))
+            .collect(Collectors.joining(", "));
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE
+            + " WHERE operation_type IS NULL OR operation_type NOT IN (" + codes + ")", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private static Map<String, OperationType> legacyTables() {
+        Map<String, OperationType> tables = new LinkedHashMap<>();
+        tables.put(DEPOSIT_TABLE, OperationType.DEPOSIT);
+        tables.put("tb_withdraw", OperationType.WITHDRAW);
+        tables.put("tb_transfer_send", OperationType.TRANSFER_SEND);
+        tables.put("tb_transfer_received", OperationType.TRANSFER_RECEIVED);
+        return Collections.unmodifiableMap(tables);
+    }
+}
@@ -0,0 +1,149 @@
+package com.guga.walletserviceapi.service.summary;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Recalcula a tb_wallet_daily_summary de um período a partir da tb_movement_transfer (saldos da tb_transaction
+ * do próprio movimento). Usado depois de cargas que não passam pelo TransactionService (importação, seeder) e
+ * para corrigir divergências.
+ *
+ * O intervalo de wallet_id é dividido em faixas de walletsPerChunk, processadas em paralelo, cada uma numa
+ * transação própria (DELETE + INSERT ... SELECT). A faixa trava as linhas da tb_wallet antes de ler os movimentos:
+ * operações concorrentes dessas wallets esperam o fim da faixa e somam sobre o resumo já recalculado.
+ */
+@Component
+public class WalletDailySummaryRebuilder {
+
+    private static final Logger LOGGER = LogManager.getLogger(WalletDailySummaryRebuilder.class);
+
+    private static final String LOCK_WALLETS =
+        "SELECT wallet_id FROM tb_wallet WHERE wallet_id BETWEEN ? AND ? FOR UPDATE";
+
+    private static final String DELETE_RANGE =
+        "DELETE FROM tb_wallet_daily_summary WHERE wallet_id BETWEEN ? AND ? AND summary_date BETWEEN ? AND ?";
+
+    // abertura/fechamento: saldos do primeiro/último movimento do dia (created_at, movement_id)
+    private static final String DAY_WINDOW =
+        "OVER (PARTITION BY m.wallet_id, CAST(m.created_at AS DATE) ORDER BY m.created_at, m.movement_id " +
+        "ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)";
+
+    private static final String INSERT_RANGE =
+        "INSERT INTO tb_wallet_daily_summary (wallet_id, summary_date, opening_balance, closing_balance, " +
+        "deposit_count, deposit_amount, withdraw_count, withdraw_amount, " +
+        "transfer_send_count, transfer_send_amount, transfer_received_count, transfer_received_amount, updated_at) " +
+        "SELECT wallet_id, summary_date, MAX(opening_balance), MAX(closing_balance), " +
+        sums(OperationType.DEPOSIT) + ", " + sums(OperationType.WITHDRAW) + ", " +
+        sums(OperationType.TRANSFER_SEND) + ", " + sums(OperationType.TRANSFER_RECEIVED) + ", LOCALTIMESTAMP " +
+        "FROM (SELECT m.wallet_id, CAST(m.created_at AS DATE) AS summary_date, m.operation_type, m.amount, " +
+        "FIRST_VALUE(t.previous_balance) " + DAY_WINDOW + " AS opening_balance, " +
+        "LAST_VALUE(t.current_balance) " + DAY_WINDOW + " AS closing_balance " +
+        "FROM tb_movement_transfer m JOIN tb_transaction t ON t.transaction_id = m.transaction_id " +
+        "WHERE m.wallet_id BETWEEN ? AND ? AND m.created_at >= ? AND m.created_at < ? " +
+        "AND m.status_transaction = " + StatusTransaction.SUCCESS.getValue() + " " +
+        // faixa da tb_transaction com folga de um dia: poda de partições sem perder virada de meia-noite
+        "AND t.created_at >= ? AND t.created_at < ?) x " +
+        "GROUP BY wallet_id, summary_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final int parallelism;
+    private final long walletsPerChunk;
+
+    public record RebuildReport(LocalDate startDate, LocalDate endDate, int chunks, long rows, long elapsedMs) {}
+
+    public WalletDailySummaryRebuilder(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.summary.rebuild.parallelism:4}") int parallelism,
+                                       @Value("${app.summary.rebuild.wallets-per-chunk:5000}") long walletsPerChunk) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.parallelism = Math.max(1, parallelism);
+        this.walletsPerChunk = Math.max(1, walletsPerChunk);
+    }
+
+    private static String sums(OperationType type) {
+        int code = type.getValue();
+        return "SUM(CASE WHEN operation_type = " + code + " THEN 1 ELSE 0 END), " +
+               "SUM(CASE WHEN operation_type = " + code + " THEN amount ELSE 0 END)";
+    }
+
+    /** Recalcula os dias de startDate a endDate (inclusive) de todas as wallets. */
+    public RebuildReport rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new ResourceBadRequestException("startDate must be on or before endDate");
+        }
+        long started = System.currentTimeMillis();
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(wallet_id) AS lo, MAX(wallet_id) AS hi FROM tb_wallet");
+        if (bounds.get("lo") == null) {
+            return new RebuildReport(startDate, endDate, 0, 0, System.currentTimeMillis() - started);
+        }
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("summary-rebuild-", 1).daemon().factory())) {
+            for (long from = lo; from <= hi; from += walletsPerChunk) {
+                long to = Math.min(hi, from + walletsPerChunk - 1);
+                long chunkFrom = from;
+                chunks.add(executor.submit(() -> rebuildChunk(chunkFrom, to, startDate, endDate)));
+            }
+        }
+
+        long rows = 0;
+        for (Future<Integer> chunk : chunks) {
+            try {
+                rows += chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Summary rebuild interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Summary rebuild failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        RebuildReport report = new RebuildReport(startDate, endDate, chunks.size(), rows, System.currentTimeMillis() - started);
+        LOGGER.info("WALLET_SUMMARY_REBUILD | start={} end={} chunks={} rows={} elapsedMs={}",
+            startDate, endDate, report.chunks(), rows, report.elapsedMs());
+        return report;
+    }
+
+    private int rebuildChunk(long walletFrom, long walletTo, LocalDate startDate, LocalDate endDate) {
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+        Timestamp transactionStart = Timestamp.valueOf(startDate.minusDays(1).atStartOfDay());
+        Timestamp transactionEnd = Timestamp.valueOf(endDate.plusDays(2).atStartOfDay());
+
+        Integer rows = newTransaction.execute(status -> {
+            jdbcTemplate.queryForList(LOCK_WALLETS, Long.class, walletFrom, walletTo);
+            jdbcTemplate.update(DELETE_RANGE, walletFrom, walletTo, Date.valueOf(startDate), Date.valueOf(endDate));
+            return jdbcTemplate.update(INSERT_RANGE, walletFrom, walletTo, start, end, transactionStart, transactionEnd);
+        });
+        LOGGER.debug("WALLET_SUMMARY_REBUILD_CHUNK | wallets={}..{} rows={}", walletFrom, walletTo, rows);
+        return rows == null ? 0 : rows;
+    }
+}
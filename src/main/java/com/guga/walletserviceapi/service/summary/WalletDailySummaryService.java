@@ -0,0 +1,87 @@
+package com.guga.walletserviceapi.service.summary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO;
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO.Day;
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO.OperationTotal;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.WalletDailySummary;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.repository.WalletDailySummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Extrato de período pela tb_wallet_daily_summary: o custo é proporcional aos dias do período,
+ * não à quantidade de transações.
+ */
+@RequiredArgsConstructor
+@Service
+public class WalletDailySummaryService {
+
+    private static final Logger LOGGER = LogManager.getLogger(WalletDailySummaryService.class);
+
+    static final int MAX_PERIOD_DAYS = 731;
+
+    private final WalletDailySummaryRepository summaryRepository;
+
+    @Transactional(readOnly = true)
+    public WalletStatementSummaryDTO summarize(Long walletId, LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        if (startDate == null || startDate.isAfter(end)) {
+            throw new ResourceBadRequestException("startDate must be on or before endDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, end) >= MAX_PERIOD_DAYS) {
+            throw new ResourceBadRequestException("Period must be at most " + MAX_PERIOD_DAYS + " days");
+        }
+
+        List<WalletDailySummary> rows = summaryRepository
+            .findByWalletIdAndSummaryDateBetweenOrderBySummaryDateAsc(walletId, startDate, end);
+
+        BigDecimal opening = rows.isEmpty()
+            ? summaryRepository.findFirstByWalletIdAndSummaryDateLessThanOrderBySummaryDateDesc(walletId, startDate)
+                .map(WalletDailySummary::getClosingBalance)
+                .orElse(BigDecimal.ZERO)
+            : rows.get(0).getOpeningBalance();
+        BigDecimal closing = rows.isEmpty() ? opening : rows.get(rows.size() - 1).getClosingBalance();
+
+        Map<OperationType, OperationTotal> totals = emptyTotals();
+        List<Day> days = rows.stream().map(row -> {
+            Map<OperationType, OperationTotal> dayTotals = totalsOf(row);
+            dayTotals.forEach((type, total) -> totals.merge(type, total, OperationTotal::plus));
+            return new Day(row.getSummaryDate(), row.getOpeningBalance(), row.getClosingBalance(), dayTotals);
+        }).toList();
+
+        LOGGER.info("WALLET_SUMMARY_PERIOD | walletId={} start={} end={} days={}", walletId, startDate, end, days.size());
+        return new WalletStatementSummaryDTO(walletId, startDate, end, opening, closing, totals, days);
+    }
+
+    private static Map<OperationType, OperationTotal> emptyTotals() {
+        Map<OperationType, OperationTotal> totals = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            totals.put(type, OperationTotal.EMPTY);
+        }
+        return totals;
+    }
+
+    private static Map<OperationType, OperationTotal> totalsOf(WalletDailySummary row) {
+        Map<OperationType, OperationTotal> totals = new EnumMap<>(OperationType.class);
+        totals.put(OperationType.WITHDRAW, new OperationTotal(row.getWithdrawCount(), row.getWithdrawAmount()));
+        totals.put(OperationType.DEPOSIT, new OperationTotal(row.getDepositCount(), row.getDepositAmount()));
+        totals.put(OperationType.TRANSFER_SEND, new OperationTotal(row.getTransferSendCount(), row.getTransferSendAmount()));
+        totals.put(OperationType.TRANSFER_RECEIVED,
+            new OperationTotal(row.getTransferReceivedCount(), row.getTransferReceivedAmount()));
+        return totals;
+    }
+}
@@ -0,0 +1,23 @@
+package com.guga.walletserviceapi.service.transfer;
+
+/**
+ * Como a transferência aplica o débito e o crédito ({@code app.transaction.transfer-mode}).
+ */
+public enum TransferMode {
+
+    /** Fluxo por entidade, com as duas wallets protegidas pelo WalletConcurrencyGuard (comportamento antigo). */
+    GUARDED,
+
+    /**
+     * Uma transação: UPDATE condicional de saldo nas duas wallets, em ordem crescente de walletId, e os
+     * INSERTs em batch. As linhas ficam travadas só do primeiro UPDATE ao commit.
+     */
+    SINGLE_TRANSACTION,
+
+    /**
+     * Débito e registro da saga na mesma transação; o crédito (TRANSFER_RECEIVED) é aplicado depois, numa
+     * transação própria, pelo TransferSagaProcessor. Crédito recusado devolve o valor ao remetente.
+     */
+    SAGA
+
+}
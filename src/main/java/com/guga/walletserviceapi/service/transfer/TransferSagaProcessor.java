@@ -0,0 +1,289 @@
+package com.guga.walletserviceapi.service.transfer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.TransferMoneyReceived;
+import com.guga.walletserviceapi.model.TransferSaga;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
+import com.guga.walletserviceapi.repository.TransactionBatchWriter;
+import com.guga.walletserviceapi.repository.TransactionOutboxWriter;
+import com.guga.walletserviceapi.repository.TransferSagaRepository;
+import com.guga.walletserviceapi.repository.WalletBalanceChange;
+import com.guga.walletserviceapi.repository.WalletDailySummaryWriter;
+import com.guga.walletserviceapi.service.WalletService;
+import com.guga.walletserviceapi.service.ledger.WalletLedger;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Segunda fase da transferência no modo SAGA: aplica o crédito TRANSFER_RECEIVED de cada TransferSaga PENDING.
+ *
+ * Cada saga é processada numa transação própria, com a linha da saga travada: o status só sai de PENDING junto
+ * com o crédito, então reenvio, varredura e outro nó nunca aplicam o mesmo crédito duas vezes. Recebedor que
+ * recusa o crédito (wallet/customer inativo) e falhas além de maxAttempts devolvem o valor ao remetente.
+ *
+ * O processamento começa logo após o commit do débito; a varredura agendada retoma sagas de um nó que caiu
+ * antes disso e as que aguardam nova tentativa.
+ *
+ * Crédito e devolução passam pelas mesmas regras do WalletLedger que as transferências síncronas: com wallet do
+ * ledger deste nó, rodam pelo caminho exclusivo ({@link WalletLedger#exclusive}); wallet do ledger de outro nó é
+ * recusada pelo LedgerFence e a saga fica PENDING, sem contar tentativa, até a varredura do nó dono.
+ */
+@Component
+public class TransferSagaProcessor {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransferSagaProcessor.class);
+
+    private final TransferSagaRepository sagaRepository;
+    private final WalletService walletService;
+    private final ObjectProvider<WalletLedger> walletLedgerProvider;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final WalletDailySummaryWriter walletDailySummaryWriter;
+    private final TransactionOutboxWriter transactionOutboxWriter;
+    private final TransactionTemplate newTransaction;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final int sweepBatchSize;
+    private final ThreadPoolExecutor executor;
+    private final Timer completionTimer;
+
+    public TransferSagaProcessor(TransferSagaRepository sagaRepository,
+                                 WalletService walletService,
+                                 ObjectProvider<WalletLedger> walletLedgerProvider,
+                                 SequenceIdAllocator sequenceIdAllocator,
+                                 TransactionBatchWriter transactionBatchWriter,
+                                 WalletDailySummaryWriter walletDailySummaryWriter,
+                                 TransactionOutboxWriter transactionOutboxWriter,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.transaction.saga.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.transaction.saga.retry-backoff-ms:1000}") long retryBackoffMillis,
+                                 @Value("${app.transaction.saga.sweep-batch-size:100}") int sweepBatchSize,
+                                 @Value("${app.transaction.saga.parallelism:2}") int parallelism) {
+        this.sagaRepository = sagaRepository;
+        this.walletService = walletService;
+        this.walletLedgerProvider = walletLedgerProvider;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.walletDailySummaryWriter = walletDailySummaryWriter;
+        this.transactionOutboxWriter = transactionOutboxWriter;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.sweepBatchSize = Math.max(1, sweepBatchSize);
+
+        int threads = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            Thread.ofPlatform().name("transfer-saga-", 1).daemon().factory());
+        this.completionTimer = Timer.builder("transfer.saga.completion")
+            .description("Tempo entre o débito e o crédito (ou devolução) da transferência")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Agenda o crédito para depois do commit da transação corrente (a do débito). Se o commit não acontecer,
+     * nada é agendado; se o nó cair antes, a varredura encontra a saga.
+     */
+    public void scheduleAfterCommit(Long sagaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> process(sagaId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> process(sagaId));
+            }
+        });
+    }
+
+    /** Processa as sagas PENDING vencidas; devolve quantas foram tentadas. */
+    @Scheduled(fixedDelayString = "${app.transaction.saga.sweep-interval-ms:5000}")
+    public int sweep() {
+        List<Long> due = sagaRepository.findDueIds(TransferSagaStatus.PENDING, LocalDateTime.now(),
+            PageRequest.ofSize(sweepBatchSize));
+        due.forEach(this::process);
+        if (!due.isEmpty()) {
+            LOGGER.info("TRANSFER_SAGA_SWEEP | sagas={} pending={}", due.size(),
+                sagaRepository.countByStatus(TransferSagaStatus.PENDING));
+        }
+        return due.size();
+    }
+
+    /** Aplica o crédito de uma saga. Saga já concluída é ignorada. */
+    public void process(Long sagaId) {
+        try {
+            onLedgerPath(sagaId, () -> newTransaction.executeWithoutResult(status -> credit(sagaId)));
+        } catch (WalletConcurrencyException e) {
+            // shard do ledger ocupado ou wallet do ledger de outro nó: nada foi gravado, a varredura tenta de novo
+            LOGGER.warn("TRANSFER_SAGA_CREDIT_DEFERRED | sagaId={} reason={}", sagaId, e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.warn("TRANSFER_SAGA_CREDIT_ERROR | sagaId={} reason={}", sagaId, e.getMessage());
+            try {
+                onLedgerPath(sagaId, () -> newTransaction.executeWithoutResult(status -> recordFailure(sagaId, e)));
+            } catch (RuntimeException failure) {
+                // saga continua PENDING: a próxima varredura tenta de novo
+                LOGGER.error("TRANSFER_SAGA_RECORD_FAILURE_ERROR | sagaId={} reason={}", sagaId, failure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Executa action (que pode creditar o recebedor ou devolver ao remetente) pelo caminho exclusivo do ledger
+     * deste nó: o shard grava o pendente das duas wallets antes e relê os saldos depois.
+     */
+    private void onLedgerPath(Long sagaId, Runnable action) {
+        WalletLedger ledger = walletLedgerProvider.getIfAvailable();
+        if (ledger == null) {
+            action.run();
+            return;
+        }
+        List<Long> walletIds = sagaRepository.findById(sagaId)
+            .map(saga -> List.of(saga.getWalletIdSend(), saga.getWalletIdReceived()))
+            .orElse(List.of());
+        ledger.exclusive(walletIds, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void credit(Long sagaId) {
+        Optional<TransferSaga> locked = sagaRepository.findByIdForUpdate(sagaId);
+        if (locked.isEmpty() || locked.get().getStatus() != TransferSagaStatus.PENDING) {
+            return;
+        }
+        TransferSaga saga = locked.get();
+
+        Optional<WalletBalanceChange> change = walletService.applyBalanceDelta(
+            saga.getWalletIdReceived(), saga.getAmount(), OperationType.TRANSFER_RECEIVED);
+        if (change.isPresent()) {
+            writeCredit(saga, change.get());
+            finish(saga, TransferSagaStatus.CREDITED, null);
+            return;
+        }
+        compensate(saga, "receiver wallet rejected the credit");
+    }
+
+    private void recordFailure(Long sagaId, RuntimeException error) {
+        TransferSaga saga = sagaRepository.findByIdForUpdate(sagaId).orElse(null);
+        if (saga == null || saga.getStatus() != TransferSagaStatus.PENDING) {
+            return;
+        }
+        String reason = truncate(error.getMessage());
+        saga.setAttempts(saga.getAttempts() + 1);
+        if (saga.getAttempts() >= maxAttempts) {
+            compensate(saga, reason);
+            return;
+        }
+        saga.setLastError(reason);
+        saga.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(retryBackoffMillis * saga.getAttempts())));
+        saga.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Devolve o valor ao remetente como um TRANSFER_RECEIVED na própria wallet, referenciando o TRANSFER_SEND
+     * original. Remetente que também recusa o crédito deixa a saga FAILED.
+     */
+    private void compensate(TransferSaga saga, String reason) {
+        Optional<WalletBalanceChange> refund = walletService.applyBalanceDelta(
+            saga.getWalletIdSend(), saga.getAmount(), OperationType.TRANSFER_RECEIVED);
+        if (refund.isEmpty()) {
+            LOGGER.error("TRANSFER_SAGA_FAILED | sagaId={} walletIdSend={} walletIdReceived={} amount={} reason={}",
+                saga.getSagaId(), saga.getWalletIdSend(), saga.getWalletIdReceived(), saga.getAmount(), reason);
+            finish(saga, TransferSagaStatus.FAILED, reason);
+            return;
+        }
+        writeCredit(saga, refund.get());
+        LOGGER.warn("TRANSFER_SAGA_COMPENSATED | sagaId={} walletIdSend={} walletIdReceived={} amount={} reason={}",
+            saga.getSagaId(), saga.getWalletIdSend(), saga.getWalletIdReceived(), saga.getAmount(), reason);
+        finish(saga, TransferSagaStatus.COMPENSATED, reason);
+    }
+
+    // crédito no recebedor ou devolução ao remetente: sempre com o id reservado no débito
+    private void writeCredit(TransferSaga saga, WalletBalanceChange change) {
+        boolean refund = !change.walletId().equals(saga.getWalletIdReceived());
+        LocalDateTime now = LocalDateTime.now();
+
+        TransferMoneyReceived received = TransferMoneyReceived.builder()
+            .transactionId(saga.getReceivedTransactionId())
+            .loginAuthId(saga.getLoginAuthId())
+            .walletId(change.walletId())
+            .createdAt(now)
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .amount(saga.getAmount())
+            .previousBalance(change.previousBalance())
+            .currentBalance(change.currentBalance())
+            .operationType(OperationType.TRANSFER_RECEIVED)
+            .build();
+
+        MovementTransaction movement = MovementTransaction.builder()
+            .movementId(sequenceIdAllocator.nextId(ParamApp.SEQ_MOVEMENT_TRN_ID))
+            .transactionId(received.getTransactionId())
+            .walletId(received.getWalletId())
+            .transactionReferenceId(saga.getSagaId())
+            .walletReferenceId(refund ? saga.getWalletIdReceived() : saga.getWalletIdSend())
+            .amount(saga.getAmount())
+            .createdAt(now)
+            .operationType(OperationType.TRANSFER_RECEIVED)
+            .statusTransaction(StatusTransaction.SUCCESS)
+            .build();
+        received.setMovementTransaction(movement);
+
+        List<Object> rows = List.of(movement, received);
+        transactionBatchWriter.persistAll(rows);
+        walletDailySummaryWriter.record(rows);
+        transactionOutboxWriter.record(rows);
+    }
+
+    private void finish(TransferSaga saga, TransferSagaStatus status, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        saga.setStatus(status);
+        saga.setLastError(truncate(reason));
+        saga.setUpdatedAt(now);
+        meterRegistry.counter("transfer.saga.finished", "status", status.name()).increment();
+        completionTimer.record(Duration.between(saga.getCreatedAt(), now));
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        return reason.length() > 500 ? reason.substring(0, 500) : reason;
+    }
+}
@@ -0,0 +1,20 @@
+-- migration: non-transactional
+-- Índices das consultas dos repositórios (TransactionRepository/WalletRepository).
+-- Colunas do filtro primeiro e depois as da ordenação padrão (created_at DESC), para servir o LIMIT sem sort.
+-- CONCURRENTLY: no PostgreSQL as tabelas seguem aceitando escritas durante a criação (SchemaMigrator).
+
+-- findByWalletId, findByWalletIdAndCreatedAtBetween, findSliceAfter (keyset)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transaction_wallet_created
+    ON tb_transaction (wallet_id, created_at, transaction_id);
+
+-- findByWalletIdAndOperationType, findSliceAfterByOperationType
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_transaction_wallet_operation
+    ON tb_transaction (wallet_id, operation_type, created_at, transaction_id);
+
+-- findByCustomerId (ordenado por created_at)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_wallet_customer_created
+    ON tb_wallet (customer_id_fk, created_at);
+
+-- findByStatus (ordenado por created_at)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_wallet_status_created
+    ON tb_wallet (status, created_at);
@@ -0,0 +1,24 @@
+-- Resumo diário por wallet (WalletDailySummary): o extrato de um período lê uma linha por dia.
+-- Mantido na mesma transação de cada movimento; POST /transactions/summaries/rebuild recalcula a partir da
+-- tb_movement_transfer.
+
+CREATE TABLE IF NOT EXISTS tb_wallet_daily_summary (
+    wallet_id                BIGINT         NOT NULL,
+    summary_date             DATE           NOT NULL,
+    opening_balance          NUMERIC(38, 2) NOT NULL,
+    closing_balance          NUMERIC(38, 2) NOT NULL,
+    deposit_count            BIGINT         NOT NULL,
+    deposit_amount           NUMERIC(38, 2) NOT NULL,
+    withdraw_count           BIGINT         NOT NULL,
+    withdraw_amount          NUMERIC(38, 2) NOT NULL,
+    transfer_send_count      BIGINT         NOT NULL,
+    transfer_send_amount     NUMERIC(38, 2) NOT NULL,
+    transfer_received_count  BIGINT         NOT NULL,
+    transfer_received_amount NUMERIC(38, 2) NOT NULL,
+    updated_at               TIMESTAMP      NOT NULL,
+    PRIMARY KEY (wallet_id, summary_date)
+);
+
+-- rebuild: recorte por faixa de wallet e período sobre a tabela de movimentos
+CREATE INDEX IF NOT EXISTS ix_movement_wallet_created
+    ON tb_movement_transfer (wallet_id, created_at);
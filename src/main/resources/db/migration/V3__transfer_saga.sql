@@ -0,0 +1,20 @@
+-- Créditos pendentes das transferências no modo SAGA (TransferSaga / TransferSagaProcessor).
+
+CREATE TABLE IF NOT EXISTS tb_transfer_saga (
+    saga_id                 BIGINT         NOT NULL PRIMARY KEY,
+    wallet_id_send          BIGINT         NOT NULL,
+    wallet_id_received      BIGINT         NOT NULL,
+    amount                  NUMERIC(38, 2) NOT NULL,
+    received_transaction_id BIGINT         NOT NULL UNIQUE,
+    login_auth_id           BIGINT,
+    status                  VARCHAR(12)    NOT NULL,
+    attempts                INTEGER        NOT NULL,
+    last_error              VARCHAR(500),
+    next_attempt_at         TIMESTAMP      NOT NULL,
+    created_at              TIMESTAMP      NOT NULL,
+    updated_at              TIMESTAMP      NOT NULL
+);
+
+-- varredura de pendentes (TransferSagaProcessor.sweep)
+CREATE INDEX IF NOT EXISTS ix_transfer_saga_status_next
+    ON tb_transfer_saga (status, next_attempt_at);
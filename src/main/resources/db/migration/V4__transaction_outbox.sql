@@ -0,0 +1,22 @@
+-- Outbox dos eventos de transação: gravado na mesma transação dos movimentos (TransactionOutboxWriter) e
+-- entregue ao sink configurado pelo TransactionOutboxRelay, que remove as linhas já publicadas.
+
+CREATE TABLE IF NOT EXISTS tb_transaction_outbox (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    partition_id   INTEGER      NOT NULL,
+    wallet_id      BIGINT       NOT NULL,
+    transaction_id BIGINT       NOT NULL,
+    event_type     VARCHAR(20)  NOT NULL,
+    payload        TEXT         NOT NULL,
+    created_at     TIMESTAMP    NOT NULL
+);
+
+-- leitura do relay: próximos eventos de uma partição em ordem de gravação
+CREATE INDEX IF NOT EXISTS ix_transaction_outbox_partition
+    ON tb_transaction_outbox (partition_id, id);
+
+-- uma linha por partição (wallet_id % partitions); o relay trava a partição com FOR UPDATE SKIP LOCKED
+-- enquanto publica, então cada partição tem um único publicador por vez entre os nós
+CREATE TABLE IF NOT EXISTS tb_outbox_partition (
+    partition_id INTEGER NOT NULL PRIMARY KEY
+);
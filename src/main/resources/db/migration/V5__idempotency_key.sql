@@ -0,0 +1,18 @@
+-- Chaves Idempotency-Key dos POST de transação (IdempotencyService): a requisição que insere a chave executa a
+-- operação; repetições devolvem a resposta gravada em response_body.
+
+CREATE TABLE IF NOT EXISTS tb_idempotency_key (
+    idempotency_key   VARCHAR(150) NOT NULL PRIMARY KEY,
+    operation         VARCHAR(20)  NOT NULL,
+    request_hash      VARCHAR(64)  NOT NULL,
+    status            VARCHAR(12)  NOT NULL,
+    response_status   INTEGER,
+    response_location VARCHAR(500),
+    response_body     TEXT,
+    created_at        TIMESTAMP    NOT NULL,
+    expires_at        TIMESTAMP    NOT NULL
+);
+
+-- limpeza das chaves vencidas (IdempotencyService.purgeExpired)
+CREATE INDEX IF NOT EXISTS ix_idempotency_key_expires
+    ON tb_idempotency_key (expires_at);
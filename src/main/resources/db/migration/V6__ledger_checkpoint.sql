@@ -0,0 +1,8 @@
+-- Último registro do WAL de cada shard do ledger em memória (WalletLedger) já gravado na tb_wallet e na
+-- tb_transaction. Atualizado na mesma transação do flush: a recuperação reaplica só o que vier depois dele.
+
+CREATE TABLE IF NOT EXISTS tb_ledger_checkpoint (
+    shard_id      INTEGER   NOT NULL PRIMARY KEY,
+    last_sequence BIGINT    NOT NULL,
+    updated_at    TIMESTAMP NOT NULL
+);
@@ -0,0 +1,22 @@
+-- Checkpoint do WalletLedger por identidade do WAL (arquivo ledger.id no diretório do WAL) e shard: com vários
+-- nós, o checkpoint de um não filtra os registros do outro. O formato da V6 (só shard_id) não identifica o
+-- escritor e não tem como ser convertido; a tabela é recriada.
+
+DROP TABLE IF EXISTS tb_ledger_checkpoint;
+
+CREATE TABLE tb_ledger_checkpoint (
+    ledger_id     VARCHAR(36) NOT NULL,
+    shard_id      INTEGER     NOT NULL,
+    last_sequence BIGINT      NOT NULL,
+    updated_at    TIMESTAMP   NOT NULL,
+    PRIMARY KEY (ledger_id, shard_id)
+);
+
+-- Posse de cada wallet do ledger: um único WAL (nó) por wallet. A subida do ledger falha se a wallet pertence
+-- a outro ledger_id, e o caminho do banco dos demais nós recusa operações nela.
+CREATE TABLE IF NOT EXISTS tb_ledger_lease (
+    wallet_id   BIGINT      NOT NULL PRIMARY KEY,
+    ledger_id   VARCHAR(36) NOT NULL,
+    shard_id    INTEGER     NOT NULL,
+    acquired_at TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,27 @@
+-- Registros do WAL de wallets em quarentena: o saldo do banco não era o saldo anterior esperado pelo ledger
+-- (wallet alterada fora dele). Eles saem do flush do shard, ficam aqui para conciliação e a wallet recusa novas
+-- operações no ledger até WalletLedger#releaseQuarantine.
+
+CREATE TABLE IF NOT EXISTS tb_ledger_quarantine (
+    ledger_id        VARCHAR(36)    NOT NULL,
+    shard_id         INTEGER        NOT NULL,
+    wal_sequence     BIGINT         NOT NULL,
+    wallet_id        BIGINT         NOT NULL,
+    transaction_id   BIGINT         NOT NULL,
+    movement_id      BIGINT         NOT NULL,
+    sender_id        BIGINT,
+    login_auth_id    BIGINT,
+    operation_type   INTEGER        NOT NULL,
+    amount           NUMERIC(38, 2) NOT NULL,
+    previous_balance NUMERIC(38, 2) NOT NULL,
+    current_balance  NUMERIC(38, 2) NOT NULL,
+    created_at       TIMESTAMP      NOT NULL,
+    cpf_sender       VARCHAR(20),
+    terminal_id      VARCHAR(255),
+    sender_name      VARCHAR(255),
+    database_balance NUMERIC(38, 2),
+    quarantined_at   TIMESTAMP      NOT NULL,
+    PRIMARY KEY (ledger_id, shard_id, wal_sequence)
+);
+
+CREATE INDEX IF NOT EXISTS ix_ledger_quarantine_wallet ON tb_ledger_quarantine (ledger_id, wallet_id);
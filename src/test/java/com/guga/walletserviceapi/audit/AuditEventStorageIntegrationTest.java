@@ -0,0 +1,141 @@
+package com.guga.walletserviceapi.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.guga.walletserviceapi.dto.audit.AuditEventResponseDTO;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.repository.AuditEventRepository;
+import com.guga.walletserviceapi.service.AuditEventService;
+
+/**
+ * AuditLogger -> AuditPipeline -> DbAuditEventPublisher -> tb_audit_event sobre o H2 de testes
+ * (tabela sem particionamento; a retenção usa o fallback por DELETE).
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // mesmo contexto dos testes de integração de transação
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class AuditEventStorageIntegrationTest {
+
+    private static final long WALLET_ID = 9_900_777L;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AuditEventRepository auditEventRepository;
+    @Autowired private AuditEventService auditEventService;
+    @Autowired private AuditPartitionManager partitionManager;
+
+    private int countByAction(String action) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM tb_audit_event WHERE action = ?", Integer.class, action);
+    }
+
+    private static AuditEvent event(String action, long walletId, LocalDateTime at) {
+        return AuditEvent.builder().action(action).username("it-user").walletId(walletId)
+            .timestamp(at.atZone(ZoneId.systemDefault()).toInstant()).build();
+    }
+
+    @Test
+    @DisplayName("Eventos do AuditLogger devem chegar à tb_audit_event em batch, fora da thread da request")
+    void auditEventsArePersisted() throws Exception {
+        String action = "IT_AUDIT_" + System.nanoTime();
+        AuditLogContext ctx = AuditLogContext.builder()
+            .username("it-user").loginId(1L).customerId(9_900_001L).walletId(9_900_001L)
+            .ipAddress("10.0.0.1").traceId("trace-it").result("SUCCESS").info("amount=10.00")
+            .build();
+
+        for (int i = 0; i < 3; i++) {
+            AuditLogger.log(action, ctx);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countByAction(action) < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(countByAction(action)).isEqualTo(3);
+        List<AuditEventResponseDTO> rows = auditEventRepository.findByWalletIdAndPeriod(
+            9_900_001L, LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusMinutes(5), 100);
+        assertThat(rows).filteredOn(row -> row.action().equals(action)).hasSize(3)
+            .allSatisfy(row -> {
+                assertThat(row.username()).isEqualTo("it-user");
+                assertThat(row.result()).isEqualTo("SUCCESS");
+                assertThat(row.traceId()).isEqualTo("trace-it");
+            });
+    }
+
+    @Test
+    @DisplayName("INSERT multi-linha acima do tamanho do statement e consulta por carteira/período, mais recentes primeiro")
+    void insertsInMultiRowChunksAndQueriesByPeriod() {
+        LocalDateTime base = LocalDateTime.of(2031, 3, 10, 12, 0);
+        List<AuditEvent> events = IntStream.range(0, 250)
+            .mapToObj(i -> event("IT_CHUNK", WALLET_ID, base.plusMinutes(i)))
+            .toList();
+
+        auditEventRepository.insertAll(events);
+
+        List<AuditEventResponseDTO> firstHour = auditEventService.findByWalletIdAndPeriod(
+            WALLET_ID, base, base.plusHours(1), 1000);
+        assertThat(firstHour).hasSize(60);
+        assertThat(firstHour.get(0).createdAt()).isEqualTo(base.plusMinutes(59));
+
+        assertThat(auditEventService.findByWalletIdAndPeriod(WALLET_ID, base, base.plusDays(1), 10)).hasSize(10);
+        assertThat(auditEventService.findByWalletIdAndPeriod(WALLET_ID + 1, base, base.plusDays(1), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Consulta exige período válido de até 31 dias e limit entre 1 e 1000")
+    void queryValidatesArguments() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> auditEventService.findByWalletIdAndPeriod(WALLET_ID, now, now.minusHours(1), 10))
+            .isInstanceOf(ResourceBadRequestException.class);
+        assertThatThrownBy(() -> auditEventService.findByWalletIdAndPeriod(WALLET_ID, now.minusDays(40), now, 10))
+            .isInstanceOf(ResourceBadRequestException.class);
+        assertThatThrownBy(() -> auditEventService.findByWalletIdAndPeriod(WALLET_ID, now.minusDays(1), now, 0))
+            .isInstanceOf(ResourceBadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Retenção remove o que passou de retention-days (DELETE no H2, DROP de partição no PostgreSQL)")
+    void retentionRemovesExpiredEvents() {
+        LocalDateTime old = LocalDate.now().minusDays(400).atTime(10, 0);
+        auditEventRepository.insertAll(List.of(
+            event("IT_RETENTION_OLD", WALLET_ID, old),
+            event("IT_RETENTION_NEW", WALLET_ID, LocalDateTime.now())));
+
+        partitionManager.applyRetention();
+
+        assertThat(partitionManager.isPartitioned()).isFalse();
+        assertThat(countByAction("IT_RETENTION_OLD")).isZero();
+        assertThat(countByAction("IT_RETENTION_NEW")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Nome da partição diária e conversão de volta para a data")
+    void partitionNaming() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+
+        assertThat(AuditPartitionManager.partitionName(day)).isEqualTo("tb_audit_event_p20261018");
+        assertThat(AuditPartitionManager.dayOfPartition("tb_audit_event_p20261018")).isEqualTo(day);
+        assertThat(AuditPartitionManager.dayOfPartition("tb_audit_event_default")).isNull();
+        assertThat(partitionManager.dayOf(Instant.parse("2026-10-18T12:00:00Z"))).isNotNull();
+    }
+}
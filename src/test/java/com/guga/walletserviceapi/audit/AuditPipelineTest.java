@@ -0,0 +1,261 @@
+package com.guga.walletserviceapi.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.audit.publisher.FileAuditEventPublisher;
+import com.guga.walletserviceapi.helpers.FileUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = FileUtils.instanceObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingPublisher recorder = new RecordingPublisher();
+    private AuditPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private AuditPipeline pipeline(int capacity, int batchSize, long flushIntervalMs, AuditOverflowPolicy policy,
+                                   AuditEventPublisher... extra) {
+        AuditProperties properties = new AuditProperties();
+        properties.setBufferCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMs(flushIntervalMs);
+        properties.setOverflowPolicy(policy);
+        properties.setBlockTimeoutMs(20);
+        properties.setSpillPath(tempDir.resolve("spill.jsonl").toString());
+
+        List<AuditEventPublisher> publishers = new ArrayList<>(List.of(recorder));
+        publishers.addAll(List.of(extra));
+        pipeline = new AuditPipeline(properties, publishers, objectMapper, meterRegistry);
+        return pipeline;
+    }
+
+    private static AuditEvent event(int n) {
+        return AuditEvent.builder().action("ACTION_" + n).username("user").walletId((long) n)
+            .timestamp(Instant.now()).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).as("condição não atingida em 5s").isTrue();
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.counter(name, tags).count();
+    }
+
+    @Test
+    @DisplayName("Ring buffer: produtores concorrentes, cada evento consumido exatamente uma vez")
+    void ringBufferDeliversEachEventOnce() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 5_000;
+        Set<String> consumed = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AuditEvent event = AuditEvent.builder().action(producer + "-" + i).build();
+                    while (!buffer.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        List<AuditEvent> drained = new ArrayList<>();
+        while (consumed.size() < producers * perProducer) {
+            drained.clear();
+            buffer.drainTo(drained, 128);
+            drained.forEach(event -> assertThat(consumed.add(event.getAction())).isTrue());
+        }
+        done.await();
+        executor.shutdown();
+
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer(3).capacity()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Lote é entregue ao atingir batch-size e o restante no flush por tempo")
+    void flushesBySizeThenByTime() throws Exception {
+        pipeline(64, 10, 100, AuditOverflowPolicy.DROP_OLDEST).start();
+
+        for (int i = 0; i < 25; i++) {
+            pipeline.submit(event(i));
+        }
+
+        await(() -> recorder.events().size() == 25);
+        assertThat(recorder.batchSizes()).startsWith(10, 10);
+        assertThat(recorder.events()).extracting(AuditEvent::getAction).first().isEqualTo("ACTION_0");
+        assertThat(counter("audit.events.published", "publisher", "recording")).isEqualTo(25.0);
+        // o lag é registrado logo após a entrega aos publishers
+        await(() -> meterRegistry.timer("audit.dispatch.lag").count() == 25);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: buffer cheio descarta os mais antigos e conta em audit.events.dropped")
+    void dropOldestKeepsNewestEvents() throws Exception {
+        pipeline(4, 4, 10, AuditOverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 6; i++) {
+            pipeline.submit(event(i));
+        }
+        assertThat(pipeline.bufferedEvents()).isEqualTo(4);
+        assertThat(counter("audit.events.dropped", "reason", "overflow")).isEqualTo(2.0);
+
+        pipeline.start();
+        await(() -> recorder.events().size() == 4);
+        assertThat(recorder.events()).extracting(AuditEvent::getAction)
+            .containsExactly("ACTION_2", "ACTION_3", "ACTION_4", "ACTION_5");
+    }
+
+    @Test
+    @DisplayName("BLOCK: sem espaço até o timeout, o evento é descartado e a espera registrada")
+    void blockGivesUpAfterTimeout() {
+        pipeline(2, 2, 10, AuditOverflowPolicy.BLOCK);
+
+        pipeline.submit(event(1));
+        pipeline.submit(event(2));
+        pipeline.submit(event(3));
+
+        assertThat(counter("audit.events.dropped", "reason", "block_timeout")).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("audit.producer.blocked").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SPILL_TO_DISK: excedente vai para o arquivo e é reenviado quando o buffer esvazia")
+    void spillToDiskReplaysEvents() throws Exception {
+        pipeline(2, 2, 10, AuditOverflowPolicy.SPILL_TO_DISK);
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(event(i));
+        }
+        assertThat(counter("audit.events.spilled")).isEqualTo(3.0);
+        assertThat(Files.readAllLines(tempDir.resolve("spill.jsonl"))).hasSize(3);
+
+        pipeline.start();
+        await(() -> recorder.events().size() == 5);
+        assertThat(recorder.events()).extracting(AuditEvent::getAction)
+            .containsExactlyInAnyOrder("ACTION_0", "ACTION_1", "ACTION_2", "ACTION_3", "ACTION_4");
+        assertThat(meterRegistry.get("audit.spill.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Falha de um publisher não impede a entrega aos demais; sink de arquivo grava JSON por linha")
+    void failingPublisherDoesNotAffectOthers() throws Exception {
+        Path file = tempDir.resolve("audit-events.jsonl");
+        AuditEventPublisher failing = new AuditEventPublisher() {
+            @Override
+            public void publish(AuditEvent event) {
+                throw new IllegalStateException("sink down");
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+        FileAuditEventPublisher fileSink = new FileAuditEventPublisher(file.toString(), objectMapper);
+        pipeline(16, 3, 20, AuditOverflowPolicy.DROP_OLDEST, failing, fileSink).start();
+
+        for (int i = 0; i < 3; i++) {
+            pipeline.submit(event(i));
+        }
+
+        await(() -> recorder.events().size() == 3);
+        pipeline.stop();
+        pipeline = null;
+        fileSink.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines.get(0), AuditEvent.class).getAction()).isEqualTo("ACTION_0");
+        assertThat(counter("audit.publish.failures", "publisher", "failing")).isEqualTo(1.0);
+        assertThat(counter("audit.events.published", "publisher", "file")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("AuditLogger.log enfileira no pipeline instalado em vez de escrever na thread da request")
+    void auditLoggerSubmitsToInstalledPipeline() throws Exception {
+        pipeline(16, 1, 10, AuditOverflowPolicy.DROP_OLDEST).start();
+
+        AuditLogger.log("CUSTOMER_GET_ME", AuditLogContext.builder()
+            .username("wallet_user").customerId(70L).walletId(700L).ipAddress("127.0.0.1").info("customerId=70")
+            .build());
+
+        await(() -> recorder.events().size() == 1);
+        AuditEvent event = recorder.events().get(0);
+        assertThat(event.getAction()).isEqualTo("CUSTOMER_GET_ME");
+        assertThat(event.getCustomerId()).isEqualTo(70L);
+        assertThat(event.getInfo()).isEqualTo("customerId=70");
+        assertThat(event.getTimestamp()).isNotNull();
+    }
+
+    private static class RecordingPublisher implements AuditEventPublisher {
+
+        private final List<AuditEvent> events = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void publish(AuditEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void publishBatch(List<AuditEvent> batch) {
+            batchSizes.add(batch.size());
+            events.addAll(batch);
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        List<AuditEvent> events() {
+            return List.copyOf(events);
+        }
+
+        List<Integer> batchSizes() {
+            return List.copyOf(batchSizes);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.guga.walletserviceapi.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.guga.walletserviceapi.config.SecurityMatchers;
+import com.guga.walletserviceapi.model.LoginAuth;
+import com.guga.walletserviceapi.model.enums.LoginAuthType;
+import com.guga.walletserviceapi.model.enums.LoginRole;
+import com.guga.walletserviceapi.security.filter.JwtAuthenticationFilter;
+import com.guga.walletserviceapi.security.filter.RouteClassifier;
+import com.guga.walletserviceapi.security.jwt.JwtClaimsView;
+import com.guga.walletserviceapi.security.jwt.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JwtAuthenticationFilter por request autenticada, antes e depois do parseAndVerify.
+ *
+ *   legacyParsePerClaim  - validateToken + 6 extract*: 7 parsers montados e 7 verificações HMAC
+ *   parseOnceNoCache     - parser pré-montado, uma verificação por request (cache desativado)
+ *   parseOnceCached      - token já verificado servido do cache por hash
+ *
+ * Execução: mvn -B test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "mock.jwt_token.profile_test.859jg89045j9045i";
+    private static final String URI = "/wallet-service-api/api/v1/transactions/me";
+
+    private JwtAuthenticationFilter legacyFilter;
+    private JwtAuthenticationFilter noCacheFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        LoginAuth loginAuth = LoginAuth.builder()
+            .id(7L).login("wallet_user").customerId(70L).walletId(700L)
+            .loginAuthType(LoginAuthType.USER_NAME)
+            .role(List.of(LoginRole.USER))
+            .build();
+
+        JwtService cached = jwtService(new JwtService(), 10_000L);
+        bearer = "Bearer " + cached.generateAccessToken(loginAuth);
+
+        legacyFilter = filter(jwtService(new LegacyJwtService(), 0L));
+        noCacheFilter = filter(jwtService(new JwtService(), 0L));
+        cachedFilter = filter(cached);
+    }
+
+    @Benchmark
+    public void legacyParsePerClaim(Blackhole bh) throws Exception {
+        run(legacyFilter, bh);
+    }
+
+    @Benchmark
+    public void parseOnceNoCache(Blackhole bh) throws Exception {
+        run(noCacheFilter, bh);
+    }
+
+    @Benchmark
+    public void parseOnceCached(Blackhole bh) throws Exception {
+        run(cachedFilter, bh);
+    }
+
+    private void run(JwtAuthenticationFilter filter, Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static JwtService jwtService(JwtService service, long cacheSize) {
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", cacheSize);
+        service.init();
+        return service;
+    }
+
+    private static JwtAuthenticationFilter filter(JwtService jwtService) {
+        SecurityMatchers matchers = new SecurityMatchers();
+        matchers.setPublicPaths(new String[] { "/auth/login", "/auth/refresh" });
+        matchers.setDocumentation(new String[] { "/swagger-ui/**", "/v3/api-docs/**" });
+
+        RouteClassifier routeClassifier = new RouteClassifier(matchers, "/wallet-service-api", "/api/v1", 10_000L);
+        return new JwtAuthenticationFilter(jwtService, null, routeClassifier);
+    }
+
+    /**
+     * Reproduz o custo do filtro anterior: validateToken e cada extract* montavam o próprio parser
+     * e verificavam o token de novo (7 vezes por request).
+     */
+    static class LegacyJwtService extends JwtService {
+
+        private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        @Override
+        public Optional<JwtClaimsView> parseAndVerify(String token) {
+            parse(token); // validateToken
+            List<?> roles = parse(token).get("roles", List.class);
+            Long loginId = parse(token).get("loginId", Long.class);
+            String login = parse(token).getSubject();
+            Long customerId = parse(token).get("customerId", Long.class);
+            Long walletId = parse(token).get("walletId", Long.class);
+            String loginType = parse(token).get("loginAuthType", String.class);
+            return Optional.of(new JwtClaimsView(login, loginId, customerId, walletId, loginType,
+                roles.stream().map(String::valueOf).toList(), null));
+        }
+
+        private Claims parse(String token) {
+            return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JwtFilterBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.guga.walletserviceapi.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.AntPathMatcher;
+
+import com.guga.walletserviceapi.config.SecurityMatchers;
+import com.guga.walletserviceapi.security.filter.RouteClassifier;
+import com.guga.walletserviceapi.security.mock.SecurityMatchersTestUtils;
+
+/**
+ * shouldSkipJwt sobre URIs derivadas de todos os padrões do security-matchers.yml.
+ *
+ *   antPathMatcherStream - implementação anterior: replace dos prefixos + stream de AntPathMatcher.match por request
+ *   trieNoCache          - trie compilada, sem cache por URI
+ *   trieCached           - trie compilada com cache por URI (caminho quente)
+ *
+ * Cada operação classifica todas as URIs de amostra. Execução: rodar o main com o classpath de teste.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteClassifierBenchmark {
+
+    private static final String CONTEXT_PATH = "/wallet-service-api";
+    private static final String SERVLET_PATH = "/api/v1";
+
+    private SecurityMatchers matchers;
+    private String[] uris;
+    private RouteClassifier noCache;
+    private RouteClassifier cached;
+
+    @Setup
+    public void setUp() {
+        matchers = SecurityMatchersTestUtils.fromClasspath();
+        List<String> paths = SecurityMatchersTestUtils.samplePaths(matchers);
+        // cada caminho também como chegaria do container, com context-path e api-prefix
+        uris = paths.stream()
+            .flatMap(path -> Stream.of(path, CONTEXT_PATH + path, CONTEXT_PATH + SERVLET_PATH + path))
+            .toArray(String[]::new);
+
+        noCache = new RouteClassifier(matchers, CONTEXT_PATH, SERVLET_PATH, 0L);
+        cached = new RouteClassifier(matchers, CONTEXT_PATH, SERVLET_PATH, 10_000L);
+    }
+
+    @Benchmark
+    public void antPathMatcherStream(Blackhole bh) {
+        for (String uri : uris) {
+            bh.consume(legacyShouldSkipJwt(uri));
+        }
+    }
+
+    @Benchmark
+    public void trieNoCache(Blackhole bh) {
+        for (String uri : uris) {
+            bh.consume(noCache.classify(uri).skipsJwt());
+        }
+    }
+
+    @Benchmark
+    public void trieCached(Blackhole bh) {
+        for (String uri : uris) {
+            bh.consume(cached.classify(uri).skipsJwt());
+        }
+    }
+
+    /** Cópia do shouldSkipJwt anterior ao RouteClassifier. */
+    private boolean legacyShouldSkipJwt(String requestUri) {
+        String path = requestUri
+            .replace(CONTEXT_PATH, "")
+            .replace(SERVLET_PATH, "");
+
+        if (path.startsWith("/actuator/prometheus")) {
+            return true;
+        }
+
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        String[] all = Stream.of(matchers.getPublicPaths(), matchers.getDocumentation(),
+                matchers.getSecured(), matchers.getAdmin())
+            .flatMap(Arrays::stream)
+            .toArray(String[]::new);
+        return Arrays.stream(all).anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RouteClassifierBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
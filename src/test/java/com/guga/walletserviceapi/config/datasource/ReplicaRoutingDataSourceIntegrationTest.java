@@ -0,0 +1,140 @@
+package com.guga.walletserviceapi.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Primário e réplica em dois bancos H2; tb_replica_probe tem conteúdo diferente em cada um e a coluna lag_ms
+ * da réplica alimenta a medição de atraso (app.datasource.replicas.lag-query).
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    "spring.datasource.url=" + ReplicaRoutingDataSourceIntegrationTest.PRIMARY_URL,
+    "app.datasource.replicas.enabled=true",
+    "app.datasource.replicas.nodes[0].url=" + ReplicaRoutingDataSourceIntegrationTest.REPLICA_URL,
+    "app.datasource.replicas.lag-query=SELECT lag_ms FROM tb_replica_probe",
+    "app.datasource.replicas.max-lag-ms=1000",
+    "app.datasource.replicas.read-your-writes-ms=400",
+    // medição só pelo teste
+    "app.datasource.replicas.lag-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:wallet_rw_primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    static final String REPLICA_URL = "jdbc:h2:mem:wallet_rw_replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void createProbe() {
+        // fora de transação o JdbcTemplate da aplicação usa o primário
+        for (JdbcTemplate jdbc : List.of(jdbcTemplate, replicaJdbc)) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS tb_replica_probe (node VARCHAR(20), lag_ms BIGINT)");
+            jdbc.execute("DELETE FROM tb_replica_probe");
+        }
+        jdbcTemplate.update("INSERT INTO tb_replica_probe VALUES ('primary', 0)");
+        replicaJdbc.update("INSERT INTO tb_replica_probe VALUES ('replica', 0)");
+        replicaRoutingDataSource.refreshLag();
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String nodeOf(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT node FROM tb_replica_probe", String.class));
+    }
+
+    private void loginAs(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Transação readOnly lê da réplica; escrita e leitura sem readOnly usam o primário")
+    void routesByTransactionReadOnlyFlag() {
+        assertThat(nodeOf(true)).isEqualTo("replica");
+        assertThat(nodeOf(false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Réplica acima de max-lag-ms sai do rodízio e volta quando alcança o primário")
+    void fallsBackToPrimaryWhenReplicaLags() {
+        replicaJdbc.update("UPDATE tb_replica_probe SET lag_ms = 5000");
+        replicaRoutingDataSource.refreshLag();
+
+        assertThat(replicaRoutingDataSource.lagOf(0)).isEqualTo(5000);
+        assertThat(nodeOf(true)).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE tb_replica_probe SET lag_ms = 0");
+        replicaRoutingDataSource.refreshLag();
+
+        assertThat(nodeOf(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Após escrita própria o usuário lê do primário durante read-your-writes-ms; os demais seguem na réplica")
+    void readYourWritesWindow() throws InterruptedException {
+        loginAs("alice");
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        write.executeWithoutResult(status -> jdbcTemplate.update("UPDATE tb_replica_probe SET lag_ms = 0"));
+
+        assertThat(nodeOf(true)).isEqualTo("primary");
+
+        loginAs("bob");
+        assertThat(nodeOf(true)).isEqualTo("replica");
+
+        Thread.sleep(600);
+        loginAs("alice");
+        assertThat(nodeOf(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("getConnection(username, password) segue o mesmo roteamento, com as credenciais informadas")
+    void routesConnectionWithCredentials() throws SQLException {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLagMs(1000);
+        properties.setLagQuery("SELECT lag_ms FROM tb_replica_probe");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(new DriverManagerDataSource(PRIMARY_URL, "sa", ""),
+            List.of(new DriverManagerDataSource(REPLICA_URL, "sa", "")), new ReadYourWritesTracker(400), properties);
+        routing.afterPropertiesSet();
+
+        assertThat(nodeOf(routing)).isEqualTo("replica");
+
+        replicaJdbc.update("UPDATE tb_replica_probe SET lag_ms = 5000");
+        routing.refreshLag();
+        assertThat(nodeOf(routing)).isEqualTo("primary");
+    }
+
+    private static String nodeOf(ReplicaRoutingDataSource routing) throws SQLException {
+        try (Connection connection = routing.getConnection("sa", "");
+             var rs = connection.createStatement().executeQuery("SELECT node FROM tb_replica_probe")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -8,11 +8,16 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -20,12 +25,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpMethod;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.guga.walletserviceapi.dto.transaction.TransactionCursor;
 import com.guga.walletserviceapi.dto.transaction.TransactionMapper;
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO;
 import com.guga.walletserviceapi.exception.ResourceBadRequestException;
 import com.guga.walletserviceapi.helpers.FileUtils;
 import com.guga.walletserviceapi.logging.LogMarkers;
@@ -38,7 +48,11 @@ import com.guga.walletserviceapi.model.Routers;
 import com.guga.walletserviceapi.model.Transaction;
 import com.guga.walletserviceapi.model.Wallet;
 import com.guga.walletserviceapi.model.enums.LoginRole;
+import com.guga.walletserviceapi.model.enums.OperationType;
 import com.guga.walletserviceapi.service.TransactionService;
+import com.guga.walletserviceapi.service.idempotency.IdempotencyService;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryRebuilder;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryService;
 
 @WebMvcTest(controllers = TransactionController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -48,6 +62,22 @@ class TransactionControllerTests extends BaseControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private WalletDailySummaryService walletDailySummaryService;
+
+    @MockitoBean
+    private WalletDailySummaryRebuilder walletDailySummaryRebuilder;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    // sem a tabela de chaves no slice web: executa a operação direto
+    @BeforeEach
+    void executeWithoutIdempotencyStore() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+    }
+
 // =========================================================
     // CONTEXTO DE USUÁRIO (Endereços /me)
     // =========================================================
@@ -112,6 +142,43 @@ class TransactionControllerTests extends BaseControllerTest {
             performRequest(HttpMethod.GET, Routers.TRANSACTIONS + "/me/deposits", null, null)
                 .andExpect(status().isOk());
         }
+
+        @Test
+        @DisplayName("Histórico por cursor deve devolver itens e o cursor da próxima página")
+        void listMyHistory_ok() throws Exception {
+            LoginAuth auth = setupMockAuth(List.of(LoginRole.USER));
+
+            Transaction transactionMock = transactions.get(0);
+            Pageable pageable = PageRequest.ofSize(1);
+            when(transactionService.listTransactionsAfter(eq(auth.getWalletId()), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(transactionMock), pageable, true));
+
+            performRequest(HttpMethod.GET, Routers.TRANSACTIONS + "/me/history", null, params("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(TransactionCursor.of(transactionMock).encode()));
+        }
+
+        @Test
+        @DisplayName("Deve devolver o resumo do período da própria wallet")
+        void getMyStatementSummary_ok() throws Exception {
+            LoginAuth auth = setupMockAuth(List.of(LoginRole.USER));
+            LocalDate day = LocalDate.now();
+
+            WalletStatementSummaryDTO.OperationTotal deposits = new WalletStatementSummaryDTO.OperationTotal(2, new BigDecimal("80.00"));
+            WalletStatementSummaryDTO summary = new WalletStatementSummaryDTO(auth.getWalletId(), day, day,
+                new BigDecimal("100.00"), new BigDecimal("180.00"), Map.of(OperationType.DEPOSIT, deposits),
+                List.of(new WalletStatementSummaryDTO.Day(day, new BigDecimal("100.00"), new BigDecimal("180.00"),
+                    Map.of(OperationType.DEPOSIT, deposits))));
+            when(walletDailySummaryService.summarize(eq(auth.getWalletId()), eq(day), any())).thenReturn(summary);
+
+            performRequest(HttpMethod.GET, Routers.TRANSACTIONS + "/me/summary", null, params("startDate", day.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.closingBalance").value(180.00))
+                .andExpect(jsonPath("$.totals.DEPOSIT.count").value(2))
+                .andExpect(jsonPath("$.days", hasSize(1)));
+        }
     }
 
     // =========================================================
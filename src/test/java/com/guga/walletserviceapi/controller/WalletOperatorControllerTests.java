@@ -39,6 +39,7 @@ import com.guga.walletserviceapi.service.DepositSenderService;
 import com.guga.walletserviceapi.service.MovementTransactionService;
 import com.guga.walletserviceapi.service.TransactionService;
 import com.guga.walletserviceapi.service.WalletService;
+import com.guga.walletserviceapi.service.common.BulkImportEngine;
 
 @WebMvcTest(WalletOperatorController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -59,6 +60,9 @@ class WalletOperatorControllerTests extends BaseControllerTest {
 
     @MockitoBean
     private MovementTransactionService movementTransactionService;
+
+    @MockitoBean
+    private BulkImportEngine bulkImportEngine;
     
     // =========================================================
     // CONTEXTO DE OPERAÇÕES DA WALLET
@@ -0,0 +1,81 @@
+package com.guga.walletserviceapi.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import com.guga.walletserviceapi.config.SecurityMatchers;
+import com.guga.walletserviceapi.security.filter.RouteClassifier.RouteAccess;
+import com.guga.walletserviceapi.security.mock.SecurityMatchersTestUtils;
+
+class RouteClassifierTest {
+
+    private final SecurityMatchers matchers = SecurityMatchersTestUtils.fromClasspath();
+    private final RouteClassifier classifier = new RouteClassifier(matchers, "/wallet-service-api", "/api/v1", 100);
+
+    /** Mesma ordem do SecurityConfig, avaliada padrão a padrão com AntPathMatcher. */
+    private RouteAccess antPathClassify(String path) {
+        if (path.startsWith("/actuator/prometheus")) {
+            return RouteAccess.INFRA;
+        }
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        List<String[]> groups = List.of(matchers.getPublicPaths(), matchers.getDocumentation(),
+            matchers.getSecured(), matchers.getAdmin());
+        List<RouteAccess> accesses = List.of(RouteAccess.PUBLIC, RouteAccess.DOCUMENTATION,
+            RouteAccess.SECURED, RouteAccess.ADMIN);
+        for (int i = 0; i < groups.size(); i++) {
+            for (String pattern : groups.get(i)) {
+                if (pathMatcher.match(pattern, path)) {
+                    return accesses.get(i);
+                }
+            }
+        }
+        return RouteAccess.UNMATCHED;
+    }
+
+    @Test
+    @DisplayName("Trie compilada deve classificar igual ao AntPathMatcher para todos os padrões configurados")
+    void classifiesLikeAntPathMatcher() {
+        for (String path : SecurityMatchersTestUtils.samplePaths(matchers)) {
+            assertThat(classifier.classifyPath(path))
+                .as("path=%s", path)
+                .isEqualTo(antPathClassify(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Prioridade segue o SecurityConfig: public vence secured no mesmo caminho")
+    void publicWinsOverSecured() {
+        assertThat(classifier.classifyPath("/api/v1/auth/my_profile")).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(classifier.classifyPath("/api/v1/params-app/10")).isEqualTo(RouteAccess.ADMIN);
+        assertThat(classifier.classifyPath("/api/v1/wallets/10")).isEqualTo(RouteAccess.SECURED);
+        assertThat(classifier.classifyPath("/h2-console")).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(classifier.classifyPath("/swagger-ui.html/")).isEqualTo(RouteAccess.UNMATCHED);
+    }
+
+    @Test
+    @DisplayName("URI completa: remove context-path e api-prefix antes de classificar")
+    void classifiesRequestUri() {
+        assertThat(classifier.classify("/wallet-service-api/actuator/health")).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("/wallet-service-api/swagger-ui/index.html").skipsJwt()).isTrue();
+        assertThat(classifier.classify("/wallet-service-api/actuator/prometheus").skipsJwt()).isTrue();
+        assertThat(classifier.classify("/wallet-service-api/api/v1/transactions/me").skipsJwt()).isFalse();
+        // segunda chamada é servida pelo cache por URI
+        assertThat(classifier.classify("/wallet-service-api/api/v1/transactions/me")).isEqualTo(RouteAccess.UNMATCHED);
+    }
+
+    @Test
+    @DisplayName("Rotas secured/admin não dispensam o JWT mesmo quando casam com o padrão")
+    void securedAndAdminDoNotSkipJwt() {
+        RouteClassifier withoutPrefix = new RouteClassifier(matchers, "", "", 100);
+
+        assertThat(withoutPrefix.classify("/api/v1/customers/me")).isEqualTo(RouteAccess.SECURED);
+        assertThat(withoutPrefix.classify("/api/v1/customers/me").skipsJwt()).isFalse();
+        assertThat(withoutPrefix.classify("/api/v1/params-app/1").skipsJwt()).isFalse();
+        assertThat(withoutPrefix.classify("/api/v1/auth/login").skipsJwt()).isTrue();
+    }
+}
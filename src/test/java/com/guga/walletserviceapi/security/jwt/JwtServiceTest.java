@@ -0,0 +1,94 @@
+package com.guga.walletserviceapi.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.guga.walletserviceapi.model.LoginAuth;
+import com.guga.walletserviceapi.model.enums.LoginAuthType;
+import com.guga.walletserviceapi.model.enums.LoginRole;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "mock.jwt_token.profile_test.859jg89045j9045i";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", 100L);
+        jwtService.init();
+    }
+
+    private LoginAuth loginAuth() {
+        return LoginAuth.builder()
+            .id(7L)
+            .login("wallet_user")
+            .customerId(70L)
+            .walletId(700L)
+            .loginAuthType(LoginAuthType.USER_NAME)
+            .role(List.of(LoginRole.USER, LoginRole.ADMIN))
+            .build();
+    }
+
+    @Test
+    @DisplayName("parseAndVerify deve devolver todas as claims do access token numa única verificação")
+    void parseAndVerifyReturnsClaimsView() {
+        String token = jwtService.generateAccessToken(loginAuth());
+
+        JwtClaimsView claims = jwtService.parseAndVerify(token).orElseThrow();
+
+        assertThat(claims.login()).isEqualTo("wallet_user");
+        assertThat(claims.loginId()).isEqualTo(7L);
+        assertThat(claims.customerId()).isEqualTo(70L);
+        assertThat(claims.walletId()).isEqualTo(700L);
+        assertThat(claims.loginType()).isEqualTo(jwtService.extractLoginType(token));
+        assertThat(claims.roles()).containsExactly("USER", "ADMIN");
+        assertThat(claims.expiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Token já verificado deve ser servido do cache")
+    void verifiedTokenIsCached() {
+        String token = jwtService.generateAccessToken(loginAuth());
+
+        JwtClaimsView first = jwtService.parseAndVerify(token).orElseThrow();
+        JwtClaimsView second = jwtService.parseAndVerify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Token adulterado, expirado ou vazio não deve ser aceito")
+    void invalidTokensAreRejected() {
+        String token = jwtService.generateAccessToken(loginAuth());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        String expired = Jwts.builder()
+            .subject("wallet_user")
+            .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+            .expiration(new Date(System.currentTimeMillis() - 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+            .compact();
+
+        assertThat(jwtService.parseAndVerify(tampered)).isEqualTo(Optional.empty());
+        assertThat(jwtService.parseAndVerify(expired)).isEmpty();
+        assertThat(jwtService.parseAndVerify("")).isEmpty();
+        assertThat(jwtService.validateToken(tampered)).isFalse();
+        assertThat(jwtService.validateToken(token)).isTrue();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.guga.walletserviceapi.security.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.guga.walletserviceapi.config.SecurityMatchers;
+
+public class SecurityMatchersTestUtils {
+
+    /** SecurityMatchers com os padrões reais do security-matchers.yml. */
+    public static SecurityMatchers fromClasspath() {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("security-matchers", new ClassPathResource("security-matchers.yml"));
+            return new Binder(ConfigurationPropertySources.from(sources))
+                .bind("security.access-levels", SecurityMatchers.class)
+                .get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<String> allPatterns(SecurityMatchers matchers) {
+        List<String> patterns = new ArrayList<>();
+        for (String[] group : List.of(matchers.getPublicPaths(), matchers.getDocumentation(),
+                matchers.getSecured(), matchers.getAdmin())) {
+            if (group != null) {
+                patterns.addAll(List.of(group));
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Caminhos derivados de cada padrão configurado (o próprio, filhos, barra final) e alguns fora deles.
+     */
+    public static List<String> samplePaths(SecurityMatchers matchers) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String pattern : allPatterns(matchers)) {
+            String base = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+            paths.add(base);
+            paths.add(base + "/");
+            paths.add(base + "/x");
+            paths.add(base + "/x/y");
+            paths.add(base + "x");
+        }
+        paths.addAll(List.of("", "/", "//", "/transactions/me", "/wallets/10", "/auth/login",
+            "/actuator/prometheus", "/actuator/prometheusx", "/customers/me/", "/unknown/route"));
+        return new ArrayList<>(paths);
+    }
+}
@@ -0,0 +1,106 @@
+package com.guga.walletserviceapi.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.guga.walletserviceapi.helpers.TransactionUtilsMock;
+import com.guga.walletserviceapi.model.Customer;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.repository.CustomerRepository;
+import com.guga.walletserviceapi.repository.MovementTransferRepository;
+import com.guga.walletserviceapi.repository.ParamAppRepository;
+import com.guga.walletserviceapi.repository.TransactionRepository;
+import com.guga.walletserviceapi.repository.WalletRepository;
+import com.guga.walletserviceapi.security.JwtAuthenticationDetails;
+
+/**
+ * Base dos testes de integração de transações sobre o H2 de testes (sem mocks de repositório).
+ * Garante os parâmetros de sequência, um customer ativo e duas wallets com saldo 100.00.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // banco próprio: o wallet_db em memória é compartilhado (e recriado) pelos outros contextos de teste
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+abstract class AbstractTransactionIntegrationTest {
+
+    protected static final long CUSTOMER_ID = 9_900_001L;
+    protected static final long WALLET_ID = 9_900_001L;
+    protected static final long WALLET_ID_TO = 9_900_002L;
+
+    @Autowired protected TransactionService transactionService;
+    @Autowired protected WalletRepository walletRepository;
+    @Autowired protected CustomerRepository customerRepository;
+    @Autowired protected ParamAppRepository paramAppRepository;
+    @Autowired protected TransactionRepository transactionRepository;
+    @Autowired protected MovementTransferRepository movementTransferRepository;
+
+    @BeforeEach
+    void setUp() {
+        TransactionUtilsMock mock = new TransactionUtilsMock();
+        for (ParamApp param : mock.createParamsAppMock()) {
+            if (paramAppRepository.findByName(param.getName()).isEmpty()) {
+                paramAppRepository.save(param);
+            }
+        }
+        if (paramAppRepository.findByName(ParamApp.SEQ_MOVEMENT_TRN_ID).isEmpty()) {
+            paramAppRepository.save(ParamApp.newParam(ParamApp.SEQ_MOVEMENT_TRN_ID, "Id Sequencial de Movement.Id", 0L));
+        }
+
+        if (!customerRepository.existsById(CUSTOMER_ID)) {
+            Customer customer = mock.createCustomerMock(CUSTOMER_ID);
+            customer.setStatus(Status.ACTIVE);
+            customerRepository.save(customer);
+        }
+
+        resetWallet(WALLET_ID);
+        resetWallet(WALLET_ID_TO);
+
+        JwtAuthenticationDetails details = JwtAuthenticationDetails.builder()
+            .loginId(1L).login("it-user").customerId(CUSTOMER_ID).walletId(WALLET_ID).roles(List.of()).build();
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(details, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // não remove: transações de execuções anteriores referenciam a wallet
+    private void resetWallet(long walletId) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal("100.00"));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    protected BigDecimal balance() {
+        return balance(WALLET_ID);
+    }
+
+    protected BigDecimal balance(long walletId) {
+        return walletRepository.findById(walletId).orElseThrow().getCurrentBalance();
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.guga.walletserviceapi.config.CacheConfig;
+import com.guga.walletserviceapi.model.Customer;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.Status;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches de ParamApp, Customer e metadados de Wallet: leitura, invalidação nas atualizações e métricas.
+ */
+class CacheIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ParamAppService paramAppService;
+    @Autowired private CustomerService customerService;
+    @Autowired private WalletService walletService;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("Limite de depósito deve vir do cache até updateByName invalidar a entrada")
+    void paramLimitIsCachedUntilUpdateByName() {
+        BigDecimal original = paramAppService.getMinAmountToDeposit();
+        assertThat(cache(CacheConfig.PARAMS_APP).get(ParamApp.LIMIT_MIN_TO_DEPOSIT)).isNotNull();
+
+        ParamApp param = paramAppRepository.findByName(ParamApp.LIMIT_MIN_TO_DEPOSIT).orElseThrow();
+        BigDecimal changed = original.add(BigDecimal.ONE);
+        param.setValueBigDecimal(changed);
+        paramAppRepository.save(param);
+        try {
+            // alteração por fora do serviço: continua servindo o valor em cache
+            assertThat(paramAppService.getMinAmountToDeposit()).isEqualByComparingTo(original);
+
+            paramAppService.updateByName(ParamApp.LIMIT_MIN_TO_DEPOSIT, param);
+
+            assertThat(cache(CacheConfig.PARAMS_APP).get(ParamApp.LIMIT_MIN_TO_DEPOSIT)).isNull();
+            assertThat(paramAppService.getMinAmountToDeposit()).isEqualByComparingTo(changed);
+        } finally {
+            param.setValueBigDecimal(original);
+            paramAppRepository.save(param);
+            cache(CacheConfig.PARAMS_APP).clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Customer em cache deve ser invalidado por updateCustomer")
+    void customerIsEvictedOnUpdate() {
+        Customer first = customerService.getCustomerById(CUSTOMER_ID);
+        assertThat(customerService.getCustomerById(CUSTOMER_ID)).isSameAs(first);
+
+        customerService.updateCustomer(CUSTOMER_ID, Customer.builder().status(Status.ACTIVE).build());
+
+        assertThat(cache(CacheConfig.CUSTOMERS).get(CUSTOMER_ID)).isNull();
+        assertThat(customerService.getCustomerById(CUSTOMER_ID)).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Metadados da wallet devem ser invalidados por updateWallet")
+    void walletMetadataIsEvictedOnUpdate() {
+        assertThat(walletService.getWalletMetadata(WALLET_ID).isActive()).isTrue();
+
+        walletService.updateWallet(WALLET_ID, Wallet.builder().status(Status.INACTIVE).build());
+        try {
+            assertThat(walletService.getWalletMetadata(WALLET_ID).status()).isEqualTo(Status.INACTIVE);
+        } finally {
+            walletService.updateWallet(WALLET_ID, Wallet.builder().status(Status.ACTIVE).build());
+        }
+        assertThat(walletService.getWalletMetadata(WALLET_ID).isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Acertos e falhas do cache devem ser exportados ao Micrometer")
+    void cacheStatisticsAreExported() {
+        paramAppService.getMinAmountToTransfer();
+        paramAppService.getMinAmountToTransfer();
+
+        FunctionCounter hits = meterRegistry.find("cache.gets")
+            .tag("cache", CacheConfig.PARAMS_APP).tag("result", "hit").functionCounter();
+        FunctionCounter misses = meterRegistry.find("cache.gets")
+            .tag("cache", CacheConfig.PARAMS_APP).tag("result", "miss").functionCounter();
+
+        assertThat(hits).isNotNull();
+        assertThat(misses).isNotNull();
+        assertThat(hits.count()).isPositive();
+        assertThat(misses.count()).isPositive();
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+}
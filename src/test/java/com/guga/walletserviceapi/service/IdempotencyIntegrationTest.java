@@ -0,0 +1,132 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.guga.walletserviceapi.dto.transaction.TransactionDepositDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionMapper;
+import com.guga.walletserviceapi.dto.transaction.TransactionResponseDTO;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.repository.IdempotencyKeyStore;
+import com.guga.walletserviceapi.service.idempotency.IdempotencyService;
+
+/**
+ * Idempotency-Key sobre o H2 de testes: repetição devolve a resposta gravada, repetições simultâneas executam
+ * a operação uma vez só e a chave não serve para outra requisição.
+ */
+class IdempotencyIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("60.00");
+
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private TransactionMapper transactionMapper;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Supplier<ResponseEntity<TransactionResponseDTO>> deposit(AtomicInteger executions) {
+        return () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(201)
+                .body(transactionMapper.toDto(transactionService.saveDepositMoney(WALLET_ID, AMOUNT, null, null, null)));
+        };
+    }
+
+    private static TransactionDepositDTO depositRequest(String amount) {
+        return new TransactionDepositDTO(new BigDecimal(amount), null, null, null);
+    }
+
+    @Test
+    @DisplayName("Repetição com a mesma chave devolve a resposta gravada sem executar de novo")
+    void retryReturnsStoredResponse() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<TransactionResponseDTO> first = idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID,
+            depositRequest("60.00"), deposit(executions));
+        ResponseEntity<TransactionResponseDTO> retry = idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID,
+            depositRequest("60.00"), deposit(executions));
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatusCode().value()).isEqualTo(201);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("160.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM tb_idempotency_key WHERE idempotency_key = ?",
+            String.class, WALLET_ID + ":" + key)).isEqualTo(IdempotencyKeyStore.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Repetições simultâneas esperam a execução em andamento e recebem a mesma resposta")
+    void concurrentDuplicatesCollapse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    start.await();
+                    try {
+                        return idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID,
+                            depositRequest("60.00"), deposit(executions)).getBody().transactionId();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+            List<Long> transactionIds = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                transactionIds.add(future.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(executions).hasValue(1);
+            assertThat(transactionIds).containsOnly(transactionIds.get(0));
+            assertThat(balance(WALLET_ID)).isEqualByComparingTo("160.00");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Chave reutilizada com outro corpo é recusada; falha na execução libera a chave")
+    void keyIsBoundToRequestAndReleasedOnFailure() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID, depositRequest("60.00"),
+                () -> { throw new ResourceBadRequestException("boom"); }))
+            .hasMessage("boom");
+
+        idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID, depositRequest("60.00"), deposit(executions));
+        assertThat(executions).hasValue(1);
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, OperationType.DEPOSIT, WALLET_ID, depositRequest("70.00"),
+                deposit(executions)))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining(IdempotencyService.HEADER);
+        assertThat(executions).hasValue(1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchItemDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionBatchResultDTO;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.BatchAtomicity;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+/**
+ * Lote de operações numa única transação: PER_ITEM grava só os itens aceitos, ALL_OR_NOTHING desfaz tudo no
+ * primeiro item recusado e os saldos gravados em cada transação encadeiam na ordem do pedido.
+ */
+class TransactionBatchIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final long BATCH_WALLET_ID = 9_900_401L;
+    private static final long BATCH_WALLET_ID_TO = 9_900_402L;
+
+    @BeforeEach
+    void resetBatchWallets() {
+        putWallet(BATCH_WALLET_ID);
+        putWallet(BATCH_WALLET_ID_TO);
+    }
+
+    private void putWallet(long walletId) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal("100.00"));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    private static TransactionBatchItemDTO deposit(String amount) {
+        return new TransactionBatchItemDTO(OperationType.DEPOSIT, new BigDecimal(amount), null, null, null, null);
+    }
+
+    private static TransactionBatchItemDTO withdraw(String amount) {
+        return new TransactionBatchItemDTO(OperationType.WITHDRAW, new BigDecimal(amount), null, null, null, null);
+    }
+
+    private static TransactionBatchItemDTO transfer(String amount, Long walletIdReceived) {
+        return new TransactionBatchItemDTO(OperationType.TRANSFER_SEND, new BigDecimal(amount), walletIdReceived,
+            null, null, null);
+    }
+
+    @Test
+    @DisplayName("PER_ITEM: grava os itens aceitos e informa o motivo de cada recusa")
+    void perItemAppliesAcceptedItems() {
+        TransactionBatchResultDTO result = transactionService.saveBatch(BATCH_WALLET_ID, BatchAtomicity.PER_ITEM, List.of(
+            deposit("60.00"),
+            withdraw("500.00"),
+            transfer("60.00", BATCH_WALLET_ID_TO),
+            deposit("10.00"),
+            transfer("60.00", BATCH_WALLET_ID)));
+
+        assertThat(result.committed()).isTrue();
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.items()).extracting(TransactionBatchResultDTO.Item::status).containsExactly(
+            StatusTransaction.SUCCESS,
+            StatusTransaction.INSUFFICIENT_BALANCE,
+            StatusTransaction.SUCCESS,
+            StatusTransaction.AMOUNT_DEPOSIT_INSUFFICIENT,
+            StatusTransaction.SAME_WALLET);
+        assertThat(result.items().get(1).transactionId()).isNull();
+        assertThat(result.items().get(2).currentBalance()).isEqualByComparingTo("100.00");
+
+        assertThat(balance(BATCH_WALLET_ID)).isEqualByComparingTo("100.00");
+        assertThat(balance(BATCH_WALLET_ID_TO)).isEqualByComparingTo("160.00");
+        assertThat(transactionRepository.findById(result.items().get(0).transactionId())).isPresent();
+        assertThat(transactionRepository.findById(result.items().get(2).transactionId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("ALL_OR_NOTHING: um item recusado desfaz o lote inteiro")
+    void allOrNothingRollsBackOnRejection() {
+        TransactionBatchResultDTO result = transactionService.saveBatch(BATCH_WALLET_ID, BatchAtomicity.ALL_OR_NOTHING,
+            List.of(deposit("60.00"), transfer("60.00", BATCH_WALLET_ID_TO), withdraw("500.00")));
+
+        assertThat(result.committed()).isFalse();
+        assertThat(result.succeeded()).isZero();
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.items()).allSatisfy(item -> {
+            assertThat(item.applied()).isFalse();
+            assertThat(item.transactionId()).isNull();
+        });
+        assertThat(result.items().get(2).status()).isEqualTo(StatusTransaction.INSUFFICIENT_BALANCE);
+
+        assertThat(balance(BATCH_WALLET_ID)).isEqualByComparingTo("100.00");
+        assertThat(balance(BATCH_WALLET_ID_TO)).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("ALL_OR_NOTHING: saldos anterior/atual encadeiam na ordem do pedido")
+    void allOrNothingChainsBalances() {
+        List<TransactionBatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(deposit("60.00"));
+            items.add(i % 2 == 0 ? withdraw("20.00") : transfer("50.00", BATCH_WALLET_ID_TO));
+        }
+
+        TransactionBatchResultDTO result = transactionService.saveBatch(BATCH_WALLET_ID, BatchAtomicity.ALL_OR_NOTHING, items);
+
+        // 100 + 50*60 - 25*20 - 25*50
+        assertThat(result.committed()).isTrue();
+        assertThat(result.succeeded()).isEqualTo(100);
+        assertThat(balance(BATCH_WALLET_ID)).isEqualByComparingTo("1350.00");
+        assertThat(balance(BATCH_WALLET_ID_TO)).isEqualByComparingTo("1350.00");
+
+        BigDecimal expectedPrevious = new BigDecimal("100.00");
+        for (TransactionBatchResultDTO.Item item : result.items()) {
+            Transaction transaction = transactionRepository.findById(item.transactionId()).orElseThrow();
+            assertThat(transaction.getWalletId()).isEqualTo(BATCH_WALLET_ID);
+            assertThat(transaction.getPreviousBalance()).isEqualByComparingTo(expectedPrevious);
+            assertThat(transaction.getCurrentBalance()).isEqualByComparingTo(item.currentBalance());
+            expectedPrevious = transaction.getCurrentBalance();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.Status;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Group commit (app.transaction.group-commit) num contexto próprio: depósitos e saques concorrentes dividem
+ * commits, uma recusa volta só ao próprio savepoint e o benchmark compara commits/s com o caminho atual.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // banco próprio: este contexto liga o group commit e não pode dividir as wallets com os demais
+    "spring.datasource.url=jdbc:h2:mem:wallet_group_commit_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "app.transaction.group-commit.enabled=true",
+    "app.transaction.group-commit.window-micros=2000"
+})
+class TransactionGroupCommitIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionGroupCommitIntegrationTest.class);
+
+    private static final long FIRST_WALLET_ID = 9_900_601L;
+    private static final int WALLETS = 16;
+    private static final BigDecimal AMOUNT = new BigDecimal("60.00");
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void resetGroupWallets() {
+        for (int i = 0; i < WALLETS; i++) {
+            putWallet(FIRST_WALLET_ID + i);
+        }
+    }
+
+    private void putWallet(long walletId) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal("100.00"));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    private interface Operation {
+        void run(int thread, int index);
+    }
+
+    /** Executa operations por thread, todas liberadas juntas; devolve o tempo total em nanos. */
+    private long runConcurrently(int threads, int operationsPerThread, Operation operation) throws Exception {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        operation.run(thread, i);
+                    }
+                    SecurityContextHolder.clearContext();
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long groupCommits() {
+        DistributionSummary summary = meterRegistry.find("wallet.transaction.group.size").summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    @Test
+    @DisplayName("Depósitos concorrentes em wallets diferentes dividem commits e mantêm os saldos")
+    void concurrentDepositsShareCommits() throws Exception {
+        long commitsBefore = groupCommits();
+
+        runConcurrently(WALLETS, 10, (thread, index) ->
+            transactionService.saveDepositMoney(FIRST_WALLET_ID + thread, AMOUNT, null, null, null));
+
+        long commits = groupCommits() - commitsBefore;
+        assertThat(commits).isLessThan(WALLETS * 10L);
+        for (int i = 0; i < WALLETS; i++) {
+            assertThat(balance(FIRST_WALLET_ID + i)).isEqualByComparingTo("700.00");
+        }
+    }
+
+    @Test
+    @DisplayName("Saque recusado volta ao próprio savepoint sem desfazer as operações do mesmo grupo")
+    void rejectionDoesNotFailTheGroup() throws Exception {
+        List<Throwable> failures = new ArrayList<>();
+
+        runConcurrently(WALLETS, 1, (thread, index) -> {
+            if (thread == 0) {
+                try {
+                    transactionService.saveWithdrawMoney(FIRST_WALLET_ID, new BigDecimal("500.00"));
+                } catch (ResourceBadRequestException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+                return;
+            }
+            transactionService.saveWithdrawMoney(FIRST_WALLET_ID + thread, new BigDecimal("30.00"));
+        });
+
+        assertThat(failures).singleElement().satisfies(e -> assertThat(e).hasMessageContaining("INSUFFICIENT_BALANCE"));
+        assertThat(balance(FIRST_WALLET_ID)).isEqualByComparingTo("100.00");
+        for (int i = 1; i < WALLETS; i++) {
+            assertThat(balance(FIRST_WALLET_ID + i)).isEqualByComparingTo("70.00");
+        }
+    }
+
+    @Test
+    @DisplayName("Resultado devolvido depois do commit, com o login da request")
+    void returnsCommittedTransaction() {
+        DepositMoney deposit = transactionService.saveDepositMoney(FIRST_WALLET_ID, AMOUNT,
+            "52998224725", "TERM-01", "Cliente Group Commit");
+
+        Transaction stored = transactionRepository.findById(deposit.getTransactionId()).orElseThrow();
+        assertThat(stored.getCurrentBalance()).isEqualByComparingTo("160.00");
+        assertThat(stored.getLoginAuthId()).isEqualTo(1L);
+        assertThat(movementTransferRepository.findById(deposit.getMovementTransaction().getMovementId())).isPresent();
+
+        assertThatThrownBy(() -> transactionService.saveDepositMoney(FIRST_WALLET_ID, new BigDecimal("0.01"), null, null, null))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining("AMOUNT_DEPOSIT_INSUFFICIENT");
+    }
+
+    @Test
+    @DisplayName("Benchmark: commits/s e depósitos/s com e sem group commit")
+    void benchmarkAgainstDirectPath() throws Exception {
+        int threads = WALLETS;
+        int depositsPerThread = 50;
+        int deposits = threads * depositsPerThread;
+        Operation deposit = (thread, index) ->
+            transactionService.saveDepositMoney(FIRST_WALLET_ID + thread, AMOUNT, null, null, null);
+
+        // aquece o alocador de IDs e os caches nos dois caminhos
+        runConcurrently(threads, 5, deposit);
+
+        long directNanos;
+        ReflectionTestUtils.setField(transactionService, "groupCommit", false);
+        try {
+            directNanos = runConcurrently(threads, depositsPerThread, deposit);
+        } finally {
+            ReflectionTestUtils.setField(transactionService, "groupCommit", true);
+        }
+
+        long commitsBefore = groupCommits();
+        long groupedNanos = runConcurrently(threads, depositsPerThread, deposit);
+        long groupedCommits = groupCommits() - commitsBefore;
+
+        LOGGER.info("TRANSACTION_GROUP_COMMIT_BENCHMARK | path=DIRECT deposits={} commits={} elapsedMs={} commitsPerSec={} depositsPerSec={}",
+            deposits, deposits, TimeUnit.NANOSECONDS.toMillis(directNanos), perSecond(deposits, directNanos),
+            perSecond(deposits, directNanos));
+        LOGGER.info("TRANSACTION_GROUP_COMMIT_BENCHMARK | path=GROUPED deposits={} commits={} elapsedMs={} commitsPerSec={} depositsPerSec={}",
+            deposits, groupedCommits, TimeUnit.NANOSECONDS.toMillis(groupedNanos), perSecond(groupedCommits, groupedNanos),
+            perSecond(deposits, groupedNanos));
+
+        assertThat(groupedCommits).isLessThan(deposits);
+        for (int i = 0; i < WALLETS; i++) {
+            assertThat(balance(FIRST_WALLET_ID + i)).isEqualByComparingTo(
+                new BigDecimal("100.00").add(AMOUNT.multiply(BigDecimal.valueOf(5 + 2L * depositsPerThread))));
+        }
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return Math.round(count / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,163 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.guga.walletserviceapi.dto.transaction.TransactionCursor;
+import com.guga.walletserviceapi.dto.transaction.TransactionCursorPageDTO;
+import com.guga.walletserviceapi.dto.transaction.TransactionMapper;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Paginação por cursor sobre uma wallet própria, com created_at repetido (desempate por transaction_id).
+ */
+class TransactionKeysetPaginationIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final long HISTORY_WALLET_ID = 9_900_101L;
+    private static final long FIRST_TRANSACTION_ID = 990_010_000L;
+    private static final int ROWS = 23;
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final TransactionMapper mapper = new TransactionMapper();
+    private final List<Transaction> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void createHistory() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        walletRepository.save(Wallet.builder()
+            .walletId(HISTORY_WALLET_ID).customerId(CUSTOMER_ID).status(Status.ACTIVE)
+            .previousBalance(BigDecimal.ZERO).currentBalance(BigDecimal.ZERO)
+            .createdAt(now).updatedAt(now).build());
+
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = i % 2 == 0 ? new DepositMoney() : new WithdrawMoney();
+            transaction.setTransactionId(FIRST_TRANSACTION_ID + i);
+            transaction.setWalletId(HISTORY_WALLET_ID);
+            transaction.setLoginAuthId(1L);
+            transaction.setOperationType(i % 2 == 0 ? OperationType.DEPOSIT : OperationType.WITHDRAW);
+            transaction.setPreviousBalance(BigDecimal.ZERO);
+            transaction.setAmount(BigDecimal.ONE);
+            transaction.setCurrentBalance(BigDecimal.ONE);
+            transaction.setStatusTransaction(StatusTransaction.SUCCESS);
+            // grupos de 3 com o mesmo created_at
+            transaction.setCreatedAt(now.minusMinutes(i / 3));
+            inserted.add(transaction);
+        }
+        transactionRepository.saveAll(inserted);
+    }
+
+    @AfterEach
+    void removeHistory() {
+        jdbcTemplate.update("DELETE FROM tb_transaction WHERE wallet_id = ?", HISTORY_WALLET_ID);
+        jdbcTemplate.update("DELETE FROM tb_wallet WHERE wallet_id = ?", HISTORY_WALLET_ID);
+    }
+
+    private List<Long> expectedOrder(OperationType operation) {
+        return inserted.stream()
+            .filter(t -> operation == null || t.getOperationType() == operation)
+            .sorted(Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getTransactionId).reversed())
+            .map(Transaction::getTransactionId)
+            .toList();
+    }
+
+    private List<Long> walk(OperationType operation, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            TransactionCursorPageDTO page = TransactionCursorPageDTO.of(
+                transactionService.listTransactionsAfter(HISTORY_WALLET_ID, operation, after, limit), mapper::toDto);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(limit);
+            page.items().forEach(dto -> ids.add(dto.transactionId()));
+            after = page.nextCursor();
+        } while (after != null);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Percorrer pelo cursor devolve todas as linhas uma vez, na ordem (created_at, transaction_id) DESC")
+    void walksWholeHistory() {
+        assertThat(walk(null, 7)).containsExactlyElementsOf(expectedOrder(null));
+        assertThat(walk(OperationType.WITHDRAW, 4)).containsExactlyElementsOf(expectedOrder(OperationType.WITHDRAW));
+    }
+
+    @Test
+    @DisplayName("Cada página é um único SELECT, sem COUNT, mesmo no fim do histórico")
+    void pageIssuesSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<Long> expected = expectedOrder(null);
+        Transaction last = inserted.stream().filter(t -> t.getTransactionId().equals(expected.get(19))).findFirst().orElseThrow();
+
+        statistics.clear();
+        Slice<Transaction> deep = transactionService.listTransactionsAfter(
+            HISTORY_WALLET_ID, null, TransactionCursor.of(last).encode(), 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(deep.getContent()).extracting(Transaction::getTransactionId).containsExactlyElementsOf(expected.subList(20, ROWS));
+        assertThat(deep.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sem particionamento (H2) as listagens não cortam linhas antigas do histórico")
+    void keepsOldRowsWhenNotPartitioned() {
+        Transaction old = new DepositMoney();
+        old.setTransactionId(FIRST_TRANSACTION_ID + ROWS);
+        old.setWalletId(HISTORY_WALLET_ID);
+        old.setLoginAuthId(1L);
+        old.setOperationType(OperationType.DEPOSIT);
+        old.setPreviousBalance(BigDecimal.ZERO);
+        old.setAmount(BigDecimal.ONE);
+        old.setCurrentBalance(BigDecimal.ONE);
+        old.setStatusTransaction(StatusTransaction.SUCCESS);
+        old.setCreatedAt(LocalDateTime.now().minusYears(5));
+        transactionRepository.save(old);
+        List<Long> expected = new ArrayList<>(expectedOrder(null));
+        expected.add(old.getTransactionId());
+
+        assertThat(walk(null, 50)).containsExactlyElementsOf(expected);
+        assertThat(transactionService.getTransactionByWalletId(HISTORY_WALLET_ID, PageRequest.of(0, 50)).getContent())
+            .extracting(Transaction::getTransactionId)
+            .contains(old.getTransactionId())
+            .hasSize(ROWS + 1);
+    }
+
+    @Test
+    @DisplayName("Cursor inválido e limit fora da faixa são rejeitados")
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> transactionService.listTransactionsAfter(HISTORY_WALLET_ID, null, "not-a-cursor", 10))
+            .isInstanceOf(ResourceBadRequestException.class);
+        assertThatThrownBy(() -> transactionService.listTransactionsAfter(HISTORY_WALLET_ID, null, null, 151))
+            .isInstanceOf(ResourceBadRequestException.class);
+        assertThat(TransactionCursor.decode(TransactionCursor.of(inserted.get(4)).encode()))
+            .isEqualTo(TransactionCursor.of(inserted.get(4)));
+    }
+}
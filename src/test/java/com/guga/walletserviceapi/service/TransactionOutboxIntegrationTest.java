@@ -0,0 +1,195 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.service.outbox.InMemoryTransactionEventSink;
+import com.guga.walletserviceapi.service.outbox.TransactionEvent;
+import com.guga.walletserviceapi.service.outbox.TransactionOutboxEvent;
+import com.guga.walletserviceapi.service.outbox.TransactionOutboxRelay;
+
+/**
+ * Outbox com o sink em memória: eventos gravados junto com as operações, reenviados quando o sink falha e
+ * entregues em ordem por wallet mesmo com operações concorrentes. O relay só é ligado neste contexto.
+ */
+@TestPropertySource(properties = {
+    "app.outbox.enabled=true",
+    "app.outbox.sink=memory",
+    "app.outbox.partitions=4",
+    "app.outbox.poll-interval-ms=100"
+})
+class TransactionOutboxIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final long OUTBOX_WALLET_ID = 9_900_301L;
+    private static final long OUTBOX_WALLET_ID_TO = 9_900_302L;
+
+    @Autowired private TransactionOutboxRelay relay;
+    @Autowired private InMemoryTransactionEventSink sink;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void resetOutboxWallets() {
+        putWallet(OUTBOX_WALLET_ID, "1000.00");
+        putWallet(OUTBOX_WALLET_ID_TO, "1000.00");
+        sink.setFailing(false);
+    }
+
+    @AfterEach
+    void restoreSink() {
+        sink.setFailing(false);
+    }
+
+    private void putWallet(long walletId, String balance) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal(balance));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    private long pending(long transactionId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_transaction_outbox WHERE transaction_id = ?",
+            Long.class, transactionId);
+    }
+
+    private List<TransactionOutboxEvent> delivered(Set<Long> transactionIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<TransactionOutboxEvent> events = List.of();
+        while (System.currentTimeMillis() < deadline) {
+            relay.relay();
+            events = sink.events().stream().filter(e -> transactionIds.contains(e.transactionId())).toList();
+            if (events.stream().map(TransactionOutboxEvent::transactionId).distinct().count() == transactionIds.size()) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        return events;
+    }
+
+    private TransactionEvent payload(TransactionOutboxEvent event) throws Exception {
+        return objectMapper.readValue(event.payload(), TransactionEvent.class);
+    }
+
+    @Test
+    @DisplayName("Transferência gera um evento por perna, com saldos, e o relay remove as linhas entregues")
+    void transferEventsAreRelayed() throws Exception {
+        TransferMoneySend send = transactionService.saveTransferMoneySend(OUTBOX_WALLET_ID, OUTBOX_WALLET_ID_TO,
+            new BigDecimal("60.00"));
+        Long receivedId = send.getMovementTransaction().getTransactionReferenceId();
+
+        List<TransactionOutboxEvent> events = delivered(Set.of(send.getTransactionId(), receivedId));
+
+        assertThat(events).extracting(TransactionOutboxEvent::eventType)
+            .contains(OperationType.TRANSFER_SEND.name(), OperationType.TRANSFER_RECEIVED.name());
+        TransactionOutboxEvent sendEvent = events.stream()
+            .filter(e -> e.transactionId() == send.getTransactionId()).findFirst().orElseThrow();
+        assertThat(sendEvent.walletId()).isEqualTo(OUTBOX_WALLET_ID);
+        TransactionEvent sendPayload = payload(sendEvent);
+        assertThat(sendPayload.previousBalance()).isEqualByComparingTo("1000.00");
+        assertThat(sendPayload.currentBalance()).isEqualByComparingTo("940.00");
+        assertThat(sendPayload.walletReferenceId()).isEqualTo(OUTBOX_WALLET_ID_TO);
+        assertThat(pending(send.getTransactionId())).isZero();
+        assertThat(pending(receivedId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Sink fora do ar: o evento fica no outbox e é entregue quando o sink volta")
+    void failedDeliveryIsRetried() throws Exception {
+        sink.setFailing(true);
+        Transaction deposit = transactionService.saveDepositMoney(OUTBOX_WALLET_ID, new BigDecimal("60.00"),
+            null, null, null);
+
+        relay.relay();
+        assertThat(pending(deposit.getTransactionId())).isEqualTo(1);
+
+        sink.setFailing(false);
+        List<TransactionOutboxEvent> events = delivered(Set.of(deposit.getTransactionId()));
+
+        assertThat(events).hasSize(1);
+        assertThat(pending(deposit.getTransactionId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Operações concorrentes nas mesmas wallets chegam ao sink na ordem dos saldos de cada wallet")
+    void eventsAreOrderedPerWallet() throws Exception {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        List<Long> wallets = List.of(OUTBOX_WALLET_ID, OUTBOX_WALLET_ID_TO);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        long walletId = wallets.get((thread + i) % wallets.size());
+                        ids.add(i % 2 == 0
+                            ? transactionService.saveDepositMoney(walletId, new BigDecimal("60.00"), null, null, null).getTransactionId()
+                            : transactionService.saveWithdrawMoney(walletId, new BigDecimal("50.00")).getTransactionId());
+                    }
+                    SecurityContextHolder.clearContext();
+                    return ids;
+                }));
+            }
+            List<Long> transactionIds = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                transactionIds.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+
+            List<TransactionOutboxEvent> events = delivered(Set.copyOf(transactionIds));
+            assertThat(events.stream().map(TransactionOutboxEvent::transactionId).distinct()).hasSize(40);
+
+            for (Long walletId : wallets) {
+                List<TransactionOutboxEvent> walletEvents = events.stream()
+                    .filter(e -> e.walletId() == walletId)
+                    .toList();
+                assertThat(walletEvents).isSortedAccordingTo(Comparator.comparingLong(TransactionOutboxEvent::eventId));
+                BigDecimal balance = null;
+                for (TransactionOutboxEvent event : walletEvents) {
+                    TransactionEvent payload = payload(event);
+                    if (balance != null) {
+                        assertThat(payload.previousBalance()).as("walletId=%s eventId=%s", walletId, event.eventId())
+                            .isEqualByComparingTo(balance);
+                    }
+                    balance = payload.currentBalance();
+                }
+                assertThat(balance).isEqualByComparingTo(balance(walletId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
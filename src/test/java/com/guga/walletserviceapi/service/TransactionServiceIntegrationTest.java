@@ -0,0 +1,101 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+/**
+ * Fluxo real de depósito/saque/transferência sobre o H2 de testes (sem mocks de repositório).
+ */
+class TransactionServiceIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    @Test
+    @DisplayName("Depósito deve atualizar o saldo e gravar transação e movimento")
+    void depositUpdatesBalanceAndPersistsRows() {
+        DepositMoney deposit = transactionService.saveDepositMoney(WALLET_ID, new BigDecimal("60.00"),
+            null, null, null);
+
+        assertThat(deposit.getTransactionId()).isNotNull();
+        assertThat(deposit.getPreviousBalance()).isEqualByComparingTo("100.00");
+        assertThat(deposit.getCurrentBalance()).isEqualByComparingTo("160.00");
+        assertThat(balance()).isEqualByComparingTo("160.00");
+        assertThat(walletRepository.findById(WALLET_ID).orElseThrow().getLastOperationType())
+            .isEqualTo(OperationType.DEPOSIT);
+        assertThat(transactionRepository.existsById(deposit.getTransactionId())).isTrue();
+        assertThat(movementTransferRepository.existsById(deposit.getMovementTransaction().getMovementId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Saque acima do saldo deve ser recusado sem alterar a wallet")
+    void withdrawAboveBalanceIsRejected() {
+        assertThatThrownBy(() -> transactionService.saveWithdrawMoney(WALLET_ID, new BigDecimal("150.00")))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining("INSUFFICIENT_BALANCE");
+
+        assertThat(balance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Transferência deve debitar o remetente, creditar o recebedor e gravar as duas pernas")
+    void transferMovesBalanceAndPersistsBothLegs() {
+        TransferMoneySend send = transactionService.saveTransferMoneySend(WALLET_ID, WALLET_ID_TO, new BigDecimal("60.00"));
+
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("40.00");
+        assertThat(balance(WALLET_ID_TO)).isEqualByComparingTo("160.00");
+        assertThat(walletRepository.findById(WALLET_ID_TO).orElseThrow().getLastOperationType())
+            .isEqualTo(OperationType.TRANSFER_RECEIVED);
+
+        MovementTransaction movement = movementTransferRepository
+            .findById(send.getMovementTransaction().getMovementId()).orElseThrow();
+        assertThat(movement.getWalletReferenceId()).isEqualTo(WALLET_ID_TO);
+        assertThat(transactionRepository.existsById(movement.getTransactionReferenceId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Depósitos e saques concorrentes na mesma wallet não podem perder atualização")
+    void concurrentOperationsDoNotLoseUpdates() throws Exception {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    for (int i = 0; i < 10; i++) {
+                        transactionService.saveDepositMoney(WALLET_ID, new BigDecimal("50.00"), null, null, null);
+                        WithdrawMoney withdraw = transactionService.saveWithdrawMoney(WALLET_ID, new BigDecimal("20.00"));
+                        assertThat(withdraw.getCurrentBalance()).isNotNegative();
+                    }
+                    SecurityContextHolder.clearContext();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 100 + 80 * (50 - 20)
+        assertThat(balance()).isEqualByComparingTo("2500.00");
+    }
+
+}
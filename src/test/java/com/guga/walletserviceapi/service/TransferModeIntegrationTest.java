@@ -0,0 +1,209 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.helpers.TransactionUtilsMock;
+import com.guga.walletserviceapi.model.Customer;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.TransferSaga;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
+import com.guga.walletserviceapi.repository.TransferSagaRepository;
+import com.guga.walletserviceapi.service.transfer.TransferMode;
+import com.guga.walletserviceapi.service.transfer.TransferSagaProcessor;
+
+/**
+ * Modos de transferência sobre o H2 de testes: SINGLE_TRANSACTION, SAGA (crédito assíncrono, idempotente e com
+ * devolução) e a vazão de cada modo com várias threads disputando poucas wallets.
+ */
+class TransferModeIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransferModeIntegrationTest.class);
+
+    private static final long INACTIVE_CUSTOMER_ID = 9_900_201L;
+    private static final long INACTIVE_CUSTOMER_WALLET_ID = 9_900_201L;
+    private static final List<Long> CONTENDED_WALLETS = List.of(9_900_211L, 9_900_212L, 9_900_213L, 9_900_214L);
+
+    private static final BigDecimal AMOUNT = new BigDecimal("60.00");
+
+    @Autowired private TransferSagaRepository sagaRepository;
+    @Autowired private TransferSagaProcessor sagaProcessor;
+
+    private void putWallet(long walletId, long customerId, String balance) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(customerId)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal(balance));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    private TransferSaga awaitSaga(Long sagaId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        TransferSaga saga = sagaRepository.findById(sagaId).orElseThrow();
+        while (saga.getStatus() == TransferSagaStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            saga = sagaRepository.findById(sagaId).orElseThrow();
+        }
+        return saga;
+    }
+
+    private void drainSagas() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (sagaRepository.countByStatus(TransferSagaStatus.PENDING) > 0 && System.currentTimeMillis() < deadline) {
+            if (sagaProcessor.sweep() == 0) {
+                Thread.sleep(20);
+            }
+        }
+        assertThat(sagaRepository.countByStatus(TransferSagaStatus.PENDING)).isZero();
+    }
+
+    @Test
+    @DisplayName("SINGLE_TRANSACTION: debita, credita e grava as duas pernas")
+    void singleTransactionMovesBalance() {
+        TransferMoneySend send = transactionService.saveTransferMoneySend(TransferMode.SINGLE_TRANSACTION,
+            WALLET_ID_TO, WALLET_ID, AMOUNT);
+
+        assertThat(send.getCurrentBalance()).isEqualByComparingTo("40.00");
+        assertThat(balance(WALLET_ID_TO)).isEqualByComparingTo("40.00");
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("160.00");
+        Transaction received = transactionRepository.findById(send.getMovementTransaction().getTransactionReferenceId()).orElseThrow();
+        assertThat(received.getOperationType()).isEqualTo(OperationType.TRANSFER_RECEIVED);
+        assertThat(received.getPreviousBalance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("SINGLE_TRANSACTION: saldo insuficiente não altera nenhuma wallet")
+    void singleTransactionRejectsWithoutPartialWrite() {
+        assertThatThrownBy(() -> transactionService.saveTransferMoneySend(TransferMode.SINGLE_TRANSACTION,
+                WALLET_ID, WALLET_ID_TO, new BigDecimal("150.00")))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining("INSUFFICIENT_BALANCE");
+
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("100.00");
+        assertThat(balance(WALLET_ID_TO)).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("SAGA: débito imediato, crédito após o commit e reprocessamento sem efeito")
+    void sagaCreditsAsynchronouslyAndOnce() throws Exception {
+        TransferMoneySend send = transactionService.saveTransferMoneySend(TransferMode.SAGA, WALLET_ID, WALLET_ID_TO, AMOUNT);
+
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("40.00");
+        TransferSaga saga = awaitSaga(send.getTransactionId());
+        assertThat(saga.getStatus()).isEqualTo(TransferSagaStatus.CREDITED);
+        assertThat(balance(WALLET_ID_TO)).isEqualByComparingTo("160.00");
+        assertThat(transactionRepository.findById(saga.getReceivedTransactionId()).orElseThrow().getWalletId())
+            .isEqualTo(WALLET_ID_TO);
+
+        sagaProcessor.process(saga.getSagaId());
+
+        assertThat(balance(WALLET_ID_TO)).isEqualByComparingTo("160.00");
+    }
+
+    @Test
+    @DisplayName("SAGA: crédito recusado pelo recebedor devolve o valor ao remetente")
+    void sagaCompensatesRejectedCredit() throws Exception {
+        if (!customerRepository.existsById(INACTIVE_CUSTOMER_ID)) {
+            Customer customer = new TransactionUtilsMock().createCustomerMock(INACTIVE_CUSTOMER_ID);
+            customer.setStatus(Status.INACTIVE);
+            customerRepository.save(customer);
+        }
+        // wallet ACTIVE (passa na pré-checagem do cache), customer inativo (o UPDATE do crédito recusa)
+        putWallet(INACTIVE_CUSTOMER_WALLET_ID, INACTIVE_CUSTOMER_ID, "100.00");
+
+        TransferMoneySend send = transactionService.saveTransferMoneySend(TransferMode.SAGA,
+            WALLET_ID, INACTIVE_CUSTOMER_WALLET_ID, AMOUNT);
+        TransferSaga saga = awaitSaga(send.getTransactionId());
+
+        assertThat(saga.getStatus()).isEqualTo(TransferSagaStatus.COMPENSATED);
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("100.00");
+        assertThat(balance(INACTIVE_CUSTOMER_WALLET_ID)).isEqualByComparingTo("100.00");
+        Transaction refund = transactionRepository.findById(saga.getReceivedTransactionId()).orElseThrow();
+        assertThat(refund.getWalletId()).isEqualTo(WALLET_ID);
+        assertThat(refund.getOperationType()).isEqualTo(OperationType.TRANSFER_RECEIVED);
+    }
+
+    @Test
+    @DisplayName("Vazão dos modos com 8 threads em 4 wallets: o saldo total se conserva em todos")
+    void throughputUnderContention() throws Exception {
+        for (TransferMode mode : TransferMode.values()) {
+            CONTENDED_WALLETS.forEach(id -> putWallet(id, CUSTOMER_ID, "10000.00"));
+
+            long started = System.nanoTime();
+            int transfers = runContended(mode, 8, 25);
+            long elapsedNanos = System.nanoTime() - started;
+            drainSagas();
+            long drainedNanos = System.nanoTime() - started;
+
+            LOGGER.info("TRANSFER_MODE_BENCHMARK | mode={} transfers={} elapsedMs={} transfersPerSec={} completedMs={}",
+                mode, transfers, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(transfers / (elapsedNanos / 1e9)), TimeUnit.NANOSECONDS.toMillis(drainedNanos));
+
+            BigDecimal total = CONTENDED_WALLETS.stream().map(this::balance).reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertThat(total).as("saldo total no modo %s", mode).isEqualByComparingTo("40000.00");
+        }
+    }
+
+    private int runContended(TransferMode mode, int threads, int transfersPerThread) throws Exception {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    int done = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        int from = random.nextInt(CONTENDED_WALLETS.size());
+                        int to = (from + 1 + random.nextInt(CONTENDED_WALLETS.size() - 1)) % CONTENDED_WALLETS.size();
+                        try {
+                            transactionService.saveTransferMoneySend(mode, CONTENDED_WALLETS.get(from), CONTENDED_WALLETS.get(to), AMOUNT);
+                            done++;
+                        } catch (RuntimeException e) {
+                            // conflito esgotado no GUARDED/OPTIMISTIC: conta só as transferências concluídas
+                            LOGGER.debug("TRANSFER_MODE_BENCHMARK_REJECTED | mode={} reason={}", mode, e.getMessage());
+                        }
+                    }
+                    SecurityContextHolder.clearContext();
+                    return done;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(120, TimeUnit.SECONDS);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
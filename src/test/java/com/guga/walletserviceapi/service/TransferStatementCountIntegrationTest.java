@@ -0,0 +1,117 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.helpers.TransactionUtils;
+import com.guga.walletserviceapi.model.MovementTransaction;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.TransferMoneyReceived;
+import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.Wallet;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Benchmark de integração: quantidade de comandos SQL por transferência.
+ * Compara o fluxo anterior (repository.save com merge, updateWallet e sequência por ID)
+ * com o fluxo atual (dirty checking + persist em lote + IDs em bloco).
+ */
+class TransferStatementCountIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransferStatementCountIntegrationTest.class);
+
+    private static final int ROUNDS = 20;
+    private static final BigDecimal AMOUNT = new BigDecimal("50.00");
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private WalletService walletService;
+    @Autowired private ParamAppService paramAppService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Wallet wallet = walletRepository.findById(WALLET_ID).orElseThrow();
+        wallet.setCurrentBalance(new BigDecimal("100000.00"));
+        walletRepository.save(wallet);
+
+        // aquece o alocador para que a reserva do primeiro bloco não entre na medição
+        transactionService.saveTransferMoneySend(WALLET_ID, WALLET_ID_TO, AMOUNT);
+    }
+
+    @Test
+    @DisplayName("Transferência pelo dirty checking deve emitir menos SQL que o fluxo com merge/updateWallet")
+    void transferIssuesFewerStatementsThanLegacyFlow() {
+        double legacy = statementsPerTransfer(() -> transactionTemplate.executeWithoutResult(s -> legacyTransfer()));
+        double current = statementsPerTransfer(() ->
+            transactionService.saveTransferMoneySend(WALLET_ID, WALLET_ID_TO, AMOUNT));
+
+        LOGGER.info("TRANSFER_STATEMENT_BENCHMARK | rounds={} legacyStatementsPerTransfer={} currentStatementsPerTransfer={}",
+            ROUNDS, legacy, current);
+
+        assertThat(current).isLessThan(legacy);
+    }
+
+    private double statementsPerTransfer(Runnable transfer) {
+        statistics.clear();
+        for (int i = 0; i < ROUNDS; i++) {
+            transfer.run();
+        }
+        return (double) statistics.getPrepareStatementCount() / ROUNDS;
+    }
+
+    /**
+     * Reprodução do fluxo anterior: cada ID via getNextSequenceId (SELECT + UPDATE),
+     * cada linha via repository.save (merge com SELECT prévio) e o saldo via updateWallet.
+     */
+    private void legacyTransfer() {
+        Wallet walletSend = walletService.getWalletById(WALLET_ID);
+        Wallet walletReceived = walletService.getWalletById(WALLET_ID_TO);
+
+        TransferMoneySend send = TransactionUtils.generateTransferMoneySend(walletSend, walletReceived, AMOUNT,
+            paramAppService.getMinAmountToTransfer());
+        send.setTransactionId(legacyId(ParamApp.SEQ_TRANSACTION_ID));
+        send.setLoginAuthId(1L);
+        transactionRepository.save(send);
+
+        TransactionUtils.adjustBalanceWallet(walletSend, send);
+        walletService.updateWallet(WALLET_ID, walletSend);
+
+        TransferMoneyReceived received = TransactionUtils.generateTransferMoneyReceived(walletReceived, AMOUNT);
+        received.setTransactionId(legacyId(ParamApp.SEQ_TRANSACTION_ID));
+        received.setLoginAuthId(1L);
+
+        MovementTransaction movementSend = TransactionUtils.generateMovementTransaction(send, received);
+        movementSend.setMovementId(legacyId(ParamApp.SEQ_MOVEMENT_TRN_ID));
+        movementTransferRepository.save(movementSend);
+
+        transactionRepository.save(received);
+        TransactionUtils.adjustBalanceWallet(walletReceived, received);
+        walletService.updateWallet(WALLET_ID_TO, walletReceived);
+
+        MovementTransaction movementReceived = TransactionUtils.generateMovementTransaction(received, send);
+        movementReceived.setMovementId(legacyId(ParamApp.SEQ_MOVEMENT_TRN_ID));
+        movementTransferRepository.save(movementReceived);
+    }
+
+    private Long legacyId(String sequenceName) {
+        return paramAppService.getNextSequenceId(sequenceName).getValueLong();
+    }
+
+}
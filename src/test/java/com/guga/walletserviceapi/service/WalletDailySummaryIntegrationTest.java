@@ -0,0 +1,108 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO;
+import com.guga.walletserviceapi.dto.transaction.WalletStatementSummaryDTO.OperationTotal;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryRebuilder;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryRebuilder.RebuildReport;
+import com.guga.walletserviceapi.service.summary.WalletDailySummaryService;
+
+/**
+ * Resumo diário mantido junto com as operações e recalculado pelo rebuild a partir dos movimentos.
+ * Usa wallets próprias, uma por teste: as dos demais testes acumulam movimentos concorrentes no mesmo dia.
+ */
+class WalletDailySummaryIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final long SUMMARY_WALLET_ID = 9_900_101L;
+    private static final long SUMMARY_WALLET_ID_TO = 9_900_102L;
+    private static final long IDLE_WALLET_ID = 9_900_103L;
+
+    @Autowired private WalletDailySummaryService summaryService;
+    @Autowired private WalletDailySummaryRebuilder summaryRebuilder;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createWallets() {
+        createWallet(SUMMARY_WALLET_ID);
+        createWallet(SUMMARY_WALLET_ID_TO);
+        createWallet(IDLE_WALLET_ID);
+    }
+
+    private void createWallet(long walletId) {
+        if (walletRepository.existsById(walletId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        walletRepository.save(Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .status(Status.ACTIVE)
+            .previousBalance(BigDecimal.ZERO)
+            .currentBalance(new BigDecimal("100.00"))
+            .createdAt(now)
+            .updatedAt(now)
+            .build());
+    }
+
+    private static OperationTotal total(long count, String amount) {
+        return new OperationTotal(count, new BigDecimal(amount));
+    }
+
+    @Test
+    @DisplayName("Operações atualizam o resumo do dia e o rebuild chega ao mesmo resultado")
+    void summaryFollowsOperationsAndRebuildMatches() {
+        LocalDate today = LocalDate.now();
+        transactionService.saveDepositMoney(SUMMARY_WALLET_ID, new BigDecimal("60.00"), null, null, null);
+        transactionService.saveWithdrawMoney(SUMMARY_WALLET_ID, new BigDecimal("20.00"));
+        transactionService.saveTransferMoneySend(SUMMARY_WALLET_ID, SUMMARY_WALLET_ID_TO, new BigDecimal("60.00"));
+
+        WalletStatementSummaryDTO sender = summaryService.summarize(SUMMARY_WALLET_ID, today, today);
+        assertThat(sender.days()).hasSize(1);
+        assertThat(sender.openingBalance()).isEqualByComparingTo("100.00");
+        assertThat(sender.closingBalance()).isEqualByComparingTo("80.00");
+        assertThat(sender.totals())
+            .containsEntry(OperationType.DEPOSIT, total(1, "60.00"))
+            .containsEntry(OperationType.WITHDRAW, total(1, "20.00"))
+            .containsEntry(OperationType.TRANSFER_SEND, total(1, "60.00"));
+
+        WalletStatementSummaryDTO receiver = summaryService.summarize(SUMMARY_WALLET_ID_TO, today, today);
+        assertThat(receiver.closingBalance()).isEqualByComparingTo("160.00");
+        assertThat(receiver.totals()).containsEntry(OperationType.TRANSFER_RECEIVED, total(1, "60.00"));
+
+        jdbcTemplate.update("DELETE FROM tb_wallet_daily_summary WHERE wallet_id IN (?, ?)", SUMMARY_WALLET_ID, SUMMARY_WALLET_ID_TO);
+        RebuildReport report = summaryRebuilder.rebuild(today, today);
+
+        assertThat(report.rows()).isGreaterThanOrEqualTo(2);
+        assertThat(summaryService.summarize(SUMMARY_WALLET_ID, today, today)).isEqualTo(sender);
+        assertThat(summaryService.summarize(SUMMARY_WALLET_ID_TO, today, today)).isEqualTo(receiver);
+    }
+
+    @Test
+    @DisplayName("Período sem movimento abre e fecha com o saldo do último dia anterior")
+    void emptyPeriodCarriesPreviousClosing() {
+        LocalDate today = LocalDate.now();
+        transactionService.saveDepositMoney(IDLE_WALLET_ID, new BigDecimal("60.00"), null, null, null);
+        BigDecimal closing = summaryService.summarize(IDLE_WALLET_ID, today, today).closingBalance();
+
+        WalletStatementSummaryDTO future = summaryService.summarize(IDLE_WALLET_ID, today.plusDays(1), today.plusDays(3));
+
+        assertThat(future.days()).isEmpty();
+        assertThat(future.openingBalance()).isEqualByComparingTo(closing);
+        assertThat(future.closingBalance()).isEqualByComparingTo(closing);
+        assertThat(future.totals().get(OperationType.DEPOSIT).count()).isZero();
+    }
+}
@@ -0,0 +1,398 @@
+package com.guga.walletserviceapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.TransferSaga;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.TransferSagaStatus;
+import com.guga.walletserviceapi.repository.LedgerCheckpointStore;
+import com.guga.walletserviceapi.repository.LedgerLeaseStore;
+import com.guga.walletserviceapi.repository.LedgerQuarantineStore;
+import com.guga.walletserviceapi.repository.TransactionBatchWriter;
+import com.guga.walletserviceapi.repository.TransactionOutboxWriter;
+import com.guga.walletserviceapi.repository.TransferSagaRepository;
+import com.guga.walletserviceapi.repository.WalletDailySummaryWriter;
+import com.guga.walletserviceapi.service.ledger.LedgerFence;
+import com.guga.walletserviceapi.service.ledger.LedgerProperties;
+import com.guga.walletserviceapi.service.ledger.WalletLedger;
+import com.guga.walletserviceapi.service.sequence.SequenceIdAllocator;
+import com.guga.walletserviceapi.service.transfer.TransferSagaProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ledger em memória com as wallets 9_900_501/502 (flush só quando o teste chama): saldo confirmado antes de
+ * chegar ao banco, flush com as mesmas linhas do caminho atômico, transferência pelo caminho exclusivo,
+ * recuperação pelo WAL, posse das wallets entre nós e quarentena de wallet alterada fora do ledger.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // banco próprio: a posse das wallets do ledger (tb_ledger_lease) é deste contexto
+    "spring.datasource.url=jdbc:h2:mem:wallet_ledger_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "app.ledger.enabled=true",
+    "app.ledger.wallet-ids=9900501,9900502",
+    "app.ledger.shards=2",
+    "app.ledger.wal-directory=${java.io.tmpdir}/wallet-ledger-${random.uuid}",
+    "app.ledger.wal-size-mb=1",
+    // os testes chamam flush() diretamente
+    "app.ledger.flush-interval-ms=3600000",
+    "app.ledger.exclusive-timeout-ms=300"
+})
+class WalletLedgerIntegrationTest extends AbstractTransactionIntegrationTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(WalletLedgerIntegrationTest.class);
+
+    private static final long LEDGER_WALLET_ID = 9_900_501L;
+    private static final long LEDGER_WALLET_ID_2 = 9_900_502L;
+    private static final long OTHER_NODE_WALLET_ID = 9_900_503L;
+    private static final String OTHER_LEDGER_ID = "other-node";
+
+    private static final BigDecimal AMOUNT = new BigDecimal("60.00");
+
+    @Autowired private WalletLedger ledger;
+    @Autowired private LedgerProperties ledgerProperties;
+    @Autowired private WalletService walletService;
+    @Autowired private SequenceIdAllocator sequenceIdAllocator;
+    @Autowired private TransactionBatchWriter transactionBatchWriter;
+    @Autowired private WalletDailySummaryWriter walletDailySummaryWriter;
+    @Autowired private TransactionOutboxWriter transactionOutboxWriter;
+    @Autowired private LedgerCheckpointStore checkpointStore;
+    @Autowired private LedgerLeaseStore leaseStore;
+    @Autowired private LedgerQuarantineStore quarantineStore;
+    @Autowired private LedgerFence ledgerFence;
+    @Autowired private TransferSagaRepository sagaRepository;
+    @Autowired private TransferSagaProcessor sagaProcessor;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void resetLedgerWallets() {
+        // pausa os shards, grava o pendente e relê as wallets depois do reset
+        ledger.exclusive(List.of(LEDGER_WALLET_ID, LEDGER_WALLET_ID_2), () -> {
+            putWallet(LEDGER_WALLET_ID);
+            putWallet(LEDGER_WALLET_ID_2);
+            return null;
+        });
+    }
+
+    private void putWallet(long walletId) {
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = walletRepository.findById(walletId).orElseGet(() -> Wallet.builder()
+            .walletId(walletId)
+            .customerId(CUSTOMER_ID)
+            .createdAt(now)
+            .build());
+        wallet.setStatus(Status.ACTIVE);
+        wallet.setPreviousBalance(BigDecimal.ZERO);
+        wallet.setCurrentBalance(new BigDecimal("100.00"));
+        wallet.setUpdatedAt(now);
+        walletRepository.save(wallet);
+    }
+
+    @Test
+    @DisplayName("Depósito e saque confirmados em memória chegam ao banco no flush")
+    void operationsReachDatabaseOnFlush() {
+        DepositMoney deposit = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT,
+            "52998224725", "TERM-01", "Cliente Ledger");
+        transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        Transaction withdraw = transactionService.saveWithdrawMoney(LEDGER_WALLET_ID, new BigDecimal("20.00"));
+
+        assertThat(deposit.getCurrentBalance()).isEqualByComparingTo("160.00");
+        assertThat(withdraw.getCurrentBalance()).isEqualByComparingTo("200.00");
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("100.00");
+        assertThat(transactionRepository.findById(deposit.getTransactionId())).isEmpty();
+
+        assertThat(ledger.flush()).isEqualTo(3);
+
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("200.00");
+        Transaction stored = transactionRepository.findById(deposit.getTransactionId()).orElseThrow();
+        assertThat(stored.getPreviousBalance()).isEqualByComparingTo("100.00");
+        assertThat(movementTransferRepository.findById(deposit.getMovementTransaction().getMovementId())).isPresent();
+        assertThat(transactionRepository.findById(withdraw.getTransactionId()).orElseThrow().getOperationType())
+            .isEqualTo(OperationType.WITHDRAW);
+    }
+
+    @Test
+    @DisplayName("Saque acima do saldo em memória é recusado sem registro no WAL")
+    void rejectsInsufficientBalance() {
+        transactionService.saveWithdrawMoney(LEDGER_WALLET_ID, new BigDecimal("80.00"));
+
+        assertThatThrownBy(() -> transactionService.saveWithdrawMoney(LEDGER_WALLET_ID, new BigDecimal("30.00")))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining("INSUFFICIENT_BALANCE");
+
+        assertThat(ledger.flush()).isEqualTo(1);
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    @DisplayName("Transferência com wallet do ledger grava o pendente antes e o shard relê o saldo depois")
+    void transferGoesThroughExclusivePath() {
+        transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+
+        transactionService.saveTransferMoneySend(LEDGER_WALLET_ID, WALLET_ID, new BigDecimal("100.00"));
+
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("60.00");
+        assertThat(balance(WALLET_ID)).isEqualByComparingTo("200.00");
+
+        DepositMoney next = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        assertThat(next.getPreviousBalance()).isEqualByComparingTo("60.00");
+        assertThat(next.getCurrentBalance()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    @DisplayName("Crédito de saga numa wallet do ledger grava o pendente antes e o shard relê o saldo depois")
+    void sagaCreditGoesThroughExclusivePath() {
+        transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        // saga criada antes de a wallet entrar no ledger
+        LocalDateTime now = LocalDateTime.now();
+        TransferSaga saga = sagaRepository.save(TransferSaga.builder()
+            .sagaId(sequenceIdAllocator.nextId(ParamApp.SEQ_TRANSACTION_ID))
+            .walletIdSend(WALLET_ID)
+            .walletIdReceived(LEDGER_WALLET_ID)
+            .amount(new BigDecimal("40.00"))
+            .receivedTransactionId(sequenceIdAllocator.nextId(ParamApp.SEQ_TRANSACTION_ID))
+            .loginAuthId(1L)
+            .status(TransferSagaStatus.PENDING)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build());
+
+        sagaProcessor.process(saga.getSagaId());
+
+        assertThat(sagaRepository.findById(saga.getSagaId()).orElseThrow().getStatus()).isEqualTo(TransferSagaStatus.CREDITED);
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("200.00");
+        DepositMoney next = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        assertThat(next.getPreviousBalance()).isEqualByComparingTo("200.00");
+        assertThat(ledger.flush()).isEqualTo(1);
+        assertThat(ledger.quarantinedWallets()).isEmpty();
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("260.00");
+    }
+
+    @Test
+    @DisplayName("Recuperação grava os registros do WAL que não chegaram ao banco, uma única vez")
+    void recoveryReplaysWal() throws Exception {
+        DepositMoney deposit = transactionService.saveDepositMoney(LEDGER_WALLET_ID_2, AMOUNT, null, null, null);
+
+        // "queda" antes do flush: outro ledger sobe com uma cópia do WAL
+        Path walCopy = tempDir.resolve("wal");
+        Files.createDirectories(walCopy);
+        try (Stream<Path> files = Files.list(Path.of(ledgerProperties.getWalDirectory()))) {
+            for (Path file : files.toList()) {
+                Files.copy(file, walCopy.resolve(file.getFileName()));
+            }
+        }
+        LedgerProperties recoveredProperties = new LedgerProperties();
+        recoveredProperties.setWalletIds(ledgerProperties.getWalletIds());
+        recoveredProperties.setShards(ledgerProperties.getShards());
+        recoveredProperties.setWalDirectory(walCopy.toString());
+        recoveredProperties.setWalSizeMb(1);
+        recoveredProperties.setFsync(false);
+        WalletLedger recovered = newLedger(recoveredProperties);
+        recovered.start();
+        recovered.stop();
+
+        assertThat(balance(LEDGER_WALLET_ID_2)).isEqualByComparingTo("160.00");
+        assertThat(transactionRepository.findById(deposit.getTransactionId())).isPresent();
+
+        // mesma identidade (ledger.id copiado com o WAL): o flush do ledger original não grava de novo
+        assertThat(recovered.ledgerId()).isEqualTo(ledger.ledgerId());
+        ledger.flush();
+        assertThat(balance(LEDGER_WALLET_ID_2)).isEqualByComparingTo("160.00");
+        assertThat(ledger.unflushed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Checkpoint de outro nó no mesmo shard não descarta registros deste ledger")
+    void otherNodeCheckpointDoesNotDropEntries() {
+        int shard = (int) (LEDGER_WALLET_ID % ledgerProperties.getShards());
+        jdbcTemplate.update("INSERT INTO tb_ledger_checkpoint (ledger_id, shard_id, last_sequence, updated_at) "
+            + "VALUES (?, ?, ?, ?)", OTHER_LEDGER_ID, shard, Long.MAX_VALUE, LocalDateTime.now());
+        try {
+            DepositMoney deposit = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+
+            assertThat(ledger.flush()).isEqualTo(1);
+            assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("160.00");
+            assertThat(transactionRepository.findById(deposit.getTransactionId())).isPresent();
+        } finally {
+            jdbcTemplate.update("DELETE FROM tb_ledger_checkpoint WHERE ledger_id = ?", OTHER_LEDGER_ID);
+        }
+    }
+
+    @Test
+    @DisplayName("Wallet de outro nó: a subida do ledger falha e o caminho do banco recusa a operação")
+    void walletOwnedByOtherNodeIsFenced() throws Exception {
+        putWallet(OTHER_NODE_WALLET_ID);
+        leaseStore.acquire(OTHER_LEDGER_ID, Map.of(OTHER_NODE_WALLET_ID, 0));
+        try {
+            LedgerProperties otherProperties = new LedgerProperties();
+            otherProperties.setWalletIds(List.of(OTHER_NODE_WALLET_ID));
+            otherProperties.setShards(1);
+            otherProperties.setWalDirectory(tempDir.resolve("other").toString());
+            otherProperties.setWalSizeMb(1);
+            otherProperties.setFsync(false);
+            WalletLedger other = newLedger(otherProperties);
+            assertThatThrownBy(other::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.valueOf(OTHER_NODE_WALLET_ID));
+
+            assertThatThrownBy(() -> transactionService.saveDepositMoney(OTHER_NODE_WALLET_ID, AMOUNT, null, null, null))
+                .isInstanceOf(WalletConcurrencyException.class);
+            assertThatThrownBy(() -> transactionService.saveTransferMoneySend(WALLET_ID, OTHER_NODE_WALLET_ID, AMOUNT))
+                .isInstanceOf(WalletConcurrencyException.class);
+            assertThat(balance(OTHER_NODE_WALLET_ID)).isEqualByComparingTo("100.00");
+            assertThat(balance(WALLET_ID)).isEqualByComparingTo("100.00");
+        } finally {
+            jdbcTemplate.update("DELETE FROM tb_ledger_lease WHERE ledger_id = ?", OTHER_LEDGER_ID);
+        }
+    }
+
+    @Test
+    @DisplayName("Wallet alterada fora do ledger entra em quarentena sem travar o shard")
+    void externalChangeQuarantinesWallet() {
+        DepositMoney deposit = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        jdbcTemplate.update("UPDATE tb_wallet SET current_balance = 500 WHERE wallet_id = ?", LEDGER_WALLET_ID);
+        double violations = meterRegistry.counter("wallet.ledger.fence.violations").count();
+        try {
+            assertThat(ledger.flush()).isEqualTo(1);
+
+            assertThat(ledger.unflushed()).isZero();
+            assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("500.00");
+            assertThat(transactionRepository.findById(deposit.getTransactionId())).isEmpty();
+            assertThat(jdbcTemplate.queryForObject("SELECT database_balance FROM tb_ledger_quarantine "
+                + "WHERE transaction_id = ?", BigDecimal.class, deposit.getTransactionId())).isEqualByComparingTo("500.00");
+            assertThat(ledger.quarantinedWallets()).containsExactly(LEDGER_WALLET_ID);
+            assertThat(meterRegistry.counter("wallet.ledger.fence.violations").count()).isEqualTo(violations + 1);
+
+            // o ledger recusa a wallet, mas o shard segue: a transferência exclusiva não espera o pendente
+            assertThatThrownBy(() -> transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null))
+                .isInstanceOf(WalletConcurrencyException.class);
+            transactionService.saveTransferMoneySend(LEDGER_WALLET_ID, WALLET_ID, AMOUNT);
+            assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("440.00");
+        } finally {
+            assertThat(ledger.releaseQuarantine(LEDGER_WALLET_ID)).isEqualTo(1);
+        }
+
+        // conciliada: o shard relê o saldo do banco
+        DepositMoney next = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        assertThat(next.getPreviousBalance()).isEqualByComparingTo("440.00");
+        assertThat(ledger.flush()).isEqualTo(1);
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    @DisplayName("Operação exclusiva lenta não prende o shard: só a wallet dela é recusada até o fim")
+    void slowExclusiveOperationHoldsOnlyItsWallets() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> exclusive = executor.submit(() -> ledger.exclusive(List.of(LEDGER_WALLET_ID), () -> {
+                started.countDown();
+                try {
+                    finish.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            long begin = System.nanoTime();
+            assertThatThrownBy(() -> transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null))
+                .isInstanceOf(WalletConcurrencyException.class)
+                .hasMessageContaining("exclusive operation");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(ledgerProperties.getSubmitTimeoutMs());
+
+            finish.countDown();
+            exclusive.get(10, TimeUnit.SECONDS);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+
+        DepositMoney deposit = transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+        assertThat(deposit.getCurrentBalance()).isEqualByComparingTo("160.00");
+    }
+
+    private WalletLedger newLedger(LedgerProperties ledgerProperties) {
+        return new WalletLedger(ledgerProperties, walletService, sequenceIdAllocator, transactionBatchWriter,
+            walletDailySummaryWriter, transactionOutboxWriter, checkpointStore, leaseStore, quarantineStore, ledgerFence,
+            transactionManager, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Vazão de depósitos concorrentes numa única wallet do ledger")
+    void concurrentDepositsOnHotWallet() throws Exception {
+        int threads = 8;
+        int depositsPerThread = 100;
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    for (int i = 0; i < depositsPerThread; i++) {
+                        transactionService.saveDepositMoney(LEDGER_WALLET_ID, AMOUNT, null, null, null);
+                    }
+                    SecurityContextHolder.clearContext();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        int deposits = threads * depositsPerThread;
+        LOGGER.info("WALLET_LEDGER_BENCHMARK | deposits={} elapsedMs={} depositsPerSec={}",
+            deposits, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(deposits / (elapsedNanos / 1e9)));
+
+        assertThat(ledger.flush()).isEqualTo(deposits);
+        assertThat(balance(LEDGER_WALLET_ID)).isEqualByComparingTo(
+            new BigDecimal("100.00").add(AMOUNT.multiply(BigDecimal.valueOf(deposits))));
+    }
+}
@@ -0,0 +1,87 @@
+package com.guga.walletserviceapi.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.guga.walletserviceapi.config.CacheConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Dois "nós" (CacheManagers independentes) ligados pelo broadcaster em memória.
+ */
+class CacheInvalidationBusTest {
+
+    private final InProcessCacheInvalidationBroadcaster broadcaster = new InProcessCacheInvalidationBroadcaster();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CacheManager cachesNodeA = new CaffeineCacheManager();
+    private final CacheManager cachesNodeB = new CaffeineCacheManager();
+    private final CacheInvalidationBus nodeA = new CacheInvalidationBus(cachesNodeA, broadcaster, meterRegistry);
+    private final CacheInvalidationBus nodeB = new CacheInvalidationBus(cachesNodeB, broadcaster, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Evento publicado por um nó deve invalidar a chave nos demais nós")
+    void publishEvictsKeyOnOtherNodes() {
+        Cache customersA = cachesNodeA.getCache(CacheConfig.CUSTOMERS);
+        Cache customersB = cachesNodeB.getCache(CacheConfig.CUSTOMERS);
+        customersA.put(10L, "customer-10");
+        customersB.put(10L, "customer-10");
+        customersB.put(11L, "customer-11");
+
+        nodeA.publish(CacheConfig.CUSTOMERS, 10L);
+
+        assertThat(customersB.get(10L)).isNull();
+        assertThat(customersB.get(11L)).isNotNull();
+        // no nó de origem quem invalida é o @CacheEvict do serviço, não o bus
+        assertThat(customersA.get(10L)).isNotNull();
+        assertThat(meterRegistry.counter("cache.invalidation.received", "cache", CacheConfig.CUSTOMERS).count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Chave textual (ParamApp) e invalidação total do cache")
+    void publishByNameAndPublishAll() {
+        Cache paramsB = cachesNodeB.getCache(CacheConfig.PARAMS_APP);
+        paramsB.put("limit_min_to_deposit", "10");
+        paramsB.put("limit_min_to_transfer", "50");
+
+        nodeA.publish(CacheConfig.PARAMS_APP, "limit_min_to_deposit");
+        assertThat(paramsB.get("limit_min_to_deposit")).isNull();
+        assertThat(paramsB.get("limit_min_to_transfer")).isNotNull();
+
+        nodeA.publishAll(CacheConfig.PARAMS_APP);
+        assertThat(paramsB.get("limit_min_to_transfer")).isNull();
+    }
+
+    @Test
+    @DisplayName("Dentro de transação, o evento só deve ser entregue após o commit")
+    void deliveryWaitsForCommit() {
+        Cache walletsB = cachesNodeB.getCache(CacheConfig.WALLET_METADATA);
+        walletsB.put(7L, "wallet-7");
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish(CacheConfig.WALLET_METADATA, 7L);
+        assertThat(walletsB.get(7L)).isNotNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(walletsB.get(7L)).isNull();
+        assertThat(nodeB.getNodeId()).isNotEqualTo(nodeA.getNodeId());
+    }
+
+}
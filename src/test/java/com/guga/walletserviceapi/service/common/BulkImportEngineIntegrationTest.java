@@ -0,0 +1,183 @@
+package com.guga.walletserviceapi.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guga.walletserviceapi.dto.importjob.ImportJobStatusDTO;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.enums.ImportJobStatus;
+import com.guga.walletserviceapi.repository.ImportJobChunkRepository;
+import com.guga.walletserviceapi.repository.ImportJobRepository;
+import com.guga.walletserviceapi.repository.ParamAppRepository;
+import com.guga.walletserviceapi.service.storage.TransactionPartitionManager;
+
+/**
+ * Importação paralela em chunks sobre o H2 de testes: falha isolada por chunk e retomada pelo reenvio do arquivo.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // mesmo contexto dos testes de integração de transação
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class BulkImportEngineIntegrationTest {
+
+    private static final TypeReference<List<ParamApp>> PARAMS = new TypeReference<>() {};
+
+    @Autowired private DataPersistenceService persistenceService;
+    @Autowired private ImportJobRepository jobRepository;
+    @Autowired private ImportJobChunkRepository chunkRepository;
+    @Autowired private FastEntityLoader fastEntityLoader;
+    @Autowired private TransactionPartitionManager partitionManager;
+    @Autowired private ParamAppRepository paramAppRepository;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private BulkImportEngine engine;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        // chunks pequenos para exercitar o paralelismo com poucos registros
+        engine = new BulkImportEngine(persistenceService, jobRepository, chunkRepository, fastEntityLoader, partitionManager, mapper,
+            transactionManager, 100, 4, 4);
+        prefix = "bi" + (System.nanoTime() % 1_000_000) + "_";
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        jdbcTemplate.update("DELETE FROM tb_param_app WHERE name LIKE ?", prefix + "%");
+    }
+
+    private String paramsJson(int count) {
+        return paramsJson(prefix, count);
+    }
+
+    private String paramsJson(String namePrefix, int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"name\":\"").append(namePrefix).append(i)
+                .append("\",\"description\":\"bulk\",\"status\":\"ACTIVE\",\"valueLong\":").append(i).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", prefix + name, "application/json", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockMultipartFile paramsFile(int count) {
+        return file("params.json", paramsJson(count));
+    }
+
+    private int importedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_param_app WHERE name LIKE ?", Integer.class, prefix + "%");
+    }
+
+    @Test
+    @DisplayName("Arquivo é gravado em chunks paralelos, cada um com seu checkpoint")
+    void importsAllChunks() {
+        ImportJobStatusDTO result = engine.importFile(paramsFile(1_050), PARAMS, paramAppRepository);
+
+        assertThat(result.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(result.totalChunks()).isEqualTo(11);
+        assertThat(result.chunksDone()).isEqualTo(11);
+        assertThat(result.chunksFailed()).isZero();
+        assertThat(result.recordsImported()).isEqualTo(1_050);
+        assertThat(importedRows()).isEqualTo(1_050);
+        assertThat(engine.status(result.jobId())).isEqualTo(result);
+    }
+
+    @Test
+    @DisplayName("Chunk com erro não desfaz os demais; reenviar o arquivo processa apenas o chunk pendente")
+    void failedChunkIsIsolatedAndResumed() {
+        // registro pré-existente com o nome do 3º chunk (índice 2): viola a unique de tb_param_app
+        paramAppRepository.save(ParamApp.newParam(prefix + 250, "bulk", 0L));
+
+        ImportJobStatusDTO first = engine.importFile(paramsFile(1_050), PARAMS, paramAppRepository);
+
+        assertThat(first.status()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(first.chunksDone()).isEqualTo(10);
+        assertThat(first.chunksFailed()).isEqualTo(1);
+        assertThat(first.recordsImported()).isEqualTo(950);
+        assertThat(importedRows()).isEqualTo(951);
+
+        jdbcTemplate.update("DELETE FROM tb_param_app WHERE name = ?", prefix + 250);
+
+        // se os chunks já gravados fossem repetidos, a unique do nome os faria falhar
+        ImportJobStatusDTO resumed = engine.importFile(paramsFile(1_050), PARAMS, paramAppRepository);
+
+        assertThat(resumed.jobId()).isEqualTo(first.jobId());
+        assertThat(resumed.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(resumed.attempts()).isEqualTo(2);
+        assertThat(resumed.chunksDone()).isEqualTo(11);
+        assertThat(resumed.chunksFailed()).isZero();
+        assertThat(importedRows()).isEqualTo(1_050);
+    }
+
+    @Test
+    @DisplayName("Imports simultâneos dividem o limite de chunks pendentes sem rejeição do pool")
+    void concurrentImportsShareInFlightLimit() throws Exception {
+        // pool de 1 thread + fila de 2: com um semáforo por job, dois jobs enviariam 4 chunks e o pool rejeitaria
+        BulkImportEngine smallEngine = new BulkImportEngine(persistenceService, jobRepository, chunkRepository,
+            fastEntityLoader, partitionManager, mapper, transactionManager, 100, 1, 2);
+        ExecutorService uploads = Executors.newFixedThreadPool(2);
+        try {
+            Future<ImportJobStatusDTO> first = uploads.submit(() ->
+                smallEngine.importFile(file("a.json", paramsJson(prefix + "a", 1_050)), PARAMS, paramAppRepository));
+            Future<ImportJobStatusDTO> second = uploads.submit(() ->
+                smallEngine.importFile(file("b.json", paramsJson(prefix + "b", 1_050)), PARAMS, paramAppRepository));
+
+            for (Future<ImportJobStatusDTO> result : List.of(first, second)) {
+                ImportJobStatusDTO job = result.get(60, TimeUnit.SECONDS);
+                assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+                assertThat(job.chunksDone()).isEqualTo(11);
+            }
+            assertThat(importedRows()).isEqualTo(2_100);
+        } finally {
+            uploads.shutdownNow();
+            smallEngine.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Arquivo truncado deixa o job FAILED com os chunks lidos até o ponto do erro")
+    void truncatedFileFailsJob() {
+        String truncated = paramsJson(250).replaceFirst("]$", ",{\"name\":");
+
+        assertThatThrownBy(() -> engine.importFile(file("broken.json", truncated), PARAMS, paramAppRepository))
+            .isInstanceOf(ResourceBadRequestException.class);
+
+        ImportJobStatusDTO job = engine.recentJobs().get(0);
+        assertThat(job.fileName()).isEqualTo(prefix + "broken.json");
+        assertThat(job.status()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.totalChunks()).isNull();
+        assertThat(job.chunksDone()).isEqualTo(2);
+        assertThat(importedRows()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,108 @@
+package com.guga.walletserviceapi.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.guga.walletserviceapi.exception.ResourceBadRequestException;
+import com.guga.walletserviceapi.helpers.FileUtils;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.repository.ParamAppRepository;
+
+import jakarta.persistence.EntityManager;
+
+class DataPersistenceServiceTest {
+
+    private final ParamAppRepository repository = mock(ParamAppRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private DataPersistenceService service;
+
+    /** Tamanho de cada lote recebido pelo saveAll, capturado no momento da chamada. */
+    private final List<Integer> savedBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new DataPersistenceService(FileUtils.instanceObjectMapper());
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedBatchSizes.add(((List<?>) invocation.getArgument(0)).size());
+            return List.of();
+        });
+    }
+
+    private static byte[] paramsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"name\":\"param_").append(i).append("\",\"description\":\"d\",\"valueLong\":").append(i).append('}');
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Upload é lido em streaming e salvo em lotes fixos, com flush e clear a cada lote")
+    void importsInFixedSizeBatches() {
+        MockMultipartFile file = new MockMultipartFile("file", "params.json", "application/json", paramsJson(1_050));
+
+        PersistenceSummary summary = service.importJsonFromUpload(file, new TypeReference<List<ParamApp>>() {}, repository);
+
+        assertThat(summary.getRecordsProcessed()).isEqualTo(1_050);
+        assertThat(summary.getBatches()).isEqualTo(11);
+        assertThat(summary.getStatus()).isEqualTo("SUCCESS");
+        assertThat(savedBatchSizes).hasSize(11).allMatch(size -> size <= 100);
+        assertThat(savedBatchSizes.get(10)).isEqualTo(50);
+        verify(repository, times(11)).flush();
+        verify(entityManager, times(11)).clear();
+    }
+
+    @Test
+    @DisplayName("Elementos chegam desserializados e na ordem do arquivo")
+    void readsElementsInOrder() throws Exception {
+        List<String> names = new ArrayList<>();
+
+        long count = service.<ParamApp>readJsonArrayInBatches(
+            new ByteArrayInputStream(paramsJson(7)),
+            FileUtils.instanceObjectMapper().constructType(ParamApp.class), 3,
+            batch -> batch.forEach(param -> names.add(param.getName())));
+
+        assertThat(count).isEqualTo(7);
+        assertThat(names).containsExactly("param_0", "param_1", "param_2", "param_3", "param_4", "param_5", "param_6");
+    }
+
+    @Test
+    @DisplayName("Array vazio não chama o repositório; conteúdo que não é array ou está truncado é rejeitado")
+    void rejectsInvalidContent() {
+        TypeReference<List<ParamApp>> type = new TypeReference<>() {};
+
+        PersistenceSummary empty = service.importJsonFromUpload(
+            new MockMultipartFile("file", "[]".getBytes(StandardCharsets.UTF_8)), type, repository);
+        assertThat(empty.getRecordsProcessed()).isZero();
+        assertThat(savedBatchSizes).isEmpty();
+
+        assertThatThrownBy(() -> service.importJsonFromUpload(
+            new MockMultipartFile("file", "{\"name\":\"x\"}".getBytes(StandardCharsets.UTF_8)), type, repository))
+            .isInstanceOf(ResourceBadRequestException.class)
+            .hasMessageContaining("array JSON");
+
+        assertThatThrownBy(() -> service.importJsonFromUpload(
+            new MockMultipartFile("file", "[{\"name\":\"a\"},{\"name\":".getBytes(StandardCharsets.UTF_8)), type, repository))
+            .isInstanceOf(ResourceBadRequestException.class);
+    }
+}
@@ -0,0 +1,152 @@
+package com.guga.walletserviceapi.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.helpers.TransactionUtilsMock;
+import com.guga.walletserviceapi.model.Customer;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.DepositSender;
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.TransferMoneySend;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+import com.guga.walletserviceapi.repository.TransactionRepository;
+import com.guga.walletserviceapi.repository.WalletRepository;
+
+/**
+ * Carga pelo metamodelo sobre o H2 de testes (caminho de INSERT em batch; o COPY binário exige PostgreSQL).
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // mesmo contexto dos testes de integração de transação
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class FastEntityLoaderIntegrationTest {
+
+    private static final long CUSTOMER_ID = 9_901_001L;
+    private static final long WALLET_ID = 9_901_001L;
+    private static final long SENDER_ID = 9_901_001L;
+    private static final long DEPOSIT_ID = 9_901_001L;
+    private static final long WITHDRAW_ID = 9_901_002L;
+    private static final long TRANSFER_ID = 9_901_003L;
+
+    @Autowired private FastEntityLoader fastEntityLoader;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private WalletRepository walletRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_transaction WHERE transaction_id BETWEEN ? AND ?", DEPOSIT_ID, TRANSFER_ID);
+        jdbcTemplate.update("DELETE FROM tb_deposit_sender WHERE deposit_sender_id = ?", SENDER_ID);
+        jdbcTemplate.update("DELETE FROM tb_wallet WHERE wallet_id = ?", WALLET_ID);
+        jdbcTemplate.update("DELETE FROM tb_customer WHERE customer_id = ?", CUSTOMER_ID);
+    }
+
+    private void load(List<?> entities) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> fastEntityLoader.load(entities));
+    }
+
+    private <T extends Transaction> T fill(T transaction, OperationType type, String amount) {
+        transaction.setWalletId(WALLET_ID);
+        transaction.setLoginAuthId(1L);
+        transaction.setOperationType(type);
+        transaction.setPreviousBalance(new BigDecimal("100.00"));
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setCurrentBalance(new BigDecimal("100.00").add(new BigDecimal(amount)));
+        transaction.setStatusTransaction(StatusTransaction.SUCCESS);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 3, 10, 14, 30, 15));
+        return transaction;
+    }
+
+    private void loadCustomerAndWallet() {
+        Customer customer = new TransactionUtilsMock().createCustomerMock(CUSTOMER_ID);
+        LocalDateTime now = LocalDateTime.now();
+        Wallet wallet = Wallet.builder()
+            .walletId(WALLET_ID)
+            .customerId(CUSTOMER_ID)
+            .status(Status.ACTIVE)
+            .previousBalance(BigDecimal.ZERO)
+            .currentBalance(new BigDecimal("100.00"))
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+        load(List.of(customer));
+        load(List.of(wallet));
+    }
+
+    @Test
+    @DisplayName("Subclasses de Transaction, converters e FKs são gravados e lidos de volta pelo JPA")
+    void loadsTransactionSubclasses() {
+        loadCustomerAndWallet();
+        DepositSender sender = DepositSender.builder()
+            .senderId(SENDER_ID).fullName("DEPOSITANTE").cpf("00000000000")
+            .amount(new BigDecimal("25.50")).createdAt(LocalDateTime.now()).build();
+        load(List.of(sender));
+
+        DepositMoney deposit = fill(new DepositMoney(), OperationType.DEPOSIT, "25.50");
+        deposit.setTransactionId(DEPOSIT_ID);
+        deposit.setDepositSender(sender);
+        WithdrawMoney withdraw = fill(new WithdrawMoney(), OperationType.WITHDRAW, "-10.00");
+        withdraw.setTransactionId(WITHDRAW_ID);
+        TransferMoneySend transfer = fill(new TransferMoneySend(), OperationType.TRANSFER_SEND, "-0.05");
+        transfer.setTransactionId(TRANSFER_ID);
+
+        load(List.of(deposit, withdraw, transfer));
+
+        assertThat(transactionRepository.findById(DEPOSIT_ID)).get().isInstanceOf(DepositMoney.class);
+        assertThat(transactionRepository.findById(WITHDRAW_ID)).get().isInstanceOf(WithdrawMoney.class);
+        Transaction loaded = transactionRepository.findById(TRANSFER_ID).orElseThrow();
+        assertThat(loaded).isInstanceOf(TransferMoneySend.class);
+        assertThat(loaded.getAmount()).isEqualByComparingTo("-0.05");
+        assertThat(loaded.getWalletId()).isEqualTo(WALLET_ID);
+        assertThat(loaded.getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 3, 10, 14, 30, 15));
+
+        // colunas com AttributeConverter gravam o código, não o nome do enum
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT operation_type, status_transaction FROM tb_transaction WHERE transaction_id = ?", DEPOSIT_ID);
+        assertThat(String.valueOf(row.get("operation_type"))).isEqualTo(String.valueOf(OperationType.DEPOSIT.getValue()));
+        assertThat(String.valueOf(row.get("status_transaction"))).isEqualTo(String.valueOf(StatusTransaction.SUCCESS.getValue()));
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT deposit_sender_id_fk FROM tb_transaction WHERE transaction_id = ?", Long.class, DEPOSIT_ID))
+            .isEqualTo(SENDER_ID);
+
+        // @Version nulo entra como 0, como no persist do Hibernate
+        assertThat(walletRepository.findById(WALLET_ID).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Entidades com id IDENTITY ficam fora do loader e seguem no saveAll")
+    void identityEntitiesAreNotSupported() {
+        assertThat(fastEntityLoader.supports(Transaction.class)).isTrue();
+        assertThat(fastEntityLoader.supports(Customer.class)).isTrue();
+        assertThat(fastEntityLoader.supports(Wallet.class)).isTrue();
+        assertThat(fastEntityLoader.supports(ParamApp.class)).isFalse();
+
+        assertThatThrownBy(() -> fastEntityLoader.load(List.of(ParamApp.newParam("fast_loader_param", "x", 0L))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
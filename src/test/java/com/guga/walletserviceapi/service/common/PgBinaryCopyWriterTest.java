@@ -0,0 +1,96 @@
+package com.guga.walletserviceapi.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PgBinaryCopyWriterTest {
+
+    private static ByteBuffer encode(int[] types, Object... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PgBinaryCopyWriter writer = new PgBinaryCopyWriter(out, types);
+        writer.writeHeader();
+        writer.writeRow(values);
+        writer.writeTrailer();
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        byte[] signature = new byte[11];
+        buffer.get(signature);
+        assertThat(signature).containsExactly('P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0);
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getShort()).isEqualTo((short) types.length);
+        return buffer;
+    }
+
+    private static void assertTrailer(ByteBuffer buffer) {
+        assertThat(buffer.getShort()).isEqualTo((short) -1);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    private static short[] numeric(BigDecimal value) throws IOException {
+        ByteBuffer buffer = encode(new int[] { PgBinaryCopyWriter.NUMERIC }, value);
+        int length = buffer.getInt();
+        short[] words = new short[length / 2];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getShort();
+        }
+        assertTrailer(buffer);
+        return words;
+    }
+
+    @Test
+    @DisplayName("Inteiros, texto, boolean e NULL seguem o tamanho do tipo da coluna")
+    void encodesScalars() throws IOException {
+        ByteBuffer buffer = encode(
+            new int[] { PgBinaryCopyWriter.INT8, PgBinaryCopyWriter.INT4, PgBinaryCopyWriter.INT2,
+                PgBinaryCopyWriter.VARCHAR, PgBinaryCopyWriter.BOOL, PgBinaryCopyWriter.INT8 },
+            9_900_001L, 2, 1, "ação", true, null);
+
+        assertThat(buffer.getInt()).isEqualTo(8);
+        assertThat(buffer.getLong()).isEqualTo(9_900_001L);
+        assertThat(buffer.getInt()).isEqualTo(4);
+        assertThat(buffer.getInt()).isEqualTo(2);
+        assertThat(buffer.getInt()).isEqualTo(2);
+        assertThat(buffer.getShort()).isEqualTo((short) 1);
+        assertThat(buffer.getInt()).isEqualTo(6); // UTF-8
+        buffer.position(buffer.position() + 6);
+        assertThat(buffer.getInt()).isEqualTo(1);
+        assertThat(buffer.get()).isEqualTo((byte) 1);
+        assertThat(buffer.getInt()).isEqualTo(-1);
+        assertTrailer(buffer);
+    }
+
+    @Test
+    @DisplayName("date e timestamp contam a partir de 2000-01-01 (dias e microssegundos)")
+    void encodesDates() throws IOException {
+        ByteBuffer buffer = encode(
+            new int[] { PgBinaryCopyWriter.DATE, PgBinaryCopyWriter.TIMESTAMP },
+            LocalDate.of(2000, 1, 31), LocalDateTime.of(2000, 1, 2, 0, 0, 1, 500_000));
+
+        assertThat(buffer.getInt()).isEqualTo(4);
+        assertThat(buffer.getInt()).isEqualTo(30);
+        assertThat(buffer.getInt()).isEqualTo(8);
+        assertThat(buffer.getLong()).isEqualTo(86_400_000_000L + 1_000_000L + 500L);
+        assertTrailer(buffer);
+    }
+
+    @Test
+    @DisplayName("numeric em base 10000: ndigits, weight, sign, dscale e dígitos")
+    void encodesNumeric() throws IOException {
+        assertThat(numeric(new BigDecimal("1234.56"))).containsExactly((short) 2, (short) 0, (short) 0, (short) 2, (short) 1234, (short) 5600);
+        assertThat(numeric(new BigDecimal("12345678.9"))).containsExactly((short) 3, (short) 1, (short) 0, (short) 1, (short) 1234, (short) 5678, (short) 9000);
+        assertThat(numeric(new BigDecimal("-0.05"))).containsExactly((short) 1, (short) -1, (short) 0x4000, (short) 2, (short) 500);
+        assertThat(numeric(new BigDecimal("100.00"))).containsExactly((short) 1, (short) 0, (short) 0, (short) 2, (short) 100);
+        assertThat(numeric(new BigDecimal("10000"))).containsExactly((short) 1, (short) 1, (short) 0, (short) 0, (short) 1);
+        assertThat(numeric(new BigDecimal("0.00"))).containsExactly((short) 0, (short) 0, (short) 0, (short) 2);
+    }
+}
@@ -0,0 +1,134 @@
+package com.guga.walletserviceapi.service.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.repository.WalletRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WalletConcurrencyGuardTest {
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+            TransactionCallback<?> callback = inv.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    private WalletConcurrencyGuard guard(WalletConcurrencyStrategy strategy, int maxRetries) {
+        return new WalletConcurrencyGuard(transactionTemplate, walletRepository, meterRegistry,
+            strategy, maxRetries, 0, 1000, 64);
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC: deve repetir a operação após conflito de versão e registrar o retry")
+    void optimisticRetriesOnVersionConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = guard(WalletConcurrencyStrategy.OPTIMISTIC, 3).execute("DEPOSIT", List.of(10L), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Wallet.class, 10L);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("wallet.concurrency.retries",
+            "strategy", "OPTIMISTIC", "operation", "DEPOSIT").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC: deve devolver conflito quando os retries se esgotarem")
+    void optimisticFailsWhenRetriesExhausted() {
+        WalletConcurrencyGuard guard = guard(WalletConcurrencyStrategy.OPTIMISTIC, 1);
+
+        assertThatThrownBy(() -> guard.execute("WITHDRAW", List.of(10L), () -> {
+            throw new ObjectOptimisticLockingFailureException(Wallet.class, 10L);
+        })).isInstanceOf(WalletConcurrencyException.class);
+
+        assertThat(meterRegistry.counter("wallet.concurrency.conflicts",
+            "strategy", "OPTIMISTIC", "operation", "WITHDRAW").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("PESSIMISTIC: deve travar as wallets em ordem crescente de walletId")
+    void pessimisticLocksInAscendingOrder() {
+        List<Long> locked = new ArrayList<>();
+        List<Long> timeouts = new ArrayList<>();
+        when(walletRepository.findByIdForUpdate(any(), anyLong())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            locked.add(id);
+            timeouts.add(inv.getArgument(1));
+            return Optional.of(Wallet.builder().walletId(id).build());
+        });
+
+        guard(WalletConcurrencyStrategy.PESSIMISTIC, 0).execute("TRANSFER_SEND", List.of(30L, 7L), () -> null);
+
+        assertThat(locked).containsExactly(7L, 30L);
+        // espera pelo lock vem de app.wallet.concurrency.lock-timeout-ms
+        assertThat(timeouts).containsOnly(1000L);
+    }
+
+    @Test
+    @DisplayName("STRIPED_LOCK: transferências cruzadas A->B e B->A não podem entrar em deadlock")
+    void stripedLockDoesNotDeadlockOnCrossTransfers() throws Exception {
+        WalletConcurrencyGuard guard = guard(WalletConcurrencyStrategy.STRIPED_LOCK, 0);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<Long> ids = (t % 2 == 0) ? List.of(1L, 2L) : List.of(2L, 1L);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        guard.execute("TRANSFER_SEND", ids, () -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            inside.decrementAndGet();
+                            return null;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInside.get()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.guga.walletserviceapi.exception.WalletConcurrencyException;
+import com.guga.walletserviceapi.repository.LedgerLeaseStore;
+
+class LedgerFenceTest {
+
+    private final LedgerLeaseStore leaseStore = mock(LedgerLeaseStore.class);
+
+    private LedgerFence fence(boolean enabled, boolean fenceEnabled) {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setEnabled(enabled);
+        properties.setFence(fenceEnabled);
+        return new LedgerFence(properties, leaseStore);
+    }
+
+    @Test
+    @DisplayName("Sem ledger em nenhum nó a posse não é consultada")
+    void inactiveFenceSkipsLookup() {
+        fence(false, false).check(List.of(1L, 2L));
+
+        verifyNoInteractions(leaseStore);
+    }
+
+    @Test
+    @DisplayName("Wallet de outro ledger é recusada; as do ledger deste nó passam")
+    void rejectsOnlyWalletsOfOtherLedgers() {
+        LedgerFence fence = fence(false, true);
+        fence.registerLocalLedger("local");
+        when(leaseStore.owners(any())).thenAnswer(inv -> new HashMap<>(Map.of(1L, "local")));
+
+        assertThatCode(() -> fence.check(List.of(1L))).doesNotThrowAnyException();
+
+        when(leaseStore.owners(any())).thenAnswer(inv -> new HashMap<>(Map.of(1L, "local", 2L, "other")));
+        assertThatThrownBy(() -> fence.check(List.of(1L, 2L)))
+            .isInstanceOf(WalletConcurrencyException.class)
+            .hasMessageContaining("[2]");
+    }
+}
@@ -0,0 +1,84 @@
+package com.guga.walletserviceapi.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.guga.walletserviceapi.model.enums.OperationType;
+
+class LedgerWalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static LedgerEntry entry(long sequence) {
+        boolean deposit = sequence % 2 == 1;
+        return new LedgerEntry(sequence, 1_000 + sequence, 2_000 + sequence, deposit ? 3_000 + sequence : null,
+            42L, deposit ? 7L : null, deposit ? OperationType.DEPOSIT : OperationType.WITHDRAW,
+            new BigDecimal("60.00"), new BigDecimal("100.00"), new BigDecimal("160.00"),
+            LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_789),
+            deposit ? "52998224725" : null, deposit ? "TERM-01" : null, deposit ? "José da Silva" : null);
+    }
+
+    @Test
+    @DisplayName("Registros gravados são lidos de volta na mesma ordem e com os mesmos valores")
+    void roundTrip() throws Exception {
+        Path path = tempDir.resolve("shard-0.wal");
+        try (LedgerWal wal = new LedgerWal(path, 64 * 1024, false)) {
+            for (long sequence = 1; sequence <= 10; sequence++) {
+                assertThat(wal.append(entry(sequence))).isTrue();
+            }
+            wal.force();
+        }
+
+        List<LedgerEntry> entries = LedgerWal.read(path);
+
+        assertThat(entries).hasSize(10);
+        assertThat(entries.get(0)).isEqualTo(entry(1));
+        assertThat(entries.get(9)).isEqualTo(entry(10));
+    }
+
+    @Test
+    @DisplayName("Leitura para no registro cortado e, depois do reset, só enxerga os registros novos")
+    void stopsAtTornRecordAndAfterReset() throws Exception {
+        Path path = tempDir.resolve("shard-0.wal");
+        int secondRecordEnd;
+        try (LedgerWal wal = new LedgerWal(path, 64 * 1024, false)) {
+            wal.append(entry(1));
+            wal.append(entry(2));
+            secondRecordEnd = wal.position();
+            wal.append(entry(3));
+        }
+        // queda no meio da gravação do terceiro registro
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(secondRecordEnd + 20);
+            file.write(0x7F);
+        }
+        assertThat(LedgerWal.read(path)).extracting(LedgerEntry::sequence).containsExactly(1L, 2L);
+
+        try (LedgerWal wal = new LedgerWal(path, 64 * 1024, false)) {
+            wal.reset();
+            wal.append(entry(4));
+        }
+        assertThat(LedgerWal.read(path)).extracting(LedgerEntry::sequence).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("append devolve false quando o registro não cabe no arquivo")
+    void appendReportsFullWal() throws Exception {
+        int recordBytes = LedgerWal.encode(entry(1)).length + 8;
+        try (LedgerWal wal = new LedgerWal(tempDir.resolve("shard-0.wal"), recordBytes * 2, false)) {
+            assertThat(wal.append(entry(1))).isTrue();
+            assertThat(wal.append(entry(3))).isTrue();
+            assertThat(wal.append(entry(5))).isFalse();
+        }
+    }
+}
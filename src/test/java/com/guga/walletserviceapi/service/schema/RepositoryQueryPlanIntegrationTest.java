@@ -0,0 +1,324 @@
+package com.guga.walletserviceapi.service.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.guga.walletserviceapi.dto.transaction.TransactionCursor;
+import com.guga.walletserviceapi.helpers.GlobalHelper;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.repository.TransactionRepository;
+import com.guga.walletserviceapi.repository.WalletRepository;
+
+/**
+ * Confere que nenhuma consulta do TransactionRepository/WalletRepository varre as tabelas grandes inteiras.
+ *
+ * Por padrão roda num H2 próprio (MODE=PostgreSQL), com os índices criados pelo SchemaMigrator e uma carga
+ * menor: o plano não pode ter tableScan na tb_transaction/tb_wallet. Com WALLET_PLAN_TEST_DB_URL apontando para
+ * um PostgreSQL descartável roda nele, com 1M de transações, e o plano não pode ter Seq Scan (o esquema é criado
+ * pelo Hibernate e a carga fica na base entre execuções), por exemplo:
+ *   WALLET_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/wallet_plan_db mvn test -Dtest=RepositoryQueryPlanIntegrationTest
+ *
+ * O SQL gerado pelo Hibernate é capturado na execução real de cada método e repetido como EXPLAIN com os
+ * mesmos parâmetros, na mesma conexão.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.sql.init.mode=never"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanIntegrationTest {
+
+    private static final String POSTGRES_URL = System.getenv("WALLET_PLAN_TEST_DB_URL");
+    private static final boolean POSTGRES = POSTGRES_URL != null && POSTGRES_URL.startsWith("jdbc:postgresql:");
+
+    private static final int CUSTOMERS = POSTGRES ? 50_000 : 2_000;
+    private static final int WALLETS = POSTGRES ? 100_000 : 5_000;
+    private static final int TRANSACTIONS = POSTGRES ? 1_000_000 : 50_000;
+
+    private static final List<String> PLANNED_TABLES = List.of("tb_transaction", "tb_wallet");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (!POSTGRES) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:wallet_plan_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            return;
+        }
+        registry.add("spring.datasource.url", () -> POSTGRES_URL);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> env("WALLET_PLAN_TEST_DB_USER", "wallet_user"));
+        registry.add("spring.datasource.password", () -> env("WALLET_PLAN_TEST_DB_PASS", "wallet_pass"));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    @TestConfiguration
+    static class ExplainConfig {
+        @Bean
+        static BeanPostProcessor explainingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? ExplainCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private WalletRepository walletRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_transaction", Long.class);
+        if (rows != null && rows >= TRANSACTIONS) {
+            return;
+        }
+        if (!POSTGRES) {
+            seedH2();
+            return;
+        }
+        jdbcTemplate.update("TRUNCATE tb_transaction, tb_wallet, tb_customer CASCADE");
+        jdbcTemplate.update("""
+            INSERT INTO tb_customer (customer_id, document_id, cpf, birth_date, first_name, last_name, email,
+                                     full_name, phone_number, created_at, updated_at, status)
+            SELECT g, 'DOC' || g, 'CPF' || g, DATE '1990-01-01', 'PLAN', 'TEST', 'plan' || g || '@wallet.test',
+                   'PLAN TEST', '5511900000000', now(), now(), 1
+              FROM generate_series(1, ?) g
+            """, CUSTOMERS);
+        // 5% das wallets BLOCKED: findByStatus é consultado pelo status seletivo
+        jdbcTemplate.update("""
+            INSERT INTO tb_wallet (wallet_id, customer_id_fk, previous_balance, current_balance, status,
+                                   created_at, updated_at, version)
+            SELECT g, (g % ?) + 1, 0, 0, CASE WHEN g % 20 = 0 THEN 3 ELSE 1 END,
+                   now() - (g || ' seconds')::interval, now(), 0
+              FROM generate_series(1, ?) g
+            """, CUSTOMERS, WALLETS);
+        jdbcTemplate.update("""
+            INSERT INTO tb_transaction (transaction_id, login_id, wallet_id, operation_type, previous_balance, amount,
+                                        current_balance, status_transaction, created_at)
+            SELECT g, 1, (g % ?) + 1, (g % 2) + 1, 0, 1, 1, 1, now() - (g || ' seconds')::interval
+              FROM generate_series(1, ?) g
+            """, WALLETS, TRANSACTIONS);
+        jdbcTemplate.execute("VACUUM ANALYZE tb_customer");
+        jdbcTemplate.execute("VACUUM ANALYZE tb_wallet");
+        jdbcTemplate.execute("VACUUM ANALYZE tb_transaction");
+    }
+
+    private void seedH2() {
+        jdbcTemplate.update("""
+            INSERT INTO tb_customer (customer_id, document_id, cpf, birth_date, first_name, last_name, email,
+                                     full_name, phone_number, created_at, updated_at, status)
+            SELECT X, 'DOC' || X, 'CPF' || X, DATE '1990-01-01', 'PLAN', 'TEST', 'plan' || X || '@wallet.test',
+                   'PLAN TEST', '5511900000000', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1
+              FROM SYSTEM_RANGE(1, ?)
+            """, CUSTOMERS);
+        jdbcTemplate.update("""
+            INSERT INTO tb_wallet (wallet_id, customer_id_fk, previous_balance, current_balance, status,
+                                   created_at, updated_at, version)
+            SELECT X, MOD(X, ?) + 1, 0, 0, CASE WHEN MOD(X, 20) = 0 THEN 3 ELSE 1 END,
+                   DATEADD(SECOND, -X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, 0
+              FROM SYSTEM_RANGE(1, ?)
+            """, CUSTOMERS, WALLETS);
+        jdbcTemplate.update("""
+            INSERT INTO tb_transaction (transaction_id, login_id, wallet_id, operation_type, previous_balance, amount,
+                                        current_balance, status_transaction, created_at)
+            SELECT X, 1, MOD(X, ?) + 1, MOD(X, 2) + 1, 0, 1, 1, 1, DATEADD(SECOND, -X, CURRENT_TIMESTAMP)
+              FROM SYSTEM_RANGE(1, ?)
+            """, WALLETS, TRANSACTIONS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private List<ExplainCapture.Plan> plansOf(Runnable repositoryCall) {
+        ExplainCapture.start();
+        try {
+            repositoryCall.run();
+        } finally {
+            ExplainCapture.stop();
+        }
+        return ExplainCapture.plans();
+    }
+
+    private void assertNoSeqScan(String method, Runnable repositoryCall) {
+        List<ExplainCapture.Plan> plans = plansOf(repositoryCall);
+        assertThat(plans).as("%s should issue a query on %s", method, PLANNED_TABLES).isNotEmpty();
+        for (ExplainCapture.Plan plan : plans) {
+            for (String table : PLANNED_TABLES) {
+                // H2: /* PUBLIC.TB_TRANSACTION.tableScan */
+                assertThat(POSTGRES ? plan.text() : plan.text().toLowerCase())
+                    .as("%s\nSQL: %s\nPLAN:\n%s", method, plan.sql(), plan.text())
+                    .doesNotContain(POSTGRES ? "Seq Scan on " + table : table + ".tablescan");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Consultas do TransactionRepository usam índice (sem varrer a tb_transaction)")
+    void transactionQueriesUseIndexes() {
+        // página pequena para também gerar o COUNT do Page
+        Pageable page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+        long walletId = WALLETS / 2;
+        LocalDateTime end = LocalDateTime.now();
+        TransactionCursor start = TransactionCursor.START;
+        LocalDateTime since = end.minusMonths(24);
+
+        assertNoSeqScan("findByWalletIdAndCreatedAtGreaterThanEqual", () -> transactionRepository
+            .findByWalletIdAndCreatedAtGreaterThanEqual(walletId, since, page));
+        assertNoSeqScan("findByWalletIdAndCreatedAtBetween", () -> transactionRepository
+            .findByWalletIdAndCreatedAtBetween(walletId, end.minusDays(30), end, page));
+        assertNoSeqScan("findByWalletIdAndOperationTypeAndCreatedAtGreaterThanEqual", () -> transactionRepository
+            .findByWalletIdAndOperationTypeAndCreatedAtGreaterThanEqual(walletId, OperationType.DEPOSIT, since, page));
+        assertNoSeqScan("findSliceAfter", () -> transactionRepository
+            .findSliceAfter(walletId, since, start.createdAt(), start.transactionId(), PageRequest.ofSize(50)));
+        assertNoSeqScan("findSliceAfterByOperationType", () -> transactionRepository
+            .findSliceAfterByOperationType(walletId, OperationType.WITHDRAW, since, start.createdAt(), start.transactionId(),
+                PageRequest.ofSize(50)));
+        assertNoSeqScan("findById", () -> transactionRepository.findById((long) TRANSACTIONS / 3));
+    }
+
+    @Test
+    @DisplayName("Consultas do WalletRepository usam índice (sem varrer a tb_wallet)")
+    void walletQueriesUseIndexes() {
+        Pageable page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertNoSeqScan("findByCustomerId", () -> walletRepository.findByCustomerId(10L, GlobalHelper.getDefaultPageable()));
+        assertNoSeqScan("findByStatus", () -> walletRepository.findByStatus(Status.BLOCKED, page));
+        assertNoSeqScan("findById", () -> walletRepository.findById((long) WALLETS / 3));
+    }
+
+    /**
+     * Proxy JDBC: guarda os parâmetros de cada PreparedStatement e, antes do executeQuery, roda
+     * EXPLAIN do mesmo SQL com os mesmos valores.
+     */
+    static final class ExplainCapture {
+
+        record Plan(String sql, String text) { }
+
+        private static volatile boolean capturing;
+        private static final List<Plan> PLANS = new CopyOnWriteArrayList<>();
+
+        static void start() {
+            PLANS.clear();
+            capturing = true;
+        }
+
+        static void stop() {
+            capturing = false;
+        }
+
+        static List<Plan> plans() {
+            return new ArrayList<>(PLANS);
+        }
+
+        static DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private static Connection wrap(Connection target) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                    return wrap(statement, target, sql);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement target, Connection connection, String sql) {
+            Map<Integer, Object[]> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, new Object[] { method, args });
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (capturing && (name.equals("executeQuery") || name.equals("execute")) && isPlanned(sql)) {
+                    PLANS.add(new Plan(sql, explain(connection, sql, parameters)));
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static boolean isPlanned(String sql) {
+            String lower = sql.toLowerCase();
+            return lower.contains("select") && PLANNED_TABLES.stream().anyMatch(lower::contains);
+        }
+
+        private static String explain(Connection connection, String sql, Map<Integer, Object[]> parameters)
+                throws ReflectiveOperationException, SQLException {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Object[] call : parameters.values()) {
+                    ((Method) call[0]).invoke(explain, (Object[]) call[1]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+        }
+    }
+}
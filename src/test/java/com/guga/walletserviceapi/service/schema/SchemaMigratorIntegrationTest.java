@@ -0,0 +1,77 @@
+package com.guga.walletserviceapi.service.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.guga.walletserviceapi.service.schema.SchemaMigrator.MigrationReport;
+import com.guga.walletserviceapi.service.schema.SchemaMigrator.MigrationScript;
+
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // mesmo contexto dos testes de integração de transação
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class SchemaMigratorIntegrationTest {
+
+    @Autowired private SchemaMigrator schemaMigrator;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private long indexCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(INDEX_NAME) IN ("
+            + "'ix_transaction_wallet_created', 'ix_transaction_wallet_operation', "
+            + "'ix_wallet_customer_created', 'ix_wallet_status_created')", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("V1 fica registrada na inicialização e reexecutar não aplica nada")
+    void appliesOnceAndRecordsHistory() {
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + SchemaMigrator.HISTORY_TABLE + " WHERE version = 1", Long.class)).isEqualTo(1);
+        assertThat(indexCount()).isEqualTo(4);
+
+        MigrationReport report = schemaMigrator.migrate();
+
+        assertThat(report.applied()).isEmpty();
+        assertThat(report.currentVersion()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("V1 roda fora de transação, comando a comando, e no H2 sem o CONCURRENTLY")
+    void v1IsNonTransactional() {
+        MigrationScript v1 = schemaMigrator.loadScripts().get(0);
+
+        assertThat(v1.version()).isEqualTo(1);
+        assertThat(v1.transactional()).isFalse();
+        assertThat(schemaMigrator.loadScripts()).filteredOn(script -> script.version() > 1)
+            .allMatch(MigrationScript::transactional);
+        assertThat(SchemaMigrator.statements(v1.resource()))
+            .hasSize(4)
+            .allMatch(statement -> statement.startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS"))
+            .noneMatch(statement -> statement.contains("--") || statement.contains(";"));
+    }
+
+    @Test
+    @DisplayName("Script alterado depois de aplicado interrompe a migração")
+    void rejectsChangedScript() {
+        Long checksum = jdbcTemplate.queryForObject(
+            "SELECT checksum FROM " + SchemaMigrator.HISTORY_TABLE + " WHERE version = 1", Long.class);
+        jdbcTemplate.update("UPDATE " + SchemaMigrator.HISTORY_TABLE + " SET checksum = 0 WHERE version = 1");
+        try {
+            assertThatThrownBy(schemaMigrator::migrate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V1");
+        } finally {
+            jdbcTemplate.update("UPDATE " + SchemaMigrator.HISTORY_TABLE + " SET checksum = ? WHERE version = 1", checksum);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.guga.walletserviceapi.service.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.guga.walletserviceapi.model.ParamApp;
+import com.guga.walletserviceapi.service.ParamAppService;
+
+class SequenceIdAllocatorTest {
+
+    private final AtomicLong sequenceRow = new AtomicLong(1000L);
+    private final ParamAppService paramAppService = mock(ParamAppService.class);
+    private SequenceIdAllocator allocator;
+
+    private SequenceIdAllocator newAllocator(int blockSize) {
+        when(paramAppService.reserveSequenceBlock(anyString(), anyInt())).thenAnswer(inv -> {
+            int size = inv.getArgument(1);
+            long last = sequenceRow.addAndGet(size);
+            return new SequenceBlock(inv.getArgument(0), last - size + 1, last);
+        });
+        MockEnvironment env = new MockEnvironment()
+            .withProperty("app.sequence.block-size." + ParamApp.SEQ_TRANSACTION_ID, String.valueOf(blockSize));
+        allocator = new SequenceIdAllocator(paramAppService, env, 10, 25);
+        return allocator;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (allocator != null) {
+            allocator.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar IDs sequenciais do bloco reservado com uma única ida ao banco")
+    void shouldServeIdsFromReservedBlock() {
+        SequenceIdAllocator ids = newAllocator(100);
+
+        assertThat(ids.nextId(ParamApp.SEQ_TRANSACTION_ID)).isEqualTo(1001L);
+        assertThat(ids.nextId(ParamApp.SEQ_TRANSACTION_ID)).isEqualTo(1002L);
+        assertThat(ids.nextId(ParamApp.SEQ_TRANSACTION_ID)).isEqualTo(1003L);
+
+        verify(paramAppService, atMost(1)).reserveSequenceBlock(ParamApp.SEQ_TRANSACTION_ID, 100);
+    }
+
+    @Test
+    @DisplayName("Deve entregar IDs únicos sob concorrência atravessando vários blocos")
+    void shouldServeUniqueIdsUnderConcurrency() throws Exception {
+        SequenceIdAllocator ids = newAllocator(20);
+        Set<Long> generated = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        generated.add(ids.nextId(ParamApp.SEQ_TRANSACTION_ID));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(generated).hasSize(8 * 500);
+        assertThat(generated).allMatch(id -> id > 1000L && id <= sequenceRow.get());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.guga.walletserviceapi.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TransactionPartitionManagerTest {
+
+    @Test
+    @DisplayName("Nome da partição mensal ida e volta, ignorando tabelas de outro prefixo")
+    void partitionNames() {
+        YearMonth month = YearMonth.of(2026, 3);
+
+        assertThat(TransactionPartitionManager.partitionName(TransactionPartitionManager.TRANSACTION, month))
+            .isEqualTo("tb_transaction_p202603");
+        assertThat(TransactionPartitionManager.monthOfPartition(TransactionPartitionManager.MOVEMENT, "tb_movement_transfer_p202603"))
+            .isEqualTo(month);
+        assertThat(TransactionPartitionManager.monthOfPartition(TransactionPartitionManager.TRANSACTION, "tb_movement_transfer_p202603"))
+            .isNull();
+        assertThat(TransactionPartitionManager.monthOfPartition(TransactionPartitionManager.TRANSACTION, "tb_transaction_legacy"))
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Meses cobertos pela conversão e corte do arquivamento")
+    void monthRanges() {
+        assertThat(TransactionPartitionManager.monthsBetween(YearMonth.of(2025, 11), YearMonth.of(2026, 2)))
+            .containsExactly(YearMonth.of(2025, 11), YearMonth.of(2025, 12), YearMonth.of(2026, 1), YearMonth.of(2026, 2));
+        assertThat(TransactionPartitionManager.monthsBetween(YearMonth.of(2026, 2), YearMonth.of(2026, 2)))
+            .containsExactly(YearMonth.of(2026, 2));
+
+        // retenção de 24 meses em out/2026: arquiva até set/2024
+        assertThat(TransactionPartitionManager.archiveCutoff(YearMonth.of(2026, 10), 24)).isEqualTo(YearMonth.of(2024, 10));
+        // o mês corrente nunca é arquivado
+        assertThat(TransactionPartitionManager.archiveCutoff(YearMonth.of(2026, 10), 0)).isEqualTo(YearMonth.of(2026, 9));
+
+        // janela de 12 meses em out/2026: nov/2025 a out/2026
+        assertThat(TransactionPartitionManager.historyWindowStart(YearMonth.of(2026, 10), 12)).isEqualTo(YearMonth.of(2025, 11));
+        // a janela tem ao menos o mês corrente
+        assertThat(TransactionPartitionManager.historyWindowStart(YearMonth.of(2026, 10), 0)).isEqualTo(YearMonth.of(2026, 10));
+    }
+}
@@ -0,0 +1,152 @@
+package com.guga.walletserviceapi.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guga.walletserviceapi.helpers.TransactionUtilsMock;
+import com.guga.walletserviceapi.model.DepositMoney;
+import com.guga.walletserviceapi.model.DepositSender;
+import com.guga.walletserviceapi.model.Transaction;
+import com.guga.walletserviceapi.model.TransferMoneyReceived;
+import com.guga.walletserviceapi.model.Wallet;
+import com.guga.walletserviceapi.model.WithdrawMoney;
+import com.guga.walletserviceapi.model.enums.OperationType;
+import com.guga.walletserviceapi.model.enums.Status;
+import com.guga.walletserviceapi.model.enums.StatusTransaction;
+import com.guga.walletserviceapi.repository.TransactionRepository;
+import com.guga.walletserviceapi.service.common.FastEntityLoader;
+import com.guga.walletserviceapi.service.storage.TransactionStorageMigrator.MigrationReport;
+
+/**
+ * Simula uma base do layout JOINED: linhas na tb_transaction sem o deposit_sender_id_fk, uma com operation_type
+ * divergente da tabela da subclasse, e as tabelas antigas tb_deposit_money/tb_withdraw.
+ */
+@SpringBootTest(properties = {
+    "app.seeder.enabled=false",
+    // mesmo contexto dos testes de integração de transação
+    "spring.datasource.url=jdbc:h2:mem:wallet_it_db;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class TransactionStorageMigratorIntegrationTest {
+
+    private static final long CUSTOMER_ID = 9_902_001L;
+    private static final long WALLET_ID = 9_902_001L;
+    private static final long SENDER_ID = 9_902_001L;
+    private static final long DEPOSIT_ID = 9_902_001L;
+    private static final long WITHDRAW_ID = 9_902_002L;
+    private static final long RECEIVED_ID = 9_902_003L;
+
+    @Autowired private FastEntityLoader fastEntityLoader;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private TransactionStorageMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        // faixa de 1 id por UPDATE para exercitar os lotes
+        migrator = new TransactionStorageMigrator(jdbcTemplate, false, false, 1);
+
+        LocalDateTime now = LocalDateTime.now();
+        load(List.of(new TransactionUtilsMock().createCustomerMock(CUSTOMER_ID)));
+        load(List.of(Wallet.builder().walletId(WALLET_ID).customerId(CUSTOMER_ID).status(Status.ACTIVE)
+            .previousBalance(BigDecimal.ZERO).currentBalance(BigDecimal.TEN).createdAt(now).updatedAt(now).build()));
+        DepositSender sender = DepositSender.builder().senderId(SENDER_ID).fullName("DEPOSITANTE").createdAt(now).build();
+        load(List.of(sender));
+
+        DepositMoney deposit = fill(new DepositMoney(), DEPOSIT_ID, OperationType.DEPOSIT);
+        deposit.setDepositSender(sender);
+        load(List.of(deposit,
+            fill(new WithdrawMoney(), WITHDRAW_ID, OperationType.WITHDRAW),
+            fill(new TransferMoneyReceived(), RECEIVED_ID, OperationType.TRANSFER_RECEIVED)));
+
+        // estado da base antiga: o sender estava só na tabela da subclasse e o tipo vinha da tabela
+        jdbcTemplate.update("UPDATE tb_transaction SET deposit_sender_id_fk = NULL WHERE transaction_id = ?", DEPOSIT_ID);
+        jdbcTemplate.update("UPDATE tb_transaction SET operation_type = ? WHERE transaction_id = ?",
+            OperationType.TRANSFER_RECEIVED.getValue(), WITHDRAW_ID);
+        jdbcTemplate.execute("CREATE TABLE tb_deposit_money (transaction_id BIGINT PRIMARY KEY, deposit_sender_id_fk BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE tb_withdraw (transaction_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO tb_deposit_money VALUES (?, ?)", DEPOSIT_ID, SENDER_ID);
+        jdbcTemplate.update("INSERT INTO tb_withdraw VALUES (?)", WITHDRAW_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS tb_deposit_money");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS tb_withdraw");
+        jdbcTemplate.update("DELETE FROM tb_transaction WHERE transaction_id BETWEEN ? AND ?", DEPOSIT_ID, RECEIVED_ID);
+        jdbcTemplate.update("DELETE FROM tb_deposit_sender WHERE deposit_sender_id = ?", SENDER_ID);
+        jdbcTemplate.update("DELETE FROM tb_wallet WHERE wallet_id = ?", WALLET_ID);
+        jdbcTemplate.update("DELETE FROM tb_customer WHERE customer_id = ?", CUSTOMER_ID);
+    }
+
+    private void load(List<?> entities) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> fastEntityLoader.load(entities));
+    }
+
+    private <T extends Transaction> T fill(T transaction, long id, OperationType type) {
+        transaction.setTransactionId(id);
+        transaction.setWalletId(WALLET_ID);
+        transaction.setLoginAuthId(1L);
+        transaction.setOperationType(type);
+        transaction.setPreviousBalance(BigDecimal.ZERO);
+        transaction.setAmount(BigDecimal.TEN);
+        transaction.setCurrentBalance(BigDecimal.TEN);
+        transaction.setStatusTransaction(StatusTransaction.SUCCESS);
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
+
+    private Long senderOf(long transactionId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT deposit_sender_id_fk FROM tb_transaction WHERE transaction_id = ?", Long.class, transactionId);
+    }
+
+    @Test
+    @DisplayName("Tipo e sender das tabelas antigas passam para a tb_transaction; reexecutar não altera nada")
+    void migratesLegacyRows() {
+        assertThat(transactionRepository.findById(WITHDRAW_ID)).get().isInstanceOf(TransferMoneyReceived.class);
+
+        MigrationReport report = migrator.migrate(false);
+
+        assertThat(report.legacyTables()).containsExactly("tb_deposit_money", "tb_withdraw");
+        assertThat(report.typesFixed()).isEqualTo(1);
+        assertThat(report.depositSendersCopied()).isEqualTo(1);
+        assertThat(report.unknownTypes()).isZero();
+        assertThat(report.legacyTablesDropped()).isFalse();
+        assertThat(transactionRepository.findById(WITHDRAW_ID)).get().isInstanceOf(WithdrawMoney.class);
+        assertThat(transactionRepository.findById(DEPOSIT_ID)).get().isInstanceOf(DepositMoney.class);
+        assertThat(transactionRepository.findById(RECEIVED_ID)).get().isInstanceOf(TransferMoneyReceived.class);
+        assertThat(senderOf(DEPOSIT_ID)).isEqualTo(SENDER_ID);
+
+        MigrationReport again = migrator.migrate(false);
+        assertThat(again.typesFixed()).isZero();
+        assertThat(again.depositSendersCopied()).isZero();
+    }
+
+    @Test
+    @DisplayName("Com drop-legacy-tables as tabelas antigas são removidas e a próxima execução não encontra nada")
+    void dropsLegacyTables() {
+        MigrationReport report = migrator.migrate(true);
+
+        assertThat(report.legacyTablesDropped()).isTrue();
+        assertThat(senderOf(DEPOSIT_ID)).isEqualTo(SENDER_ID);
+        assertThat(migrator.migrate(true).legacyTables()).isEmpty();
+    }
+}